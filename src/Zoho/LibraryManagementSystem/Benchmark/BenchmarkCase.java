@@ -0,0 +1,70 @@
+package Zoho.LibraryManagementSystem.Benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A single benchmark run by the {@link BenchmarkRunner}.
+ * <p>
+ * The runner calls {@link #setUp()} once, then calls {@link #invoke()} repeatedly for each warmup and
+ * measurement iteration, and finally calls {@link #tearDown()}. Only {@link #invoke()} is timed. A
+ * benchmark whose invocations change state it must restore (e.g. fines it issued) does so in
+ * {@link #reset()}, which the runner calls untimed before every invocation when
+ * {@link #resetsBeforeEachInvocation()} is {@code true}.
+ */
+public interface BenchmarkCase {
+    /**
+     * @return The benchmark's name, e.g. {@code db.findBookById}; used to select and report it.
+     */
+    String getName();
+
+    /**
+     * Performs one timed invocation.
+     *
+     * @return A value derived from the work done, which the runner consumes so the JIT cannot eliminate it.
+     * @throws Exception if the invocation fails; this aborts the benchmark.
+     */
+    Object invoke() throws Exception;
+
+    /**
+     * Prepares the benchmark before its first iteration.
+     * @throws Exception if the benchmark cannot run.
+     */
+    default void setUp() throws Exception {
+    }
+
+    /**
+     * Releases what {@link #setUp()} acquired.
+     * @throws Exception if cleaning up fails.
+     */
+    default void tearDown() throws Exception {
+    }
+
+    /**
+     * Restores state changed by the previous invocation; called untimed before each invocation
+     * when {@link #resetsBeforeEachInvocation()} is {@code true}.
+     * @throws Exception if the state cannot be restored.
+     */
+    default void reset() throws Exception {
+    }
+
+    /**
+     * @return {@code true} if {@link #reset()} must run before every invocation.
+     */
+    default boolean resetsBeforeEachInvocation() {
+        return false;
+    }
+
+    /**
+     * @return The number of operations one invocation performs, e.g. the rows mapped; scores are per operation.
+     */
+    default int getOperationsPerInvocation() {
+        return 1;
+    }
+
+    /**
+     * @return The unit in which the average time per operation is reported.
+     */
+    default TimeUnit getTimeUnit() {
+        return TimeUnit.MICROSECONDS;
+    }
+}
@@ -0,0 +1,195 @@
+package Zoho.LibraryManagementSystem.Benchmark;
+
+import Zoho.LibraryManagementSystem.Repository.DatabaseConnector;
+import Zoho.LibraryManagementSystem.Repository.SchemaMigrator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Creates and inspects the benchmark database: the scratch database named by {@code library.bench.db.url},
+ * rebuilt from {@code database_setup.sql} and the migrations and filled with synthetic data.
+ * <p>
+ * Seeding <b>drops every library table</b>, so it is refused unless {@code library.bench.db.url} is set,
+ * differs from the application's {@code library.db.url}, and the connector has been pointed at it by
+ * {@link #useBenchmarkDatabase()}. The benchmarks that change data only run against a database that
+ * carries the {@code benchmark_seed} marker table written by {@link #seed(int)}.
+ */
+final class BenchmarkDatabase {
+    /** The username of the member the circulation benchmarks borrow and return as. */
+    static final String DESK_USERNAME = "bench_desk";
+
+    private static final String SETUP_SCRIPT = "/Zoho/LibraryManagementSystem/SQL_Scripts/database_setup.sql";
+    private static final String BENCH_URL = "library.bench.db.url";
+
+    private BenchmarkDatabase() {
+    }
+
+    /**
+     * Points {@link DatabaseConnector} at {@code library.bench.db.url}, with {@code library.bench.db.user} and
+     * {@code library.bench.db.password} if given, by replacing the {@code library.db.*} settings. Must be called
+     * before anything uses the connector. Does nothing if no benchmark database is configured; the benchmarks
+     * then read the application database, and seeding is refused.
+     *
+     * @throws IllegalStateException if the benchmark database is the application database.
+     */
+    static void useBenchmarkDatabase() {
+        String benchUrl = System.getProperty(BENCH_URL);
+        if (benchUrl == null || benchUrl.isBlank()) {
+            return;
+        }
+        String applicationUrl = System.getProperty("library.db.url", DatabaseConnector.DEFAULT_URL);
+        if (benchUrl.trim().equals(applicationUrl.trim())) {
+            throw new IllegalStateException(BENCH_URL + " must name a scratch database, not the application database " + applicationUrl + ".");
+        }
+        System.setProperty("library.db.url", benchUrl);
+        copyProperty("library.bench.db.user", "library.db.user");
+        copyProperty("library.bench.db.password", "library.db.password");
+    }
+
+    /**
+     * Recreates the schema and seeds it.
+     * <p>
+     * At scale {@code n} the catalog has {@code n} books (five copies each, one or two authors and two
+     * subjects), {@code n / 10} members, {@code n} returned loans of history and an active loan on every
+     * tenth book, half of them overdue.
+     *
+     * @param scale The number of books.
+     * @throws SQLException if the database cannot be rebuilt.
+     * @throws IllegalStateException if no separate benchmark database is configured and in use.
+     */
+    static void seed(int scale) throws SQLException {
+        if (scale < 10) {
+            throw new IllegalArgumentException("The benchmark scale must be at least 10 books, not " + scale);
+        }
+        String benchUrl = System.getProperty(BENCH_URL);
+        if (benchUrl == null || benchUrl.isBlank()) {
+            throw new IllegalStateException("Seeding drops every library table, so it needs a scratch database: set -D" + BENCH_URL + ".");
+        }
+        if (!DatabaseConnector.getUrl().equals(benchUrl)) {
+            throw new IllegalStateException("Refusing to seed: the connector points at " + DatabaseConnector.getUrl() + ", not at " + BENCH_URL + ".");
+        }
+        int members = Math.max(10, scale / 10);
+        int authors = Math.max(1, scale / 5);
+        try (Connection conn = DatabaseConnector.getConnection()) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("DROP TABLE IF EXISTS benchmark_seed");
+                stmt.execute(loadSetupScript());
+            }
+        }
+        new SchemaMigrator().migrate();
+
+        try (Connection conn = DatabaseConnector.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                execute(conn, "INSERT INTO subjects (subject_name) SELECT 'Subject ' || g FROM generate_series(1, 50) g");
+                execute(conn, "INSERT INTO authors (author_name) SELECT 'Author ' || g FROM generate_series(1, ?) g", authors);
+                execute(conn, "INSERT INTO books (title, publisher, publication_date, total_copies, copies_available, times_borrowed) " +
+                        "SELECT 'Benchmark Book ' || g, 'Publisher ' || (g % 100), DATE '2024-01-01' - (g % 25000), 5, 5, 0 " +
+                        "FROM generate_series(1, ?) g", scale);
+                execute(conn, "INSERT INTO book_authors (book_id, author_id) " +
+                        "SELECT book_id, 1 + book_id % ? FROM books " +
+                        "UNION SELECT book_id, 1 + (book_id * 7) % ? FROM books WHERE book_id % 3 = 0", authors, authors);
+                execute(conn, "INSERT INTO book_subjects (book_id, subject_id) " +
+                        "SELECT book_id, 1 + book_id % 50 FROM books " +
+                        "UNION SELECT book_id, 1 + (book_id * 7 + 1) % 50 FROM books");
+                execute(conn, "INSERT INTO members (name, username, password_hash, email, membership_type) " +
+                        "SELECT 'Member ' || g, 'bench' || g, '!', 'bench' || g || '@example.com', 'PUBLIC' " +
+                        "FROM generate_series(1, ?) g", members);
+                execute(conn, "INSERT INTO members (name, username, password_hash, membership_type) " +
+                        "VALUES ('Benchmark Desk', '" + DESK_USERNAME + "', '!', 'FACULTY')");
+                execute(conn, "INSERT INTO transactions (member_id, book_id, borrow_date, due_date, return_date, transaction_status) " +
+                        "SELECT 1 + g % ?, 1 + (g * 7) % ?, CURRENT_DATE - 200 + g % 150, CURRENT_DATE - 186 + g % 150, " +
+                        "CURRENT_DATE - 193 + g % 150, 'RETURNED' FROM generate_series(1, ?) g", members, scale, scale);
+                execute(conn, "INSERT INTO transactions (member_id, book_id, borrow_date, due_date, transaction_status) " +
+                        "SELECT 1 + b % ?, b, CURRENT_DATE - CASE WHEN b % 20 = 0 THEN 30 ELSE 5 END, " +
+                        "CURRENT_DATE - CASE WHEN b % 20 = 0 THEN 16 ELSE -9 END, 'ACTIVE' " +
+                        "FROM generate_series(10, ?, 10) b", members, scale);
+                execute(conn, "UPDATE books b SET copies_available = b.total_copies - t.active, times_borrowed = t.loans " +
+                        "FROM (SELECT book_id, COUNT(*) AS loans, COUNT(*) FILTER (WHERE transaction_status = 'ACTIVE') AS active " +
+                        "FROM transactions GROUP BY book_id) t WHERE t.book_id = b.book_id");
+                execute(conn, "CREATE TABLE benchmark_seed (scale INT NOT NULL, seeded_at TIMESTAMP NOT NULL DEFAULT NOW())");
+                execute(conn, "INSERT INTO benchmark_seed (scale) VALUES (?)", scale);
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("ANALYZE");
+            }
+        }
+    }
+
+    /**
+     * Reads the scale the database was seeded at.
+     *
+     * @param conn The active database connection.
+     * @return The scale, or -1 if the database was not seeded by {@link #seed(int)}.
+     * @throws SQLException if a database access error occurs.
+     */
+    static int seededScale(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT to_regclass('benchmark_seed') IS NOT NULL")) {
+            if (!rs.next() || !rs.getBoolean(1)) {
+                return -1;
+            }
+        }
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT scale FROM benchmark_seed")) {
+            return rs.next() ? rs.getInt(1) : -1;
+        }
+    }
+
+    /**
+     * Reads the highest book ID, which bounds the IDs the read benchmarks look up.
+     *
+     * @param conn The active database connection.
+     * @return The highest book ID, or 0 if there are no books.
+     * @throws SQLException if a database access error occurs.
+     */
+    static int maxBookId(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(book_id), 0) FROM books")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    // --- Private Helper Methods ---
+
+    private static void copyProperty(String from, String to) {
+        String value = System.getProperty(from);
+        if (value != null) {
+            System.setProperty(to, value);
+        }
+    }
+
+    private static void execute(Connection conn, String sql, int... params) throws SQLException {
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (int i = 0; i < params.length; i++) {
+                pstmt.setInt(i + 1, params[i]);
+            }
+            pstmt.executeUpdate();
+        }
+    }
+
+    private static String loadSetupScript() throws SQLException {
+        try (InputStream in = BenchmarkDatabase.class.getResourceAsStream(SETUP_SCRIPT)) {
+            if (in == null) {
+                throw new SQLException("Schema script not found on the classpath: " + SETUP_SCRIPT);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new SQLException("Could not read schema script " + SETUP_SCRIPT + ": " + e.getMessage(), e);
+        }
+    }
+}
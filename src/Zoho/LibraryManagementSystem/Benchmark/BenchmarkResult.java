@@ -0,0 +1,186 @@
+package Zoho.LibraryManagementSystem.Benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The measurements of one benchmark: the average time per operation of every measurement iteration,
+ * grouped by fork. The score is the mean over all iterations and its error is the half-width of the
+ * 99.9% confidence interval, computed as JMH does, so results can be read (and exported) the same way.
+ */
+class BenchmarkResult {
+    // Two-sided 99.9% Student t quantiles for 1..30 degrees of freedom.
+    private static final double[] T_999 = {
+            636.619, 31.599, 12.924, 8.610, 6.869, 5.959, 5.408, 5.041, 4.781, 4.587,
+            4.437, 4.318, 4.221, 4.140, 4.073, 4.015, 3.965, 3.922, 3.883, 3.850,
+            3.819, 3.792, 3.768, 3.745, 3.725, 3.707, 3.690, 3.674, 3.659, 3.646};
+
+    private final String name;
+    private final TimeUnit timeUnit;
+    private final List<double[]> forks = new ArrayList<>();
+
+    BenchmarkResult(String name, TimeUnit timeUnit) {
+        this.name = name;
+        this.timeUnit = timeUnit;
+    }
+
+    /**
+     * Adds the iteration scores of one fork.
+     * @param iterationScores The average time per operation of each measurement iteration.
+     */
+    void addFork(double[] iterationScores) {
+        forks.add(iterationScores);
+    }
+
+    // Getters
+    public String getName() { return name; }
+    public TimeUnit getTimeUnit() { return timeUnit; }
+    public int getForkCount() { return forks.size(); }
+
+    /**
+     * @return The reporting unit, e.g. {@code us/op}.
+     */
+    public String getScoreUnit() {
+        return unitSymbol(timeUnit) + "/op";
+    }
+
+    /**
+     * @return The number of measurement iterations across all forks.
+     */
+    public int getCount() {
+        int count = 0;
+        for (double[] fork : forks) {
+            count += fork.length;
+        }
+        return count;
+    }
+
+    /**
+     * @return The mean time per operation over all measurement iterations.
+     */
+    public double getScore() {
+        double sum = 0;
+        for (double[] fork : forks) {
+            for (double value : fork) {
+                sum += value;
+            }
+        }
+        return getCount() == 0 ? Double.NaN : sum / getCount();
+    }
+
+    /**
+     * @return The half-width of the 99.9% confidence interval of the score; {@code NaN} for a single iteration.
+     */
+    public double getScoreError() {
+        int n = getCount();
+        if (n < 2) {
+            return Double.NaN;
+        }
+        double mean = getScore();
+        double squares = 0;
+        for (double[] fork : forks) {
+            for (double value : fork) {
+                squares += (value - mean) * (value - mean);
+            }
+        }
+        double standardDeviation = Math.sqrt(squares / (n - 1));
+        int degreesOfFreedom = n - 1;
+        double t = degreesOfFreedom <= T_999.length ? T_999[degreesOfFreedom - 1] : 3.291;
+        return t * standardDeviation / Math.sqrt(n);
+    }
+
+    /**
+     * Formats the result in the JSON layout JMH writes with {@code -rf json}, so that existing
+     * JMH comparison and charting tools can read it.
+     *
+     * @param warmupIterations The warmup iterations per fork.
+     * @param measurementIterations The measurement iterations per fork.
+     * @param iterationMillis The length of each iteration.
+     * @param params The run's parameters, e.g. the seeding scale.
+     * @return One JSON object, indented to sit inside the top-level array.
+     */
+    String toJson(int warmupIterations, int measurementIterations, long iterationMillis, Map<String, String> params) {
+        double score = getScore();
+        double error = getScoreError();
+        StringBuilder sb = new StringBuilder();
+        sb.append("    {\n");
+        sb.append("        \"benchmark\" : ").append(quote(name)).append(",\n");
+        sb.append("        \"mode\" : \"avgt\",\n");
+        sb.append("        \"threads\" : 1,\n");
+        sb.append("        \"forks\" : ").append(getForkCount()).append(",\n");
+        sb.append("        \"jdkVersion\" : ").append(quote(System.getProperty("java.version"))).append(",\n");
+        sb.append("        \"warmupIterations\" : ").append(warmupIterations).append(",\n");
+        sb.append("        \"warmupTime\" : \"").append(iterationMillis).append(" ms\",\n");
+        sb.append("        \"measurementIterations\" : ").append(measurementIterations).append(",\n");
+        sb.append("        \"measurementTime\" : \"").append(iterationMillis).append(" ms\",\n");
+        sb.append("        \"params\" : {");
+        String separator = "\n";
+        for (Map.Entry<String, String> param : params.entrySet()) {
+            sb.append(separator).append("            ").append(quote(param.getKey())).append(" : ").append(quote(param.getValue()));
+            separator = ",\n";
+        }
+        sb.append(params.isEmpty() ? "},\n" : "\n        },\n");
+        sb.append("        \"primaryMetric\" : {\n");
+        sb.append("            \"score\" : ").append(number(score)).append(",\n");
+        sb.append("            \"scoreError\" : ").append(number(error)).append(",\n");
+        sb.append("            \"scoreConfidence\" : [").append(number(score - error)).append(", ").append(number(score + error)).append("],\n");
+        sb.append("            \"scoreUnit\" : ").append(quote(getScoreUnit())).append(",\n");
+        sb.append("            \"rawData\" : [");
+        for (int f = 0; f < forks.size(); f++) {
+            sb.append(f == 0 ? "\n" : ",\n").append("                [");
+            double[] fork = forks.get(f);
+            for (int i = 0; i < fork.length; i++) {
+                sb.append(i == 0 ? "" : ", ").append(number(fork[i]));
+            }
+            sb.append("]");
+        }
+        sb.append("\n            ]\n");
+        sb.append("        },\n");
+        sb.append("        \"secondaryMetrics\" : {}\n");
+        sb.append("    }");
+        return sb.toString();
+    }
+
+    @Override
+    public String toString() {
+        double error = getScoreError();
+        return String.format(Locale.ROOT, "%-36s avgt %4d %14.3f +- %10s  %s", name, getCount(), getScore(),
+                Double.isNaN(error) ? "n/a" : String.format(Locale.ROOT, "%.3f", error), getScoreUnit());
+    }
+
+    // --- Private Helper Methods ---
+
+    static String unitSymbol(TimeUnit unit) {
+        switch (unit) {
+            case NANOSECONDS: return "ns";
+            case MICROSECONDS: return "us";
+            case MILLISECONDS: return "ms";
+            case SECONDS: return "s";
+            default: return unit.name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private static String number(double value) {
+        return Double.isNaN(value) || Double.isInfinite(value) ? "\"NaN\"" : String.format(Locale.ROOT, "%.6f", value);
+    }
+
+    private static String quote(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder sb = new StringBuilder("\"");
+        for (char c : value.toCharArray()) {
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
@@ -0,0 +1,320 @@
+package Zoho.LibraryManagementSystem.Benchmark;
+
+import Zoho.LibraryManagementSystem.Repository.DatabaseConnector;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Runs the benchmark suite and exports the results as JSON.
+ * <p>
+ * Each benchmark runs in {@code library.bench.forks} fresh JVMs (default 1; 0 runs everything in this JVM),
+ * so that one benchmark's JIT profile cannot skew the next. In each fork it runs
+ * {@code library.bench.warmupIterations} (default 5) untimed and {@code library.bench.measurementIterations}
+ * (default 10) timed iterations of {@code library.bench.iterationMs} (default 1000) milliseconds, and reports
+ * the average time per operation with a 99.9% confidence interval. Service output printed during the
+ * iterations is discarded.
+ * <p>
+ * Other settings: {@code library.bench.include} (a regular expression selecting benchmarks by name; default all),
+ * {@code library.bench.db.url} (with {@code library.bench.db.user} and {@code library.bench.db.password}),
+ * a scratch database to run against instead of the application's, {@code library.bench.seed=true} to rebuild
+ * and seed that database at {@code library.bench.scale} books (default 10000) first, {@code library.bench.mapperRows} (default 1000), {@code library.bench.result}
+ * (default {@code benchmark-results.json}) and {@code library.bench.baseline}, the result file of an earlier
+ * run to compare against.
+ */
+public class BenchmarkRunner {
+    private static final String FORK_ARGUMENT = "--fork";
+    private static final String RESULT_MARKER = "#RESULT ";
+
+    private final int warmupIterations = Integer.getInteger("library.bench.warmupIterations", 5);
+    private final int measurementIterations = Integer.getInteger("library.bench.measurementIterations", 10);
+    private final long iterationMillis = Long.getLong("library.bench.iterationMs", 1000L);
+    private final int forks = Integer.getInteger("library.bench.forks", 1);
+    private final int scale = Integer.getInteger("library.bench.scale", 10_000);
+    private final int mapperRows = Integer.getInteger("library.bench.mapperRows", 1000);
+    private final PrintStream console = System.out;
+    private final PrintStream discard = new PrintStream(OutputStream.nullOutputStream());
+    // Written after every invocation so that the JIT cannot drop the work as dead code.
+    private volatile Object sink;
+
+    /**
+     * Runs the selected benchmarks, or, when started with {@code --fork <name>}, measures one benchmark
+     * on behalf of a parent run.
+     *
+     * @param args Empty, or {@code --fork} and a benchmark name.
+     */
+    public static void main(String[] args) {
+        int status;
+        if (args.length == 2 && FORK_ARGUMENT.equals(args[0])) {
+            // The parent already pointed library.db.* at the benchmark database
+            status = new BenchmarkRunner().runFork(args[1]);
+        } else {
+            try {
+                BenchmarkDatabase.useBenchmarkDatabase();
+                status = new BenchmarkRunner().runAll(Pattern.compile(System.getProperty("library.bench.include", ".*")));
+            } catch (IllegalStateException e) {
+                System.err.println("Benchmarks not started: " + e.getMessage());
+                status = 1;
+            }
+        }
+        System.exit(status);
+    }
+
+    // --- Private Helper Methods ---
+
+    private List<BenchmarkCase> allBenchmarks() {
+        List<BenchmarkCase> cases = new ArrayList<>(MapperBenchmarks.create(mapperRows));
+        cases.addAll(DatabaseBenchmarks.create());
+        return cases;
+    }
+
+    private int runAll(Pattern include) {
+        List<BenchmarkCase> selected = new ArrayList<>();
+        for (BenchmarkCase benchmark : allBenchmarks()) {
+            if (include.matcher(benchmark.getName()).find()) {
+                selected.add(benchmark);
+            }
+        }
+        if (selected.isEmpty()) {
+            System.err.println("No benchmark matches '" + include.pattern() + "'.");
+            return 1;
+        }
+
+        boolean usesDatabase = selected.stream().anyMatch(b -> !b.getName().startsWith("mapper."));
+        try {
+            if (usesDatabase && Boolean.getBoolean("library.bench.seed")) {
+                console.println("# Rebuilding and seeding the benchmark database at scale " + scale + "...");
+                BenchmarkDatabase.seed(scale);
+            }
+
+            List<BenchmarkResult> results = new ArrayList<>();
+            for (BenchmarkCase benchmark : selected) {
+                console.println();
+                console.println("# Benchmark: " + benchmark.getName());
+                BenchmarkResult result = forks == 0 ? measureHere(benchmark) : measureInForks(benchmark);
+                if (result != null) {
+                    results.add(result);
+                }
+            }
+            report(results);
+            return results.size() == selected.size() ? 0 : 1;
+        } catch (Exception e) {
+            System.err.println("Benchmark run failed: " + e.getMessage());
+            return 1;
+        } finally {
+            if (usesDatabase) {
+                DatabaseConnector.shutdown();
+            }
+        }
+    }
+
+    // Measures one benchmark in this JVM and prints its scores for the parent to collect.
+    private int runFork(String name) {
+        try {
+            for (BenchmarkCase benchmark : allBenchmarks()) {
+                if (benchmark.getName().equals(name)) {
+                    double[] scores = measure(benchmark);
+                    if (scores == null) {
+                        return 1;
+                    }
+                    StringBuilder line = new StringBuilder(RESULT_MARKER).append(name);
+                    for (double score : scores) {
+                        line.append(' ').append(score);
+                    }
+                    console.println(line);
+                    return 0;
+                }
+            }
+            System.err.println("Unknown benchmark: " + name);
+            return 1;
+        } finally {
+            if (!name.startsWith("mapper.")) {
+                DatabaseConnector.shutdown();
+            }
+        }
+    }
+
+    private BenchmarkResult measureHere(BenchmarkCase benchmark) {
+        double[] scores = measure(benchmark);
+        if (scores == null) {
+            return null;
+        }
+        BenchmarkResult result = new BenchmarkResult(benchmark.getName(), benchmark.getTimeUnit());
+        result.addFork(scores);
+        return result;
+    }
+
+    private BenchmarkResult measureInForks(BenchmarkCase benchmark) throws IOException, InterruptedException {
+        BenchmarkResult result = new BenchmarkResult(benchmark.getName(), benchmark.getTimeUnit());
+        for (int fork = 1; fork <= forks; fork++) {
+            console.println("# Fork: " + fork + " of " + forks);
+            Process process = new ProcessBuilder(forkCommand(benchmark.getName()))
+                    .redirectError(ProcessBuilder.Redirect.INHERIT)
+                    .start();
+            double[] scores = null;
+            try (BufferedReader out = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = out.readLine()) != null) {
+                    if (line.startsWith(RESULT_MARKER)) {
+                        String[] fields = line.substring(RESULT_MARKER.length()).split(" ");
+                        scores = new double[fields.length - 1];
+                        for (int i = 1; i < fields.length; i++) {
+                            scores[i - 1] = Double.parseDouble(fields[i]);
+                        }
+                    } else {
+                        console.println(line);
+                    }
+                }
+            }
+            if (process.waitFor() != 0 || scores == null) {
+                System.err.println("Benchmark " + benchmark.getName() + " failed in fork " + fork + "; skipping it.");
+                return null;
+            }
+            result.addFork(scores);
+        }
+        return result;
+    }
+
+    // The same JVM, class path, JVM options and library.* settings (already pointed at the benchmark
+    // database), minus seeding, which the parent did.
+    private static List<String> forkCommand(String name) {
+        List<String> command = new ArrayList<>();
+        command.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        for (String jvmArgument : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+            if (!jvmArgument.startsWith("-Dlibrary.")) {
+                command.add(jvmArgument);
+            }
+        }
+        for (String property : System.getProperties().stringPropertyNames()) {
+            if (property.startsWith("library.") && !property.equals("library.bench.seed")) {
+                command.add("-D" + property + "=" + System.getProperty(property));
+            }
+        }
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(BenchmarkRunner.class.getName());
+        command.add(FORK_ARGUMENT);
+        command.add(name);
+        return command;
+    }
+
+    // Runs the warmup and measurement iterations; returns null (after reporting why) if the benchmark cannot run.
+    private double[] measure(BenchmarkCase benchmark) {
+        String unit = BenchmarkResult.unitSymbol(benchmark.getTimeUnit()) + "/op";
+        try {
+            benchmark.setUp();
+        } catch (Exception e) {
+            System.err.println("Skipping " + benchmark.getName() + ": " + e.getMessage());
+            return null;
+        }
+        try {
+            for (int i = 1; i <= warmupIterations; i++) {
+                console.printf(Locale.ROOT, "# Warmup Iteration %3d: %.3f %s%n", i, iteration(benchmark), unit);
+            }
+            double[] scores = new double[measurementIterations];
+            for (int i = 0; i < measurementIterations; i++) {
+                scores[i] = iteration(benchmark);
+                console.printf(Locale.ROOT, "Iteration %3d: %.3f %s%n", i + 1, scores[i], unit);
+            }
+            return scores;
+        } catch (Exception e) {
+            System.err.println("Benchmark " + benchmark.getName() + " failed: " + e);
+            return null;
+        } finally {
+            try {
+                benchmark.tearDown();
+            } catch (Exception e) {
+                System.err.println("Error tearing down " + benchmark.getName() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    // Runs one iteration and returns the average time per operation in the benchmark's unit.
+    private double iteration(BenchmarkCase benchmark) throws Exception {
+        long iterationNanos = TimeUnit.MILLISECONDS.toNanos(iterationMillis);
+        long invocations = 0;
+        long timedNanos = 0;
+        System.setOut(discard);
+        try {
+            long start = System.nanoTime();
+            if (benchmark.resetsBeforeEachInvocation()) {
+                do {
+                    benchmark.reset();
+                    long invocationStart = System.nanoTime();
+                    sink = benchmark.invoke();
+                    timedNanos += System.nanoTime() - invocationStart;
+                    invocations++;
+                } while (System.nanoTime() - start < iterationNanos);
+            } else {
+                do {
+                    sink = benchmark.invoke();
+                    invocations++;
+                } while ((timedNanos = System.nanoTime() - start) < iterationNanos);
+            }
+        } finally {
+            System.setOut(console);
+        }
+        double nanosPerOperation = (double) timedNanos / (invocations * benchmark.getOperationsPerInvocation());
+        return nanosPerOperation / benchmark.getTimeUnit().toNanos(1);
+    }
+
+    private void report(List<BenchmarkResult> results) throws IOException {
+        Map<String, Double> baseline = readBaseline(System.getProperty("library.bench.baseline"));
+        console.println();
+        console.println(String.format(Locale.ROOT, "%-36s Mode  Cnt %14s    %10s  %s", "Benchmark", "Score", "Error", "Units"));
+        for (BenchmarkResult result : results) {
+            Double previous = baseline.get(result.getName());
+            console.println(result + (previous == null || previous == 0 ? "" :
+                    String.format(Locale.ROOT, "  (%+.1f%% vs baseline)", (result.getScore() - previous) / previous * 100)));
+        }
+
+        Map<String, String> params = new LinkedHashMap<>();
+        params.put("scale", String.valueOf(scale));
+        params.put("mapperRows", String.valueOf(mapperRows));
+        StringBuilder json = new StringBuilder("[\n");
+        for (int i = 0; i < results.size(); i++) {
+            json.append(results.get(i).toJson(warmupIterations, measurementIterations, iterationMillis, params))
+                    .append(i < results.size() - 1 ? ",\n" : "\n");
+        }
+        json.append("]\n");
+        Path resultFile = Paths.get(System.getProperty("library.bench.result", "benchmark-results.json"));
+        Files.write(resultFile, json.toString().getBytes(StandardCharsets.UTF_8));
+        console.println();
+        console.println("Results written to " + resultFile.toAbsolutePath());
+    }
+
+    // Reads the score of each benchmark from a result file written by an earlier run.
+    private static Map<String, Double> readBaseline(String file) throws IOException {
+        Map<String, Double> scores = new HashMap<>();
+        if (file == null || !new File(file).isFile()) {
+            if (file != null) {
+                System.err.println("Baseline file not found: " + file);
+            }
+            return scores;
+        }
+        String json = new String(Files.readAllBytes(Paths.get(file)), StandardCharsets.UTF_8);
+        Matcher matcher = Pattern.compile("\"benchmark\"\\s*:\\s*\"([^\"]+)\".*?\"score\"\\s*:\\s*([-+0-9.eE]+)", Pattern.DOTALL).matcher(json);
+        while (matcher.find()) {
+            scores.put(matcher.group(1), Double.parseDouble(matcher.group(2)));
+        }
+        return scores;
+    }
+}
@@ -0,0 +1,182 @@
+package Zoho.LibraryManagementSystem.Benchmark;
+
+import Zoho.LibraryManagementSystem.Model.Member;
+import Zoho.LibraryManagementSystem.Model.Transaction;
+import Zoho.LibraryManagementSystem.Repository.BookCache;
+import Zoho.LibraryManagementSystem.Repository.DatabaseConnector;
+import Zoho.LibraryManagementSystem.Repository.LibraryDB;
+import Zoho.LibraryManagementSystem.Service.ReservationManagementServiceImpl;
+import Zoho.LibraryManagementSystem.Service.Implementaion.TransactionManagementServiceImpl;
+import Zoho.LibraryManagementSystem.Service.TransactionManagementService;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Benchmarks that run against the PostgreSQL database named by {@code library.db.url}.
+ * Every invocation borrows its connection from the shared pool, as the services do.
+ * <ul>
+ *   <li>{@code db.findBookById} looks up a random book with the book cache disabled;
+ *       {@code db.findBookById.cached} does the same through the default cache.</li>
+ *   <li>{@code db.getAllBooks} loads the whole catalog with its authors and subjects.</li>
+ *   <li>{@code service.borrowReturn} borrows a book, looks up the loan and returns it again,
+ *       each step in its own transaction, as a desk would.</li>
+ *   <li>{@code service.generateFines} fines every overdue loan; the fines are deleted, untimed,
+ *       before each invocation.</li>
+ * </ul>
+ * The two {@code service.*} benchmarks change data, so they only run against a database seeded by
+ * {@link BenchmarkDatabase#seed(int)}.
+ */
+final class DatabaseBenchmarks {
+    private DatabaseBenchmarks() {
+    }
+
+    /**
+     * Creates the database benchmarks; nothing connects to the database until a benchmark is set up.
+     *
+     * @return The benchmarks.
+     */
+    static List<BenchmarkCase> create() {
+        List<BenchmarkCase> cases = new ArrayList<>();
+        cases.add(new FindBookById("db.findBookById", new LibraryDB(new BookCache(0, 0))));
+        cases.add(new FindBookById("db.findBookById.cached", new LibraryDB()));
+        cases.add(new GetAllBooks());
+        cases.add(new BorrowReturn());
+        cases.add(new GenerateFines());
+        return cases;
+    }
+
+    // Fails set-up unless the database is a seeded benchmark database.
+    private static void requireSeeded(String benchmark) throws SQLException {
+        try (Connection conn = DatabaseConnector.getConnection()) {
+            if (BenchmarkDatabase.seededScale(conn) < 0) {
+                throw new IllegalStateException(benchmark + " changes data, so it only runs against a database seeded with -Dlibrary.bench.seed=true.");
+            }
+        }
+    }
+
+    private static class FindBookById implements BenchmarkCase {
+        private final String name;
+        private final LibraryDB libraryDB;
+        private final SplittableRandom random = new SplittableRandom(42);
+        private int maxBookId;
+
+        FindBookById(String name, LibraryDB libraryDB) {
+            this.name = name;
+            this.libraryDB = libraryDB;
+        }
+
+        @Override
+        public String getName() { return name; }
+
+        @Override
+        public void setUp() throws SQLException {
+            try (Connection conn = DatabaseConnector.getConnection()) {
+                maxBookId = BenchmarkDatabase.maxBookId(conn);
+            }
+            if (maxBookId == 0) {
+                throw new IllegalStateException("The database has no books; seed it with -Dlibrary.bench.seed=true.");
+            }
+        }
+
+        @Override
+        public Object invoke() throws SQLException {
+            try (Connection conn = DatabaseConnector.getConnection()) {
+                return libraryDB.findBookById(conn, 1 + random.nextInt(maxBookId));
+            }
+        }
+    }
+
+    private static class GetAllBooks implements BenchmarkCase {
+        private final LibraryDB libraryDB = new LibraryDB();
+
+        @Override
+        public String getName() { return "db.getAllBooks"; }
+
+        @Override
+        public Object invoke() throws SQLException {
+            try (Connection conn = DatabaseConnector.getConnection()) {
+                return libraryDB.getAllBooks(conn);
+            }
+        }
+    }
+
+    private static class BorrowReturn implements BenchmarkCase {
+        private final LibraryDB libraryDB = new LibraryDB();
+        private final TransactionManagementService transactionService =
+                new TransactionManagementServiceImpl(libraryDB, new ReservationManagementServiceImpl(libraryDB));
+        private Member desk;
+        private int maxBookId;
+        private int nextBookId;
+
+        @Override
+        public String getName() { return "service.borrowReturn"; }
+
+        @Override
+        public void setUp() throws SQLException {
+            requireSeeded(getName());
+            try (Connection conn = DatabaseConnector.getConnection()) {
+                desk = libraryDB.findMemberByUsername(conn, BenchmarkDatabase.DESK_USERNAME)
+                        .orElseThrow(() -> new IllegalStateException("The seeded member '" + BenchmarkDatabase.DESK_USERNAME + "' is missing."));
+                maxBookId = BenchmarkDatabase.maxBookId(conn);
+            }
+        }
+
+        @Override
+        public Object invoke() throws SQLException {
+            // Cycle through the catalog, skipping the books the seed put on loan
+            nextBookId = nextBookId % maxBookId + 1;
+            if (nextBookId % 10 == 0) {
+                nextBookId = nextBookId % maxBookId + 1;
+            }
+            int bookId = nextBookId;
+            transactionService.borrowBook(desk, bookId);
+            Transaction loan;
+            try (Connection conn = DatabaseConnector.getConnection()) {
+                loan = libraryDB.findActiveLoan(conn, desk.getMemberId(), bookId)
+                        .orElseThrow(() -> new IllegalStateException("The loan of book " + bookId + " was not recorded."));
+            }
+            transactionService.returnBook(desk, bookId, loan.getTransactionId());
+            return loan;
+        }
+    }
+
+    private static class GenerateFines implements BenchmarkCase {
+        private final LibraryDB libraryDB = new LibraryDB();
+        private final TransactionManagementService transactionService =
+                new TransactionManagementServiceImpl(libraryDB, new ReservationManagementServiceImpl(libraryDB));
+
+        @Override
+        public String getName() { return "service.generateFines"; }
+
+        @Override
+        public void setUp() throws SQLException {
+            requireSeeded(getName());
+        }
+
+        @Override
+        public boolean resetsBeforeEachInvocation() { return true; }
+
+        @Override
+        public void reset() throws SQLException {
+            try (Connection conn = DatabaseConnector.getConnection();
+                 Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate("DELETE FROM fines");
+            }
+        }
+
+        @Override
+        public void tearDown() throws SQLException {
+            reset();
+        }
+
+        @Override
+        public Object invoke() throws SQLException {
+            return transactionService.generateFinesForOverdueBooks();
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package Zoho.LibraryManagementSystem.Benchmark;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A JDBC {@link Connection} that answers queries from fixed in-memory tables, so that the
+ * {@link Zoho.LibraryManagementSystem.Repository.LibraryDB} row mappers can be measured without
+ * a database or driver in the way.
+ * <p>
+ * A query is answered with the first registered table whose marker occurs in its SQL; bind
+ * parameters are ignored, and unknown queries return no rows. Only the JDBC methods the
+ * repository's read paths use are supported. Because every call goes through a dynamic proxy,
+ * {@link #scan(String)} is provided as a baseline: it reads every column of a table with the same
+ * getters the mappers use, so the mapper's own cost is its score minus the baseline's.
+ */
+final class InMemoryConnection {
+    private final Map<String, Table> tables = new LinkedHashMap<>();
+
+    /**
+     * Registers a table.
+     *
+     * @param sqlMarker A fragment identifying the queries the table answers, e.g. {@code "FROM books"}.
+     * @param columns The column labels.
+     * @param types The Java type of each column: {@link Integer}, {@link String}, {@link Date},
+     *              {@link Timestamp} or {@link BigDecimal}.
+     * @param rows The rows; {@code null} values are SQL NULLs.
+     */
+    void addTable(String sqlMarker, String[] columns, Class<?>[] types, List<Object[]> rows) {
+        tables.put(sqlMarker, new Table(columns, types, rows));
+    }
+
+    /**
+     * @return A new connection over the registered tables.
+     */
+    Connection connect() {
+        return proxy(Connection.class, (method, args) -> {
+            switch (method.getName()) {
+                case "createStatement":
+                case "prepareStatement":
+                    return statement(args != null && args.length > 0 ? (String) args[0] : null);
+                case "createArrayOf":
+                    return proxy(Array.class, (m, a) -> null);
+                case "getAutoCommit":
+                    return true;
+                case "isClosed":
+                    return false;
+                case "close":
+                case "setAutoCommit":
+                    return null;
+                default:
+                    throw new SQLFeatureNotSupportedException("In-memory connection does not support " + method.getName());
+            }
+        });
+    }
+
+    /**
+     * Reads every column of every row of a table, with the same typed getters the mappers use.
+     *
+     * @param sqlMarker The marker the table was registered with.
+     * @return The number of values read.
+     * @throws Exception if reading fails.
+     */
+    int scan(String sqlMarker) throws Exception {
+        Table table = tables.get(sqlMarker);
+        int values = 0;
+        try (ResultSet rs = resultSet(table)) {
+            while (rs.next()) {
+                for (int i = 0; i < table.columns.length; i++) {
+                    Class<?> type = table.types[i];
+                    Object value;
+                    if (type == Integer.class) {
+                        value = rs.getInt(table.columns[i]);
+                    } else if (type == Date.class) {
+                        value = rs.getDate(table.columns[i]);
+                    } else if (type == Timestamp.class) {
+                        value = rs.getTimestamp(table.columns[i]);
+                    } else if (type == BigDecimal.class) {
+                        value = rs.getBigDecimal(table.columns[i]);
+                    } else {
+                        value = rs.getString(table.columns[i]);
+                    }
+                    if (value != null) {
+                        values++;
+                    }
+                }
+            }
+        }
+        return values;
+    }
+
+    // --- Private Helper Methods ---
+
+    private Statement statement(String preparedSql) {
+        Class<? extends Statement> type = preparedSql != null ? PreparedStatement.class : Statement.class;
+        return proxy(type, (method, args) -> {
+            switch (method.getName()) {
+                case "executeQuery":
+                    return resultSet(tableFor(args != null && args.length > 0 ? (String) args[0] : preparedSql));
+                case "close":
+                    return null;
+                case "isClosed":
+                    return false;
+                default:
+                    if (method.getName().startsWith("set")) {
+                        return null;
+                    }
+                    throw new SQLFeatureNotSupportedException("In-memory statement does not support " + method.getName());
+            }
+        });
+    }
+
+    private Table tableFor(String sql) {
+        for (Map.Entry<String, Table> entry : tables.entrySet()) {
+            if (sql.contains(entry.getKey())) {
+                return entry.getValue();
+            }
+        }
+        return Table.EMPTY;
+    }
+
+    private static ResultSet resultSet(Table table) {
+        Cursor cursor = new Cursor(table);
+        return proxy(ResultSet.class, cursor::handle);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Handler handler) {
+        InvocationHandler invocationHandler = (p, method, args) -> {
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "hashCode": return System.identityHashCode(p);
+                    case "equals": return p == args[0];
+                    default: return type.getSimpleName() + " (in memory)";
+                }
+            }
+            return handler.handle(method, args);
+        };
+        return (T) Proxy.newProxyInstance(InMemoryConnection.class.getClassLoader(), new Class<?>[]{type}, invocationHandler);
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(Method method, Object[] args) throws Exception;
+    }
+
+    private static class Table {
+        static final Table EMPTY = new Table(new String[0], new Class<?>[0], new ArrayList<>());
+
+        final String[] columns;
+        final Class<?>[] types;
+        final Object[][] rows;
+        final Map<String, Integer> columnIndex = new HashMap<>();
+
+        Table(String[] columns, Class<?>[] types, List<Object[]> rows) {
+            this.columns = columns;
+            this.types = types;
+            this.rows = rows.toArray(new Object[0][]);
+            for (int i = 0; i < columns.length; i++) {
+                columnIndex.put(columns[i], i);
+            }
+        }
+    }
+
+    // The state of one open result set.
+    private static class Cursor {
+        private final Table table;
+        private int row = -1;
+        private boolean wasNull;
+
+        Cursor(Table table) {
+            this.table = table;
+        }
+
+        Object handle(Method method, Object[] args) throws Exception {
+            switch (method.getName()) {
+                case "next":
+                    return ++row < table.rows.length;
+                case "close":
+                    return null;
+                case "isClosed":
+                    return false;
+                case "wasNull":
+                    return wasNull;
+                case "getInt":
+                    Object number = value(args[0]);
+                    return number == null ? 0 : ((Number) number).intValue();
+                case "getString":
+                    Object text = value(args[0]);
+                    return text == null ? null : text.toString();
+                case "getDate":
+                case "getTimestamp":
+                case "getBigDecimal":
+                case "getObject":
+                    return value(args[0]);
+                default:
+                    throw new SQLFeatureNotSupportedException("In-memory result set does not support " + method.getName());
+            }
+        }
+
+        private Object value(Object column) throws Exception {
+            Integer index = column instanceof Integer ? (Integer) column - 1 : table.columnIndex.get(column);
+            if (index == null || row < 0 || row >= table.rows.length) {
+                throw new SQLException("No column " + column + " or no current row");
+            }
+            Object value = table.rows[row][index];
+            wasNull = value == null;
+            return value;
+        }
+    }
+}
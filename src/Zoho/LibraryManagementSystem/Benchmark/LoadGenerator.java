@@ -0,0 +1,492 @@
+package Zoho.LibraryManagementSystem.Benchmark;
+
+import Zoho.LibraryManagementSystem.Metrics.LatencyHistogram;
+import Zoho.LibraryManagementSystem.Model.Member;
+import Zoho.LibraryManagementSystem.Model.Transaction;
+import Zoho.LibraryManagementSystem.Repository.DatabaseConnector;
+import Zoho.LibraryManagementSystem.Repository.LibraryDB;
+import Zoho.LibraryManagementSystem.Service.Implementaion.TransactionManagementServiceImpl;
+import Zoho.LibraryManagementSystem.Service.ReservationManagementService;
+import Zoho.LibraryManagementSystem.Service.ReservationManagementServiceImpl;
+import Zoho.LibraryManagementSystem.Service.ServiceExecutor;
+import Zoho.LibraryManagementSystem.Service.TransactionManagementService;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Drives the circulation services from many simulated desks at once and reports sustained throughput,
+ * latency percentiles and conflict and error rates per operation.
+ * <p>
+ * Each of {@code library.load.desks} threads (default 8) repeatedly picks an operation from
+ * {@code library.load.mix} (default {@code borrow=35,return=35,reserve=10,myLoans=15,myReservations=5}),
+ * a random member among the first {@code library.load.members} seeded members (default all) and a book, of
+ * which {@code library.load.hotBookShare} percent (default 20) go to the {@code library.load.hotBooks} most
+ * popular titles (default 50) so that desks contend for the same copies. A return returns a loan made earlier
+ * in the run, by any desk. Between operations a desk thinks for an exponentially distributed time with mean
+ * {@code library.load.thinkTimeMs} (default 50).
+ * <p>
+ * With {@code library.load.targetOpsPerSecond} set, desks instead start operations on a fixed schedule and
+ * latency is measured from the scheduled start, so time spent waiting behind a slow operation counts against
+ * the system rather than being silently omitted.
+ * <p>
+ * The run lasts {@code library.load.warmupSeconds} (default 10, not reported) plus
+ * {@code library.load.durationSeconds} (default 60), with a progress line every
+ * {@code library.load.reportIntervalSeconds} (default 5). Rejections by a business rule
+ * ({@link IllegalStateException}, e.g. no copy left) count as conflicts, anything else as errors; the report
+ * breaks errors down by exception, and the first stack trace of each goes to {@code library.load.errorLog}
+ * (default {@code load-errors.log}), which also receives the services' own error output during the run.
+ * The run needs the benchmark database, {@code library.bench.db.url}, seeded by the benchmark suite
+ * ({@code -Dlibrary.bench.seed=true} seeds it first),
+ * and at least as many pooled connections ({@code library.pool.maxSize}) as desks to avoid measuring the pool.
+ */
+public class LoadGenerator {
+    private static final String DEFAULT_MIX = "borrow=35,return=35,reserve=10,myLoans=15,myReservations=5";
+
+    private final int desks = Integer.getInteger("library.load.desks", 8);
+    private final int memberLimit = Integer.getInteger("library.load.members", Integer.MAX_VALUE);
+    private final int hotBooks = Integer.getInteger("library.load.hotBooks", 50);
+    private final int hotBookShare = Integer.getInteger("library.load.hotBookShare", 20);
+    private final long thinkTimeMillis = Long.getLong("library.load.thinkTimeMs", 50L);
+    private final double targetOpsPerSecond = Double.parseDouble(System.getProperty("library.load.targetOpsPerSecond", "0"));
+    private final long warmupSeconds = Long.getLong("library.load.warmupSeconds", 10L);
+    private final long durationSeconds = Long.getLong("library.load.durationSeconds", 60L);
+    private final long reportIntervalSeconds = Math.max(1, Long.getLong("library.load.reportIntervalSeconds", 5L));
+    private final String errorLog = System.getProperty("library.load.errorLog", "load-errors.log");
+
+    private final LibraryDB libraryDB = new LibraryDB();
+    private final ReservationManagementService reservationService = new ReservationManagementServiceImpl(libraryDB);
+    private final TransactionManagementService transactionService = new TransactionManagementServiceImpl(libraryDB, reservationService);
+
+    private final Map<Operation, OperationStats> stats = new LinkedHashMap<>();
+    private final int[] mixWeights = new int[Operation.values().length];
+    private final Queue<Transaction> openLoans = new ConcurrentLinkedQueue<>();
+    private final PrintStream console = System.out;
+    private final PrintStream errorConsole = System.err;
+    // "ExceptionClass: message" -> number of measured operations that failed with it
+    private final Map<String, AtomicLong> errorCauses = new ConcurrentHashMap<>();
+    private List<Member> members;
+    private final Map<Integer, Member> membersById = new HashMap<>();
+    private int maxBookId;
+    private volatile boolean measuring;
+    private volatile boolean running;
+
+    /**
+     * The operations a desk performs.
+     */
+    enum Operation {
+        BORROW("borrow"), RETURN("return"), RESERVE("reserve"), MY_LOANS("myLoans"), MY_RESERVATIONS("myReservations");
+
+        private final String key;
+
+        Operation(String key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * Runs the load test configured by system properties.
+     *
+     * @param args Not used.
+     */
+    public static void main(String[] args) {
+        int status;
+        try {
+            BenchmarkDatabase.useBenchmarkDatabase();
+            status = new LoadGenerator().run();
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            System.err.println("Load test not started: " + e.getMessage());
+            status = 1;
+        } catch (SQLException e) {
+            System.err.println("Load test failed: " + e.getMessage());
+            status = 1;
+        } finally {
+            DatabaseConnector.shutdown();
+        }
+        System.exit(status);
+    }
+
+    /**
+     * Constructs a LoadGenerator, validating its configuration.
+     *
+     * @throws IllegalArgumentException if a setting is invalid.
+     */
+    public LoadGenerator() {
+        if (desks < 1 || durationSeconds < 1 || warmupSeconds < 0 || thinkTimeMillis < 0 || targetOpsPerSecond < 0 ||
+                hotBookShare < 0 || hotBookShare > 100) {
+            throw new IllegalArgumentException("Invalid load settings: desks=" + desks + ", duration=" + durationSeconds +
+                    " s, warmup=" + warmupSeconds + " s, think time=" + thinkTimeMillis + " ms, target rate=" +
+                    targetOpsPerSecond + "/s, hot book share=" + hotBookShare + "%");
+        }
+        parseMix(System.getProperty("library.load.mix", DEFAULT_MIX));
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new OperationStats());
+        }
+    }
+
+    /**
+     * Seeds the database if asked to, runs the load and prints the report.
+     *
+     * @return The process exit status: 0 if the run completed.
+     * @throws SQLException if the database cannot be prepared.
+     */
+    public int run() throws SQLException {
+        if (Boolean.getBoolean("library.bench.seed")) {
+            int scale = Integer.getInteger("library.bench.scale", 10_000);
+            console.println("# Rebuilding and seeding the benchmark database at scale " + scale + "...");
+            BenchmarkDatabase.seed(scale);
+        }
+        try (Connection conn = DatabaseConnector.getConnection()) {
+            if (BenchmarkDatabase.seededScale(conn) < 0) {
+                throw new IllegalStateException("the load test changes data, so it only runs against a database seeded with -Dlibrary.bench.seed=true.");
+            }
+            maxBookId = BenchmarkDatabase.maxBookId(conn);
+            members = new ArrayList<>();
+            for (Member member : libraryDB.getAllMembers(conn)) {
+                if (!member.getUsername().equals(BenchmarkDatabase.DESK_USERNAME) && members.size() < memberLimit) {
+                    members.add(member);
+                    membersById.put(member.getMemberId(), member);
+                }
+            }
+        }
+        if (members.isEmpty() || maxBookId == 0) {
+            throw new IllegalStateException("the database has no members or books to simulate.");
+        }
+
+        console.printf(Locale.ROOT, "# %d desks, %d members, %d books (%d%% of picks among the %d hottest), %s, mix %s%n",
+                desks, members.size(), maxBookId, hotBookShare, hotBooks,
+                targetOpsPerSecond > 0 ? String.format(Locale.ROOT, "fixed rate %.1f ops/s", targetOpsPerSecond)
+                        : "think time " + thinkTimeMillis + " ms", System.getProperty("library.load.mix", DEFAULT_MIX));
+        console.println("# Warming up for " + warmupSeconds + " s, then measuring for " + durationSeconds + " s");
+
+        // The services print to standard output on every call, and log every rollback to standard error;
+        // keep the report readable, but keep the error output for diagnosis
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        PrintStream errorFile = openErrorLog();
+        if (errorFile != null) {
+            System.setErr(errorFile);
+        }
+        ExecutorService executor = ServiceExecutor.newDaemonThreadPool(desks, "load-desk");
+        running = true;
+        try {
+            long start = System.nanoTime();
+            for (int desk = 0; desk < desks; desk++) {
+                SplittableRandom random = new SplittableRandom(desk * 7919L + 17);
+                executor.execute(() -> runDesk(random, start));
+            }
+            sleepUntil(start + TimeUnit.SECONDS.toNanos(warmupSeconds));
+            measuring = true;
+            long measureStart = System.nanoTime();
+            long measureEnd = measureStart + TimeUnit.SECONDS.toNanos(durationSeconds);
+            for (long next = measureStart + TimeUnit.SECONDS.toNanos(reportIntervalSeconds); ; next += TimeUnit.SECONDS.toNanos(reportIntervalSeconds)) {
+                sleepUntil(Math.min(next, measureEnd));
+                reportInterval(TimeUnit.NANOSECONDS.toSeconds(Math.min(next, measureEnd) - measureStart));
+                if (next >= measureEnd) {
+                    break;
+                }
+            }
+            measuring = false;
+            report(durationSeconds);
+        } finally {
+            running = false;
+            executor.shutdown();
+            try {
+                executor.awaitTermination(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            System.setOut(console);
+            System.setErr(errorConsole);
+            if (errorFile != null) {
+                errorFile.close();
+            }
+        }
+        return 0;
+    }
+
+    // --- Private Helper Methods ---
+
+    private void runDesk(SplittableRandom random, long start) {
+        // In fixed-rate mode each desk owns every desks-th slot of the schedule
+        long intervalNanos = targetOpsPerSecond > 0 ? (long) (desks * 1e9 / targetOpsPerSecond) : 0;
+        long scheduled = start + random.nextLong(Math.max(1, intervalNanos));
+        while (running) {
+            long operationStart;
+            if (intervalNanos > 0) {
+                sleepUntil(scheduled);
+                operationStart = scheduled;
+                scheduled += intervalNanos;
+            } else {
+                if (thinkTimeMillis > 0) {
+                    // Exponentially distributed think time with the configured mean
+                    sleepUntil(System.nanoTime() + (long) (-Math.log(1 - random.nextDouble()) * thinkTimeMillis * 1e6));
+                }
+                operationStart = System.nanoTime();
+            }
+            if (!running) {
+                break;
+            }
+            perform(pickOperation(random), random, operationStart);
+        }
+    }
+
+    private void perform(Operation operation, SplittableRandom random, long operationStart) {
+        Member member = members.get(random.nextInt(members.size()));
+        int bookId = pickBook(random);
+        Transaction loan = null;
+        if (operation == Operation.RETURN) {
+            loan = openLoans.poll();
+            if (loan == null) {
+                // Nothing is on loan yet; the desk lends a book instead
+                operation = Operation.BORROW;
+            }
+        }
+
+        Outcome outcome = Outcome.SUCCESS;
+        try {
+            switch (operation) {
+                case BORROW:
+                    transactionService.borrowBook(member, bookId);
+                    break;
+                case RETURN:
+                    transactionService.returnBook(membersById.get(loan.getMemberId()), loan.getBookId(), loan.getTransactionId());
+                    break;
+                case RESERVE:
+                    reservationService.placeReservation(member, bookId);
+                    break;
+                case MY_LOANS:
+                    transactionService.getMyTransactions(member);
+                    break;
+                case MY_RESERVATIONS:
+                    reservationService.getMyActiveReservations(member);
+                    break;
+            }
+        } catch (IllegalStateException e) {
+            outcome = Outcome.CONFLICT;
+        } catch (SQLException | RuntimeException e) {
+            outcome = Outcome.ERROR;
+            if (measuring) {
+                recordError(operation, e);
+            }
+        }
+        long latency = System.nanoTime() - operationStart;
+        if (measuring) {
+            stats.get(operation).record(latency, outcome);
+        }
+
+        // Remember the new loan, outside the measured time, so that a later return can close it
+        if (operation == Operation.BORROW && outcome == Outcome.SUCCESS) {
+            try (Connection conn = DatabaseConnector.getConnection()) {
+                libraryDB.findActiveLoan(conn, member.getMemberId(), bookId).ifPresent(openLoans::add);
+            } catch (SQLException e) {
+                // The loan simply stays open
+            }
+        }
+    }
+
+    private Operation pickOperation(SplittableRandom random) {
+        int total = 0;
+        for (int weight : mixWeights) {
+            total += weight;
+        }
+        int pick = random.nextInt(total);
+        for (Operation operation : Operation.values()) {
+            pick -= mixWeights[operation.ordinal()];
+            if (pick < 0) {
+                return operation;
+            }
+        }
+        return Operation.BORROW;
+    }
+
+    private int pickBook(SplittableRandom random) {
+        int hot = Math.min(hotBooks, maxBookId);
+        if (hot > 0 && random.nextInt(100) < hotBookShare) {
+            return 1 + random.nextInt(hot);
+        }
+        return 1 + random.nextInt(maxBookId);
+    }
+
+    private void parseMix(String mix) {
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            Operation operation = null;
+            for (Operation candidate : Operation.values()) {
+                if (candidate.key.equals(parts[0].trim())) {
+                    operation = candidate;
+                }
+            }
+            if (operation == null || parts.length != 2) {
+                throw new IllegalArgumentException("Invalid operation mix entry '" + entry + "'; expected e.g. " + DEFAULT_MIX);
+            }
+            try {
+                mixWeights[operation.ordinal()] = Integer.parseInt(parts[1].trim());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid weight in operation mix entry '" + entry + "'");
+            }
+            if (mixWeights[operation.ordinal()] < 0) {
+                throw new IllegalArgumentException("Negative weight in operation mix entry '" + entry + "'");
+            }
+        }
+        int total = 0;
+        for (int weight : mixWeights) {
+            total += weight;
+        }
+        if (total == 0) {
+            throw new IllegalArgumentException("The operation mix has no operations: " + mix);
+        }
+    }
+
+    private void reportInterval(long elapsedSeconds) {
+        LatencyHistogram interval = new LatencyHistogram();
+        long conflicts = 0;
+        long errors = 0;
+        for (OperationStats operationStats : stats.values()) {
+            IntervalCounts counts = operationStats.takeInterval();
+            interval.add(counts.histogram);
+            conflicts += counts.conflicts.get();
+            errors += counts.errors.get();
+        }
+        long operations = interval.getTotalCount();
+        console.printf(Locale.ROOT, "[%4d s] %9.1f ops/s | p50 %8.2f ms | p99 %8.2f ms | max %8.2f ms | conflicts %5.1f%% | errors %5.1f%%%n",
+                elapsedSeconds, operations / (double) reportIntervalSeconds, millis(interval.getValueAtPercentile(50)),
+                millis(interval.getValueAtPercentile(99)), millis(interval.getMaxValue()),
+                percent(conflicts, operations), percent(errors, operations));
+    }
+
+    private void report(long seconds) {
+        console.println();
+        console.printf(Locale.ROOT, "%-15s %9s %9s %9s %9s %9s %9s %10s %9s %8s%n",
+                "Operation", "Count", "ops/s", "p50 ms", "p95 ms", "p99 ms", "p99.9 ms", "max ms", "conflict", "error");
+        LatencyHistogram all = new LatencyHistogram();
+        long conflicts = 0;
+        long errors = 0;
+        for (Map.Entry<Operation, OperationStats> entry : stats.entrySet()) {
+            OperationStats operationStats = entry.getValue();
+            all.add(operationStats.total);
+            conflicts += operationStats.conflicts.get();
+            errors += operationStats.errors.get();
+            printRow(entry.getKey().key, operationStats.total, operationStats.conflicts.get(), operationStats.errors.get(), seconds);
+        }
+        printRow("all", all, conflicts, errors, seconds);
+
+        if (!errorCauses.isEmpty()) {
+            console.println();
+            console.println("Errors by cause (first stack trace of each in " + errorLog + "):");
+            errorCauses.entrySet().stream()
+                    .sorted((a, b) -> Long.compare(b.getValue().get(), a.getValue().get()))
+                    .forEach(cause -> console.printf(Locale.ROOT, "%9d  %s%n", cause.getValue().get(), cause.getKey()));
+        }
+    }
+
+    // Counts an error by its cause; the first occurrence of each cause is written to the error log with its stack trace.
+    private void recordError(Operation operation, Exception e) {
+        String cause = e.getClass().getSimpleName() + ": " + e.getMessage();
+        if (e instanceof SQLException && ((SQLException) e).getSQLState() != null) {
+            cause += " [SQLState " + ((SQLException) e).getSQLState() + "]";
+        }
+        boolean[] first = {false};
+        errorCauses.computeIfAbsent(cause, key -> {
+            first[0] = true;
+            return new AtomicLong();
+        }).incrementAndGet();
+        if (first[0]) {
+            PrintStream err = System.err;
+            synchronized (err) {
+                err.println("Load test " + operation.key + " failed:");
+                e.printStackTrace(err);
+            }
+        }
+    }
+
+    // Opens the file standard error is sent to during the run, or returns null to leave standard error alone.
+    private PrintStream openErrorLog() {
+        try {
+            return new PrintStream(new FileOutputStream(errorLog), true, StandardCharsets.UTF_8.name());
+        } catch (IOException e) {
+            console.println("# Could not open " + errorLog + " (" + e.getMessage() + "); service errors go to standard error");
+            return null;
+        }
+    }
+
+    private void printRow(String name, LatencyHistogram histogram, long conflicts, long errors, long seconds) {
+        long count = histogram.getTotalCount();
+        console.printf(Locale.ROOT, "%-15s %9d %9.1f %9.2f %9.2f %9.2f %9.2f %10.2f %8.1f%% %7.1f%%%n",
+                name, count, count / (double) seconds, millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(95)), millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)), millis(histogram.getMaxValue()),
+                percent(conflicts, count), percent(errors, count));
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static double percent(long part, long whole) {
+        return whole == 0 ? 0 : 100.0 * part / whole;
+    }
+
+    private static void sleepUntil(long deadlineNanos) {
+        long remaining;
+        while ((remaining = deadlineNanos - System.nanoTime()) > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(remaining);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private enum Outcome { SUCCESS, CONFLICT, ERROR }
+
+    // The cumulative and current-interval measurements of one operation.
+    private static class OperationStats {
+        final LatencyHistogram total = new LatencyHistogram();
+        final AtomicLong conflicts = new AtomicLong();
+        final AtomicLong errors = new AtomicLong();
+        final AtomicReference<IntervalCounts> interval = new AtomicReference<>(new IntervalCounts());
+
+        void record(long latencyNanos, Outcome outcome) {
+            IntervalCounts current = interval.get();
+            total.record(latencyNanos);
+            current.histogram.record(latencyNanos);
+            if (outcome == Outcome.CONFLICT) {
+                conflicts.incrementAndGet();
+                current.conflicts.incrementAndGet();
+            } else if (outcome == Outcome.ERROR) {
+                errors.incrementAndGet();
+                current.errors.incrementAndGet();
+            }
+        }
+
+        IntervalCounts takeInterval() {
+            return interval.getAndSet(new IntervalCounts());
+        }
+    }
+
+    private static class IntervalCounts {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        final AtomicLong conflicts = new AtomicLong();
+        final AtomicLong errors = new AtomicLong();
+    }
+}
@@ -0,0 +1,136 @@
+package Zoho.LibraryManagementSystem.Benchmark;
+
+import Zoho.LibraryManagementSystem.Model.Enum.MembershipType;
+import Zoho.LibraryManagementSystem.Repository.LibraryDB;
+
+import java.sql.Connection;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the {@link LibraryDB} row mappers ({@code mapRowToBook}, {@code mapRowToMember} and
+ * {@code mapRowToTransaction}), measured through the public list methods that use them over an
+ * {@link InMemoryConnection}, so no database is needed. Scores are nanoseconds per row.
+ * <p>
+ * {@code mapper.books} also includes attaching the book's authors and subjects, which every caller of
+ * {@code mapRowToBook} pays. Each mapper has a {@code .baseline} twin that only reads the same columns;
+ * the difference between the two is the cost of the mapping itself.
+ */
+final class MapperBenchmarks {
+    private static final String BOOKS = "FROM books";
+    private static final String BOOK_AUTHORS = "FROM book_authors";
+    private static final String BOOK_SUBJECTS = "FROM book_subjects";
+    private static final String MEMBERS = "FROM members";
+    private static final String TRANSACTIONS = "FROM transactions";
+
+    private MapperBenchmarks() {
+    }
+
+    /**
+     * Creates the mapper benchmarks.
+     *
+     * @param rows The number of rows in each in-memory table ({@code library.bench.mapperRows}).
+     * @return The benchmarks.
+     */
+    static List<BenchmarkCase> create(int rows) {
+        InMemoryConnection data = seed(rows);
+        LibraryDB libraryDB = new LibraryDB();
+        Connection conn = data.connect();
+
+        List<BenchmarkCase> cases = new ArrayList<>();
+        cases.add(new MapperCase("mapper.books", rows, () -> libraryDB.getAllBooks(conn)));
+        cases.add(new MapperCase("mapper.books.baseline", rows,
+                () -> data.scan(BOOKS) + data.scan(BOOK_AUTHORS) + data.scan(BOOK_SUBJECTS)));
+        cases.add(new MapperCase("mapper.members", rows, () -> libraryDB.getAllMembers(conn)));
+        cases.add(new MapperCase("mapper.members.baseline", rows, () -> data.scan(MEMBERS)));
+        cases.add(new MapperCase("mapper.transactions", rows, () -> libraryDB.getAllTransactions(conn)));
+        cases.add(new MapperCase("mapper.transactions.baseline", rows, () -> data.scan(TRANSACTIONS)));
+        return cases;
+    }
+
+    // Builds tables shaped like the seeded benchmark database, with a realistic share of NULLs.
+    private static InMemoryConnection seed(int rows) {
+        LocalDate today = LocalDate.now();
+        List<Object[]> books = new ArrayList<>();
+        List<Object[]> bookAuthors = new ArrayList<>();
+        List<Object[]> bookSubjects = new ArrayList<>();
+        List<Object[]> members = new ArrayList<>();
+        List<Object[]> transactions = new ArrayList<>();
+        MembershipType[] membershipTypes = MembershipType.values();
+
+        for (int i = 1; i <= rows; i++) {
+            books.add(new Object[]{i, "Benchmark Book " + i, "Publisher " + (i % 100),
+                    i % 20 == 0 ? null : Date.valueOf(today.minusDays(i % 25_000)), 5, 3, i % 40});
+            bookAuthors.add(new Object[]{i, 1 + i % 500, "Author " + (1 + i % 500)});
+            if (i % 3 == 0) {
+                bookAuthors.add(new Object[]{i, 1 + (i * 7) % 500, "Author " + (1 + (i * 7) % 500)});
+            }
+            bookSubjects.add(new Object[]{i, 1 + i % 50, "Subject " + (1 + i % 50)});
+            bookSubjects.add(new Object[]{i, 1 + (i * 7 + 1) % 50, "Subject " + (1 + (i * 7 + 1) % 50)});
+
+            members.add(new Object[]{i, "Member " + i, "bench" + i, "$2a$10$abcdefghijklmnopqrstuuvwxyz0123456789ABCDEFGHIJKLMNOPQ",
+                    "bench" + i + "@example.com", i % 4 == 0 ? null : "555-" + (1000 + i % 9000), "1 Library Street",
+                    membershipTypes[i % membershipTypes.length].name().toLowerCase(), "ACTIVE",
+                    Date.valueOf(today.minusDays(i % 1000)), i % 2 == 0 ? null : Date.valueOf(today.plusDays(365))});
+
+            LocalDate borrowed = today.minusDays(i % 200);
+            boolean returned = i % 3 != 0;
+            transactions.add(new Object[]{i, 1 + i % Math.max(1, rows / 10), i, Date.valueOf(borrowed),
+                    Date.valueOf(borrowed.plusDays(14)), returned ? Date.valueOf(borrowed.plusDays(7)) : null,
+                    returned ? "RETURNED" : "ACTIVE"});
+        }
+
+        InMemoryConnection data = new InMemoryConnection();
+        data.addTable(BOOKS,
+                new String[]{"book_id", "title", "publisher", "publication_date", "total_copies", "copies_available", "times_borrowed"},
+                new Class<?>[]{Integer.class, String.class, String.class, Date.class, Integer.class, Integer.class, Integer.class},
+                books);
+        data.addTable(BOOK_AUTHORS, new String[]{"book_id", "author_id", "author_name"},
+                new Class<?>[]{Integer.class, Integer.class, String.class}, bookAuthors);
+        data.addTable(BOOK_SUBJECTS, new String[]{"book_id", "subject_id", "subject_name"},
+                new Class<?>[]{Integer.class, Integer.class, String.class}, bookSubjects);
+        data.addTable(MEMBERS,
+                new String[]{"member_id", "name", "username", "password_hash", "email", "phone_number", "address",
+                        "membership_type", "membership_status", "registration_date", "expiry_date"},
+                new Class<?>[]{Integer.class, String.class, String.class, String.class, String.class, String.class, String.class,
+                        String.class, String.class, Date.class, Date.class},
+                members);
+        data.addTable(TRANSACTIONS,
+                new String[]{"transaction_id", "member_id", "book_id", "borrow_date", "due_date", "return_date", "transaction_status"},
+                new Class<?>[]{Integer.class, Integer.class, Integer.class, Date.class, Date.class, Date.class, String.class},
+                transactions);
+        return data;
+    }
+
+    @FunctionalInterface
+    private interface Work {
+        Object run() throws Exception;
+    }
+
+    private static class MapperCase implements BenchmarkCase {
+        private final String name;
+        private final int rows;
+        private final Work work;
+
+        MapperCase(String name, int rows, Work work) {
+            this.name = name;
+            this.rows = rows;
+            this.work = work;
+        }
+
+        @Override
+        public String getName() { return name; }
+
+        @Override
+        public Object invoke() throws Exception { return work.run(); }
+
+        @Override
+        public int getOperationsPerInvocation() { return rows; }
+
+        @Override
+        public TimeUnit getTimeUnit() { return TimeUnit.NANOSECONDS; }
+    }
+}
@@ -1,23 +1,40 @@
 package Zoho.LibraryManagementSystem.Main;
 
+import Zoho.LibraryManagementSystem.Metrics.MetricsProxy;
+import Zoho.LibraryManagementSystem.Metrics.MetricsRegistry;
 import Zoho.LibraryManagementSystem.Model.Book;
+import Zoho.LibraryManagementSystem.Model.Completion;
+import Zoho.LibraryManagementSystem.Model.ImportReport;
 import Zoho.LibraryManagementSystem.Model.Member;
 import Zoho.LibraryManagementSystem.Model.Enum.MembershipType;
+import Zoho.LibraryManagementSystem.Model.Page;
 import Zoho.LibraryManagementSystem.Model.Reservation;
 import Zoho.LibraryManagementSystem.Model.Transaction;
+import Zoho.LibraryManagementSystem.Repository.DatabaseConnector;
 import Zoho.LibraryManagementSystem.Repository.LibraryDB;
+import Zoho.LibraryManagementSystem.Repository.LibraryEventListener;
+import Zoho.LibraryManagementSystem.Repository.SchemaMigrator;
 import Zoho.LibraryManagementSystem.Service.*;
 import Zoho.LibraryManagementSystem.Service.Implementaion.*;
 import Zoho.LibraryManagementSystem.Service.ReservationManagementServiceImpl;
+import Zoho.LibraryManagementSystem.Web.LibraryHttpServer;
 
+import java.io.IOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+import java.sql.Connection;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 import java.util.Scanner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
 
 
 /**
@@ -27,6 +44,7 @@ import java.util.Scanner;
  * to perform library operations. It acts as the presentation layer of the application.
  */
 public class LibraryManagementSystem {
+    private static final int PAGE_SIZE = 20;
     private final Scanner scanner = new Scanner(System.in);
     // Service dependencies, injected via the constructor
     private final AuthenticationService authService;
@@ -34,6 +52,14 @@ public class LibraryManagementSystem {
     private final BookManagementService bookService;
     private final TransactionManagementService transactionService;
     private final ReservationManagementService reservationService;
+    private final CatalogImportService importService;
+    private final CatalogSearchService searchService;
+    private final AutocompleteService autocompleteService;
+    private final MemberNotificationService notificationService;
+    private final ReservationExpiryServiceImpl expiryService;
+    private final LibraryDB libraryDB;
+    private final LibraryEventListener eventListener;
+    private final PasswordService passwordService;
 
     /**
      * Constructs the LibraryManagementSystem application with all necessary service dependencies.
@@ -44,15 +70,34 @@ public class LibraryManagementSystem {
      * @param bookService Service for managing books in the library.
      * @param transactionService Service for handling loan transactions and fines.
      * @param reservationService Service for managing book reservations.
+     * @param importService Service for bulk-loading books into the catalog.
+     * @param searchService Service for free-text catalog search.
+     * @param autocompleteService Service for title and author prefix suggestions.
+     * @param notificationService Service holding notices for members, shown when they open their menu.
+     * @param expiryService Service expiring uncollected reservations; runs in the background and on demand.
+     * @param libraryDB The data access object, used here only to report cache statistics.
+     * @param eventListener The database event listener, reported in statistics and stopped on exit.
+     * @param passwordService The password service, used here only to report hashing statistics.
      */
     public LibraryManagementSystem(AuthenticationService authService, MemberManagementService memberService,
                                    BookManagementService bookService, TransactionManagementService transactionService,
-                                   ReservationManagementService reservationService) {
+                                   ReservationManagementService reservationService, CatalogImportService importService,
+                                   CatalogSearchService searchService, AutocompleteService autocompleteService,
+                                   MemberNotificationService notificationService, ReservationExpiryServiceImpl expiryService, LibraryDB libraryDB,
+                                   LibraryEventListener eventListener, PasswordService passwordService) {
         this.authService = authService;
         this.memberService = memberService;
         this.bookService = bookService;
         this.transactionService = transactionService;
         this.reservationService = reservationService;
+        this.importService = importService;
+        this.searchService = searchService;
+        this.autocompleteService = autocompleteService;
+        this.notificationService = notificationService;
+        this.expiryService = expiryService;
+        this.libraryDB = libraryDB;
+        this.eventListener = eventListener;
+        this.passwordService = passwordService;
     }
 
     /**
@@ -63,23 +108,107 @@ public class LibraryManagementSystem {
      * @param args Command line arguments (not used by this application).
      */
     public static void main(String[] args) {
+        // --- Schema Migrations ---
+        // Bring the database schema (indexes, new columns) up to date before serving any requests
+        try {
+            new SchemaMigrator().migrate();
+        } catch (SQLException e) {
+            System.err.println("Could not apply database schema migrations: " + e.getMessage());
+            DatabaseConnector.shutdown();
+            return;
+        }
+
         // --- Dependency Injection Setup ---
         // Create the single instance of the database repository
         LibraryDB libraryDB = new LibraryDB();
-        // Create service implementations, injecting their dependencies
+        // Intern the author and subject vocabularies so adding books rarely needs a name lookup
+        try (Connection conn = DatabaseConnector.getConnection()) {
+            libraryDB.warmNameCaches(conn);
+        } catch (SQLException e) {
+            System.err.println("Could not preload author and subject names: " + e.getMessage());
+        }
+        // Create service implementations, injecting their dependencies; each is timed per method unless metrics are disabled
         PasswordService passwordService = new PasswordServiceImpl();
-        AuthenticationService authService = new AuthenticationServiceImpl(libraryDB, passwordService);
-        MemberManagementService memberService = new MemberManagementServiceImpl(libraryDB, passwordService);
-        BookManagementService bookService = new BookManagementServiceImpl(libraryDB);
-        ReservationManagementService reservationService = new ReservationManagementServiceImpl(libraryDB);
-        TransactionManagementService transactionService = new TransactionManagementServiceImpl(libraryDB,reservationService);
+        AuthenticationService authService = MetricsProxy.instrument(AuthenticationService.class, new AuthenticationServiceImpl(libraryDB, passwordService));
+        MemberManagementService memberService = MetricsProxy.instrument(MemberManagementService.class, new MemberManagementServiceImpl(libraryDB, passwordService));
+        BookManagementService bookService = MetricsProxy.instrument(BookManagementService.class, new BookManagementServiceImpl(libraryDB));
+        ReservationManagementService reservationService = MetricsProxy.instrument(ReservationManagementService.class, new ReservationManagementServiceImpl(libraryDB));
+        TransactionManagementService transactionService = MetricsProxy.instrument(TransactionManagementService.class, new TransactionManagementServiceImpl(libraryDB,reservationService));
+        CatalogImportService importService = MetricsProxy.instrument(CatalogImportService.class, new CatalogImportServiceImpl(libraryDB));
+        CatalogSearchServiceImpl searchService = new CatalogSearchServiceImpl(libraryDB);
+        // Keep the search index in step with every change to the catalog
+        bookService.addCatalogListener(searchService);
+        importService.addCatalogListener(searchService);
+        AutocompleteServiceImpl autocompleteService = new AutocompleteServiceImpl(libraryDB);
+        bookService.addCatalogListener(autocompleteService);
+        importService.addCatalogListener(autocompleteService);
+        transactionService.addCatalogListener(autocompleteService);
+        try {
+            int indexed = searchService.rebuildIndex();
+            int suggestions = autocompleteService.rebuildIndex();
+            System.out.println("Search index ready: " + indexed + " books indexed, " + suggestions + " title/author suggestions.");
+        } catch (SQLException e) {
+            System.err.println("Could not build the search index: " + e.getMessage());
+        }
+
+        // Listen for committed stock and reservation changes (from any instance) to keep caches fresh and notify members
+        MemberNotificationServiceImpl notificationService = new MemberNotificationServiceImpl(libraryDB);
+        LibraryEventListener eventListener = new LibraryEventListener(libraryDB);
+        eventListener.addSubscriber(notificationService);
+        if (Boolean.parseBoolean(System.getProperty("library.events.enabled", "true"))) {
+            eventListener.start();
+        }
+
+        // Release copies held for reservations nobody collected, handing them to the next member in the queue
+        ReservationExpiryServiceImpl expiryService = new ReservationExpiryServiceImpl(libraryDB);
+        expiryService.start();
+
+        // Optionally serve the same services over HTTP, for desks and members working concurrently
+        LibraryHttpServer httpServer = null;
+        int httpPort = Integer.getInteger("library.http.port", 0);
+        if (httpPort > 0) {
+            try {
+                httpServer = new LibraryHttpServer(httpPort, authService, bookService, transactionService, reservationService, searchService, notificationService);
+                httpServer.start();
+                System.out.println("HTTP API listening on port " + httpServer.getPort() + ".");
+            } catch (IOException e) {
+                System.err.println("Could not start the HTTP API on port " + httpPort + ": " + e.getMessage());
+            }
+        }
+
+        // Without the console (e.g. on a server), keep serving HTTP until the JVM is stopped
+        if (httpServer != null && !Boolean.parseBoolean(System.getProperty("library.console.enabled", "true"))) {
+            LibraryHttpServer server = httpServer;
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> shutdown(server, expiryService, eventListener, notificationService), "library-shutdown"));
+            return;
+        }
 
         // Create the main application instance with all injected services
-        LibraryManagementSystem app = new LibraryManagementSystem(authService, memberService, bookService, transactionService, reservationService);
+        LibraryManagementSystem app = new LibraryManagementSystem(authService, memberService, bookService, transactionService, reservationService, importService, searchService, autocompleteService, notificationService, expiryService, libraryDB, eventListener, passwordService);
 
         System.out.println("Welcome to the Advanced Library Management System!");
         // Start the main application loop
         app.run();
+        shutdown(httpServer, expiryService, eventListener, notificationService);
+    }
+    /**
+     * Stops the background services and closes the connection pool, front ends first so that
+     * no new work arrives while the rest shuts down.
+     *
+     * @param httpServer The HTTP API, or {@code null} if it is not running.
+     * @param expiryService The reservation expiry scheduler.
+     * @param eventListener The database event listener.
+     * @param notificationService The member notifier, stopped after the listener that feeds it.
+     */
+    private static void shutdown(LibraryHttpServer httpServer, ReservationExpiryServiceImpl expiryService, LibraryEventListener eventListener,
+                                 MemberNotificationServiceImpl notificationService) {
+        if (httpServer != null) {
+            httpServer.close();
+        }
+        expiryService.close();
+        eventListener.close();
+        notificationService.close();
+        DatabaseConnector.shutdown();
     }
     /**
      * Runs the main application loop, displaying the top-level menu and directing
@@ -143,7 +272,8 @@ public class LibraryManagementSystem {
             System.out.println("3. Transactions");
             System.out.println("4. Manage Reservations");
             System.out.println("5. Generate Fines for Overdue Books");
-            System.out.println("6. Logout");
+            System.out.println("6. View System Statistics");
+            System.out.println("7. Logout");
             System.out.print("Choose an option: ");
             String choice = scanner.nextLine();
 
@@ -153,7 +283,8 @@ public class LibraryManagementSystem {
                 case "3": manageTransactionsMenu(); break;
                 case "4": manageReservationsMenu(); break;
                 case "5": generateFines(); break;
-                case "6": System.out.println("Logging out librarian..."); return;
+                case "6": viewSystemStats(); break;
+                case "7": System.out.println("Logging out librarian..."); return;
                 default: System.out.println("Invalid option. Please try again.");
             }
         }
@@ -192,7 +323,11 @@ public class LibraryManagementSystem {
             System.out.println("2. Add a New Book");
             System.out.println("3. Remove a Book");
             System.out.println("4. Update Book Stock");
-            System.out.println("5. Back to Librarian Menu");
+            System.out.println("5. Bulk Import Books from CSV/TSV File");
+            System.out.println("6. Search Books");
+            System.out.println("7. Full-Text Search Books (Database)");
+            System.out.println("8. Quick Lookup by Title/Author Prefix");
+            System.out.println("9. Back to Librarian Menu");
             System.out.print("Choose an option: ");
             String choice = scanner.nextLine();
 
@@ -201,7 +336,11 @@ public class LibraryManagementSystem {
                 case "2": addBook(); break;
                 case "3": removeBook(); break;
                 case "4": updateBookStock(); break;
-                case "5": return;
+                case "5": importBooks(); break;
+                case "6": searchBooks(); break;
+                case "7": fullTextSearchBooks(); break;
+                case "8": autocompleteLookup(); break;
+                case "9": return;
                 default: System.out.println("Invalid option. Please try again.");
             }
         }
@@ -229,8 +368,8 @@ public class LibraryManagementSystem {
     }
     /**
      * Displays the menu for managing book reservations.
-     * Allows librarians to view all active reservations and notify members
-     * when a reserved book becomes available.
+     * Allows librarians to view all active reservations, notify members
+     * when a reserved book becomes available, and expire uncollected reservations.
      */
     private void manageReservationsMenu() {
         while (true) {
@@ -238,7 +377,8 @@ public class LibraryManagementSystem {
             System.out.println("1. View All Active Reservations");
             System.out.println("2. Notify Next Member for Available Book (Mark as AVAILABLE)");
             System.out.println("3. Manually Fulfill Reservation (Mark as FULFILLED)");
-            System.out.println("4. Back to Librarian Menu");
+            System.out.println("4. Expire Uncollected Reservations Now");
+            System.out.println("5. Back to Librarian Menu");
             System.out.print("Choose an option: ");
             String choice = scanner.nextLine();
 
@@ -246,7 +386,8 @@ public class LibraryManagementSystem {
                 case "1": viewAllActiveReservations(); break;
                 case "2": notifyNextMemberForBook(); break;
                 case "3": fulfillReservationManually(); break;
-                case "4": return;
+                case "4": expireUncollectedReservations(); break;
+                case "5": return;
                 default: System.out.println("Invalid option. Please try again.");
             }
         }
@@ -271,10 +412,28 @@ public class LibraryManagementSystem {
     }
 
     /**
-     * Handles the UI for a librarian to manually mark a reservation as 'FULFILLED'.
-     * This is typically done after a member borrows a book for which they had an
-     * 'AVAILABLE' reservation, though the borrowing process now automates this.
-     * This serves as a manual override or for specific cases.
+     * Displays a snapshot of the database connection pool's and book cache's statistics,
+     * followed by the slowest operations recorded by the metrics registry.
+     * Intended for librarian use when diagnosing slow responses.
+     */
+    private void viewSystemStats() {
+        System.out.println("\n--- System Statistics ---");
+        System.out.println(DatabaseConnector.getPoolStats());
+        System.out.println(libraryDB.getBookCache());
+        System.out.println(libraryDB.getAuthorIdCache());
+        System.out.println(libraryDB.getSubjectIdCache());
+        System.out.println(eventListener);
+        System.out.println(expiryService);
+        System.out.println(ServiceExecutor.describe());
+        System.out.println(passwordService);
+        System.out.println(MetricsRegistry.summary(15));
+    }
+
+    /**
+     * Handles the UI for a librarian to manually fulfill a reservation.
+     * An 'AVAILABLE' reservation is fulfilled by lending its held copy to the member, through
+     * the {@link TransactionManagementService}, so the copy is accounted for as a loan;
+     * a 'WAITING' reservation is simply marked 'FULFILLED' as a manual override.
      * Uses the {@link ReservationManagementService}.
      */
     private void fulfillReservationManually() {
@@ -283,6 +442,23 @@ public class LibraryManagementSystem {
         System.out.println("This option is for manual overrides or specific cases.");
         try {
             int reservationId = getNumericInput("Enter the Reservation ID to mark as FULFILLED: ");
+            Optional<Reservation> reservation = reservationService.findReservationById(reservationId);
+            if (!reservation.isPresent()) {
+                System.out.println("No reservation found with ID " + reservationId + ".");
+                return;
+            }
+            String status = reservation.get().getStatus();
+            if (!"WAITING".equals(status) && !"AVAILABLE".equals(status)) {
+                System.out.println("Reservation ID " + reservationId + " is already " + status + ".");
+                return;
+            }
+            if ("AVAILABLE".equals(status)) {
+                Member member = memberService.findMemberById(reservation.get().getMemberId())
+                        .orElseThrow(() -> new IllegalStateException("Member ID " + reservation.get().getMemberId() + " not found."));
+                System.out.println("A copy is held for this reservation; lending it to " + member.getName() + ".");
+                transactionService.borrowBook(member, reservation.get().getBookId());
+                return;
+            }
             reservationService.updateReservationStatus(reservationId, "FULFILLED");
             System.out.println("Reservation ID " + reservationId + " has been successfully marked as FULFILLED.");
         } catch (SQLException e) {
@@ -291,6 +467,19 @@ public class LibraryManagementSystem {
             System.err.println("Error: " + e.getMessage());
         }
     }
+    /**
+     * Runs an immediate pass over 'AVAILABLE' reservations whose pickup window has passed,
+     * marking them 'EXPIRED' and passing their held copies on. The same pass also runs periodically
+     * in the background. Uses the {@link ReservationExpiryService}.
+     */
+    private void expireUncollectedReservations() {
+        System.out.println("\n--- Expire Uncollected Reservations ---");
+        try {
+            System.out.println(expiryService.expireUncollectedReservations());
+        } catch (SQLException e) {
+            System.err.println("Database error expiring reservations: " + e.getMessage());
+        }
+    }
     /**
      * Handles the member login process. Prompts for username and password,
      * authenticates using the {@link AuthenticationService}, and upon success,
@@ -314,6 +503,8 @@ public class LibraryManagementSystem {
             }
         } catch (SQLException e) {
             System.err.println("Database error during login: " + e.getMessage());
+        } catch (IllegalStateException e) {
+            System.err.println(e.getMessage());
         }
     }
     /**
@@ -324,6 +515,10 @@ public class LibraryManagementSystem {
      */
     private void memberMenu(Member currentMember) {
         while (true) {
+            List<String> notices = notificationService.takeNotifications(currentMember.getMemberId());
+            for (String notice : notices) {
+                System.out.println("** Notice: " + notice);
+            }
             System.out.println("\n--- Member Menu (" + currentMember.getName() + ") ---");
             System.out.println("1. Borrow Book");
             System.out.println("2. Return Book");
@@ -331,7 +526,9 @@ public class LibraryManagementSystem {
             System.out.println("4. Place a Reservation for a Book");
             System.out.println("5. View My Active Reservations");
             System.out.println("6. View All Books");
-            System.out.println("7. Logout");
+            System.out.println("7. Search Books");
+            System.out.println("8. My Account Summary");
+            System.out.println("9. Logout");
             System.out.print("Choose an option: ");
             String choice = scanner.nextLine();
 
@@ -342,7 +539,9 @@ public class LibraryManagementSystem {
                 case "4": placeReservation(currentMember); break;
                 case "5": viewMyActiveReservations(currentMember); break;
                 case "6": viewAllBooks(); break;
-                case "7": System.out.println("Logging out member..."); return;
+                case "7": searchBooks(); break;
+                case "8": viewMyAccountSummary(currentMember); break;
+                case "9": System.out.println("Logging out member..."); return;
                 default: System.out.println("Invalid option. Please try again.");
             }
         }
@@ -355,15 +554,64 @@ public class LibraryManagementSystem {
      */
     private void viewAllBooks() {
         try {
-            List<Book> books = bookService.getAllBooks();
-            if (books.isEmpty()) {
-                System.out.println("There are no books in the library.");
+            browsePages("\n--- All Library Books ---", "There are no books in the library.",
+                    (Book after, int pageIndex) -> bookService.getBooksPage(after, PAGE_SIZE),
+                    book -> System.out.println(book + "\n"));
+        } catch (SQLException e) {
+            System.err.println("Database error viewing books: " + e.getMessage());
+        }
+    }
+    /**
+     * Prompts for search words and displays the best-matching books.
+     * Uses the {@link CatalogSearchService}.
+     */
+    private void searchBooks() {
+        System.out.print("\nEnter title, author, subject or publisher words to search for: ");
+        String query = scanner.nextLine();
+        try {
+            List<Book> results = searchService.searchBooks(query, PAGE_SIZE);
+            if (results.isEmpty()) {
+                System.out.println("No books match your search.");
                 return;
             }
-            System.out.println("\n--- All Library Books ---");
-            books.forEach(book -> System.out.println(book + "\n"));
+            System.out.println("\n--- Top " + results.size() + " Matches ---");
+            results.forEach(book -> System.out.println(book + "\n"));
         } catch (SQLException e) {
-            System.err.println("Database error viewing books: " + e.getMessage());
+            System.err.println("Database error searching books: " + e.getMessage());
+        }
+    }
+    /**
+     * Prompts for a search and pages through the ranked results of the database's full-text search.
+     * Uses the {@link BookManagementService}.
+     */
+    private void fullTextSearchBooks() {
+        System.out.print("\nEnter search text (use \"quotes\" for phrases, 'or' for alternatives, -word to exclude): ");
+        String query = scanner.nextLine();
+        try {
+            browsePages("\n--- Search Results ---", "No books match your search.",
+                    (Book after, int pageIndex) -> bookService.searchBooks(query, pageIndex, PAGE_SIZE),
+                    book -> System.out.println(book + "\n"));
+        } catch (SQLException e) {
+            System.err.println("Database error searching books: " + e.getMessage());
+        }
+    }
+    /**
+     * Repeatedly prompts for the start of a title or author name and lists the most borrowed matches.
+     * An empty entry returns to the menu. Uses the {@link AutocompleteService}.
+     */
+    private void autocompleteLookup() {
+        while (true) {
+            System.out.print("\nType the start of a title or author (Enter to finish): ");
+            String prefix = scanner.nextLine();
+            if (prefix.trim().isEmpty()) {
+                return;
+            }
+            List<Completion> completions = autocompleteService.complete(prefix, AutocompleteServiceImpl.MAX_RESULTS);
+            if (completions.isEmpty()) {
+                System.out.println("No titles or authors start with '" + prefix.trim() + "'.");
+            } else {
+                completions.forEach(completion -> System.out.println("  " + completion));
+            }
         }
     }
     /**
@@ -436,6 +684,31 @@ public class LibraryManagementSystem {
             System.err.println(e.getMessage());
         }
     }
+    /**
+     * Handles the UI for bulk-importing books from a CSV or TSV file.
+     * Prompts the librarian for the file path and chunk size, then calls the
+     * {@link CatalogImportService} and prints the resulting {@link ImportReport}.
+     */
+    private void importBooks() {
+        try {
+            System.out.println("\n--- Bulk Import Books ---");
+            System.out.println("Expected header: title, publisher, publication_date, total_copies, authors, subjects");
+            System.out.println("Separate multiple authors or subjects with ';'. Files ending in .tsv are read as tab-separated.");
+            System.out.print("Enter the path of the file to import: ");
+            String path = scanner.nextLine().trim();
+            int chunkSize = getNumericInput("Enter the number of rows to commit per chunk (e.g. 1000): ");
+
+            ImportReport report = importService.importBooks(Paths.get(path), chunkSize);
+            System.out.println("Import complete. " + report);
+            report.getErrors().forEach(error -> System.out.println("  Rejected -> " + error));
+        } catch (SQLException e) {
+            System.err.println("Database error during import: " + e.getMessage());
+        } catch (IOException | InvalidPathException e) {
+            System.err.println("Could not read the import file: " + e.getMessage());
+        } catch (IllegalStateException | IllegalArgumentException e) {
+            System.err.println("Error: " + e.getMessage());
+        }
+    }
 
     // --- UI Methods for Member Management ---
     /**
@@ -444,13 +717,9 @@ public class LibraryManagementSystem {
      */
     private void viewAllMembers() {
         try {
-            List<Member> members = memberService.getAllMembers();
-            if (members.isEmpty()) {
-                System.out.println("There are no members in the library system.");
-                return;
-            }
-            System.out.println("\n--- All Library Members ---");
-            members.forEach(System.out::println);
+            browsePages("\n--- All Library Members ---", "There are no members in the library system.",
+                    (Member after, int pageIndex) -> memberService.getMembersPage(after, PAGE_SIZE),
+                    System.out::println);
         } catch (SQLException e) {
             System.err.println("Database error viewing members: " + e.getMessage());
         }
@@ -564,13 +833,9 @@ public class LibraryManagementSystem {
      */
     private void viewAllTransactions() {
         try {
-            List<Transaction> transactions = transactionService.getAllTransactions();
-            if (transactions.isEmpty()) {
-                System.out.println("No transactions found in the system.");
-                return;
-            }
-            System.out.println("\n--- All System Transactions ---");
-            transactions.forEach(System.out::println);
+            browsePages("\n--- All System Transactions ---", "No transactions found in the system.",
+                    (Transaction after, int pageIndex) -> transactionService.getTransactionsPage(after, PAGE_SIZE),
+                    System.out::println);
         } catch (SQLException e) {
             System.err.println("Database error viewing transactions: " + e.getMessage());
         }
@@ -621,7 +886,47 @@ public class LibraryManagementSystem {
             System.err.println("Database error viewing your transactions: " + e.getMessage());
         }
     }
+    /**
+     * Displays a member's current loans and active reservations together. The two lookups, and the
+     * title lookups for the reservations, are independent, so they are issued concurrently through
+     * the services' asynchronous variants rather than one after another.
+     * @param currentMember The member whose account is shown.
+     */
+    private void viewMyAccountSummary(Member currentMember) {
+        CompletableFuture<List<Transaction>> transactionsFuture = transactionService.getMyTransactionsAsync(currentMember);
+        CompletableFuture<List<Reservation>> reservationsFuture = reservationService.getMyActiveReservationsAsync(currentMember);
+        try {
+            List<Reservation> reservations = reservationsFuture.join();
+            List<CompletableFuture<Optional<Book>>> booksFutures = new ArrayList<>();
+            for (Reservation res : reservations) {
+                booksFutures.add(bookService.findBookByIdAsync(res.getBookId()));
+            }
+            List<Transaction> transactions = transactionsFuture.join();
 
+            System.out.println("\n--- Account Summary (" + currentMember.getName() + ") ---");
+            System.out.println("Current loans:");
+            boolean anyLoans = false;
+            for (Transaction t : transactions) {
+                if ("ACTIVE".equals(t.getTransactionStatus())) {
+                    System.out.println("  " + t);
+                    anyLoans = true;
+                }
+            }
+            if (!anyLoans) {
+                System.out.println("  (none)");
+            }
+            System.out.println("Active reservations:");
+            if (reservations.isEmpty()) {
+                System.out.println("  (none)");
+            }
+            for (int i = 0; i < reservations.size(); i++) {
+                Optional<Book> book = booksFutures.get(i).join();
+                System.out.println("  " + reservations.get(i) + book.map(b -> " -> '" + b.getTitle() + "'").orElse(""));
+            }
+        } catch (CompletionException e) {
+            System.err.println("Database error loading your account summary: " + ServiceExecutor.unwrap(e).getMessage());
+        }
+    }
 
     // --- UI Methods for Reservations ---
     /**
@@ -689,7 +994,9 @@ public class LibraryManagementSystem {
     /**
      * Handles the UI for notifying the next member in the queue for a reserved book
      * that has become available. Allows the librarian to update the reservation status
-     * to 'AVAILABLE'. Uses the {@link ReservationManagementService}.
+     * to 'AVAILABLE', holding a copy from the shelf for the member. Returns promote the
+     * queue automatically, so this is only needed when copies are added to a reserved title.
+     * Uses the {@link ReservationManagementService}.
      */
     private void notifyNextMemberForBook() {
         try {
@@ -708,7 +1015,7 @@ public class LibraryManagementSystem {
                 String confirm = scanner.nextLine();
                 if ("yes".equalsIgnoreCase(confirm.trim())) {
                     reservationService.updateReservationStatus(nextReservation.getReservationId(), "AVAILABLE");
-                    System.out.println("Reservation status updated to AVAILABLE. Member should be notified to pick up the book.");
+                    System.out.println("Reservation status updated to AVAILABLE and a copy is being held. Member should be notified to pick up the book.");
                 } else {
                     System.out.println("Reservation status not changed.");
                 }
@@ -717,6 +1024,50 @@ public class LibraryManagementSystem {
             }
         } catch (SQLException e) {
             System.err.println("Database error processing reservation notification: " + e.getMessage());
+        } catch (IllegalStateException e) {
+            System.err.println("Error: " + e.getMessage());
+        }
+    }
+
+    // --- Paging Helper Methods ---
+    /**
+     * Fetches a single page of results, given the last item of the previous page
+     * (for keyset paging) and the zero-based page index (for offset paging).
+     * @param <T> The type of item being listed.
+     */
+    @FunctionalInterface
+    private interface PageFetcher<T> {
+        Page<T> fetch(T after, int pageIndex) throws SQLException;
+    }
+
+    /**
+     * Prints a listing one page at a time, asking the user before fetching each further page.
+     * @param heading The heading printed above the first page.
+     * @param emptyMessage The message printed if there are no items at all.
+     * @param fetcher Fetches a page given the last item of the previous page (null for the first page) and its index.
+     * @param printer Prints a single item.
+     * @param <T> The type of item being listed.
+     * @throws SQLException if a database access error occurs while fetching a page.
+     */
+    private <T> void browsePages(String heading, String emptyMessage, PageFetcher<T> fetcher, Consumer<T> printer) throws SQLException {
+        Page<T> page = fetcher.fetch(null, 0);
+        if (page.isEmpty()) {
+            System.out.println(emptyMessage);
+            return;
+        }
+        System.out.println(heading);
+        int pageNumber = 1;
+        while (true) {
+            page.getItems().forEach(printer);
+            if (!page.hasNext()) {
+                return;
+            }
+            System.out.print("-- Page " + pageNumber + ". Press Enter for the next page, or 'q' to stop: ");
+            if ("q".equalsIgnoreCase(scanner.nextLine().trim())) {
+                return;
+            }
+            page = fetcher.fetch(page.getLast(), pageNumber);
+            pageNumber++;
         }
     }
 
@@ -0,0 +1,26 @@
+package Zoho.LibraryManagementSystem.Metrics;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded for every {@code borrowBook} call, from the first query to the commit or rollback.
+ */
+@Name("Zoho.LibraryManagementSystem.Borrow")
+@Label("Borrow Book")
+public class BorrowEvent extends LibraryOperationEvent {
+    @Label("Member ID")
+    private final int memberId;
+
+    @Label("Book ID")
+    private final int bookId;
+
+    /**
+     * @param memberId The borrowing member.
+     * @param bookId The book being borrowed.
+     */
+    public BorrowEvent(int memberId, int bookId) {
+        this.memberId = memberId;
+        this.bookId = bookId;
+    }
+}
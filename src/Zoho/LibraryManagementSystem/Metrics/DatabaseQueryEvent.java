@@ -0,0 +1,51 @@
+package Zoho.LibraryManagementSystem.Metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Recorded for every statement executed on a pooled connection, attributed to the {@code LibraryDB} (or other)
+ * method that ran it. The duration covers the execution only; for queries, the row count is the number of rows
+ * the caller read, and the event is committed once it has finished reading. Stack traces are off by default,
+ * since the operation already names the caller and queries are frequent.
+ */
+@Name("Zoho.LibraryManagementSystem.DatabaseQuery")
+@Label("Database Query")
+@Category({"Library Management System", "Database"})
+@StackTrace(false)
+public class DatabaseQueryEvent extends Event {
+    @Label("Operation")
+    @Description("The method that ran the statement, e.g. LibraryDB.findBookById")
+    private String operation;
+
+    @Label("SQL")
+    private String sql;
+
+    @Label("Rows")
+    @Description("Rows read or changed; -1 if unknown")
+    private long rows = -1;
+
+    @Label("Failed")
+    private boolean failed;
+
+    /**
+     * @return Whether any running recording has this event enabled; if not, there is no point creating one.
+     */
+    public static boolean isRecording() {
+        return RecordingState.PROBE.isEnabled();
+    }
+
+    public void setOperation(String operation) { this.operation = operation; }
+    public void setSql(String sql) { this.sql = sql; }
+    public void setRows(long rows) { this.rows = rows; }
+    public void setFailed(boolean failed) { this.failed = failed; }
+
+    // An instance kept only to ask whether the event type is enabled, without allocating per statement.
+    private static class RecordingState {
+        static final DatabaseQueryEvent PROBE = new DatabaseQueryEvent();
+    }
+}
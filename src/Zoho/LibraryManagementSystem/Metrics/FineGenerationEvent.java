@@ -0,0 +1,16 @@
+package Zoho.LibraryManagementSystem.Metrics;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded for every run of {@code generateFinesForOverdueBooks}.
+ */
+@Name("Zoho.LibraryManagementSystem.FineGeneration")
+@Label("Generate Fines")
+public class FineGenerationEvent extends LibraryOperationEvent {
+    @Label("Fines Issued")
+    private int finesIssued;
+
+    public void setFinesIssued(int finesIssued) { this.finesIssued = finesIssued; }
+}
@@ -0,0 +1,143 @@
+package Zoho.LibraryManagementSystem.Metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A concurrent latency histogram in the style of HdrHistogram: values are counted in log-linear buckets,
+ * so recording is a single atomic increment, memory is fixed, and every percentile is accurate to within
+ * a fixed relative error however large the spread of latencies.
+ * <p>
+ * With a precision of {@code p} bits, values below {@code 2^(p+1)} have their own bucket and above that
+ * each power of two is split into {@code 2^p} equal buckets, for a relative error below {@code 2^-p}.
+ * Values (nanoseconds) up to one hour are tracked; larger ones are counted as one hour.
+ */
+public class LatencyHistogram {
+    private static final long HIGHEST_TRACKABLE_VALUE = TimeUnit.HOURS.toNanos(1);
+
+    private final int precisionBits;
+    private final int subBuckets;
+    private final int linearBuckets;
+    private final AtomicLongArray counts;
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Creates a histogram accurate to within 1% (7 bits of precision, about 38 KB).
+     */
+    public LatencyHistogram() {
+        this(7);
+    }
+
+    /**
+     * Creates a histogram with the given precision.
+     *
+     * @param precisionBits Between 1 and 10; each bit halves the relative error and roughly doubles the memory.
+     */
+    public LatencyHistogram(int precisionBits) {
+        if (precisionBits < 1 || precisionBits > 10) {
+            throw new IllegalArgumentException("Histogram precision must be between 1 and 10 bits, not " + precisionBits);
+        }
+        this.precisionBits = precisionBits;
+        this.subBuckets = 1 << precisionBits;
+        this.linearBuckets = 2 << precisionBits;
+        this.counts = new AtomicLongArray(indexOf(HIGHEST_TRACKABLE_VALUE) + 1);
+    }
+
+    /**
+     * Records one value.
+     *
+     * @param nanos The latency in nanoseconds; negative values are recorded as 0.
+     */
+    public void record(long nanos) {
+        long value = Math.min(Math.max(nanos, 0), HIGHEST_TRACKABLE_VALUE);
+        counts.incrementAndGet(indexOf(value));
+        totalCount.incrementAndGet();
+        sum.addAndGet(value);
+        max.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * Adds all values recorded in another histogram of the same precision to this one.
+     *
+     * @param other The histogram to add.
+     */
+    public void add(LatencyHistogram other) {
+        if (other.precisionBits != precisionBits) {
+            throw new IllegalArgumentException("Cannot add a " + other.precisionBits + "-bit histogram to a " + precisionBits + "-bit one");
+        }
+        for (int i = 0; i < counts.length(); i++) {
+            long count = other.counts.get(i);
+            if (count != 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+        totalCount.addAndGet(other.totalCount.get());
+        sum.addAndGet(other.sum.get());
+        max.accumulateAndGet(other.max.get(), Math::max);
+    }
+
+    // Getters
+    public int getPrecisionBits() { return precisionBits; }
+    public long getTotalCount() { return totalCount.get(); }
+    public long getMaxValue() { return max.get(); }
+
+    /**
+     * @return The mean of the recorded values, or 0 if none were recorded.
+     */
+    public double getMean() {
+        long count = totalCount.get();
+        return count == 0 ? 0 : (double) sum.get() / count;
+    }
+
+    /**
+     * Returns the value at a percentile: the largest value that the given share of the recorded
+     * values are less than or equal to, to within the bucket resolution.
+     *
+     * @param percentile The percentile, from 0 to 100.
+     * @return The value, or 0 if nothing was recorded.
+     */
+    public long getValueAtPercentile(double percentile) {
+        long count = totalCount.get();
+        if (count == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(Math.min(percentile, 100.0) / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(highestEquivalentValue(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count=%d p50=%.3fms p99=%.3fms max=%.3fms", getTotalCount(),
+                getValueAtPercentile(50) / 1e6, getValueAtPercentile(99) / 1e6, getMaxValue() / 1e6);
+    }
+
+    // --- Private Helper Methods ---
+
+    private int indexOf(long value) {
+        if (value < linearBuckets) {
+            return (int) value;
+        }
+        // value >> shift lies in [subBuckets, 2 * subBuckets)
+        int shift = 63 - Long.numberOfLeadingZeros(value) - precisionBits;
+        return linearBuckets + (shift - 1) * subBuckets + (int) ((value >> shift) - subBuckets);
+    }
+
+    private long highestEquivalentValue(int index) {
+        if (index < linearBuckets) {
+            return index;
+        }
+        int shift = (index - linearBuckets) / subBuckets + 1;
+        long subBucket = (index - linearBuckets) % subBuckets + subBuckets;
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,54 @@
+package Zoho.LibraryManagementSystem.Metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+/**
+ * Base class of the JDK Flight Recorder events the services emit, so a recording shows each library
+ * operation next to the GC pauses, lock contention and allocations that happened during it.
+ * <p>
+ * The usual pattern is {@code begin()} on entry, {@link #succeeded()} or {@link #failed(Exception)} on the
+ * way out and {@code commit()} in a {@code finally} block. When no recording has the event enabled, each
+ * of these is a cheap check and nothing is written; an operation that never reaches either call (an
+ * unexpected runtime exception) is recorded as an error.
+ */
+@Category({"Library Management System", "Operations"})
+public abstract class LibraryOperationEvent extends Event {
+    // Protected, not private: Flight Recorder only records inherited fields the subclass can see
+    @Label("Outcome")
+    @Description("OK, REJECTED (refused by a business rule) or ERROR")
+    protected String outcome = "ERROR";
+
+    @Label("Message")
+    @Description("Why the operation was rejected or failed")
+    protected String message;
+
+    /**
+     * Marks the operation as completed.
+     */
+    public void succeeded() {
+        outcome = "OK";
+    }
+
+    /**
+     * Marks the operation as refused by a business rule (an {@link IllegalStateException}) or failed.
+     *
+     * @param e The exception the operation threw.
+     */
+    public void failed(Exception e) {
+        outcome = e instanceof IllegalStateException ? "REJECTED" : "ERROR";
+        message = e.getMessage();
+    }
+
+    /**
+     * Marks the operation as refused without an exception, e.g. a login with the wrong password.
+     *
+     * @param reason Why it was refused.
+     */
+    public void rejected(String reason) {
+        outcome = "REJECTED";
+        message = reason;
+    }
+}
@@ -0,0 +1,31 @@
+package Zoho.LibraryManagementSystem.Metrics;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded for every member or librarian login attempt, including the password check. The password is never recorded.
+ */
+@Name("Zoho.LibraryManagementSystem.Login")
+@Label("Login")
+public class LoginEvent extends LibraryOperationEvent {
+    @Label("Username")
+    private final String username;
+
+    @Label("Role")
+    private final String role;
+
+    @Label("Member ID")
+    private int memberId;
+
+    /**
+     * @param username The username tried.
+     * @param role {@code member} or {@code librarian}.
+     */
+    public LoginEvent(String username, String role) {
+        this.username = username;
+        this.role = role;
+    }
+
+    public void setMemberId(int memberId) { this.memberId = memberId; }
+}
@@ -0,0 +1,145 @@
+package Zoho.LibraryManagementSystem.Metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Call count, error count and latency of one instrumented operation.
+ * Recording is lock-free: the totals are {@link LongAdder}s so concurrent callers don't contend,
+ * and latencies go into a {@link LatencyHistogram} for the current time window. Windows rotate every
+ * {@code windowMillis}; percentiles are read from the current and previous windows, so they describe
+ * the last one to two windows rather than the whole run.
+ */
+public class MethodStats implements MethodStatsMBean {
+    // 5 bits: percentiles within about 3%, at about 10 KB per window
+    private static final int PRECISION_BITS = 5;
+
+    private final String name;
+    private final long windowNanos;
+    private final long createdNanos = System.nanoTime();
+    private final LongAdder count = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private volatile Window current;
+    private volatile Window previous;
+
+    /**
+     * @param name The metric name, e.g. {@code db.LibraryDB.findBookById}.
+     * @param windowMillis The length of the percentile window.
+     */
+    public MethodStats(String name, long windowMillis) {
+        this.name = name;
+        this.windowNanos = Math.max(1, windowMillis) * 1_000_000L;
+        this.current = new Window(createdNanos);
+    }
+
+    /**
+     * Records one call.
+     *
+     * @param nanos How long the call took.
+     * @param failed Whether the call threw.
+     */
+    public void record(long nanos, boolean failed) {
+        count.increment();
+        if (failed) {
+            errors.increment();
+        }
+        totalNanos.add(nanos);
+        if (nanos > maxNanos.get()) {
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+        currentWindow(System.nanoTime()).histogram.record(nanos);
+    }
+
+    /**
+     * Returns the latencies recorded in the current and previous windows.
+     *
+     * @return A new histogram; empty if nothing was called recently.
+     */
+    public LatencyHistogram recentLatencies() {
+        long now = System.nanoTime();
+        Window window = currentWindow(now);
+        LatencyHistogram recent = new LatencyHistogram(PRECISION_BITS);
+        recent.add(window.histogram);
+        Window before = previous;
+        if (before != null && now - before.startNanos < 2 * windowNanos) {
+            recent.add(before.histogram);
+        }
+        return recent;
+    }
+
+    /**
+     * @return The sum of all call durations, in nanoseconds.
+     */
+    public long getTotalNanos() { return totalNanos.sum(); }
+
+    // Getters
+    @Override
+    public String getName() { return name; }
+    @Override
+    public long getCount() { return count.sum(); }
+    @Override
+    public long getErrors() { return errors.sum(); }
+    @Override
+    public double getMaxMillis() { return maxNanos.get() / 1e6; }
+
+    @Override
+    public double getCallsPerSecond() {
+        double seconds = (System.nanoTime() - createdNanos) / 1e9;
+        return seconds <= 0 ? 0 : count.sum() / seconds;
+    }
+
+    @Override
+    public double getMeanMillis() {
+        long calls = count.sum();
+        return calls == 0 ? 0 : totalNanos.sum() / 1e6 / calls;
+    }
+
+    @Override
+    public double getP50Millis() { return recentLatencies().getValueAtPercentile(50) / 1e6; }
+
+    @Override
+    public double getP95Millis() { return recentLatencies().getValueAtPercentile(95) / 1e6; }
+
+    @Override
+    public double getP99Millis() { return recentLatencies().getValueAtPercentile(99) / 1e6; }
+
+    @Override
+    public String toString() {
+        LatencyHistogram recent = recentLatencies();
+        return String.format("%-55s calls=%-8d errors=%-5d mean=%.3fms p50=%.3fms p99=%.3fms max=%.3fms",
+                name, getCount(), getErrors(), getMeanMillis(),
+                recent.getValueAtPercentile(50) / 1e6, recent.getValueAtPercentile(99) / 1e6, getMaxMillis());
+    }
+
+    // --- Private Helper Methods ---
+
+    // Returns the window covering 'now', rotating if the current one has ended.
+    private Window currentWindow(long now) {
+        Window window = current;
+        if (now - window.startNanos < windowNanos) {
+            return window;
+        }
+        synchronized (this) {
+            window = current;
+            if (now - window.startNanos >= windowNanos) {
+                previous = window;
+                // Keep windows aligned so an idle spell doesn't shift them
+                long elapsedWindows = (now - window.startNanos) / windowNanos;
+                window = new Window(window.startNanos + elapsedWindows * windowNanos);
+                current = window;
+            }
+            return window;
+        }
+    }
+
+    private static class Window {
+        final long startNanos;
+        final LatencyHistogram histogram = new LatencyHistogram(PRECISION_BITS);
+
+        Window(long startNanos) {
+            this.startNanos = startNanos;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package Zoho.LibraryManagementSystem.Metrics;
+
+/**
+ * The JMX view of one instrumented operation, registered as
+ * {@code Zoho.LibraryManagementSystem:type=Metrics,layer=<layer>,name=<operation>}.
+ * Counts, mean, maximum and call rate cover the whole run; percentiles cover the last one to two
+ * {@code library.metrics.windowMs} windows, so they follow changes in load.
+ */
+public interface MethodStatsMBean {
+    /** @return The metric name, e.g. {@code db.LibraryDB.findBookById}. */
+    String getName();
+
+    /** @return The number of calls. */
+    long getCount();
+
+    /** @return The number of calls that threw. */
+    long getErrors();
+
+    /** @return The average calls per second since the first call. */
+    double getCallsPerSecond();
+
+    /** @return The mean latency in milliseconds. */
+    double getMeanMillis();
+
+    /** @return The median recent latency in milliseconds. */
+    double getP50Millis();
+
+    /** @return The 95th percentile recent latency in milliseconds. */
+    double getP95Millis();
+
+    /** @return The 99th percentile recent latency in milliseconds. */
+    double getP99Millis();
+
+    /** @return The highest latency in milliseconds. */
+    double getMaxMillis();
+}
@@ -0,0 +1,92 @@
+package Zoho.LibraryManagementSystem.Metrics;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Wraps a service in a proxy that records the latency and outcome of every call in the
+ * {@link MetricsRegistry}, as {@code service.<Interface>.<method>}.
+ * <p>
+ * Default interface methods (the {@code *Async} variants) are not timed themselves; they run against the
+ * proxy, so the blocking call each one makes on its worker thread is. A call that throws is counted as an
+ * error, whether the exception is a business-rule violation or a database failure.
+ */
+public final class MetricsProxy {
+    private MetricsProxy() {
+    }
+
+    /**
+     * Instruments a service.
+     *
+     * @param iface The service interface to expose.
+     * @param target The implementation.
+     * @param <T> The service type.
+     * @return A timing proxy for the service, or the service itself if metrics are disabled.
+     */
+    public static <T> T instrument(Class<T> iface, T target) {
+        if (!MetricsRegistry.isEnabled()) {
+            return target;
+        }
+        return iface.cast(Proxy.newProxyInstance(iface.getClassLoader(), new Class<?>[]{iface}, new TimingHandler(iface, target)));
+    }
+
+    private static class TimingHandler implements InvocationHandler {
+        private final Class<?> iface;
+        private final Object target;
+        // Metric names (for abstract methods) and bound default-method handles, resolved once per method
+        private final Map<Method, String> names = new ConcurrentHashMap<>();
+        private final Map<Method, MethodHandle> defaults = new ConcurrentHashMap<>();
+
+        TimingHandler(Class<?> iface, Object target) {
+            this.iface = iface;
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (method.getDeclaringClass() == Object.class) {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    default:
+                        return "Instrumented[" + target + "]";
+                }
+            }
+            if (method.isDefault()) {
+                return defaults.computeIfAbsent(method, m -> defaultHandle(proxy, m)).invokeWithArguments(args == null ? new Object[0] : args);
+            }
+            String name = names.computeIfAbsent(method, m -> "service." + iface.getSimpleName() + "." + m.getName());
+            long start = System.nanoTime();
+            boolean failed = true;
+            try {
+                Object result = method.invoke(target, args);
+                failed = false;
+                return result;
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            } finally {
+                MetricsRegistry.record(name, System.nanoTime() - start, failed);
+            }
+        }
+
+        // Binds a default method's body to the proxy, so the methods it calls go through this handler.
+        private MethodHandle defaultHandle(Object proxy, Method method) {
+            try {
+                Class<?> declaring = method.getDeclaringClass();
+                return MethodHandles.privateLookupIn(declaring, MethodHandles.lookup())
+                        .unreflectSpecial(method, declaring)
+                        .bindTo(proxy);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot call default method " + method, e);
+            }
+        }
+    }
+}
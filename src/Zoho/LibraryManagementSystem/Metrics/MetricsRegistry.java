@@ -0,0 +1,166 @@
+package Zoho.LibraryManagementSystem.Metrics;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the latency and throughput statistics of every instrumented operation.
+ * <p>
+ * Operation names have the form {@code <layer>.<operation>}: {@code service.TransactionManagementService.borrowBook}
+ * for service calls, {@code db.LibraryDB.findBookById} for each call of a public {@code LibraryDB} method (all of its
+ * statements and row mapping) and {@code pool.acquire} for waiting on the connection pool. Each operation is
+ * published as a JMX MBean (see {@link MethodStatsMBean}) the first time it is recorded, and
+ * {@link #scrape()} renders all of them in the Prometheus text format.
+ * <p>
+ * Instrumentation is off by default; turn it on with {@code -Dlibrary.metrics.enabled=true}. While it is
+ * off the instrumented code paths check a constant and skip timing altogether, so the cost is a branch per call.
+ * {@code -Dlibrary.metrics.jmx=false} keeps the statistics but does not register MBeans, and
+ * {@code library.metrics.windowMs} (default 60000) sets the window the percentiles cover.
+ */
+public final class MetricsRegistry {
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("library.metrics.enabled", "false"));
+    private static final boolean JMX_ENABLED = Boolean.parseBoolean(System.getProperty("library.metrics.jmx", "true"));
+    private static final long WINDOW_MS = Long.getLong("library.metrics.windowMs", 60_000L);
+    private static final String JMX_DOMAIN = "Zoho.LibraryManagementSystem";
+    private static final double[] QUANTILES = {0.5, 0.95, 0.99};
+
+    private static final Map<String, MethodStats> STATS = new ConcurrentHashMap<>();
+
+    private MetricsRegistry() {
+    }
+
+    /**
+     * @return Whether instrumentation is enabled; when it isn't, callers should not time anything.
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Records one call of an operation. Does nothing when metrics are disabled.
+     *
+     * @param name The operation name, e.g. {@code service.BookManagementService.findBookById}.
+     * @param nanos How long the call took.
+     * @param failed Whether the call threw.
+     */
+    public static void record(String name, long nanos, boolean failed) {
+        if (ENABLED) {
+            stats(name).record(nanos, failed);
+        }
+    }
+
+    /**
+     * Returns the statistics of an operation, creating (and registering) them on first use.
+     *
+     * @param name The operation name.
+     * @return The statistics.
+     */
+    public static MethodStats stats(String name) {
+        MethodStats stats = STATS.get(name);
+        if (stats != null) {
+            return stats;
+        }
+        return STATS.computeIfAbsent(name, n -> {
+            MethodStats created = new MethodStats(n, WINDOW_MS);
+            if (JMX_ENABLED) {
+                register(created);
+            }
+            return created;
+        });
+    }
+
+    /**
+     * Renders every operation in the Prometheus text exposition format (version 0.0.4): a summary
+     * {@code library_operation_duration_seconds} with recent quantiles and lifetime sum and count, and a
+     * counter {@code library_operation_errors_total}, both labelled by layer and operation.
+     *
+     * @return The scrape text.
+     */
+    public static String scrape() {
+        List<MethodStats> all = sortedBy(Comparator.comparing(MethodStats::getName));
+        StringBuilder out = new StringBuilder();
+        out.append("# HELP library_operation_duration_seconds Latency of library operations; quantiles cover the recent window.\n");
+        out.append("# TYPE library_operation_duration_seconds summary\n");
+        for (MethodStats stats : all) {
+            String labels = labels(stats.getName());
+            LatencyHistogram recent = stats.recentLatencies();
+            for (double quantile : QUANTILES) {
+                out.append("library_operation_duration_seconds{").append(labels).append(",quantile=\"").append(quantile).append("\"} ")
+                        .append(seconds(recent.getValueAtPercentile(quantile * 100))).append('\n');
+            }
+            out.append("library_operation_duration_seconds_sum{").append(labels).append("} ").append(seconds(stats.getTotalNanos())).append('\n');
+            out.append("library_operation_duration_seconds_count{").append(labels).append("} ").append(stats.getCount()).append('\n');
+        }
+        out.append("# HELP library_operation_errors_total Library operations that threw an exception.\n");
+        out.append("# TYPE library_operation_errors_total counter\n");
+        for (MethodStats stats : all) {
+            out.append("library_operation_errors_total{").append(labels(stats.getName())).append("} ").append(stats.getErrors()).append('\n');
+        }
+        return out.toString();
+    }
+
+    /**
+     * Summarizes the operations that took the most time in total, one per line.
+     *
+     * @param limit The maximum number of operations to include.
+     * @return The summary, or a note that nothing was recorded.
+     */
+    public static String summary(int limit) {
+        if (!ENABLED) {
+            return "Metrics: disabled";
+        }
+        List<MethodStats> top = sortedBy(Comparator.comparingLong(MethodStats::getTotalNanos).reversed());
+        if (top.isEmpty()) {
+            return "Metrics: nothing recorded yet";
+        }
+        StringBuilder out = new StringBuilder("Metrics (top " + Math.min(limit, top.size()) + " of " + top.size() + " operations by total time):");
+        for (MethodStats stats : top.subList(0, Math.min(limit, top.size()))) {
+            out.append("\n  ").append(stats);
+        }
+        return out.toString();
+    }
+
+    // --- Private Helper Methods ---
+
+    private static List<MethodStats> sortedBy(Comparator<MethodStats> order) {
+        List<MethodStats> all = new ArrayList<>(STATS.values());
+        all.sort(order);
+        return all;
+    }
+
+    private static void register(MethodStats stats) {
+        String name = stats.getName();
+        int dot = name.indexOf('.');
+        try {
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            ObjectName objectName = new ObjectName(JMX_DOMAIN + ":type=Metrics,layer=" + name.substring(0, Math.max(dot, 0))
+                    + ",name=" + name.substring(dot + 1));
+            if (!server.isRegistered(objectName)) {
+                server.registerMBean(stats, objectName);
+            }
+        } catch (JMException e) {
+            System.err.println("Could not register metrics MBean for " + name + ": " + e.getMessage());
+        }
+    }
+
+    private static String labels(String name) {
+        int dot = name.indexOf('.');
+        return "layer=\"" + escape(name.substring(0, Math.max(dot, 0))) + "\",operation=\"" + escape(name.substring(dot + 1)) + "\"";
+    }
+
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    private static String seconds(long nanos) {
+        return String.format(Locale.ROOT, "%.9f", nanos / 1e9);
+    }
+}
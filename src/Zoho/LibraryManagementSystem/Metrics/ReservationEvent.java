@@ -0,0 +1,26 @@
+package Zoho.LibraryManagementSystem.Metrics;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded for every {@code placeReservation} call.
+ */
+@Name("Zoho.LibraryManagementSystem.Reservation")
+@Label("Place Reservation")
+public class ReservationEvent extends LibraryOperationEvent {
+    @Label("Member ID")
+    private final int memberId;
+
+    @Label("Book ID")
+    private final int bookId;
+
+    /**
+     * @param memberId The member placing the reservation.
+     * @param bookId The book being reserved.
+     */
+    public ReservationEvent(int memberId, int bookId) {
+        this.memberId = memberId;
+        this.bookId = bookId;
+    }
+}
@@ -0,0 +1,31 @@
+package Zoho.LibraryManagementSystem.Metrics;
+
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Recorded for every {@code returnBook} call, including the hand-over of the copy to a waiting reservation.
+ */
+@Name("Zoho.LibraryManagementSystem.Return")
+@Label("Return Book")
+public class ReturnEvent extends LibraryOperationEvent {
+    @Label("Member ID")
+    private final int memberId;
+
+    @Label("Book ID")
+    private final int bookId;
+
+    @Label("Transaction ID")
+    private final int transactionId;
+
+    /**
+     * @param memberId The returning member.
+     * @param bookId The book being returned.
+     * @param transactionId The loan being closed.
+     */
+    public ReturnEvent(int memberId, int bookId, int transactionId) {
+        this.memberId = memberId;
+        this.bookId = bookId;
+        this.transactionId = transactionId;
+    }
+}
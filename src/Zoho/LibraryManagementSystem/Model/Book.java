@@ -1,6 +1,7 @@
 package Zoho.LibraryManagementSystem.Model;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -57,6 +58,18 @@ public class Book {
         this.timesBorrowed = timesBorrowed;
     }
 
+    /**
+     * Constructs a copy of another Book, including independent copies of its author and subject lists.
+     * Used where a shared instance (e.g. a cached one) must not be mutated by callers.
+     *
+     * @param other The book to copy.
+     */
+    public Book(Book other) {
+        this(other.bookId, other.title, other.publisher, other.publicationDate, other.totalCopies, other.copiesAvailable, other.timesBorrowed);
+        this.authors = other.authors != null ? new ArrayList<>(other.authors) : null;
+        this.subjects = other.subjects != null ? new ArrayList<>(other.subjects) : null;
+    }
+
     /**
      * Decrements the available copies count by one and increments the times borrowed count.
      * This simulates a book being borrowed.
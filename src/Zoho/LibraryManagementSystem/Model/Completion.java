@@ -0,0 +1,36 @@
+package Zoho.LibraryManagementSystem.Model;
+
+import Zoho.LibraryManagementSystem.Model.Enum.CompletionType;
+
+/**
+ * Represents one autocomplete suggestion: a book title or author name matching a typed prefix,
+ * with the popularity score it was ranked by.
+ */
+public class Completion {
+    private final String text;
+    private final CompletionType type;
+    private final long timesBorrowed;
+
+    /**
+     * Constructs a Completion.
+     *
+     * @param text The suggested title or author name, as stored in the catalog.
+     * @param type Whether the suggestion is a title or an author.
+     * @param timesBorrowed The total number of loans of the books behind the suggestion.
+     */
+    public Completion(String text, CompletionType type, long timesBorrowed) {
+        this.text = text;
+        this.type = type;
+        this.timesBorrowed = timesBorrowed;
+    }
+
+    // Getters
+    public String getText() { return text; }
+    public CompletionType getType() { return type; }
+    public long getTimesBorrowed() { return timesBorrowed; }
+
+    @Override
+    public String toString() {
+        return text + (type == CompletionType.AUTHOR ? " (author)" : "") + " - borrowed " + timesBorrowed + " times";
+    }
+}
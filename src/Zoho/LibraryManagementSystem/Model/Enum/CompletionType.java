@@ -0,0 +1,9 @@
+package Zoho.LibraryManagementSystem.Model.Enum;
+
+/**
+ * Identifies what an autocomplete suggestion completes to.
+ */
+public enum CompletionType {
+    TITLE,
+    AUTHOR
+}
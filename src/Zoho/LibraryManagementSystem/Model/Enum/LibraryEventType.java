@@ -0,0 +1,13 @@
+package Zoho.LibraryManagementSystem.Model.Enum;
+
+/**
+ * The kinds of change the database publishes as {@link Zoho.LibraryManagementSystem.Model.LibraryEvent}s.
+ */
+public enum LibraryEventType {
+    /** A book's stock, borrow count or details changed. */
+    BOOK_CHANGED,
+    /** A book was deleted from the catalog. */
+    BOOK_REMOVED,
+    /** A reservation was placed or its status changed. */
+    RESERVATION_CHANGED
+}
@@ -0,0 +1,31 @@
+package Zoho.LibraryManagementSystem.Model;
+
+/**
+ * Summarises one pass over uncollected 'AVAILABLE' reservations: how many were expired, how many
+ * of their held copies went to the next member in the queue or back on the shelf, and how long it took.
+ */
+public class ExpiryReport {
+    private int reservationsExpired;
+    private int reservationsPromoted;
+    private int copiesReleased;
+    private int batches;
+    private long elapsedMillis;
+
+    // Getters and Setters
+    public int getReservationsExpired() { return reservationsExpired; }
+    public void addReservationsExpired(int count) { this.reservationsExpired += count; }
+    public int getReservationsPromoted() { return reservationsPromoted; }
+    public void addReservationsPromoted(int count) { this.reservationsPromoted += count; }
+    public int getCopiesReleased() { return copiesReleased; }
+    public void addCopiesReleased(int count) { this.copiesReleased += count; }
+    public int getBatches() { return batches; }
+    public void addBatch() { this.batches++; }
+    public long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+
+    @Override
+    public String toString() {
+        return "Reservations expired: " + reservationsExpired + " | Promoted from the queue: " + reservationsPromoted +
+                " | Copies back on the shelf: " + copiesReleased + " | Batches: " + batches + " | Elapsed: " + elapsedMillis + " ms";
+    }
+}
@@ -0,0 +1,57 @@
+package Zoho.LibraryManagementSystem.Model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Summarises the outcome of a bulk catalog import: how many rows were read, imported
+ * and rejected, how long the import took, and the reasons for the first rejected rows.
+ */
+public class ImportReport {
+    private static final int MAX_RECORDED_ERRORS = 20;
+
+    private long rowsRead;
+    private long booksImported;
+    private long rowsRejected;
+    private long elapsedMillis;
+    private final List<String> errors = new ArrayList<>();
+
+    /**
+     * Records a row that could not be imported. Only the first few reasons are kept.
+     *
+     * @param lineNumber The line number of the rejected row in the source file.
+     * @param reason Why the row was rejected.
+     */
+    public void recordRejectedRow(long lineNumber, String reason) {
+        rowsRejected++;
+        if (errors.size() < MAX_RECORDED_ERRORS) {
+            errors.add("Line " + lineNumber + ": " + reason);
+        }
+    }
+
+    /**
+     * Calculates the import throughput.
+     *
+     * @return The number of rows read per second, or 0 if no time has elapsed.
+     */
+    public double getRowsPerSecond() {
+        return elapsedMillis == 0 ? 0.0 : rowsRead * 1000.0 / elapsedMillis;
+    }
+
+    // Getters and Setters
+    public long getRowsRead() { return rowsRead; }
+    public void setRowsRead(long rowsRead) { this.rowsRead = rowsRead; }
+    public long getBooksImported() { return booksImported; }
+    public void addBooksImported(long count) { this.booksImported += count; }
+    public long getRowsRejected() { return rowsRejected; }
+    public long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+    public List<String> getErrors() { return Collections.unmodifiableList(errors); }
+
+    @Override
+    public String toString() {
+        return "Rows read: " + rowsRead + " | Books imported: " + booksImported + " | Rows rejected: " + rowsRejected +
+                " | Elapsed: " + elapsedMillis + " ms | Throughput: " + String.format("%.0f", getRowsPerSecond()) + " rows/s";
+    }
+}
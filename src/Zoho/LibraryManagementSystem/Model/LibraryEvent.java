@@ -0,0 +1,57 @@
+package Zoho.LibraryManagementSystem.Model;
+
+import Zoho.LibraryManagementSystem.Model.Enum.LibraryEventType;
+
+/**
+ * Represents one committed change published by the database on the {@code library_events} channel:
+ * a change to a book's stock or details, the removal of a book, or a change of reservation status.
+ * Fields that do not apply to the event type are 0 (IDs and counts) or {@code null} (status).
+ */
+public class LibraryEvent {
+    private final LibraryEventType type;
+    private final int bookId;
+    private final int copiesAvailable;
+    private final int reservationId;
+    private final int memberId;
+    private final String reservationStatus;
+
+    /**
+     * Constructs a LibraryEvent.
+     *
+     * @param type The kind of change.
+     * @param bookId The ID of the book concerned.
+     * @param copiesAvailable The book's available copies after the change (book changes only).
+     * @param reservationId The ID of the reservation (reservation changes only).
+     * @param memberId The ID of the member holding the reservation (reservation changes only).
+     * @param reservationStatus The reservation's new status (reservation changes only).
+     */
+    public LibraryEvent(LibraryEventType type, int bookId, int copiesAvailable, int reservationId, int memberId, String reservationStatus) {
+        this.type = type;
+        this.bookId = bookId;
+        this.copiesAvailable = copiesAvailable;
+        this.reservationId = reservationId;
+        this.memberId = memberId;
+        this.reservationStatus = reservationStatus;
+    }
+
+    // Getters
+    public LibraryEventType getType() { return type; }
+    public int getBookId() { return bookId; }
+    public int getCopiesAvailable() { return copiesAvailable; }
+    public int getReservationId() { return reservationId; }
+    public int getMemberId() { return memberId; }
+    public String getReservationStatus() { return reservationStatus; }
+
+    @Override
+    public String toString() {
+        switch (type) {
+            case BOOK_CHANGED:
+                return "LibraryEvent{BOOK_CHANGED, bookId=" + bookId + ", copiesAvailable=" + copiesAvailable + "}";
+            case BOOK_REMOVED:
+                return "LibraryEvent{BOOK_REMOVED, bookId=" + bookId + "}";
+            default:
+                return "LibraryEvent{RESERVATION_CHANGED, reservationId=" + reservationId + ", bookId=" + bookId +
+                        ", memberId=" + memberId + ", status='" + reservationStatus + "'}";
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package Zoho.LibraryManagementSystem.Model;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Represents one page of results from a paginated listing.
+ * Pages are produced by keyset (seek) pagination: the next page is requested by
+ * passing the last item of the current page back as the cursor, so fetching
+ * page N costs the same as fetching page 1.
+ *
+ * @param <T> The type of item on the page.
+ */
+public class Page<T> {
+    private final List<T> items;
+    private final boolean hasNext;
+
+    /**
+     * Constructs a page of results.
+     *
+     * @param items The items on this page, in listing order.
+     * @param hasNext {@code true} if at least one more item exists after this page.
+     */
+    public Page(List<T> items, boolean hasNext) {
+        this.items = Collections.unmodifiableList(items);
+        this.hasNext = hasNext;
+    }
+
+    /**
+     * Returns the last item on this page, which serves as the cursor for the next page.
+     *
+     * @return The last item, or {@code null} if the page is empty.
+     */
+    public T getLast() {
+        return items.isEmpty() ? null : items.get(items.size() - 1);
+    }
+
+    // Getters
+    public List<T> getItems() { return items; }
+    public boolean hasNext() { return hasNext; }
+    public boolean isEmpty() { return items.isEmpty(); }
+}
@@ -0,0 +1,175 @@
+package Zoho.LibraryManagementSystem.Repository;
+
+import Zoho.LibraryManagementSystem.Model.Book;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An in-process, size-bounded cache of fully populated {@link Book} objects keyed by book ID.
+ * Entries are evicted least-recently-used first once the cache is full, and expire after a
+ * time-to-live so that changes made outside this process are eventually picked up.
+ * The cache stores and returns defensive copies, so callers may freely modify the books they get.
+ * {@link LibraryDB} consults it in {@code findBookById} and invalidates entries on every write.
+ * <p>
+ * A reader that loads a book must not cache it if a writer invalidated the book while the load was in
+ * flight, or the pre-commit row would be served until it expires. Readers therefore take a
+ * {@link #loadStamp(int)} before querying and pass it to {@link #put(Book, long)}; every invalidation
+ * advances the book's generation, and a put with an older stamp is dropped. Generations are kept per
+ * stripe of book IDs, so memory stays fixed; an unrelated invalidation in the same stripe only costs
+ * a skipped put.
+ */
+public class BookCache {
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final int maxSize;
+    private final long ttlNanos;
+    private final Map<Integer, CachedBook> entries;
+    // Invalidation generation per stripe of book IDs; guarded by this
+    private final long[] generations = new long[GENERATION_STRIPES];
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong stalePuts = new AtomicLong();
+
+    /**
+     * Creates a book cache.
+     *
+     * @param maxSize The maximum number of books to keep; 0 disables caching.
+     * @param ttlMillis How long a cached book may be served before it is reloaded.
+     */
+    public BookCache(int maxSize, long ttlMillis) {
+        this.maxSize = maxSize;
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+        this.entries = new LinkedHashMap<Integer, CachedBook>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, CachedBook> eldest) {
+                if (size() > BookCache.this.maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Looks up a book, counting the lookup as a hit or a miss. Expired entries count as misses.
+     *
+     * @param bookId The ID of the book.
+     * @return An {@link Optional} with a copy of the cached book, or empty if it is not cached.
+     */
+    public synchronized Optional<Book> get(int bookId) {
+        CachedBook cached = entries.get(bookId);
+        if (cached != null && System.nanoTime() - cached.loadedAtNanos > ttlNanos) {
+            entries.remove(bookId);
+            evictions.incrementAndGet();
+            cached = null;
+        }
+        if (cached == null) {
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+        hits.incrementAndGet();
+        return Optional.of(new Book(cached.book));
+    }
+
+    /**
+     * Returns the book's current invalidation generation. Take it before loading the book from the database.
+     *
+     * @param bookId The ID of the book about to be loaded.
+     * @return The stamp to pass to {@link #put(Book, long)}.
+     */
+    public synchronized long loadStamp(int bookId) {
+        return generations[stripe(bookId)];
+    }
+
+    /**
+     * Caches a copy of a book, unless it was invalidated after the stamp was taken.
+     *
+     * @param book The book to cache; it should be fully populated with authors and subjects.
+     * @param stamp The {@link #loadStamp(int)} taken before the book was loaded.
+     */
+    public synchronized void put(Book book, long stamp) {
+        if (maxSize == 0) {
+            return;
+        }
+        if (generations[stripe(book.getBookId())] != stamp) {
+            // A writer changed the book (or a neighbour) while it was loading: the row may be stale
+            stalePuts.incrementAndGet();
+            return;
+        }
+        entries.put(book.getBookId(), new CachedBook(new Book(book), System.nanoTime()));
+    }
+
+    /**
+     * Removes a book from the cache so that the next lookup reloads it from the database,
+     * and stops any load already in flight from caching the old row.
+     *
+     * @param bookId The ID of the book that changed.
+     */
+    public synchronized void invalidate(int bookId) {
+        generations[stripe(bookId)]++;
+        if (entries.remove(bookId) != null) {
+            invalidations.incrementAndGet();
+        }
+    }
+
+    /**
+     * Removes every book from the cache, and stops every load in flight from caching its row.
+     */
+    public synchronized void invalidateAll() {
+        for (int i = 0; i < generations.length; i++) {
+            generations[i]++;
+        }
+        invalidations.addAndGet(entries.size());
+        entries.clear();
+    }
+
+    /**
+     * Returns the fraction of lookups served from the cache.
+     *
+     * @return The hit ratio between 0.0 and 1.0, or 0.0 if there have been no lookups.
+     */
+    public double getHitRatio() {
+        long h = hits.get();
+        long lookups = h + misses.get();
+        return lookups == 0 ? 0.0 : (double) h / lookups;
+    }
+
+    // Getters
+    public synchronized int getSize() { return entries.size(); }
+    public int getMaxSize() { return maxSize; }
+    public long getHits() { return hits.get(); }
+    public long getMisses() { return misses.get(); }
+    public long getEvictions() { return evictions.get(); }
+    public long getInvalidations() { return invalidations.get(); }
+    public long getStalePuts() { return stalePuts.get(); }
+
+    @Override
+    public String toString() {
+        return "Book cache: " + getSize() + "/" + maxSize + " entries | " + getHits() + " hits / " + getMisses() + " misses (" +
+                String.format("%.1f", getHitRatio() * 100) + "% hit rate) | Evictions: " + getEvictions() +
+                " | Invalidations: " + getInvalidations() + " | Stale loads dropped: " + getStalePuts();
+    }
+
+    private static int stripe(int bookId) {
+        return Math.floorMod(bookId, GENERATION_STRIPES);
+    }
+
+    // A cached book and the time it was loaded, for TTL checks.
+    private static class CachedBook {
+        private final Book book;
+        private final long loadedAtNanos;
+
+        CachedBook(Book book, long loadedAtNanos) {
+            this.book = book;
+            this.loadedAtNanos = loadedAtNanos;
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package Zoho.LibraryManagementSystem.Repository;
+
+import Zoho.LibraryManagementSystem.Metrics.MetricsRegistry;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded pool of reusable PostgreSQL connections.
+ * The pool keeps between {@code minSize} and {@code maxSize} physical connections open,
+ * hands them out most-recently-used first so callers get warm sockets, validates connections
+ * that have been idle for a while before handing them out, and periodically closes connections
+ * that have sat idle longer than the idle timeout (never shrinking below {@code minSize}).
+ * Callers that cannot get a connection within the acquire timeout receive an {@link SQLException}.
+ * Each physical connection carries its own prepared statement cache (see {@link PooledConnection}).
+ * The time callers spend in {@link #getConnection()} is recorded as the {@code pool.acquire} metric.
+ */
+public class ConnectionPool implements AutoCloseable {
+    private final String url;
+    private final String user;
+    private final String password;
+    private final int minSize;
+    private final int maxSize;
+    private final long acquireTimeoutMillis;
+    private final long idleTimeoutNanos;
+    private final long validationIntervalNanos;
+    private final int validationTimeoutSeconds;
+    private final int statementCacheSize;
+
+    // Idle connections; the head is the most recently used.
+    private final LinkedBlockingDeque<PooledConnection> idle = new LinkedBlockingDeque<>();
+    // One permit per connection that may be checked out; bounds the pool at maxSize.
+    private final Semaphore permits;
+    private final AtomicInteger totalConnections = new AtomicInteger();
+    private final ScheduledExecutorService housekeeper;
+    private volatile boolean closed;
+
+    private final AtomicLong connectionsCreated = new AtomicLong();
+    private final AtomicLong connectionsDestroyed = new AtomicLong();
+    private final AtomicLong acquireCount = new AtomicLong();
+    private final AtomicLong acquireTimeouts = new AtomicLong();
+    private final AtomicLong validationFailures = new AtomicLong();
+    private final AtomicLong statementCacheHits = new AtomicLong();
+    private final AtomicLong statementCacheMisses = new AtomicLong();
+
+    /**
+     * Creates a connection pool and starts its background housekeeping task.
+     * Connections are opened lazily; the housekeeper tops the pool up to {@code minSize}.
+     * The pool is only handed out once fully constructed, since the housekeeper runs on another thread.
+     *
+     * @param url The JDBC URL of the database.
+     * @param user The database user.
+     * @param password The database password.
+     * @param minSize The number of idle connections to keep open even when unused.
+     * @param maxSize The maximum number of physical connections the pool may open.
+     * @param acquireTimeoutMillis How long {@link #getConnection()} waits for a free connection.
+     * @param idleTimeoutMillis How long a connection may sit idle before it is eligible for eviction.
+     * @param validationIntervalMillis Connections idle for longer than this are validated on borrow; 0 validates every borrow.
+     * @param validationTimeoutSeconds The timeout passed to {@link Connection#isValid(int)}.
+     * @param statementCacheSize The maximum number of prepared statements cached per connection; 0 disables the cache.
+     * @return The running pool.
+     */
+    public static ConnectionPool create(String url, String user, String password, int minSize, int maxSize,
+                                        long acquireTimeoutMillis, long idleTimeoutMillis, long validationIntervalMillis,
+                                        int validationTimeoutSeconds, int statementCacheSize) {
+        ConnectionPool pool = new ConnectionPool(url, user, password, minSize, maxSize, acquireTimeoutMillis,
+                idleTimeoutMillis, validationIntervalMillis, validationTimeoutSeconds, statementCacheSize);
+        long period = Math.max(1000L, idleTimeoutMillis / 2);
+        pool.housekeeper.scheduleWithFixedDelay(pool::housekeep, 0, period, TimeUnit.MILLISECONDS);
+        return pool;
+    }
+
+    private ConnectionPool(String url, String user, String password, int minSize, int maxSize,
+                          long acquireTimeoutMillis, long idleTimeoutMillis, long validationIntervalMillis,
+                          int validationTimeoutSeconds, int statementCacheSize) {
+        if (minSize < 0 || maxSize < 1 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + minSize + ", max=" + maxSize);
+        }
+        this.url = url;
+        this.user = user;
+        this.password = password;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+        this.validationIntervalNanos = TimeUnit.MILLISECONDS.toNanos(validationIntervalMillis);
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.statementCacheSize = statementCacheSize;
+        this.permits = new Semaphore(maxSize, true);
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "connection-pool-housekeeper");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Borrows a connection from the pool, opening a new one if no idle connection is available
+     * and the pool is below its maximum size. The caller must close the returned connection,
+     * which returns it to the pool.
+     *
+     * @return A logical {@link Connection} backed by a pooled physical connection.
+     * @throws SQLException if the pool is closed, the acquire timeout elapses, or a new connection cannot be opened.
+     */
+    public Connection getConnection() throws SQLException {
+        if (!MetricsRegistry.isEnabled()) {
+            return acquire();
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            Connection connection = acquire();
+            failed = false;
+            return connection;
+        } finally {
+            MetricsRegistry.record("pool.acquire", System.nanoTime() - start, failed);
+        }
+    }
+
+    /**
+     * Returns a physical connection to the pool. Called by the logical connection's {@code close()}.
+     * Connections that fail to reset, or that are returned after the pool has shut down, are closed.
+     *
+     * @param pooled The connection being returned.
+     */
+    void release(PooledConnection pooled) {
+        try {
+            if (closed) {
+                destroy(pooled);
+                return;
+            }
+            try {
+                pooled.resetForReuse();
+                pooled.touch();
+                idle.offerFirst(pooled);
+                // close() may have drained the idle deque between the check above and the offer;
+                // whichever of us takes the connection back out destroys it
+                if (closed && idle.removeFirstOccurrence(pooled)) {
+                    destroy(pooled);
+                }
+            } catch (SQLException e) {
+                System.err.println("Discarding broken pooled connection: " + e.getMessage());
+                destroy(pooled);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Takes a snapshot of the pool's current size and lifetime counters.
+     *
+     * @return A {@link PoolStats} snapshot.
+     */
+    public PoolStats getStats() {
+        int total = totalConnections.get();
+        int idleCount = idle.size();
+        return new PoolStats(
+                maxSize,
+                total,
+                idleCount,
+                maxSize - permits.availablePermits(),
+                permits.getQueueLength(),
+                connectionsCreated.get(),
+                connectionsDestroyed.get(),
+                acquireCount.get(),
+                acquireTimeouts.get(),
+                validationFailures.get(),
+                statementCacheHits.get(),
+                statementCacheMisses.get()
+        );
+    }
+
+    // --- Statement Cache Accounting (used by PooledConnection) ---
+
+    boolean isStatementCacheEnabled() { return statementCacheSize > 0; }
+    void recordStatementCacheHit() { statementCacheHits.incrementAndGet(); }
+    void recordStatementCacheMiss() { statementCacheMisses.incrementAndGet(); }
+
+    /**
+     * Shuts the pool down: stops housekeeping and closes all idle connections.
+     * Connections still checked out are closed when their borrowers return them.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+        PooledConnection pooled;
+        while ((pooled = idle.pollFirst()) != null) {
+            destroy(pooled);
+        }
+    }
+
+    // --- Private Helper Methods ---
+
+    // Waits for a permit, then hands out an idle connection or opens a new one.
+    private Connection acquire() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool has been shut down.");
+        }
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                acquireTimeouts.incrementAndGet();
+                throw new SQLException("Timed out after " + acquireTimeoutMillis + " ms waiting for a database connection (pool max size " + maxSize + ").");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection.", e);
+        }
+
+        try {
+            PooledConnection pooled;
+            while ((pooled = idle.pollFirst()) != null) {
+                if (isUsable(pooled)) {
+                    break;
+                }
+                validationFailures.incrementAndGet();
+                destroy(pooled);
+            }
+            if (pooled == null) {
+                pooled = create();
+            }
+            acquireCount.incrementAndGet();
+            return pooled.newLogicalConnection();
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private PooledConnection create() throws SQLException {
+        Connection physical = DriverManager.getConnection(url, user, password);
+        totalConnections.incrementAndGet();
+        connectionsCreated.incrementAndGet();
+        return new PooledConnection(this, physical, statementCacheSize);
+    }
+
+    private void destroy(PooledConnection pooled) {
+        pooled.closeQuietly();
+        totalConnections.decrementAndGet();
+        connectionsDestroyed.incrementAndGet();
+    }
+
+    // Validates a connection only if it has been idle longer than the validation interval.
+    private boolean isUsable(PooledConnection pooled) {
+        if (System.nanoTime() - pooled.getLastUsedNanos() < validationIntervalNanos) {
+            return true;
+        }
+        try {
+            return pooled.getPhysical().isValid(validationTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    // Evicts connections idle past the timeout (oldest first) and tops the pool up to minSize.
+    private void housekeep() {
+        try {
+            long now = System.nanoTime();
+            Iterator<PooledConnection> oldestFirst = idle.descendingIterator();
+            while (oldestFirst.hasNext() && totalConnections.get() > minSize) {
+                PooledConnection pooled = oldestFirst.next();
+                if (now - pooled.getLastUsedNanos() > idleTimeoutNanos && idle.removeLastOccurrence(pooled)) {
+                    destroy(pooled);
+                }
+            }
+            while (!closed && totalConnections.get() < minSize && permits.tryAcquire()) {
+                try {
+                    idle.offerLast(create());
+                } finally {
+                    permits.release();
+                }
+            }
+        } catch (SQLException e) {
+            System.err.println("Connection pool could not open a connection: " + e.getMessage());
+        } catch (RuntimeException e) {
+            System.err.println("Connection pool housekeeping failed: " + e.getMessage());
+        }
+    }
+}
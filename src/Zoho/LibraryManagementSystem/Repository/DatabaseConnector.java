@@ -6,13 +6,29 @@ import java.sql.SQLException;
 
 /**
  * Utility class responsible for establishing and providing database connections.
- * It encapsulates the database connection details (URL, user, password)
- * and loads the necessary JDBC driver.
+ * It encapsulates the database connection details (URL, user, password),
+ * loads the necessary JDBC driver, and hands out connections from a shared
+ * {@link ConnectionPool} so that services reuse warm connections instead of
+ * opening a new socket for every call.
+ * <p>
+ * Every setting can be overridden with a JVM system property, e.g.
+ * {@code -Dlibrary.db.url=...} or {@code -Dlibrary.pool.maxSize=20}.
  */
 public class DatabaseConnector {
-    private static final String DB_URL = "jdbc:postgresql://localhost:5432/Library"; // Replace 'library_system_db'
-    private static final String DB_USER = "postgres"; // Replace with your username
-    private static final String DB_PASSWORD = "postgres123"; // Replace with your password
+    /** The database URL used when {@code library.db.url} is not set; a constant, so reading it does not load this class. */
+    public static final String DEFAULT_URL = "jdbc:postgresql://localhost:5432/Library?reWriteBatchedInserts=true"; // Replace 'library_system_db'
+    private static final String DB_URL = System.getProperty("library.db.url", DEFAULT_URL);
+    private static final String DB_USER = System.getProperty("library.db.user", "postgres"); // Replace with your username
+    private static final String DB_PASSWORD = System.getProperty("library.db.password", "postgres123"); // Replace with your password
+
+    // Connection pool settings
+    private static final int POOL_MIN_SIZE = Integer.getInteger("library.pool.minSize", 2);
+    private static final int POOL_MAX_SIZE = Integer.getInteger("library.pool.maxSize", 10);
+    private static final long POOL_ACQUIRE_TIMEOUT_MS = Long.getLong("library.pool.acquireTimeoutMs", 5_000L);
+    private static final long POOL_IDLE_TIMEOUT_MS = Long.getLong("library.pool.idleTimeoutMs", 300_000L);
+    private static final long POOL_VALIDATION_INTERVAL_MS = Long.getLong("library.pool.validationIntervalMs", 500L);
+    private static final int POOL_VALIDATION_TIMEOUT_SECONDS = Integer.getInteger("library.pool.validationTimeoutSeconds", 2);
+    private static final int STATEMENT_CACHE_SIZE = Integer.getInteger("library.pool.statementCacheSize", 64);
 
     static {
         try {
@@ -21,14 +37,70 @@ public class DatabaseConnector {
             throw new RuntimeException("PostgreSQL JDBC Driver not found. Include it in your library path.", e);
         }
     }
+
+    // Lazily created on first use so that merely loading this class opens no sockets.
+    private static class PoolHolder {
+        static final ConnectionPool POOL = ConnectionPool.create(DB_URL, DB_USER, DB_PASSWORD,
+                POOL_MIN_SIZE, POOL_MAX_SIZE, POOL_ACQUIRE_TIMEOUT_MS, POOL_IDLE_TIMEOUT_MS,
+                POOL_VALIDATION_INTERVAL_MS, POOL_VALIDATION_TIMEOUT_SECONDS, STATEMENT_CACHE_SIZE);
+    }
+
     /**
-     * Establishes and returns a new connection to the PostgreSQL database.
-     * The caller is responsible for closing this connection when done.
+     * Borrows a connection to the PostgreSQL database from the shared connection pool.
+     * The caller is responsible for closing this connection when done; closing it
+     * returns it to the pool rather than closing the underlying socket.
      *
      * @return A {@link Connection} object to the database.
-     * @throws SQLException if a database access error occurs or the URL is null.
+     * @throws SQLException if a database access error occurs or no connection becomes available in time.
      */
     public static Connection getConnection() throws SQLException {
+        return PoolHolder.POOL.getConnection();
+    }
+
+    /**
+     * Opens a new physical connection outside the pool, for long-lived sessions such as a
+     * LISTEN subscription that would otherwise hold a pooled connection forever.
+     * The caller owns the connection and must close it.
+     *
+     * @return A new, unpooled {@link Connection} to the database.
+     * @throws SQLException if the connection cannot be opened.
+     */
+    public static Connection openDedicatedConnection() throws SQLException {
         return DriverManager.getConnection(DB_URL, DB_USER, DB_PASSWORD);
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns a snapshot of the shared connection pool's statistics for monitoring.
+     *
+     * @return The current {@link PoolStats}.
+     */
+    public static PoolStats getPoolStats() {
+        return PoolHolder.POOL.getStats();
+    }
+
+    /**
+     * Returns the URL of the database this connector connects to.
+     *
+     * @return The JDBC URL.
+     */
+    public static String getUrl() {
+        return DB_URL;
+    }
+
+    /**
+     * Returns the configured maximum number of pooled connections.
+     *
+     * @return The pool's maximum size.
+     */
+    public static int getMaxPoolSize() {
+        return POOL_MAX_SIZE;
+    }
+
+    /**
+     * Closes all idle pooled connections and stops the pool's background housekeeping.
+     * Intended to be called once when the application exits.
+     */
+    public static void shutdown() {
+        PoolHolder.POOL.close();
+    }
+}
@@ -1,13 +1,28 @@
 package Zoho.LibraryManagementSystem.Repository;
 
+import Zoho.LibraryManagementSystem.Metrics.MetricsRegistry;
 import Zoho.LibraryManagementSystem.Model.*;
 import Zoho.LibraryManagementSystem.Model.Enum.MembershipType;
 
+import java.math.BigDecimal;
 import java.sql.*;
 import java.time.LocalDate;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Data Access Object (DAO) for the Library Management System.
@@ -16,8 +31,141 @@ import java.util.Optional;
  * All public methods in this class that perform database operations expect an active
  * {@link Connection} object to be passed, allowing for external transaction management
  * by the service layer.
+ * <p>
+ * Book lookups by ID are served through a {@link BookCache}; every method that changes a
+ * book, its stock or its author/subject links invalidates that book's cache entry.
+ * Author and subject names are interned in {@link NameIdCache}s so that resolving a known
+ * name needs no database round trip.
  */
 public class LibraryDB {
+    private static final int BOOK_CACHE_SIZE = Integer.getInteger("library.bookCache.maxSize", 10_000);
+    private static final long BOOK_CACHE_TTL_MS = Long.getLong("library.bookCache.ttlMs", 300_000L);
+    // The columns mapRowToBook reads; books also carries search_vector, which is large and never mapped
+    private static final String BOOK_COLUMNS = "book_id, title, publisher, publication_date, total_copies, copies_available, times_borrowed";
+
+    private final BookCache bookCache;
+    private final NameIdCache authorIds = new NameIdCache("Author");
+    private final NameIdCache subjectIds = new NameIdCache("Subject");
+
+    /**
+     * Constructs a LibraryDB with a book cache sized from the {@code library.bookCache.*} system properties.
+     */
+    public LibraryDB() {
+        this(new BookCache(BOOK_CACHE_SIZE, BOOK_CACHE_TTL_MS));
+    }
+
+    /**
+     * Constructs a LibraryDB that serves book lookups through the given cache.
+     *
+     * @param bookCache The cache for {@link #findBookById(Connection, int)}.
+     */
+    public LibraryDB(BookCache bookCache) {
+        this.bookCache = bookCache;
+    }
+
+    /**
+     * Returns the book cache, e.g. to report its statistics.
+     *
+     * @return The {@link BookCache} used by this LibraryDB.
+     */
+    public BookCache getBookCache() {
+        return bookCache;
+    }
+
+    /**
+     * Drops a book from the cache. Services call this after committing a transaction that changed
+     * the book; the eviction also advances the book's cache generation, so a concurrent reader which
+     * loaded the pre-commit row drops it instead of caching it (see {@link BookCache#put(Book, long)}).
+     *
+     * @param bookId The ID of the book that changed.
+     */
+    public void evictBook(int bookId) {
+        bookCache.invalidate(bookId);
+    }
+
+    /**
+     * Returns the author name interning cache, e.g. to report its statistics.
+     *
+     * @return The author {@link NameIdCache}.
+     */
+    public NameIdCache getAuthorIdCache() {
+        return authorIds;
+    }
+
+    /**
+     * Returns the subject name interning cache, e.g. to report its statistics.
+     *
+     * @return The subject {@link NameIdCache}.
+     */
+    public NameIdCache getSubjectIdCache() {
+        return subjectIds;
+    }
+
+    /**
+     * Loads every existing author and subject into the name interning caches.
+     * Intended to be called once at startup; the vocabularies are small, so two full scans are cheap.
+     *
+     * @param conn The active database connection.
+     * @return The number of names loaded.
+     * @throws SQLException if a database access error occurs.
+     */
+    public int warmNameCaches(Connection conn) throws SQLException {
+        return timed("db.LibraryDB.warmNameCaches", () -> loadNameIds(conn, "SELECT author_id, author_name FROM authors", authorIds)
+                + loadNameIds(conn, "SELECT subject_id, subject_name FROM subjects", subjectIds));
+    }
+
+    /**
+     * Interns author IDs resolved inside a transaction. Call only after that transaction has committed.
+     *
+     * @param committed Author names and their IDs.
+     */
+    public void internAuthorIds(Map<String, Integer> committed) {
+        authorIds.putAll(committed);
+    }
+
+    /**
+     * Interns subject IDs resolved inside a transaction. Call only after that transaction has committed.
+     *
+     * @param committed Subject names and their IDs.
+     */
+    public void internSubjectIds(Map<String, Integer> committed) {
+        subjectIds.putAll(committed);
+    }
+
+    /**
+     * Maps the current row of a {@link ResultSet} to an object.
+     * @param <T> The type of object produced.
+     */
+    @FunctionalInterface
+    private interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    /**
+     * Enriches a batch of freshly mapped rows in place, e.g. by loading associations.
+     * @param <T> The type of object enriched.
+     */
+    @FunctionalInterface
+    private interface BatchLoader<T> {
+        void load(Connection conn, List<T> batch) throws SQLException;
+    }
+
+    /**
+     * The body of a public method, run by {@link #timed}.
+     * @param <T> The method's result type.
+     */
+    @FunctionalInterface
+    private interface SqlCall<T> {
+        T call() throws SQLException;
+    }
+
+    /**
+     * The body of a public method without a result, run by {@link #timedVoid}.
+     */
+    @FunctionalInterface
+    private interface SqlRunnable {
+        void run() throws SQLException;
+    }
 
     // --- Member Methods ---
 
@@ -31,25 +179,27 @@ public class LibraryDB {
      * @throws SQLException if a database access error occurs.
      */
     public Member addMember(Connection conn, Member member, String hashedPassword) throws SQLException {
-        String sql = "INSERT INTO members (name, username, password_hash, email, phone_number, address, membership_type, membership_status, registration_date, expiry_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) RETURNING member_id";
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, member.getName());
-            pstmt.setString(2, member.getUsername());
-            pstmt.setString(3, hashedPassword);
-            pstmt.setString(4, member.getEmail());
-            pstmt.setString(5, member.getPhoneNumber());
-            pstmt.setString(6, member.getAddress());
-            pstmt.setString(7, member.getMembershipType().name());
-            pstmt.setString(8, member.getMembershipStatus());
-            pstmt.setDate(9, Date.valueOf(member.getRegistrationDate()));
-            pstmt.setDate(10, member.getExpiryDate() != null ? Date.valueOf(member.getExpiryDate()) : null);
+        return timed("db.LibraryDB.addMember", () -> {
+            String sql = "INSERT INTO members (name, username, password_hash, email, phone_number, address, membership_type, membership_status, registration_date, expiry_date) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?) RETURNING member_id";
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setString(1, member.getName());
+                pstmt.setString(2, member.getUsername());
+                pstmt.setString(3, hashedPassword);
+                pstmt.setString(4, member.getEmail());
+                pstmt.setString(5, member.getPhoneNumber());
+                pstmt.setString(6, member.getAddress());
+                pstmt.setString(7, member.getMembershipType().name());
+                pstmt.setString(8, member.getMembershipStatus());
+                pstmt.setDate(9, Date.valueOf(member.getRegistrationDate()));
+                pstmt.setDate(10, member.getExpiryDate() != null ? Date.valueOf(member.getExpiryDate()) : null);
 
-            ResultSet rs = pstmt.executeQuery();
-            if (rs.next()) {
-                member.setMemberId(rs.getInt("member_id"));
+                ResultSet rs = pstmt.executeQuery();
+                if (rs.next()) {
+                    member.setMemberId(rs.getInt("member_id"));
+                }
+                return member;
             }
-            return member;
-        }
+        });
     }
     /**
      * Finds a member by their unique username.
@@ -60,15 +210,17 @@ public class LibraryDB {
      * @throws SQLException if a database access error occurs.
      */
     public Optional<Member> findMemberByUsername(Connection conn, String username) throws SQLException {
-        String sql = "SELECT * FROM members WHERE username = ?";
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, username);
-            ResultSet rs = pstmt.executeQuery();
-            if (rs.next()) {
-                return Optional.of(mapRowToMember(rs));
+        return timed("db.LibraryDB.findMemberByUsername", () -> {
+            String sql = "SELECT * FROM members WHERE username = ?";
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setString(1, username);
+                ResultSet rs = pstmt.executeQuery();
+                if (rs.next()) {
+                    return Optional.of(mapRowToMember(rs));
+                }
             }
-        }
-        return Optional.empty();
+            return Optional.empty();
+        });
     }
 
     /**
@@ -80,15 +232,17 @@ public class LibraryDB {
      * @throws SQLException if a database error occurs.
      */
     public Optional<Member> findMemberById(Connection conn, int memberId) throws SQLException {
-        String sql = "SELECT * FROM members WHERE member_id = ?";
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, memberId);
-            ResultSet rs = pstmt.executeQuery();
-            if (rs.next()) {
-                return Optional.of(mapRowToMember(rs));
+        return timed("db.LibraryDB.findMemberById", () -> {
+            String sql = "SELECT * FROM members WHERE member_id = ?";
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, memberId);
+                ResultSet rs = pstmt.executeQuery();
+                if (rs.next()) {
+                    return Optional.of(mapRowToMember(rs));
+                }
             }
-        }
-        return Optional.empty();
+            return Optional.empty();
+        });
     }
 
     /**
@@ -99,15 +253,49 @@ public class LibraryDB {
      * @throws SQLException if a database access error occurs.
      */
     public List<Member> getAllMembers(Connection conn) throws SQLException {
-        List<Member> members = new ArrayList<>();
-        String sql = "SELECT * FROM members ORDER BY name";
-        try (Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            while (rs.next()) {
-                members.add(mapRowToMember(rs));
+        return timed("db.LibraryDB.getAllMembers", () -> {
+            List<Member> members = new ArrayList<>();
+            String sql = "SELECT * FROM members ORDER BY name";
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery(sql)) {
+                while (rs.next()) {
+                    members.add(mapRowToMember(rs));
+                }
             }
-        }
-        return members;
+            return members;
+        });
+    }
+
+    /**
+     * Retrieves one page of members ordered by name, using keyset pagination on (name, member_id).
+     *
+     * @param conn The active database connection.
+     * @param afterName The name of the last member on the previous page, or {@code null} for the first page.
+     * @param afterMemberId The ID of the last member on the previous page (ignored for the first page).
+     * @param pageSize The maximum number of members to return.
+     * @return A {@link Page} of {@link Member} objects.
+     * @throws SQLException if a database access error occurs.
+     */
+    public Page<Member> getMembersPage(Connection conn, String afterName, int afterMemberId, int pageSize) throws SQLException {
+        return timed("db.LibraryDB.getMembersPage", () -> {
+            List<Member> members = new ArrayList<>();
+            String sql = afterName == null
+                    ? "SELECT * FROM members ORDER BY name, member_id LIMIT ?"
+                    : "SELECT * FROM members WHERE (name, member_id) > (?, ?) ORDER BY name, member_id LIMIT ?";
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                int index = 1;
+                if (afterName != null) {
+                    pstmt.setString(index++, afterName);
+                    pstmt.setInt(index++, afterMemberId);
+                }
+                pstmt.setInt(index, pageSize + 1);
+                ResultSet rs = pstmt.executeQuery();
+                while (rs.next()) {
+                    members.add(mapRowToMember(rs));
+                }
+            }
+            return toPage(members, pageSize);
+        });
     }
 
     /**
@@ -120,15 +308,17 @@ public class LibraryDB {
      * @throws SQLException if a database access error occurs.
      */
     public boolean hasOpenBorrows(Connection conn, int memberId) throws SQLException {
-        String sql = "SELECT COUNT(*) FROM transactions WHERE member_id = ? AND transaction_status = 'ACTIVE'";
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, memberId);
-            ResultSet rs = pstmt.executeQuery();
-            if (rs.next()) {
-                return rs.getInt(1) > 0;
+        return timed("db.LibraryDB.hasOpenBorrows", () -> {
+            String sql = "SELECT COUNT(*) FROM transactions WHERE member_id = ? AND transaction_status = 'ACTIVE'";
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, memberId);
+                ResultSet rs = pstmt.executeQuery();
+                if (rs.next()) {
+                    return rs.getInt(1) > 0;
+                }
             }
-        }
-        return false;
+            return false;
+        });
     }
 
     /**
@@ -140,12 +330,37 @@ public class LibraryDB {
      * @throws SQLException if a database access error occurs.
      */
     public boolean removeMember(Connection conn, int memberId) throws SQLException {
-        String sql = "DELETE FROM members WHERE member_id = ?";
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, memberId);
-            int affectedRows = pstmt.executeUpdate();
-            return affectedRows > 0;
-        }
+        return timed("db.LibraryDB.removeMember", () -> {
+            String sql = "DELETE FROM members WHERE member_id = ?";
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, memberId);
+                int affectedRows = pstmt.executeUpdate();
+                return affectedRows > 0;
+            }
+        });
+    }
+
+    /**
+     * Replaces a member's password hash, but only if it still equals the hash the caller verified,
+     * so that a rehash on login can never overwrite a password changed concurrently.
+     *
+     * @param conn The active database connection.
+     * @param memberId The ID of the member.
+     * @param expectedHash The hash currently stored, as read by the caller.
+     * @param newHash The replacement hash.
+     * @return {@code true} if the hash was replaced, {@code false} if the member is gone or the hash had changed.
+     * @throws SQLException if a database access error occurs.
+     */
+    public boolean updateMemberPasswordHash(Connection conn, int memberId, String expectedHash, String newHash) throws SQLException {
+        return timed("db.LibraryDB.updateMemberPasswordHash", () -> {
+            String sql = "UPDATE members SET password_hash = ? WHERE member_id = ? AND password_hash = ?";
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setString(1, newHash);
+                pstmt.setInt(2, memberId);
+                pstmt.setString(3, expectedHash);
+                return pstmt.executeUpdate() > 0;
+            }
+        });
     }
 
 
@@ -163,22 +378,24 @@ public class LibraryDB {
      * @throws SQLException if a database access error occurs.
      */
     public Book addBook(Connection conn, Book book) throws SQLException {
-        // Removed isbn, page_count, description, language, cover_image_url from SQL
-        String sql = "INSERT INTO books (title, publisher, publication_date, total_copies, copies_available, times_borrowed) VALUES (?, ?, ?, ?, ?, ?) RETURNING book_id";
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, book.getTitle());
-            pstmt.setString(2, book.getPublisher());
-            pstmt.setDate(3, book.getPublicationDate() != null ? Date.valueOf(book.getPublicationDate()) : null);
-            pstmt.setInt(4, book.getTotalCopies());
-            pstmt.setInt(5, book.getCopiesAvailable()); // Should be same as total for a new book
-            pstmt.setInt(6, 0); // New book hasn't been borrowed
+        return timed("db.LibraryDB.addBook", () -> {
+            // Removed isbn, page_count, description, language, cover_image_url from SQL
+            String sql = "INSERT INTO books (title, publisher, publication_date, total_copies, copies_available, times_borrowed) VALUES (?, ?, ?, ?, ?, ?) RETURNING book_id";
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setString(1, book.getTitle());
+                pstmt.setString(2, book.getPublisher());
+                pstmt.setDate(3, book.getPublicationDate() != null ? Date.valueOf(book.getPublicationDate()) : null);
+                pstmt.setInt(4, book.getTotalCopies());
+                pstmt.setInt(5, book.getCopiesAvailable()); // Should be same as total for a new book
+                pstmt.setInt(6, 0); // New book hasn't been borrowed
 
-            ResultSet rs = pstmt.executeQuery();
-            if (rs.next()) {
-                book.setBookId(rs.getInt("book_id"));
+                ResultSet rs = pstmt.executeQuery();
+                if (rs.next()) {
+                    book.setBookId(rs.getInt("book_id"));
+                }
+                return book;
             }
-            return book;
-        }
+        });
     }
 
     /**
@@ -191,16 +408,20 @@ public class LibraryDB {
      * @throws SQLException if a database access error occurs.
      */
     public boolean removeBook(Connection conn, int bookId) throws SQLException {
-        String sql = "DELETE FROM books WHERE book_id = ?";
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, bookId);
-            int affectedRows = pstmt.executeUpdate();
-            return affectedRows > 0;
-        }
+        return timed("db.LibraryDB.removeBook", () -> {
+            String sql = "DELETE FROM books WHERE book_id = ?";
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, bookId);
+                int affectedRows = pstmt.executeUpdate();
+                bookCache.invalidate(bookId);
+                return affectedRows > 0;
+            }
+        });
     }
 
     /**
      * Finds a book by its ID and populates its associated authors and subjects.
+     * The book is served from the {@link BookCache} when possible and cached after loading.
      *
      * @param conn A valid database connection.
      * @param bookId The ID of the book to find.
@@ -208,40 +429,177 @@ public class LibraryDB {
      * @throws SQLException if a database error occurs.
      */
     public Optional<Book> findBookById(Connection conn, int bookId) throws SQLException {
-        String bookSQL = "SELECT * FROM books WHERE book_id = ?";
-        try (PreparedStatement pstmt = conn.prepareStatement(bookSQL)) {
-            pstmt.setInt(1, bookId);
-            ResultSet rs = pstmt.executeQuery();
-            if (rs.next()) {
-                Book book = mapRowToBook(rs);
-                book.setAuthors(findAuthorsForBook(conn, bookId));
-                book.setSubjects(findSubjectsForBook(conn, bookId));
-                return Optional.of(book);
+        return timed("db.LibraryDB.findBookById", () -> {
+            Optional<Book> cached = bookCache.get(bookId);
+            if (cached.isPresent()) {
+                return cached;
             }
-        }
-        return Optional.empty();
+            long stamp = bookCache.loadStamp(bookId);
+            String bookSQL = "SELECT " + BOOK_COLUMNS + " FROM books WHERE book_id = ?";
+            try (PreparedStatement pstmt = conn.prepareStatement(bookSQL)) {
+                pstmt.setInt(1, bookId);
+                ResultSet rs = pstmt.executeQuery();
+                if (rs.next()) {
+                    Book book = mapRowToBook(rs);
+                    populateAuthorsAndSubjects(conn, Collections.singletonList(book));
+                    // Never cache a row read inside an open transaction: it may include uncommitted changes.
+                    if (conn.getAutoCommit()) {
+                        bookCache.put(book, stamp);
+                    }
+                    return Optional.of(book);
+                }
+            }
+            return Optional.empty();
+        });
+    }
+    /**
+     * Finds several books by ID, e.g. the hits of a search, preserving the order of the given IDs.
+     * Cached books are served from the {@link BookCache}; the rest are loaded with one query
+     * (plus the batched author and subject lookups). IDs that no longer exist are skipped.
+     *
+     * @param conn A valid database connection.
+     * @param bookIds The IDs of the books to find, in the order the books should be returned.
+     * @return A {@link List} of the {@link Book} objects found.
+     * @throws SQLException if a database error occurs.
+     */
+    public List<Book> findBooksByIds(Connection conn, List<Integer> bookIds) throws SQLException {
+        return timed("db.LibraryDB.findBooksByIds", () -> {
+            Map<Integer, Book> booksById = new HashMap<>();
+            List<Integer> missing = new ArrayList<>();
+            for (int bookId : bookIds) {
+                Optional<Book> cached = bookCache.get(bookId);
+                if (cached.isPresent()) {
+                    booksById.put(bookId, cached.get());
+                } else {
+                    missing.add(bookId);
+                }
+            }
+            if (!missing.isEmpty()) {
+                Map<Integer, Long> stamps = new HashMap<>();
+                for (int bookId : missing) {
+                    stamps.put(bookId, bookCache.loadStamp(bookId));
+                }
+                List<Book> loaded = new ArrayList<>();
+                Array ids = conn.createArrayOf("integer", missing.toArray());
+                try (PreparedStatement pstmt = conn.prepareStatement("SELECT " + BOOK_COLUMNS + " FROM books WHERE book_id = ANY(?)")) {
+                    pstmt.setArray(1, ids);
+                    ResultSet rs = pstmt.executeQuery();
+                    while (rs.next()) {
+                        loaded.add(mapRowToBook(rs));
+                    }
+                } finally {
+                    ids.free();
+                }
+                populateAuthorsAndSubjects(conn, loaded);
+                boolean cacheable = conn.getAutoCommit();
+                for (Book book : loaded) {
+                    booksById.put(book.getBookId(), book);
+                    if (cacheable) {
+                        bookCache.put(book, stamps.get(book.getBookId()));
+                    }
+                }
+            }
+            List<Book> books = new ArrayList<>(booksById.size());
+            for (int bookId : bookIds) {
+                Book book = booksById.get(bookId);
+                if (book != null) {
+                    books.add(book);
+                }
+            }
+            return books;
+        });
     }
     /**
      * Retrieves all books from the database, ordered by title.
-     * Each book is populated with its associated authors and subjects.
+     * Each book is populated with its associated authors and subjects, which are
+     * batch-loaded so the whole catalog costs three queries regardless of its size.
      *
      * @param conn The active database connection.
      * @return A {@link List} of {@link Book} objects; an empty list if no books exist.
      * @throws SQLException if a database access error occurs.
      */
     public List<Book> getAllBooks(Connection conn) throws SQLException {
-        List<Book> books = new ArrayList<>();
-        String sql = "SELECT * FROM books ORDER BY title";
-        try (Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            while (rs.next()) {
-                Book book = mapRowToBook(rs);
-                book.setAuthors(findAuthorsForBook(conn, book.getBookId()));
-                book.setSubjects(findSubjectsForBook(conn, book.getBookId()));
-                books.add(book);
+        return timed("db.LibraryDB.getAllBooks", () -> {
+            List<Book> books = new ArrayList<>();
+            String sql = "SELECT " + BOOK_COLUMNS + " FROM books ORDER BY title";
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery(sql)) {
+                while (rs.next()) {
+                    books.add(mapRowToBook(rs));
+                }
             }
-        }
-        return books;
+            populateAuthorsAndSubjects(conn, books);
+            return books;
+        });
+    }
+
+    /**
+     * Retrieves one page of books ordered by title, using keyset pagination on (title, book_id).
+     * The books on the page are populated with their authors and subjects.
+     *
+     * @param conn The active database connection.
+     * @param afterTitle The title of the last book on the previous page, or {@code null} for the first page.
+     * @param afterBookId The ID of the last book on the previous page (ignored for the first page).
+     * @param pageSize The maximum number of books to return.
+     * @return A {@link Page} of {@link Book} objects.
+     * @throws SQLException if a database access error occurs.
+     */
+    public Page<Book> getBooksPage(Connection conn, String afterTitle, int afterBookId, int pageSize) throws SQLException {
+        return timed("db.LibraryDB.getBooksPage", () -> {
+            List<Book> books = new ArrayList<>();
+            String sql = afterTitle == null
+                    ? "SELECT " + BOOK_COLUMNS + " FROM books ORDER BY title, book_id LIMIT ?"
+                    : "SELECT " + BOOK_COLUMNS + " FROM books WHERE (title, book_id) > (?, ?) ORDER BY title, book_id LIMIT ?";
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                int index = 1;
+                if (afterTitle != null) {
+                    pstmt.setString(index++, afterTitle);
+                    pstmt.setInt(index++, afterBookId);
+                }
+                pstmt.setInt(index, pageSize + 1);
+                ResultSet rs = pstmt.executeQuery();
+                while (rs.next()) {
+                    books.add(mapRowToBook(rs));
+                }
+            }
+            Page<Book> page = toPage(books, pageSize);
+            populateAuthorsAndSubjects(conn, page.getItems());
+            return page;
+        });
+    }
+
+    /**
+     * Searches the catalog with PostgreSQL full-text search and returns one page of ranked results.
+     * The query uses web-search syntax ({@code "exact phrase"}, {@code or}, {@code -excluded}) and
+     * is matched against each book's weighted search vector (title, then authors, subjects and
+     * publisher) through its GIN index. The books on the page are populated with their authors and subjects.
+     *
+     * @param conn The active database connection.
+     * @param query The user's search text.
+     * @param pageNumber The zero-based page number.
+     * @param pageSize The maximum number of books to return.
+     * @return A {@link Page} of {@link Book} objects, best match first.
+     * @throws SQLException if a database access error occurs.
+     */
+    public Page<Book> searchBooks(Connection conn, String query, int pageNumber, int pageSize) throws SQLException {
+        return timed("db.LibraryDB.searchBooks", () -> {
+            List<Book> books = new ArrayList<>();
+            String sql = "SELECT " + BOOK_COLUMNS + " FROM books b, websearch_to_tsquery('english', ?) q " +
+                    "WHERE b.search_vector @@ q " +
+                    "ORDER BY ts_rank_cd(b.search_vector, q) DESC, b.book_id LIMIT ? OFFSET ?";
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setString(1, query);
+                pstmt.setInt(2, pageSize + 1);
+                pstmt.setLong(3, (long) pageNumber * pageSize);
+                ResultSet rs = pstmt.executeQuery();
+                while (rs.next()) {
+                    books.add(mapRowToBook(rs));
+                }
+            }
+            Page<Book> page = toPage(books, pageSize);
+            populateAuthorsAndSubjects(conn, page.getItems());
+            return page;
+        });
     }
 
     /**
@@ -252,24 +610,133 @@ public class LibraryDB {
      * @throws SQLException if a database access error occurs.
      */
     public void updateBook(Connection conn, Book book) throws SQLException {
-        // Removed isbn, page_count, description, language, cover_image_url from SQL
-        String sql = "UPDATE books SET title=?, publisher=?, publication_date=?, total_copies=?, copies_available=?, times_borrowed=? WHERE book_id=?";
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, book.getTitle());
-            pstmt.setString(2, book.getPublisher());
-            pstmt.setDate(3, book.getPublicationDate() != null ? Date.valueOf(book.getPublicationDate()) : null);
-            pstmt.setInt(4, book.getTotalCopies());
-            pstmt.setInt(5, book.getCopiesAvailable());
-            pstmt.setInt(6, book.getTimesBorrowed());
-            pstmt.setInt(7, book.getBookId());
-            pstmt.executeUpdate();
-        }
+        timedVoid("db.LibraryDB.updateBook", () -> {
+            // Removed isbn, page_count, description, language, cover_image_url from SQL
+            String sql = "UPDATE books SET title=?, publisher=?, publication_date=?, total_copies=?, copies_available=?, times_borrowed=? WHERE book_id=?";
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setString(1, book.getTitle());
+                pstmt.setString(2, book.getPublisher());
+                pstmt.setDate(3, book.getPublicationDate() != null ? Date.valueOf(book.getPublicationDate()) : null);
+                pstmt.setInt(4, book.getTotalCopies());
+                pstmt.setInt(5, book.getCopiesAvailable());
+                pstmt.setInt(6, book.getTimesBorrowed());
+                pstmt.setInt(7, book.getBookId());
+                pstmt.executeUpdate();
+                bookCache.invalidate(book.getBookId());
+            }
+        });
+    }
+
+    /**
+     * Atomically takes one copy of a book off the shelf for a loan: decrements the available
+     * copies and increments the borrow count in a single statement, but only if a copy is available.
+     * Concurrent borrowers of the last copy cannot both succeed.
+     *
+     * @param conn The active database connection.
+     * @param bookId The ID of the book being borrowed.
+     * @return An {@link Optional} with the updated {@link Book} (without authors and subjects),
+     * or empty if the book does not exist or has no copies available.
+     * @throws SQLException if a database access error occurs.
+     */
+    public Optional<Book> borrowAvailableCopy(Connection conn, int bookId) throws SQLException {
+        return timed("db.LibraryDB.borrowAvailableCopy", () -> {
+            String sql = "UPDATE books SET copies_available = copies_available - 1, times_borrowed = times_borrowed + 1 " +
+                    "WHERE book_id = ? AND copies_available > 0 RETURNING " + BOOK_COLUMNS;
+            return updateBookReturning(conn, sql, bookId);
+        });
+    }
+
+    /**
+     * Atomically puts one copy of a book back on the shelf: increments the available copies
+     * in a single statement, but never beyond the book's total copies.
+     *
+     * @param conn The active database connection.
+     * @param bookId The ID of the book being returned.
+     * @return An {@link Optional} with the updated {@link Book} (without authors and subjects),
+     * or empty if the book does not exist or all its copies are already available.
+     * @throws SQLException if a database access error occurs.
+     */
+    public Optional<Book> returnCopy(Connection conn, int bookId) throws SQLException {
+        return timed("db.LibraryDB.returnCopy", () -> {
+            String sql = "UPDATE books SET copies_available = copies_available + 1 " +
+                    "WHERE book_id = ? AND copies_available < total_copies RETURNING " + BOOK_COLUMNS;
+            return updateBookReturning(conn, sql, bookId);
+        });
+    }
+
+    /**
+     * Records a loan of a copy that is already held off the shelf for the borrower's 'AVAILABLE'
+     * reservation: increments the borrow count only, since the held copy was taken out of the
+     * available copies when the reservation was promoted.
+     *
+     * @param conn The active database connection.
+     * @param bookId The ID of the book being borrowed.
+     * @return An {@link Optional} with the updated {@link Book} (without authors and subjects),
+     * or empty if the book does not exist.
+     * @throws SQLException if a database access error occurs.
+     */
+    public Optional<Book> borrowHeldCopy(Connection conn, int bookId) throws SQLException {
+        return timed("db.LibraryDB.borrowHeldCopy", () -> {
+            String sql = "UPDATE books SET times_borrowed = times_borrowed + 1 WHERE book_id = ? RETURNING " + BOOK_COLUMNS;
+            return updateBookReturning(conn, sql, bookId);
+        });
+    }
+
+    /**
+     * Atomically takes one copy of a book off the shelf to hold it for a reservation, without
+     * counting it as a loan.
+     *
+     * @param conn The active database connection.
+     * @param bookId The ID of the book.
+     * @return An {@link Optional} with the updated {@link Book} (without authors and subjects),
+     * or empty if the book does not exist or has no copies available.
+     * @throws SQLException if a database access error occurs.
+     */
+    public Optional<Book> holdAvailableCopy(Connection conn, int bookId) throws SQLException {
+        return timed("db.LibraryDB.holdAvailableCopy", () -> {
+            String sql = "UPDATE books SET copies_available = copies_available - 1 WHERE book_id = ? AND copies_available > 0 RETURNING " + BOOK_COLUMNS;
+            return updateBookReturning(conn, sql, bookId);
+        });
+    }
+
+    /**
+     * Atomically changes a book's total stock, shifting the available copies by the same amount,
+     * provided the new total still covers every copy currently on loan.
+     *
+     * @param conn The active database connection.
+     * @param bookId The ID of the book to update.
+     * @param newTotalCopies The new total number of copies.
+     * @return {@code true} if the stock was updated, {@code false} if the book does not exist or
+     * more copies are on loan than the new total allows.
+     * @throws SQLException if a database access error occurs.
+     */
+    public boolean updateTotalCopies(Connection conn, int bookId, int newTotalCopies) throws SQLException {
+        return timed("db.LibraryDB.updateTotalCopies", () -> {
+            String sql = "UPDATE books SET copies_available = copies_available + (? - total_copies), total_copies = ? " +
+                    "WHERE book_id = ? AND ? >= total_copies - copies_available";
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, newTotalCopies);
+                pstmt.setInt(2, newTotalCopies);
+                pstmt.setInt(3, bookId);
+                pstmt.setInt(4, newTotalCopies);
+                boolean updated = pstmt.executeUpdate() > 0;
+                bookCache.invalidate(bookId);
+                return updated;
+            }
+        });
     }
 
     // --- Author and Subject Linking Methods ---
 
     /**
      * Finds an author by name. If the author does not exist, creates a new author record.
+     * Known names are resolved from the interning cache without touching the database; new names
+     * are created with {@code INSERT ... ON CONFLICT DO NOTHING}, so concurrent sessions adding
+     * the same author cannot fail on the unique constraint.
+     * <p>
+     * An author created inside an open transaction is not interned; the caller should pass it to
+     * {@link #internAuthorIds(Map)} after committing, and should not resolve the same new name
+     * twice in one transaction.
      *
      * @param conn The active database connection.
      * @param name The name of the author to find or create.
@@ -277,27 +744,15 @@ public class LibraryDB {
      * @throws SQLException if a database access error occurs or if creation fails.
      */
     public Author findOrCreateAuthorByName(Connection conn, String name) throws SQLException {
-        String findSql = "SELECT author_id, author_name FROM authors WHERE author_name = ?";
-        try (PreparedStatement findPstmt = conn.prepareStatement(findSql)) {
-            findPstmt.setString(1, name);
-            ResultSet rs = findPstmt.executeQuery();
-            if (rs.next()) {
-                return new Author(rs.getInt("author_id"), rs.getString("author_name"));
-            } else {
-                String insertSql = "INSERT INTO authors (author_name) VALUES (?) RETURNING author_id, author_name";
-                try (PreparedStatement insertPstmt = conn.prepareStatement(insertSql)) {
-                    insertPstmt.setString(1, name);
-                    rs = insertPstmt.executeQuery();
-                    if (rs.next()) {
-                        return new Author(rs.getInt("author_id"), rs.getString("author_name"));
-                    }
-                }
-            }
-        }
-        throw new SQLException("Could not find or create author: " + name);
+        return timed("db.LibraryDB.findOrCreateAuthorByName", () -> {
+            return new Author(findOrCreateNameId(conn, name, authorIds,
+                    "INSERT INTO authors (author_name) VALUES (?) ON CONFLICT (author_name) DO NOTHING RETURNING author_id",
+                    "SELECT author_id FROM authors WHERE author_name = ?"), name);
+        });
     }
     /**
      * Finds a subject by name. If the subject does not exist, creates a new subject record.
+     * Resolves names through the interning cache in the same way as {@link #findOrCreateAuthorByName(Connection, String)}.
      *
      * @param conn The active database connection.
      * @param name The name of the subject to find or create.
@@ -305,24 +760,11 @@ public class LibraryDB {
      * @throws SQLException if a database access error occurs or if creation fails.
      */
     public Subject findOrCreateSubjectByName(Connection conn, String name) throws SQLException {
-        String findSql = "SELECT subject_id, subject_name FROM subjects WHERE subject_name = ?";
-        try (PreparedStatement findPstmt = conn.prepareStatement(findSql)) {
-            findPstmt.setString(1, name);
-            ResultSet rs = findPstmt.executeQuery();
-            if (rs.next()) {
-                return new Subject(rs.getInt("subject_id"), rs.getString("subject_name"));
-            } else {
-                String insertSql = "INSERT INTO subjects (subject_name) VALUES (?) RETURNING subject_id, subject_name";
-                try (PreparedStatement insertPstmt = conn.prepareStatement(insertSql)) {
-                    insertPstmt.setString(1, name);
-                    rs = insertPstmt.executeQuery();
-                    if (rs.next()) {
-                        return new Subject(rs.getInt("subject_id"), rs.getString("subject_name"));
-                    }
-                }
-            }
-        }
-        throw new SQLException("Could not find or create subject: " + name);
+        return timed("db.LibraryDB.findOrCreateSubjectByName", () -> {
+            return new Subject(findOrCreateNameId(conn, name, subjectIds,
+                    "INSERT INTO subjects (subject_name) VALUES (?) ON CONFLICT (subject_name) DO NOTHING RETURNING subject_id",
+                    "SELECT subject_id FROM subjects WHERE subject_name = ?"), name);
+        });
     }
     /**
      * Creates a link between a book and an author in the `book_authors` association table.
@@ -333,12 +775,15 @@ public class LibraryDB {
      * @throws SQLException if a database access error occurs.
      */
     public void linkBookToAuthor(Connection conn, int bookId, int authorId) throws SQLException {
-        String sql = "INSERT INTO book_authors (book_id, author_id) VALUES (?, ?)";
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, bookId);
-            pstmt.setInt(2, authorId);
-            pstmt.executeUpdate();
-        }
+        timedVoid("db.LibraryDB.linkBookToAuthor", () -> {
+            String sql = "INSERT INTO book_authors (book_id, author_id) VALUES (?, ?)";
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, bookId);
+                pstmt.setInt(2, authorId);
+                pstmt.executeUpdate();
+                bookCache.invalidate(bookId);
+            }
+        });
     }
     /**
      * Creates a link between a book and a subject in the `book_subjects` association table.
@@ -349,12 +794,117 @@ public class LibraryDB {
      * @throws SQLException if a database access error occurs.
      */
     public void linkBookToSubject(Connection conn, int bookId, int subjectId) throws SQLException {
-        String sql = "INSERT INTO book_subjects (book_id, subject_id) VALUES (?, ?)";
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, bookId);
-            pstmt.setInt(2, subjectId);
-            pstmt.executeUpdate();
-        }
+        timedVoid("db.LibraryDB.linkBookToSubject", () -> {
+            String sql = "INSERT INTO book_subjects (book_id, subject_id) VALUES (?, ?)";
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, bookId);
+                pstmt.setInt(2, subjectId);
+                pstmt.executeUpdate();
+                bookCache.invalidate(bookId);
+            }
+        });
+    }
+
+    // --- Bulk Import Methods ---
+
+    /**
+     * Inserts many books with a single JDBC batch and sets each book's database-generated ID.
+     * Associated authors and subjects must be linked in separate operations.
+     *
+     * @param conn The active database connection.
+     * @param books The {@link Book} objects to insert; their bookId fields are updated in place.
+     * @throws SQLException if a database access error occurs.
+     */
+    public void addBooksBatch(Connection conn, List<Book> books) throws SQLException {
+        timedVoid("db.LibraryDB.addBooksBatch", () -> {
+            if (books.isEmpty()) {
+                return;
+            }
+            String sql = "INSERT INTO books (title, publisher, publication_date, total_copies, copies_available, times_borrowed) VALUES (?, ?, ?, ?, ?, ?)";
+            try (PreparedStatement pstmt = conn.prepareStatement(sql, new String[]{"book_id"})) {
+                for (Book book : books) {
+                    pstmt.setString(1, book.getTitle());
+                    pstmt.setString(2, book.getPublisher());
+                    pstmt.setDate(3, book.getPublicationDate() != null ? Date.valueOf(book.getPublicationDate()) : null);
+                    pstmt.setInt(4, book.getTotalCopies());
+                    pstmt.setInt(5, book.getCopiesAvailable());
+                    pstmt.setInt(6, 0);
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+
+                // Generated keys come back in batch order.
+                ResultSet keys = pstmt.getGeneratedKeys();
+                for (Book book : books) {
+                    if (!keys.next()) {
+                        throw new SQLException("Batch insert returned fewer book IDs than books inserted.");
+                    }
+                    book.setBookId(keys.getInt(1));
+                }
+            }
+        });
+    }
+
+    /**
+     * Resolves author names to IDs, creating any authors that do not exist yet.
+     * Interned names are resolved from the cache; the rest take a constant two statements
+     * regardless of how many there are. Newly created authors are not interned unless
+     * {@code conn} is in auto-commit mode; pass the result to {@link #internAuthorIds(Map)} after commit.
+     *
+     * @param conn The active database connection.
+     * @param names The distinct author names to resolve.
+     * @return A map from each given name to its author ID.
+     * @throws SQLException if a database access error occurs.
+     */
+    public Map<String, Integer> findOrCreateAuthorIds(Connection conn, Collection<String> names) throws SQLException {
+        return timed("db.LibraryDB.findOrCreateAuthorIds", () -> {
+            return findOrCreateNameIds(conn, names, authorIds,
+                    "INSERT INTO authors (author_name) SELECT unnest(?::text[]) ON CONFLICT (author_name) DO NOTHING RETURNING author_name",
+                    "SELECT author_id, author_name FROM authors WHERE author_name = ANY(?)");
+        });
+    }
+
+    /**
+     * Resolves subject names to IDs, creating any subjects that do not exist yet.
+     * Uses the interning cache in the same way as {@link #findOrCreateAuthorIds(Connection, Collection)}.
+     *
+     * @param conn The active database connection.
+     * @param names The distinct subject names to resolve.
+     * @return A map from each given name to its subject ID.
+     * @throws SQLException if a database access error occurs.
+     */
+    public Map<String, Integer> findOrCreateSubjectIds(Connection conn, Collection<String> names) throws SQLException {
+        return timed("db.LibraryDB.findOrCreateSubjectIds", () -> {
+            return findOrCreateNameIds(conn, names, subjectIds,
+                    "INSERT INTO subjects (subject_name) SELECT unnest(?::text[]) ON CONFLICT (subject_name) DO NOTHING RETURNING subject_name",
+                    "SELECT subject_id, subject_name FROM subjects WHERE subject_name = ANY(?)");
+        });
+    }
+
+    /**
+     * Inserts many book-author links with a single JDBC batch.
+     *
+     * @param conn The active database connection.
+     * @param links Pairs of {@code {bookId, authorId}}.
+     * @throws SQLException if a database access error occurs.
+     */
+    public void linkBooksToAuthorsBatch(Connection conn, List<int[]> links) throws SQLException {
+        timedVoid("db.LibraryDB.linkBooksToAuthorsBatch", () -> {
+            executeLinkBatch(conn, "INSERT INTO book_authors (book_id, author_id) VALUES (?, ?) ON CONFLICT DO NOTHING", links);
+        });
+    }
+
+    /**
+     * Inserts many book-subject links with a single JDBC batch.
+     *
+     * @param conn The active database connection.
+     * @param links Pairs of {@code {bookId, subjectId}}.
+     * @throws SQLException if a database access error occurs.
+     */
+    public void linkBooksToSubjectsBatch(Connection conn, List<int[]> links) throws SQLException {
+        timedVoid("db.LibraryDB.linkBooksToSubjectsBatch", () -> {
+            executeLinkBatch(conn, "INSERT INTO book_subjects (book_id, subject_id) VALUES (?, ?) ON CONFLICT DO NOTHING", links);
+        });
     }
 
     // --- Transaction (Loan) Methods ---
@@ -367,20 +917,22 @@ public class LibraryDB {
      * @throws SQLException if a database access error occurs.
      */
     public Transaction createLoanTransaction(Connection conn, Transaction transaction) throws SQLException {
-        String sql = "INSERT INTO transactions (member_id, book_id, borrow_date, due_date, transaction_status) VALUES (?, ?, ?, ?, ?) RETURNING transaction_id";
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, transaction.getMemberId());
-            pstmt.setInt(2, transaction.getBookId());
-            pstmt.setDate(3, Date.valueOf(transaction.getBorrowDate()));
-            pstmt.setDate(4, Date.valueOf(transaction.getDueDate()));
-            pstmt.setString(5, transaction.getTransactionStatus());
+        return timed("db.LibraryDB.createLoanTransaction", () -> {
+            String sql = "INSERT INTO transactions (member_id, book_id, borrow_date, due_date, transaction_status) VALUES (?, ?, ?, ?, ?) RETURNING transaction_id";
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, transaction.getMemberId());
+                pstmt.setInt(2, transaction.getBookId());
+                pstmt.setDate(3, Date.valueOf(transaction.getBorrowDate()));
+                pstmt.setDate(4, Date.valueOf(transaction.getDueDate()));
+                pstmt.setString(5, transaction.getTransactionStatus());
 
-            ResultSet rs = pstmt.executeQuery();
-            if (rs.next()) {
-                transaction.setTransactionId(rs.getInt("transaction_id"));
+                ResultSet rs = pstmt.executeQuery();
+                if (rs.next()) {
+                    transaction.setTransactionId(rs.getInt("transaction_id"));
+                }
+                return transaction;
             }
-            return transaction;
-        }
+        });
     }
 
     /**
@@ -395,62 +947,357 @@ public class LibraryDB {
      * @throws SQLException if a database access error occurs.
      */
     public Optional<Transaction> findActiveLoan(Connection conn, int memberId, int bookId) throws SQLException {
-        String sql = "SELECT * FROM transactions WHERE member_id = ? AND book_id = ? AND transaction_status = 'ACTIVE'";
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, memberId);
-            pstmt.setInt(2, bookId);
-            ResultSet rs = pstmt.executeQuery();
-            if (rs.next()) {
-                return Optional.of(mapRowToTransaction(rs));
+        return timed("db.LibraryDB.findActiveLoan", () -> {
+            String sql = "SELECT * FROM transactions WHERE member_id = ? AND book_id = ? AND transaction_status = 'ACTIVE'";
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, memberId);
+                pstmt.setInt(2, bookId);
+                ResultSet rs = pstmt.executeQuery();
+                if (rs.next()) {
+                    return Optional.of(mapRowToTransaction(rs));
+                }
             }
-        }
-        return Optional.empty();
+            return Optional.empty();
+        });
     }
     /**
      * Updates an existing loan transaction when a book is returned.
-     * Sets the return_date to the current date and transaction_status to 'RETURNED'.
+     * Sets the return_date to the current date and transaction_status to 'RETURNED',
+     * but only if the loan is still 'ACTIVE', so a loan can never be closed twice.
      *
      * @param conn The active database connection.
      * @param transactionId The ID of the transaction to update.
+     * @return {@code true} if the loan was active and is now returned, {@code false} otherwise.
      * @throws SQLException if a database access error occurs.
      */
-    public void updateTransactionOnReturn(Connection conn, int transactionId) throws SQLException {
-        String sql = "UPDATE transactions SET return_date = ?, transaction_status = ? WHERE transaction_id = ?";
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setDate(1, Date.valueOf(LocalDate.now()));
-            pstmt.setString(2, "RETURNED");
-            pstmt.setInt(3, transactionId);
-            pstmt.executeUpdate();
-        }
+    public boolean updateTransactionOnReturn(Connection conn, int transactionId) throws SQLException {
+        return timed("db.LibraryDB.updateTransactionOnReturn", () -> {
+            String sql = "UPDATE transactions SET return_date = ?, transaction_status = ? WHERE transaction_id = ? AND transaction_status = 'ACTIVE'";
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setDate(1, Date.valueOf(LocalDate.now()));
+                pstmt.setString(2, "RETURNED");
+                pstmt.setInt(3, transactionId);
+                return pstmt.executeUpdate() > 0;
+            }
+        });
+    }
+
+    // --- Streaming Methods ---
+    // Their metrics time opening the cursor; the rows are read after the method has returned.
+
+    /**
+     * Streams every book in the catalog, ordered by title, without materialising the whole table.
+     * Rows are read through a server-side cursor {@code fetchSize} rows at a time, and each batch
+     * is populated with its authors and subjects before being handed to the stream.
+     * <p>
+     * The returned stream holds the connection's cursor open and <b>must be closed</b>
+     * (e.g. with try-with-resources). If the connection was in auto-commit mode, auto-commit is
+     * switched off while the stream is open and restored when it is closed.
+     *
+     * @param conn The active database connection; it must not be used for other work while the stream is open.
+     * @param fetchSize The number of rows to fetch from the server per round trip.
+     * @return A {@link Stream} of fully populated {@link Book} objects.
+     * @throws SQLException if a database access error occurs while opening the cursor.
+     */
+    public Stream<Book> streamAllBooks(Connection conn, int fetchSize) throws SQLException {
+        return timed("db.LibraryDB.streamAllBooks", () -> streamQuery(conn, "SELECT " + BOOK_COLUMNS + " FROM books ORDER BY title, book_id", fetchSize,
+                this::mapRowToBook, this::populateAuthorsAndSubjects));
+    }
+
+    /**
+     * Streams every loan transaction, newest first, without materialising the whole table.
+     * Rows are read through a server-side cursor {@code fetchSize} rows at a time.
+     * <p>
+     * The returned stream holds the connection's cursor open and <b>must be closed</b>
+     * (e.g. with try-with-resources). If the connection was in auto-commit mode, auto-commit is
+     * switched off while the stream is open and restored when it is closed.
+     *
+     * @param conn The active database connection; it must not be used for other work while the stream is open.
+     * @param fetchSize The number of rows to fetch from the server per round trip.
+     * @return A {@link Stream} of {@link Transaction} objects.
+     * @throws SQLException if a database access error occurs while opening the cursor.
+     */
+    public Stream<Transaction> streamAllTransactions(Connection conn, int fetchSize) throws SQLException {
+        return timed("db.LibraryDB.streamAllTransactions", () -> streamQuery(conn, "SELECT * FROM transactions ORDER BY borrow_date DESC, transaction_id DESC", fetchSize,
+                this::mapRowToTransaction, null));
     }
 
     // --- Private Helper & Mapper Methods ---
 
-    private List<Author> findAuthorsForBook(Connection conn, int bookId) throws SQLException {
-        List<Author> authors = new ArrayList<>();
-        String sql = "SELECT a.author_id, a.author_name FROM authors a JOIN book_authors ba ON a.author_id = ba.author_id WHERE ba.book_id = ?";
+    // Runs a public method's body, recording it as one sample of the given metric (e.g. db.LibraryDB.findBookById)
+    // when metrics are enabled. Every statement the method runs, and its row mapping, counts towards that one sample.
+    private <T> T timed(String metric, SqlCall<T> body) throws SQLException {
+        if (!MetricsRegistry.isEnabled()) {
+            return body.call();
+        }
+        long start = System.nanoTime();
+        boolean failed = true;
+        try {
+            T result = body.call();
+            failed = false;
+            return result;
+        } finally {
+            MetricsRegistry.record(metric, System.nanoTime() - start, failed);
+        }
+    }
+
+    private void timedVoid(String metric, SqlRunnable body) throws SQLException {
+        timed(metric, () -> {
+            body.run();
+            return null;
+        });
+    }
+
+    // Runs a single-book UPDATE ... RETURNING BOOK_COLUMNS and maps the updated row, if any.
+    private Optional<Book> updateBookReturning(Connection conn, String sql, int bookId) throws SQLException {
         try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
             pstmt.setInt(1, bookId);
             ResultSet rs = pstmt.executeQuery();
-            while (rs.next()) {
-                authors.add(new Author(rs.getInt("author_id"), rs.getString("author_name")));
+            bookCache.invalidate(bookId);
+            if (rs.next()) {
+                return Optional.of(mapRowToBook(rs));
             }
         }
-        return authors;
+        return Optional.empty();
     }
 
-    private List<Subject> findSubjectsForBook(Connection conn, int bookId) throws SQLException {
-        List<Subject> subjects = new ArrayList<>();
-        String sql = "SELECT s.subject_id, s.subject_name FROM subjects s JOIN book_subjects bs ON s.subject_id = bs.subject_id WHERE bs.book_id = ?";
+    // Trims a result list fetched with LIMIT pageSize + 1 down to a page, using the extra row to detect a next page.
+    private <T> Page<T> toPage(List<T> rows, int pageSize) {
+        boolean hasNext = rows.size() > pageSize;
+        return new Page<>(hasNext ? new ArrayList<>(rows.subList(0, pageSize)) : rows, hasNext);
+    }
+
+    /**
+     * Opens a forward-only cursor over the query and exposes it as a lazily evaluated stream.
+     * The PostgreSQL driver only honours the fetch size outside auto-commit mode, so auto-commit
+     * is disabled for the lifetime of the stream and the read-only transaction is ended on close.
+     *
+     * @param conn The active database connection.
+     * @param sql The query to run; it must not take parameters.
+     * @param fetchSize The number of rows fetched per round trip, and the batch size for {@code batchLoader}.
+     * @param mapper Maps each row to an object.
+     * @param batchLoader Optionally enriches each batch of mapped rows; may be {@code null}.
+     * @param <T> The type of object streamed.
+     * @return A stream that must be closed to release the cursor.
+     * @throws SQLException if the cursor cannot be opened.
+     */
+    private <T> Stream<T> streamQuery(Connection conn, String sql, int fetchSize, RowMapper<T> mapper, BatchLoader<T> batchLoader) throws SQLException {
+        if (fetchSize < 1) {
+            throw new IllegalArgumentException("Fetch size must be positive: " + fetchSize);
+        }
+        boolean restoreAutoCommit = conn.getAutoCommit();
+        PreparedStatement pstmt = null;
+        ResultSet rs;
+        try {
+            conn.setAutoCommit(false);
+            pstmt = conn.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            pstmt.setFetchSize(fetchSize);
+            rs = pstmt.executeQuery();
+        } catch (SQLException e) {
+            if (pstmt != null) pstmt.close();
+            if (restoreAutoCommit) {
+                conn.rollback();
+                conn.setAutoCommit(true);
+            }
+            throw e;
+        }
+
+        final PreparedStatement statement = pstmt;
+        final ResultSet cursor = rs;
+        Spliterator<T> spliterator = new Spliterators.AbstractSpliterator<T>(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            private final Deque<T> buffer = new ArrayDeque<>();
+            private boolean exhausted;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                if (buffer.isEmpty() && !exhausted) {
+                    try {
+                        List<T> batch = new ArrayList<>(fetchSize);
+                        while (batch.size() < fetchSize && cursor.next()) {
+                            batch.add(mapper.map(cursor));
+                        }
+                        exhausted = batch.size() < fetchSize;
+                        if (batchLoader != null && !batch.isEmpty()) {
+                            batchLoader.load(conn, batch);
+                        }
+                        buffer.addAll(batch);
+                    } catch (SQLException e) {
+                        throw new RuntimeException("Error reading streamed rows: " + e.getMessage(), e);
+                    }
+                }
+                T next = buffer.poll();
+                if (next == null) {
+                    return false;
+                }
+                action.accept(next);
+                return true;
+            }
+        };
+
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+            try {
+                cursor.close();
+                statement.close();
+                if (restoreAutoCommit) {
+                    conn.commit();
+                    conn.setAutoCommit(true);
+                }
+            } catch (SQLException e) {
+                throw new RuntimeException("Error closing streamed result set: " + e.getMessage(), e);
+            }
+        });
+    }
+
+    // Resolves one name from the cache, or by inserting it (one round trip for a new name) and
+    // falling back to a SELECT when it already exists or a concurrent session just committed it.
+    private int findOrCreateNameId(Connection conn, String name, NameIdCache cache, String insertSql, String selectSql) throws SQLException {
+        Integer cached = cache.get(name);
+        if (cached != null) {
+            return cached;
+        }
+        try (PreparedStatement pstmt = conn.prepareStatement(insertSql)) {
+            pstmt.setString(1, name);
+            ResultSet rs = pstmt.executeQuery();
+            if (rs.next()) {
+                int id = rs.getInt(1);
+                if (conn.getAutoCommit()) {
+                    cache.put(name, id);
+                }
+                return id;
+            }
+        }
+        try (PreparedStatement pstmt = conn.prepareStatement(selectSql)) {
+            pstmt.setString(1, name);
+            ResultSet rs = pstmt.executeQuery();
+            if (rs.next()) {
+                int id = rs.getInt(1);
+                cache.put(name, id);
+                return id;
+            }
+        }
+        throw new SQLException("Could not find or create: " + name);
+    }
+
+    // Resolves interned names from the cache, inserts the remaining missing names with one statement,
+    // then reads back the IDs of the remaining names with another. Only pre-existing names are interned
+    // unless running in auto-commit mode, because newly inserted rows may still be rolled back.
+    private Map<String, Integer> findOrCreateNameIds(Connection conn, Collection<String> names, NameIdCache cache,
+                                                     String insertSql, String selectSql) throws SQLException {
+        Map<String, Integer> ids = new HashMap<>();
+        List<String> unresolved = new ArrayList<>();
+        for (String name : names) {
+            Integer cached = cache.get(name);
+            if (cached != null) {
+                ids.put(name, cached);
+            } else {
+                unresolved.add(name);
+            }
+        }
+        if (unresolved.isEmpty()) {
+            return ids;
+        }
+        boolean autoCommit = conn.getAutoCommit();
+        Set<String> created = new HashSet<>();
+        Array nameArray = conn.createArrayOf("text", unresolved.toArray());
+        try {
+            try (PreparedStatement pstmt = conn.prepareStatement(insertSql)) {
+                pstmt.setArray(1, nameArray);
+                ResultSet rs = pstmt.executeQuery();
+                while (rs.next()) {
+                    created.add(rs.getString(1));
+                }
+            }
+            try (PreparedStatement pstmt = conn.prepareStatement(selectSql)) {
+                pstmt.setArray(1, nameArray);
+                ResultSet rs = pstmt.executeQuery();
+                while (rs.next()) {
+                    String name = rs.getString(2);
+                    int id = rs.getInt(1);
+                    ids.put(name, id);
+                    if (autoCommit || !created.contains(name)) {
+                        cache.put(name, id);
+                    }
+                }
+            }
+        } finally {
+            nameArray.free();
+        }
+        return ids;
+    }
+
+    // Interns every row of a two-column (id, name) query.
+    private int loadNameIds(Connection conn, String sql, NameIdCache cache) throws SQLException {
+        int count = 0;
         try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, bookId);
             ResultSet rs = pstmt.executeQuery();
             while (rs.next()) {
-                subjects.add(new Subject(rs.getInt("subject_id"), rs.getString("subject_name")));
+                cache.put(rs.getString(2), rs.getInt(1));
+                count++;
             }
         }
-        return subjects;
+        return count;
     }
+
+    // Executes a two-column link insert for every pair as one JDBC batch.
+    private void executeLinkBatch(Connection conn, String sql, List<int[]> links) throws SQLException {
+        if (links.isEmpty()) {
+            return;
+        }
+        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+            for (int[] link : links) {
+                pstmt.setInt(1, link[0]);
+                pstmt.setInt(2, link[1]);
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+    }
+
+    /**
+     * Populates the authors and subjects of the given books using one query per association
+     * table, keyed by the books' IDs, instead of two queries per book.
+     *
+     * @param conn The active database connection.
+     * @param books The books to populate; each receives a (possibly empty) author and subject list.
+     * @throws SQLException if a database access error occurs.
+     */
+    private void populateAuthorsAndSubjects(Connection conn, List<Book> books) throws SQLException {
+        Map<Integer, Book> booksById = new HashMap<>();
+        for (Book book : books) {
+            book.setAuthors(new ArrayList<>());
+            book.setSubjects(new ArrayList<>());
+            booksById.put(book.getBookId(), book);
+        }
+        if (booksById.isEmpty()) {
+            return;
+        }
+
+        Array bookIds = conn.createArrayOf("integer", booksById.keySet().toArray());
+        try {
+            String authorSql = "SELECT ba.book_id, a.author_id, a.author_name FROM book_authors ba JOIN authors a ON a.author_id = ba.author_id WHERE ba.book_id = ANY(?)";
+            try (PreparedStatement pstmt = conn.prepareStatement(authorSql)) {
+                pstmt.setArray(1, bookIds);
+                ResultSet rs = pstmt.executeQuery();
+                while (rs.next()) {
+                    booksById.get(rs.getInt("book_id")).getAuthors()
+                            .add(new Author(rs.getInt("author_id"), rs.getString("author_name")));
+                }
+            }
+
+            String subjectSql = "SELECT bs.book_id, s.subject_id, s.subject_name FROM book_subjects bs JOIN subjects s ON s.subject_id = bs.subject_id WHERE bs.book_id = ANY(?)";
+            try (PreparedStatement pstmt = conn.prepareStatement(subjectSql)) {
+                pstmt.setArray(1, bookIds);
+                ResultSet rs = pstmt.executeQuery();
+                while (rs.next()) {
+                    booksById.get(rs.getInt("book_id")).getSubjects()
+                            .add(new Subject(rs.getInt("subject_id"), rs.getString("subject_name")));
+                }
+            }
+        } finally {
+            bookIds.free();
+        }
+    }
+
     // Maps a ResultSet row to a Member object.
     private Member mapRowToMember(ResultSet rs) throws SQLException {
         Date expiryDateSQL = rs.getDate("expiry_date");
@@ -485,15 +1332,49 @@ public class LibraryDB {
      * @throws SQLException if a database access error occurs.
      */
     public List<Transaction> getAllTransactions(Connection conn) throws SQLException {
-        List<Transaction> transactions = new ArrayList<>();
-        String sql = "SELECT * FROM transactions ORDER BY borrow_date DESC";
-        try (Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            while (rs.next()) {
-                transactions.add(mapRowToTransaction(rs));
+        return timed("db.LibraryDB.getAllTransactions", () -> {
+            List<Transaction> transactions = new ArrayList<>();
+            String sql = "SELECT * FROM transactions ORDER BY borrow_date DESC";
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery(sql)) {
+                while (rs.next()) {
+                    transactions.add(mapRowToTransaction(rs));
+                }
             }
-        }
-        return transactions;
+            return transactions;
+        });
+    }
+    /**
+     * Retrieves one page of loan transactions, newest first, using keyset pagination
+     * on (borrow_date, transaction_id) in descending order.
+     *
+     * @param conn The active database connection.
+     * @param beforeBorrowDate The borrow date of the last transaction on the previous page, or {@code null} for the first page.
+     * @param beforeTransactionId The ID of the last transaction on the previous page (ignored for the first page).
+     * @param pageSize The maximum number of transactions to return.
+     * @return A {@link Page} of {@link Transaction} objects.
+     * @throws SQLException if a database access error occurs.
+     */
+    public Page<Transaction> getTransactionsPage(Connection conn, LocalDate beforeBorrowDate, int beforeTransactionId, int pageSize) throws SQLException {
+        return timed("db.LibraryDB.getTransactionsPage", () -> {
+            List<Transaction> transactions = new ArrayList<>();
+            String sql = beforeBorrowDate == null
+                    ? "SELECT * FROM transactions ORDER BY borrow_date DESC, transaction_id DESC LIMIT ?"
+                    : "SELECT * FROM transactions WHERE (borrow_date, transaction_id) < (?, ?) ORDER BY borrow_date DESC, transaction_id DESC LIMIT ?";
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                int index = 1;
+                if (beforeBorrowDate != null) {
+                    pstmt.setDate(index++, Date.valueOf(beforeBorrowDate));
+                    pstmt.setInt(index++, beforeTransactionId);
+                }
+                pstmt.setInt(index, pageSize + 1);
+                ResultSet rs = pstmt.executeQuery();
+                while (rs.next()) {
+                    transactions.add(mapRowToTransaction(rs));
+                }
+            }
+            return toPage(transactions, pageSize);
+        });
     }
     /**
      * Retrieves all loan transactions for a specific member, ordered by borrow date descending.
@@ -504,16 +1385,18 @@ public class LibraryDB {
      * @throws SQLException if a database access error occurs.
      */
     public List<Transaction> findTransactionsByMemberId(Connection conn, int memberId) throws SQLException {
-        List<Transaction> transactions = new ArrayList<>();
-        String sql = "SELECT * FROM transactions WHERE member_id = ? ORDER BY borrow_date DESC";
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, memberId);
-            ResultSet rs = pstmt.executeQuery();
-            while (rs.next()) {
-                transactions.add(mapRowToTransaction(rs));
+        return timed("db.LibraryDB.findTransactionsByMemberId", () -> {
+            List<Transaction> transactions = new ArrayList<>();
+            String sql = "SELECT * FROM transactions WHERE member_id = ? ORDER BY borrow_date DESC";
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, memberId);
+                ResultSet rs = pstmt.executeQuery();
+                while (rs.next()) {
+                    transactions.add(mapRowToTransaction(rs));
+                }
             }
-        }
-        return transactions;
+            return transactions;
+        });
     }
 
     // --- Add this method to your LibraryDB.java ---
@@ -526,53 +1409,42 @@ public class LibraryDB {
      * @throws SQLException if a database access error occurs.
      */
     public Optional<Transaction> findTransactionById(Connection conn, int transactionId) throws SQLException {
-        String sql = "SELECT * FROM transactions WHERE transaction_id = ?";
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, transactionId);
-            ResultSet rs = pstmt.executeQuery();
-            if (rs.next()) {
-                return Optional.of(mapRowToTransaction(rs));
+        return timed("db.LibraryDB.findTransactionById", () -> {
+            String sql = "SELECT * FROM transactions WHERE transaction_id = ?";
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, transactionId);
+                ResultSet rs = pstmt.executeQuery();
+                if (rs.next()) {
+                    return Optional.of(mapRowToTransaction(rs));
+                }
             }
-        }
-        return Optional.empty();
+            return Optional.empty();
+        });
     }
 
     /**
-     * Retrieves active loans that are past their due date and do not yet have a fine issued.
+     * Issues fines for every active loan that is past its due date and has not been fined yet,
+     * in a single set-based {@code INSERT ... SELECT}. The amount of each fine is
+     * {@code finePerDay} multiplied by the number of days the loan is overdue.
+     *
      * @param conn The active database connection.
-     * @return A list of overdue {@link Transaction} objects.
+     * @param finePerDay The fine charged per overdue day.
+     * @return The number of fines created.
      * @throws SQLException if a database access error occurs.
      */
-    public List<Transaction> findOverdueLoans(Connection conn) throws SQLException {
-        List<Transaction> overdueLoans = new ArrayList<>();
-        // Find active loans where due date is in the past and no fine has been issued yet.
-        String sql = "SELECT t.* FROM transactions t " +
-                "LEFT JOIN fines f ON t.transaction_id = f.transaction_id " +
-                "WHERE t.transaction_status = 'ACTIVE' AND t.due_date < CURRENT_DATE AND f.fine_id IS NULL";
-        try (Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            while (rs.next()) {
-                overdueLoans.add(mapRowToTransaction(rs));
+    public int createFinesForOverdueLoans(Connection conn, BigDecimal finePerDay) throws SQLException {
+        return timed("db.LibraryDB.createFinesForOverdueLoans", () -> {
+            String sql = "INSERT INTO fines (member_id, transaction_id, fine_amount, fine_status, date_issued) " +
+                    "SELECT t.member_id, t.transaction_id, ? * (CURRENT_DATE - t.due_date), 'OUTSTANDING', CURRENT_DATE " +
+                    "FROM transactions t " +
+                    "WHERE t.transaction_status = 'ACTIVE' AND t.due_date < CURRENT_DATE " +
+                    "AND NOT EXISTS (SELECT 1 FROM fines f WHERE f.transaction_id = t.transaction_id) " +
+                    "ON CONFLICT (transaction_id) DO NOTHING";
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setBigDecimal(1, finePerDay);
+                return pstmt.executeUpdate();
             }
-        }
-        return overdueLoans;
-    }
-    /**
-     * Inserts a new fine record into the database.
-     * @param conn The active database connection.
-     * @param fine The {@link Fine} object to be added.
-     * @throws SQLException if a database access error occurs.
-     */
-    public void createFine(Connection conn, Fine fine) throws SQLException {
-        String sql = "INSERT INTO fines (member_id, transaction_id, fine_amount, fine_status, date_issued) VALUES (?, ?, ?, ?, ?)";
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, fine.getMemberId());
-            pstmt.setInt(2, fine.getTransactionId());
-            pstmt.setBigDecimal(3, fine.getFineAmount());
-            pstmt.setString(4, "OUTSTANDING");
-            pstmt.setDate(5, Date.valueOf(fine.getDateIssued()));
-            pstmt.executeUpdate();
-        }
+        });
     }
 
     // --- Add these Reservation methods to your LibraryDB.java ---
@@ -584,18 +1456,20 @@ public class LibraryDB {
      * @throws SQLException if a database access error occurs.
      */
     public Reservation addReservation(Connection conn, Reservation reservation) throws SQLException {
-        String sql = "INSERT INTO reservations (book_id, member_id, reservation_date, status) VALUES (?, ?, ?, ?) RETURNING reservation_id";
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, reservation.getBookId());
-            pstmt.setInt(2, reservation.getMemberId());
-            pstmt.setTimestamp(3, Timestamp.valueOf(reservation.getReservationDate()));
-            pstmt.setString(4, reservation.getStatus());
-            ResultSet rs = pstmt.executeQuery();
-            if (rs.next()) {
-                reservation.setReservationId(rs.getInt("reservation_id"));
+        return timed("db.LibraryDB.addReservation", () -> {
+            String sql = "INSERT INTO reservations (book_id, member_id, reservation_date, status) VALUES (?, ?, ?, ?) RETURNING reservation_id";
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, reservation.getBookId());
+                pstmt.setInt(2, reservation.getMemberId());
+                pstmt.setTimestamp(3, Timestamp.valueOf(reservation.getReservationDate()));
+                pstmt.setString(4, reservation.getStatus());
+                ResultSet rs = pstmt.executeQuery();
+                if (rs.next()) {
+                    reservation.setReservationId(rs.getInt("reservation_id"));
+                }
+                return reservation;
             }
-            return reservation;
-        }
+        });
     }
     /**
      * Finds all active reservations (status 'WAITING' or 'AVAILABLE') for a specific member.
@@ -605,17 +1479,19 @@ public class LibraryDB {
      * @throws SQLException if a database access error occurs.
      */
     public List<Reservation> findActiveReservationsByMember(Connection conn, int memberId) throws SQLException {
-        List<Reservation> reservations = new ArrayList<>();
-        // Assuming 'WAITING' and 'AVAILABLE' are considered active
-        String sql = "SELECT * FROM reservations WHERE member_id = ? AND (status = 'WAITING' OR status = 'AVAILABLE') ORDER BY reservation_date ASC";
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, memberId);
-            ResultSet rs = pstmt.executeQuery();
-            while (rs.next()) {
-                reservations.add(mapRowToReservation(rs));
+        return timed("db.LibraryDB.findActiveReservationsByMember", () -> {
+            List<Reservation> reservations = new ArrayList<>();
+            // Assuming 'WAITING' and 'AVAILABLE' are considered active
+            String sql = "SELECT * FROM reservations WHERE member_id = ? AND (status = 'WAITING' OR status = 'AVAILABLE') ORDER BY reservation_date ASC";
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, memberId);
+                ResultSet rs = pstmt.executeQuery();
+                while (rs.next()) {
+                    reservations.add(mapRowToReservation(rs));
+                }
             }
-        }
-        return reservations;
+            return reservations;
+        });
     }
     /**
      * Finds all active reservations (status 'WAITING' or 'AVAILABLE') in the system.
@@ -624,15 +1500,17 @@ public class LibraryDB {
      * @throws SQLException if a database access error occurs.
      */
     public List<Reservation> findAllActiveReservations(Connection conn) throws SQLException {
-        List<Reservation> reservations = new ArrayList<>();
-        String sql = "SELECT * FROM reservations WHERE status = 'WAITING' OR status = 'AVAILABLE' ORDER BY book_id, reservation_date ASC";
-        try (Statement stmt = conn.createStatement();
-             ResultSet rs = stmt.executeQuery(sql)) {
-            while (rs.next()) {
-                reservations.add(mapRowToReservation(rs));
+        return timed("db.LibraryDB.findAllActiveReservations", () -> {
+            List<Reservation> reservations = new ArrayList<>();
+            String sql = "SELECT * FROM reservations WHERE status = 'WAITING' OR status = 'AVAILABLE' ORDER BY book_id, reservation_date ASC";
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery(sql)) {
+                while (rs.next()) {
+                    reservations.add(mapRowToReservation(rs));
+                }
             }
-        }
-        return reservations;
+            return reservations;
+        });
     }
     /**
      * Finds the next reservation in 'WAITING' status for a specific book, ordered by reservation date.
@@ -642,15 +1520,147 @@ public class LibraryDB {
      * @throws SQLException if a database access error occurs.
      */
     public Optional<Reservation> findNextWaitingReservationForBook(Connection conn, int bookId) throws SQLException {
-        String sql = "SELECT * FROM reservations WHERE book_id = ? AND status = 'WAITING' ORDER BY reservation_date ASC LIMIT 1";
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, bookId);
-            ResultSet rs = pstmt.executeQuery();
-            if (rs.next()) {
-                return Optional.of(mapRowToReservation(rs));
+        return timed("db.LibraryDB.findNextWaitingReservationForBook", () -> {
+            String sql = "SELECT * FROM reservations WHERE book_id = ? AND status = 'WAITING' ORDER BY reservation_date ASC, reservation_id ASC LIMIT 1";
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, bookId);
+                ResultSet rs = pstmt.executeQuery();
+                if (rs.next()) {
+                    return Optional.of(mapRowToReservation(rs));
+                }
             }
-        }
-        return Optional.empty();
+            return Optional.empty();
+        });
+    }
+    /**
+     * Promotes a reservation from 'WAITING' to 'AVAILABLE', provided it is still waiting.
+     * Two transactions promoting the same reservation cannot both succeed: the second blocks on
+     * the row and then finds it no longer waiting.
+     * @param conn The active database connection.
+     * @param reservationId The ID of the reservation to promote.
+     * @return An {@link Optional} with the promoted {@link Reservation}, or empty if it does not exist or is not waiting.
+     * @throws SQLException if a database access error occurs.
+     */
+    public Optional<Reservation> promoteReservation(Connection conn, int reservationId) throws SQLException {
+        return timed("db.LibraryDB.promoteReservation", () -> {
+            String sql = "UPDATE reservations SET status = 'AVAILABLE' WHERE reservation_id = ? AND status = 'WAITING' RETURNING *";
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, reservationId);
+                ResultSet rs = pstmt.executeQuery();
+                if (rs.next()) {
+                    return Optional.of(mapRowToReservation(rs));
+                }
+            }
+            return Optional.empty();
+        });
+    }
+    /**
+     * Promotes the oldest 'WAITING' reservation for a book to 'AVAILABLE', so that a copy can be held for it.
+     * If a concurrent transaction promotes the same reservation first, the conditional update misses
+     * and the next reservation in the queue is tried.
+     * @param conn The active database connection.
+     * @param bookId The ID of the book.
+     * @return An {@link Optional} with the promoted {@link Reservation}, or empty if nobody is waiting.
+     * @throws SQLException if a database access error occurs.
+     */
+    public Optional<Reservation> promoteNextWaitingReservation(Connection conn, int bookId) throws SQLException {
+        return timed("db.LibraryDB.promoteNextWaitingReservation", () -> {
+            while (true) {
+                Optional<Reservation> next = findNextWaitingReservationForBook(conn, bookId);
+                if (!next.isPresent()) {
+                    return Optional.empty();
+                }
+                Optional<Reservation> promoted = promoteReservation(conn, next.get().getReservationId());
+                if (promoted.isPresent()) {
+                    return promoted;
+                }
+            }
+        });
+    }
+    /**
+     * Marks an 'AVAILABLE' reservation as 'FULFILLED', provided it has not expired or been fulfilled meanwhile.
+     * @param conn The active database connection.
+     * @param reservationId The ID of the reservation.
+     * @return {@code true} if the reservation was fulfilled, {@code false} if it was no longer 'AVAILABLE'.
+     * @throws SQLException if a database access error occurs.
+     */
+    public boolean fulfillReservation(Connection conn, int reservationId) throws SQLException {
+        return timed("db.LibraryDB.fulfillReservation", () -> {
+            String sql = "UPDATE reservations SET status = 'FULFILLED' WHERE reservation_id = ? AND status = 'AVAILABLE'";
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, reservationId);
+                return pstmt.executeUpdate() > 0;
+            }
+        });
+    }
+    /**
+     * Marks up to {@code limit} 'AVAILABLE' reservations as 'EXPIRED' once they have been available for longer
+     * than the pickup window, oldest first. Rows locked by a concurrent borrow or expiry run are skipped
+     * rather than waited for, so overlapping runs never block each other or expire a reservation twice.
+     * @param conn The active database connection.
+     * @param pickupWindowMinutes How long a member has to collect a held copy, measured by the database clock.
+     * @param limit The maximum number of reservations to expire.
+     * @return The expired reservations.
+     * @throws SQLException if a database access error occurs.
+     */
+    public List<Reservation> expireUncollectedReservations(Connection conn, long pickupWindowMinutes, int limit) throws SQLException {
+        return timed("db.LibraryDB.expireUncollectedReservations", () -> {
+            String sql = "UPDATE reservations SET status = 'EXPIRED' WHERE reservation_id IN (" +
+                    "SELECT reservation_id FROM reservations WHERE status = 'AVAILABLE' " +
+                    "AND status_updated_at < NOW() - (? * INTERVAL '1 minute') " +
+                    "ORDER BY status_updated_at LIMIT ? FOR UPDATE SKIP LOCKED) RETURNING *";
+            List<Reservation> expired = new ArrayList<>();
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setLong(1, pickupWindowMinutes);
+                pstmt.setInt(2, limit);
+                ResultSet rs = pstmt.executeQuery();
+                while (rs.next()) {
+                    expired.add(mapRowToReservation(rs));
+                }
+            }
+            return expired;
+        });
+    }
+    /**
+     * Finds a reservation by its ID.
+     * @param conn The active database connection.
+     * @param reservationId The ID of the reservation.
+     * @return An {@link Optional} containing the {@link Reservation} if found.
+     * @throws SQLException if a database access error occurs.
+     */
+    public Optional<Reservation> findReservationById(Connection conn, int reservationId) throws SQLException {
+        return timed("db.LibraryDB.findReservationById", () -> {
+            String sql = "SELECT * FROM reservations WHERE reservation_id = ?";
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, reservationId);
+                ResultSet rs = pstmt.executeQuery();
+                if (rs.next()) {
+                    return Optional.of(mapRowToReservation(rs));
+                }
+            }
+            return Optional.empty();
+        });
+    }
+    /**
+     * Finds a reservation by its ID and locks it until the transaction ends, so that its status
+     * cannot change between reading and updating it.
+     * @param conn The active database connection; it should not be in auto-commit mode.
+     * @param reservationId The ID of the reservation.
+     * @return An {@link Optional} containing the {@link Reservation} if found.
+     * @throws SQLException if a database access error occurs.
+     */
+    public Optional<Reservation> findReservationByIdForUpdate(Connection conn, int reservationId) throws SQLException {
+        return timed("db.LibraryDB.findReservationByIdForUpdate", () -> {
+            String sql = "SELECT * FROM reservations WHERE reservation_id = ? FOR UPDATE";
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, reservationId);
+                ResultSet rs = pstmt.executeQuery();
+                if (rs.next()) {
+                    return Optional.of(mapRowToReservation(rs));
+                }
+            }
+            return Optional.empty();
+        });
     }
     /**
      * Updates the status of an existing reservation.
@@ -660,12 +1670,14 @@ public class LibraryDB {
      * @throws SQLException if a database access error occurs.
      */
     public void updateReservationStatus(Connection conn, int reservationId, String newStatus) throws SQLException {
-        String sql = "UPDATE reservations SET status = ? WHERE reservation_id = ?";
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setString(1, newStatus);
-            pstmt.setInt(2, reservationId);
-            pstmt.executeUpdate();
-        }
+        timedVoid("db.LibraryDB.updateReservationStatus", () -> {
+            String sql = "UPDATE reservations SET status = ? WHERE reservation_id = ?";
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setString(1, newStatus);
+                pstmt.setInt(2, reservationId);
+                pstmt.executeUpdate();
+            }
+        });
     }
     /**
      * Finds an active reservation (status 'WAITING' or 'AVAILABLE') for a specific member and book.
@@ -677,16 +1689,18 @@ public class LibraryDB {
      * @throws SQLException if a database access error occurs.
      */
     public Optional<Reservation> findActiveReservationByMemberAndBook(Connection conn, int memberId, int bookId) throws SQLException {
-        String sql = "SELECT * FROM reservations WHERE member_id = ? AND book_id = ? AND (status = 'WAITING' OR status = 'AVAILABLE')";
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, memberId);
-            pstmt.setInt(2, bookId);
-            ResultSet rs = pstmt.executeQuery();
-            if (rs.next()) {
-                return Optional.of(mapRowToReservation(rs));
+        return timed("db.LibraryDB.findActiveReservationByMemberAndBook", () -> {
+            String sql = "SELECT * FROM reservations WHERE member_id = ? AND book_id = ? AND (status = 'WAITING' OR status = 'AVAILABLE')";
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, memberId);
+                pstmt.setInt(2, bookId);
+                ResultSet rs = pstmt.executeQuery();
+                if (rs.next()) {
+                    return Optional.of(mapRowToReservation(rs));
+                }
             }
-        }
-        return Optional.empty();
+            return Optional.empty();
+        });
     }
 
     /**
@@ -700,17 +1714,19 @@ public class LibraryDB {
      * @throws SQLException if a database error occurs.
      */
     public Optional<Reservation> findSpecificReservationByMemberAndBook(Connection conn, int memberId, int bookId, String status) throws SQLException {
-        String sql = "SELECT * FROM reservations WHERE member_id = ? AND book_id = ? AND status = ?";
-        try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            pstmt.setInt(1, memberId);
-            pstmt.setInt(2, bookId);
-            pstmt.setString(3, status);
-            ResultSet rs = pstmt.executeQuery();
-            if (rs.next()) {
-                return Optional.of(mapRowToReservation(rs)); // Assumes mapRowToReservation exists
+        return timed("db.LibraryDB.findSpecificReservationByMemberAndBook", () -> {
+            String sql = "SELECT * FROM reservations WHERE member_id = ? AND book_id = ? AND status = ?";
+            try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                pstmt.setInt(1, memberId);
+                pstmt.setInt(2, bookId);
+                pstmt.setString(3, status);
+                ResultSet rs = pstmt.executeQuery();
+                if (rs.next()) {
+                    return Optional.of(mapRowToReservation(rs)); // Assumes mapRowToReservation exists
+                }
             }
-        }
-        return Optional.empty();
+            return Optional.empty();
+        });
     }
 
 
@@ -0,0 +1,225 @@
+package Zoho.LibraryManagementSystem.Repository;
+
+import Zoho.LibraryManagementSystem.Model.Enum.LibraryEventType;
+import Zoho.LibraryManagementSystem.Model.LibraryEvent;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Subscribes to the {@code library_events} channel, on which database triggers publish every committed
+ * change to book stock and reservation status (see {@code V4__library_event_notifications.sql}), and
+ * delivers the changes to in-process {@link LibraryEventSubscriber}s.
+ * <p>
+ * The listener holds one dedicated connection outside the pool and waits on it in a background thread,
+ * so no reservation or book table is polled. Book changes evict the book from the {@link LibraryDB}
+ * cache before subscribers are called, which keeps the cache fresh across application instances.
+ * If the connection is lost the listener reconnects with exponential backoff; since changes made in
+ * the meantime were not delivered, it then clears the book cache and tells subscribers.
+ */
+public class LibraryEventListener implements AutoCloseable {
+    /** The NOTIFY channel the database publishes on. */
+    public static final String CHANNEL = "library_events";
+    private static final long INITIAL_RECONNECT_DELAY_MS = 500L;
+
+    private final LibraryDB libraryDB;
+    private final int pollTimeoutMillis;
+    private final long maxReconnectDelayMillis;
+    private final List<LibraryEventSubscriber> subscribers = new CopyOnWriteArrayList<>();
+    private volatile boolean running;
+    private volatile boolean connected;
+    private Thread thread;
+
+    private final AtomicLong eventsReceived = new AtomicLong();
+    private final AtomicLong malformedEvents = new AtomicLong();
+    private final AtomicLong reconnects = new AtomicLong();
+    private final AtomicLong subscriberErrors = new AtomicLong();
+
+    /**
+     * Creates a listener configured from system properties:
+     * {@code library.events.pollTimeoutMs} (default 1000) and {@code library.events.maxReconnectDelayMs} (default 30000).
+     *
+     * @param libraryDB The repository whose book cache is kept fresh.
+     */
+    public LibraryEventListener(LibraryDB libraryDB) {
+        this(libraryDB, Integer.getInteger("library.events.pollTimeoutMs", 1000),
+                Long.getLong("library.events.maxReconnectDelayMs", 30_000L));
+    }
+
+    /**
+     * Creates a listener.
+     *
+     * @param libraryDB The repository whose book cache is kept fresh.
+     * @param pollTimeoutMillis How long each wait for notifications may block; also bounds how long {@link #close()} waits.
+     * @param maxReconnectDelayMillis The longest pause between reconnection attempts.
+     */
+    public LibraryEventListener(LibraryDB libraryDB, int pollTimeoutMillis, long maxReconnectDelayMillis) {
+        this.libraryDB = libraryDB;
+        this.pollTimeoutMillis = pollTimeoutMillis;
+        this.maxReconnectDelayMillis = maxReconnectDelayMillis;
+    }
+
+    /**
+     * Registers a subscriber to be called for every event received from now on.
+     *
+     * @param subscriber The subscriber.
+     */
+    public void addSubscriber(LibraryEventSubscriber subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    /**
+     * Starts listening in a background daemon thread. Does nothing if already started.
+     */
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::listen, "library-event-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Stops listening and closes the dedicated connection, waiting for the background thread to finish.
+     */
+    @Override
+    public synchronized void close() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        thread.interrupt();
+        try {
+            thread.join(pollTimeoutMillis + 1000L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Getters
+    public boolean isConnected() { return connected; }
+    public long getEventsReceived() { return eventsReceived.get(); }
+    public long getMalformedEvents() { return malformedEvents.get(); }
+    public long getReconnects() { return reconnects.get(); }
+    public long getSubscriberErrors() { return subscriberErrors.get(); }
+
+    @Override
+    public String toString() {
+        return "Event listener: " + (connected ? "listening" : "disconnected") + " on '" + CHANNEL + "' | Events: " +
+                getEventsReceived() + " (" + getMalformedEvents() + " malformed) | Reconnects: " + getReconnects() +
+                " | Subscriber errors: " + getSubscriberErrors();
+    }
+
+    // --- Private Helper Methods ---
+
+    // The background loop: connect, LISTEN, and wait for notifications until closed, reconnecting on failure.
+    private void listen() {
+        long reconnectDelay = INITIAL_RECONNECT_DELAY_MS;
+        boolean everConnected = false;
+        while (running) {
+            try (Connection conn = DatabaseConnector.openDedicatedConnection()) {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("LISTEN " + CHANNEL);
+                }
+                connected = true;
+                if (everConnected) {
+                    reconnects.incrementAndGet();
+                }
+                everConnected = true;
+                reconnectDelay = INITIAL_RECONNECT_DELAY_MS;
+                eventsMissed();
+
+                PGConnection pgConn = conn.unwrap(PGConnection.class);
+                while (running) {
+                    PGNotification[] notifications = pgConn.getNotifications(pollTimeoutMillis);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            dispatch(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (running) {
+                    System.err.println("Library event listener lost its database connection: " + e.getMessage() +
+                            " Retrying in " + reconnectDelay + " ms.");
+                }
+            } finally {
+                connected = false;
+            }
+            if (running) {
+                try {
+                    Thread.sleep(reconnectDelay);
+                } catch (InterruptedException e) {
+                    // close() interrupts the sleep; the loop condition ends the thread
+                }
+                reconnectDelay = Math.min(reconnectDelay * 2, maxReconnectDelayMillis);
+            }
+        }
+    }
+
+    private void dispatch(String payload) {
+        LibraryEvent event = parse(payload);
+        if (event == null) {
+            malformedEvents.incrementAndGet();
+            System.err.println("Ignoring malformed library event: " + payload);
+            return;
+        }
+        eventsReceived.incrementAndGet();
+        if (event.getType() != LibraryEventType.RESERVATION_CHANGED) {
+            libraryDB.evictBook(event.getBookId());
+        }
+        for (LibraryEventSubscriber subscriber : subscribers) {
+            try {
+                subscriber.onEvent(event);
+            } catch (RuntimeException e) {
+                subscriberErrors.incrementAndGet();
+                System.err.println("Library event subscriber failed on " + event + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private void eventsMissed() {
+        libraryDB.getBookCache().invalidateAll();
+        for (LibraryEventSubscriber subscriber : subscribers) {
+            try {
+                subscriber.onEventsMissed();
+            } catch (RuntimeException e) {
+                subscriberErrors.incrementAndGet();
+                System.err.println("Library event subscriber failed to resynchronize: " + e.getMessage());
+            }
+        }
+    }
+
+    // Parses a trigger payload (see the V4 migration for the format); returns null if it is malformed.
+    private static LibraryEvent parse(String payload) {
+        if (payload == null) {
+            return null;
+        }
+        String[] fields = payload.split(":", -1);
+        try {
+            switch (fields[0]) {
+                case "book":
+                    return fields.length != 3 ? null : new LibraryEvent(LibraryEventType.BOOK_CHANGED,
+                            Integer.parseInt(fields[1]), Integer.parseInt(fields[2]), 0, 0, null);
+                case "book_removed":
+                    return fields.length != 2 ? null : new LibraryEvent(LibraryEventType.BOOK_REMOVED,
+                            Integer.parseInt(fields[1]), 0, 0, 0, null);
+                case "reservation":
+                    return fields.length != 5 ? null : new LibraryEvent(LibraryEventType.RESERVATION_CHANGED,
+                            Integer.parseInt(fields[2]), 0, Integer.parseInt(fields[1]), Integer.parseInt(fields[3]), fields[4]);
+                default:
+                    return null;
+            }
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package Zoho.LibraryManagementSystem.Repository;
+
+import Zoho.LibraryManagementSystem.Model.LibraryEvent;
+
+/**
+ * Receives the committed changes published by the database through a {@link LibraryEventListener}.
+ * Callbacks run on the listener's background thread, one event at a time, so they should be quick.
+ */
+public interface LibraryEventSubscriber {
+    /**
+     * Called for every change published by the database, from this or any other application instance.
+     * @param event The change.
+     */
+    void onEvent(LibraryEvent event);
+
+    /**
+     * Called after the listener (re)connects, since changes made while it was disconnected were not
+     * delivered and any state derived from events may be stale. Does nothing by default.
+     */
+    default void onEventsMissed() {
+    }
+}
@@ -0,0 +1,90 @@
+package Zoho.LibraryManagementSystem.Repository;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A thread-safe, in-process map from a unique name to its database ID, used to intern the
+ * small and stable author and subject vocabularies so that resolving a known name needs no
+ * database round trip.
+ * <p>
+ * Only IDs of committed rows may be added: the application never renames or deletes authors
+ * or subjects, so a committed name-to-ID mapping can never go stale and the cache needs no
+ * invalidation. Adding an ID from a transaction that later rolls back would poison the cache,
+ * which is why {@link LibraryDB} only interns names it found already present, or that were
+ * created in auto-commit mode, and leaves the rest to the service layer after commit.
+ */
+public class NameIdCache {
+    private final String kind;
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param kind What the names identify, e.g. "Author"; used in {@link #toString()}.
+     */
+    public NameIdCache(String kind) {
+        this.kind = kind;
+    }
+
+    /**
+     * Looks up a name, counting the lookup as a hit or a miss.
+     *
+     * @param name The exact name to resolve.
+     * @return The cached ID, or {@code null} if the name is not cached.
+     */
+    public Integer get(String name) {
+        Integer id = ids.get(name);
+        if (id == null) {
+            misses.incrementAndGet();
+        } else {
+            hits.incrementAndGet();
+        }
+        return id;
+    }
+
+    /**
+     * Interns a committed name-to-ID mapping.
+     *
+     * @param name The name.
+     * @param id The ID of the committed row with that name.
+     */
+    public void put(String name, int id) {
+        ids.put(name, id);
+    }
+
+    /**
+     * Interns several committed name-to-ID mappings.
+     *
+     * @param mappings Names and the IDs of their committed rows.
+     */
+    public void putAll(Map<String, Integer> mappings) {
+        ids.putAll(mappings);
+    }
+
+    /**
+     * Returns the fraction of lookups served from the cache.
+     *
+     * @return The hit ratio between 0.0 and 1.0, or 0.0 if there have been no lookups.
+     */
+    public double getHitRatio() {
+        long h = hits.get();
+        long lookups = h + misses.get();
+        return lookups == 0 ? 0.0 : (double) h / lookups;
+    }
+
+    // Getters
+    public int getSize() { return ids.size(); }
+    public long getHits() { return hits.get(); }
+    public long getMisses() { return misses.get(); }
+
+    @Override
+    public String toString() {
+        return kind + " cache: " + getSize() + " names | " + getHits() + " hits / " + getMisses() + " misses (" +
+                String.format("%.1f", getHitRatio() * 100) + "% hit rate)";
+    }
+}
@@ -0,0 +1,88 @@
+package Zoho.LibraryManagementSystem.Repository;
+
+/**
+ * An immutable point-in-time snapshot of a {@link ConnectionPool}'s state and lifetime counters.
+ * Intended for monitoring and diagnostics; obtain one via {@link DatabaseConnector#getPoolStats()}.
+ */
+public class PoolStats {
+    private final int maxSize;
+    private final int totalConnections;
+    private final int idleConnections;
+    private final int activeConnections;
+    private final int pendingAcquires;
+    private final long connectionsCreated;
+    private final long connectionsDestroyed;
+    private final long acquireCount;
+    private final long acquireTimeouts;
+    private final long validationFailures;
+    private final long statementCacheHits;
+    private final long statementCacheMisses;
+
+    /**
+     * Constructs a snapshot of pool statistics.
+     *
+     * @param maxSize The configured maximum number of physical connections.
+     * @param totalConnections The number of physical connections currently open.
+     * @param idleConnections The number of open connections waiting in the pool.
+     * @param activeConnections The number of connections currently checked out by callers.
+     * @param pendingAcquires The approximate number of callers waiting for a connection.
+     * @param connectionsCreated The number of physical connections opened since startup.
+     * @param connectionsDestroyed The number of physical connections closed since startup.
+     * @param acquireCount The number of successful connection checkouts since startup.
+     * @param acquireTimeouts The number of checkouts that gave up after the acquire timeout.
+     * @param validationFailures The number of idle connections discarded because validation failed.
+     * @param statementCacheHits The number of prepareStatement calls served from a connection's statement cache.
+     * @param statementCacheMisses The number of prepareStatement calls that had to prepare a new statement.
+     */
+    public PoolStats(int maxSize, int totalConnections, int idleConnections, int activeConnections, int pendingAcquires,
+                     long connectionsCreated, long connectionsDestroyed, long acquireCount, long acquireTimeouts,
+                     long validationFailures, long statementCacheHits, long statementCacheMisses) {
+        this.maxSize = maxSize;
+        this.totalConnections = totalConnections;
+        this.idleConnections = idleConnections;
+        this.activeConnections = activeConnections;
+        this.pendingAcquires = pendingAcquires;
+        this.connectionsCreated = connectionsCreated;
+        this.connectionsDestroyed = connectionsDestroyed;
+        this.acquireCount = acquireCount;
+        this.acquireTimeouts = acquireTimeouts;
+        this.validationFailures = validationFailures;
+        this.statementCacheHits = statementCacheHits;
+        this.statementCacheMisses = statementCacheMisses;
+    }
+
+    /**
+     * Returns the fraction of prepareStatement calls served from the statement cache.
+     *
+     * @return The hit ratio between 0.0 and 1.0, or 0.0 if no statements have been prepared.
+     */
+    public double getStatementCacheHitRatio() {
+        long lookups = statementCacheHits + statementCacheMisses;
+        return lookups == 0 ? 0.0 : (double) statementCacheHits / lookups;
+    }
+
+    // Getters
+    public int getMaxSize() { return maxSize; }
+    public int getTotalConnections() { return totalConnections; }
+    public int getIdleConnections() { return idleConnections; }
+    public int getActiveConnections() { return activeConnections; }
+    public int getPendingAcquires() { return pendingAcquires; }
+    public long getConnectionsCreated() { return connectionsCreated; }
+    public long getConnectionsDestroyed() { return connectionsDestroyed; }
+    public long getAcquireCount() { return acquireCount; }
+    public long getAcquireTimeouts() { return acquireTimeouts; }
+    public long getValidationFailures() { return validationFailures; }
+    public long getStatementCacheHits() { return statementCacheHits; }
+    public long getStatementCacheMisses() { return statementCacheMisses; }
+
+    @Override
+    public String toString() {
+        return "Pool: " + activeConnections + " active / " + idleConnections + " idle / " + totalConnections + " open (max " + maxSize + ")" +
+                " | Waiting: " + pendingAcquires +
+                " | Acquired: " + acquireCount + " | Timeouts: " + acquireTimeouts +
+                " | Created: " + connectionsCreated + " | Destroyed: " + connectionsDestroyed +
+                " | Validation failures: " + validationFailures +
+                " | Statement cache: " + statementCacheHits + " hits / " + statementCacheMisses + " misses (" +
+                String.format("%.1f", getStatementCacheHitRatio() * 100) + "% hit rate)";
+    }
+}
@@ -0,0 +1,259 @@
+package Zoho.LibraryManagementSystem.Repository;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A physical JDBC connection owned by a {@link ConnectionPool}.
+ * Callers never see this object directly; each checkout hands out a fresh logical
+ * {@link Connection} proxy whose {@code close()} returns the physical connection to the pool
+ * instead of closing the socket. A logical handle becomes unusable once it has been closed,
+ * so a stale reference cannot interfere with the next borrower.
+ * <p>
+ * Each physical connection also keeps a bounded, least-recently-used cache of prepared statements
+ * keyed by SQL text. {@code prepareStatement(String)} returns a cached statement when one is free,
+ * and closing it hands it back to the cache, so repeated calls reuse the driver's (and, once the
+ * driver's prepare threshold is reached, the server's) prepared statement instead of re-parsing.
+ * The cache is only touched by the connection's current borrower, so it needs no locking.
+ * <p>
+ * When metrics or the slow query log are enabled, every statement handed out (cached or not) goes
+ * through a {@link StatementInterceptor}, which times its executions and notes its bind values.
+ */
+class PooledConnection {
+    private final ConnectionPool pool;
+    private final Connection physical;
+    private final Map<String, CachedStatement> statementCache;
+    private volatile long lastUsedNanos;
+
+    PooledConnection(ConnectionPool pool, Connection physical, int statementCacheSize) {
+        this.pool = pool;
+        this.physical = physical;
+        this.lastUsedNanos = System.nanoTime();
+        this.statementCache = new LinkedHashMap<String, CachedStatement>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedStatement> eldest) {
+                if (size() <= statementCacheSize) {
+                    return false;
+                }
+                eldest.getValue().evict();
+                return true;
+            }
+        };
+    }
+
+    Connection getPhysical() { return physical; }
+    long getLastUsedNanos() { return lastUsedNanos; }
+    void touch() { lastUsedNanos = System.nanoTime(); }
+
+    /**
+     * Creates a new logical connection handle for one checkout of this physical connection.
+     *
+     * @return A {@link Connection} proxy that releases back to the pool when closed.
+     */
+    Connection newLogicalConnection() {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                new LogicalConnectionHandler());
+    }
+
+    /**
+     * Resets session state that a borrower may have changed, so the next borrower
+     * always receives a connection in auto-commit mode with no open transaction.
+     * Cached statements that the borrower forgot to close are returned to the cache.
+     *
+     * @throws SQLException if the connection can no longer be used.
+     */
+    void resetForReuse() throws SQLException {
+        for (CachedStatement cached : statementCache.values()) {
+            if (cached.inUse) {
+                cached.release();
+            }
+        }
+        if (!physical.getAutoCommit()) {
+            physical.rollback();
+            physical.setAutoCommit(true);
+        }
+        physical.clearWarnings();
+    }
+
+    /**
+     * Closes the underlying physical connection (and with it every cached statement), ignoring any error.
+     */
+    void closeQuietly() {
+        statementCache.clear();
+        try {
+            physical.close();
+        } catch (SQLException e) {
+            System.err.println("Error closing pooled connection: " + e.getMessage());
+        }
+    }
+
+    // Returns a free cached statement for the SQL, preparing and caching one on a miss.
+    private PreparedStatement prepareCached(Connection logical, String sql) throws SQLException {
+        CachedStatement cached = statementCache.get(sql);
+        if (cached != null && !cached.inUse) {
+            pool.recordStatementCacheHit();
+        } else if (cached != null) {
+            // The same SQL is already open on this connection (e.g. nested use): don't share it.
+            pool.recordStatementCacheMiss();
+            return (PreparedStatement) intercept(physical.prepareStatement(sql), PreparedStatement.class, logical, sql);
+        } else {
+            pool.recordStatementCacheMiss();
+            cached = new CachedStatement(physical.prepareStatement(sql), sql);
+            statementCache.put(sql, cached);
+        }
+        cached.inUse = true;
+        return cached.newLogicalStatement(logical);
+    }
+
+    // Routes calls on a logical handle to the physical connection until the handle is closed.
+    private class LogicalConnectionHandler implements InvocationHandler {
+        private boolean released;
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!released) {
+                        released = true;
+                        pool.release(PooledConnection.this);
+                    }
+                    return null;
+                case "isClosed":
+                    return released || physical.isClosed();
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "PooledConnection[" + physical + (released ? ", released" : "") + "]";
+                default:
+                    if (released) {
+                        throw new SQLException("Connection has already been returned to the pool.");
+                    }
+                    if (method.getName().equals("prepareStatement") && args.length == 1 && pool.isStatementCacheEnabled()) {
+                        return prepareCached((Connection) proxy, (String) args[0]);
+                    }
+                    try {
+                        String sql = method.getName().startsWith("prepare") ? (String) args[0] : null;
+                        return intercept(method.invoke(physical, args), method.getReturnType(), (Connection) proxy, sql);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        }
+    }
+
+    // Wraps statements that bypass the cache so the StatementInterceptor sees their executions.
+    private static Object intercept(Object result, Class<?> type, Connection logical, String sql) {
+        if (result instanceof Statement && StatementInterceptor.isActive()) {
+            return StatementInterceptor.wrap((Statement) result, type, logical, sql);
+        }
+        return result;
+    }
+
+    // A physical prepared statement held in the cache, lent to one caller at a time.
+    private static class CachedStatement {
+        private final PreparedStatement statement;
+        private final String sql;
+        private boolean inUse;
+        private boolean evicted;
+
+        CachedStatement(PreparedStatement statement, String sql) {
+            this.statement = statement;
+            this.sql = sql;
+        }
+
+        PreparedStatement newLogicalStatement(Connection logicalConnection) {
+            return (PreparedStatement) Proxy.newProxyInstance(
+                    PreparedStatement.class.getClassLoader(),
+                    new Class<?>[]{PreparedStatement.class},
+                    new LogicalStatementHandler(logicalConnection));
+        }
+
+        // Makes the statement available to the next caller, dropping any state left by the last one.
+        void release() throws SQLException {
+            inUse = false;
+            if (evicted) {
+                statement.close();
+                return;
+            }
+            ResultSet open = statement.getResultSet();
+            if (open != null) {
+                open.close();
+            }
+            statement.clearParameters();
+        }
+
+        // Called when the LRU cache drops this statement; closes it now or when its caller is done.
+        void evict() {
+            evicted = true;
+            if (!inUse) {
+                try {
+                    statement.close();
+                } catch (SQLException e) {
+                    System.err.println("Error closing evicted statement: " + e.getMessage());
+                }
+            }
+        }
+
+        // Delegates to the cached statement; close() hands it back to the cache instead of closing it.
+        private class LogicalStatementHandler implements InvocationHandler {
+            private final Connection logicalConnection;
+            private final StatementInterceptor interceptor;
+            private boolean closed;
+
+            LogicalStatementHandler(Connection logicalConnection) {
+                this.logicalConnection = logicalConnection;
+                this.interceptor = StatementInterceptor.isActive() ? new StatementInterceptor(statement, sql) : null;
+            }
+
+            @Override
+            public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                switch (method.getName()) {
+                    case "close":
+                        if (!closed) {
+                            closed = true;
+                            if (interceptor != null) {
+                                interceptor.close();
+                            }
+                            release();
+                        }
+                        return null;
+                    case "isClosed":
+                        return closed || statement.isClosed();
+                    case "getConnection":
+                        return logicalConnection;
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "toString":
+                        return "CachedStatement[" + statement + "]";
+                    default:
+                        if (closed) {
+                            throw new SQLException("Statement has already been closed.");
+                        }
+                        if (interceptor != null) {
+                            return interceptor.invoke(method, args);
+                        }
+                        try {
+                            return method.invoke(statement, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getCause();
+                        }
+                }
+            }
+        }
+    }
+}
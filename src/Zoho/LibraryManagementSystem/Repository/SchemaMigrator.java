@@ -0,0 +1,119 @@
+package Zoho.LibraryManagementSystem.Repository;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Applies versioned schema migrations on top of the base schema created by {@code database_setup.sql}.
+ * Migrations are numbered SQL scripts ({@code V<version>__<description>.sql}) shipped in the
+ * {@code SQL_Scripts/migrations} folder and listed, in order, in {@link #MIGRATIONS}.
+ * Applied versions are recorded in a {@code schema_version} table, so each script runs exactly once
+ * per database. Each script runs in its own transaction under an advisory lock, which makes it safe
+ * for several application instances to start at the same time.
+ */
+public class SchemaMigrator {
+    private static final String MIGRATIONS_PATH = "/Zoho/LibraryManagementSystem/SQL_Scripts/migrations/";
+    // Arbitrary application-wide key for pg_advisory_xact_lock.
+    private static final long MIGRATION_LOCK_KEY = 4_242_001L;
+
+    /**
+     * All migration scripts, in the order they must be applied. Append new scripts to the end.
+     */
+    private static final String[] MIGRATIONS = {
+            "V1__hot_path_indexes.sql",
+            "V2__book_full_text_search.sql",
+            "V3__reservation_queue.sql",
+            "V4__library_event_notifications.sql",
+            "V5__reservation_status_timestamps.sql",
+    };
+
+    /**
+     * Brings the database schema up to date by applying every migration that has not been applied yet.
+     *
+     * @return The number of migrations applied by this call.
+     * @throws SQLException if a migration fails; the failing migration is rolled back.
+     */
+    public int migrate() throws SQLException {
+        int applied = 0;
+        try (Connection conn = DatabaseConnector.getConnection()) {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("CREATE TABLE IF NOT EXISTS schema_version (" +
+                        "version INT PRIMARY KEY, " +
+                        "script VARCHAR(255) NOT NULL, " +
+                        "installed_on TIMESTAMP NOT NULL DEFAULT NOW())");
+            }
+
+            for (String script : MIGRATIONS) {
+                if (applyIfPending(conn, parseVersion(script), script)) {
+                    applied++;
+                    System.out.println("Applied schema migration " + script);
+                }
+            }
+        }
+        return applied;
+    }
+
+    // Applies one migration in its own transaction unless it is already recorded as applied.
+    private boolean applyIfPending(Connection conn, int version, String script) throws SQLException {
+        conn.setAutoCommit(false);
+        try {
+            try (PreparedStatement lock = conn.prepareStatement("SELECT pg_advisory_xact_lock(?)")) {
+                lock.setLong(1, MIGRATION_LOCK_KEY);
+                lock.execute();
+            }
+
+            try (PreparedStatement check = conn.prepareStatement("SELECT 1 FROM schema_version WHERE version = ?")) {
+                check.setInt(1, version);
+                ResultSet rs = check.executeQuery();
+                if (rs.next()) {
+                    conn.commit();
+                    return false;
+                }
+            }
+
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute(loadScript(script));
+            }
+            try (PreparedStatement record = conn.prepareStatement("INSERT INTO schema_version (version, script) VALUES (?, ?)")) {
+                record.setInt(1, version);
+                record.setString(2, script);
+                record.executeUpdate();
+            }
+
+            conn.commit();
+            return true;
+        } catch (SQLException e) {
+            conn.rollback();
+            throw new SQLException("Schema migration " + script + " failed: " + e.getMessage(), e);
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    // Extracts the version number from a script name of the form V<version>__<description>.sql.
+    private int parseVersion(String script) {
+        int separator = script.indexOf("__");
+        if (!script.startsWith("V") || separator < 2) {
+            throw new IllegalStateException("Migration script name must look like V<version>__<description>.sql: " + script);
+        }
+        return Integer.parseInt(script.substring(1, separator));
+    }
+
+    // Reads a migration script from the classpath.
+    private String loadScript(String script) throws SQLException {
+        try (InputStream in = SchemaMigrator.class.getResourceAsStream(MIGRATIONS_PATH + script)) {
+            if (in == null) {
+                throw new SQLException("Migration script not found on the classpath: " + MIGRATIONS_PATH + script);
+            }
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new SQLException("Could not read migration script " + script + ": " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package Zoho.LibraryManagementSystem.Repository;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.FileHandler;
+import java.util.logging.Formatter;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * Logs every statement run on a pooled connection that takes longer than {@code library.slowQuery.thresholdMs}
+ * (default 500; 0 turns the log off), with its SQL, row count, time, the {@code LibraryDB} method that ran it
+ * and the service method that called that.
+ * <p>
+ * Entries go to a rotating file, {@code library.slowQuery.file} (default {@code slow-queries.%g.log} in the
+ * working directory, {@code library.slowQuery.fileCount} files of {@code library.slowQuery.fileLimitBytes} each).
+ * With {@code -Dlibrary.slowQuery.explain=true}, read-only SELECTs slower than {@code library.slowQuery.explainThresholdMs}
+ * (default 2000) are re-run under {@code EXPLAIN (ANALYZE, BUFFERS)} with the same bind values, on a background
+ * thread and a separate connection, and the plan is logged after the entry. Each SQL text is explained at most once per
+ * {@code library.slowQuery.explainIntervalMs} (default ten minutes). Locking reads and SELECTs calling functions with side
+ * effects ({@code pg_advisory_*}, {@code nextval}, {@code setval}, {@code pg_notify}) are never re-run.
+ * <p>
+ * Bind values are left out of the file unless {@code -Dlibrary.slowQuery.logBinds=true}, since they include
+ * member names, contact details and password hashes. Even then, the values of statements that touch the
+ * {@code members} table or a password hash are redacted.
+ */
+final class SlowQueryLog {
+    private static final long THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(Long.getLong("library.slowQuery.thresholdMs", 500L));
+    private static final boolean LOG_BINDS = Boolean.parseBoolean(System.getProperty("library.slowQuery.logBinds", "false"));
+    private static final boolean EXPLAIN = Boolean.parseBoolean(System.getProperty("library.slowQuery.explain", "false"));
+    private static final long EXPLAIN_THRESHOLD_NANOS = TimeUnit.MILLISECONDS.toNanos(Long.getLong("library.slowQuery.explainThresholdMs", 2_000L));
+    private static final long EXPLAIN_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(Long.getLong("library.slowQuery.explainIntervalMs", 600_000L));
+    private static final int MAX_BIND_LENGTH = 100;
+    private static final int MAX_SQL_LENGTH = 4_000;
+    // Statements whose bind values are personal data or secrets
+    private static final Pattern SENSITIVE_SQL = Pattern.compile("\\bmembers\\b|password", Pattern.CASE_INSENSITIVE);
+    // Functions whose effects EXPLAIN ANALYZE would repeat: taking locks, advancing sequences, sending notifications.
+    private static final Pattern SIDE_EFFECT_FUNCTIONS = Pattern.compile("\\b(pg_advisory\\w*|nextval|setval|pg_notify)\\s*\\(", Pattern.CASE_INSENSITIVE);
+
+    private SlowQueryLog() {
+    }
+
+    // Created on the first slow statement, so a fast application never opens the log file.
+    private static class Holder {
+        static final Logger LOGGER = createLogger();
+        // SQL text -> when it was last explained
+        static final Map<String, Long> LAST_EXPLAINED = new ConcurrentHashMap<>();
+        static final ThreadPoolExecutor EXPLAINER = createExplainer();
+        static volatile Thread explainThread;
+    }
+
+    /**
+     * @return Whether slow statements are logged at all.
+     */
+    static boolean isEnabled() {
+        return THRESHOLD_NANOS > 0;
+    }
+
+    /**
+     * @return Whether bind values need to be captured, for the log or to re-run the statement under EXPLAIN.
+     */
+    static boolean capturesBinds() {
+        return isEnabled() && (LOG_BINDS || EXPLAIN);
+    }
+
+    /**
+     * @param elapsedNanos How long a statement took.
+     * @return Whether it should be logged; statements run by the plan capture itself never are.
+     */
+    static boolean isSlow(long elapsedNanos) {
+        return isEnabled() && elapsedNanos >= THRESHOLD_NANOS && Thread.currentThread() != Holder.explainThread;
+    }
+
+    /**
+     * Writes an entry, and queues the plan capture if the statement qualifies.
+     *
+     * @param query The slow statement.
+     */
+    static void log(SlowQuery query) {
+        Holder.LOGGER.log(Level.WARNING, query.toString());
+        if (EXPLAIN && query.isExplainable() && query.elapsedNanos >= EXPLAIN_THRESHOLD_NANOS && claimExplain(query.sql)) {
+            Holder.EXPLAINER.execute(() -> explain(query));
+        }
+    }
+
+    /**
+     * Totals the update counts of a batch, ignoring {@link java.sql.Statement#SUCCESS_NO_INFO}.
+     *
+     * @param counts The result of {@code executeBatch()}.
+     * @return The number of rows the batch changed, as far as the driver reports it.
+     */
+    static long sum(int[] counts) {
+        long total = 0;
+        for (int count : counts) {
+            total += Math.max(count, 0);
+        }
+        return total;
+    }
+
+    // --- Private Helper Methods ---
+
+    // Lets one caller per interval explain a given SQL text.
+    private static boolean claimExplain(String sql) {
+        long now = System.nanoTime();
+        boolean[] claimed = {false};
+        Holder.LAST_EXPLAINED.compute(sql, (key, last) -> {
+            if (last != null && now - last < EXPLAIN_INTERVAL_NANOS) {
+                return last;
+            }
+            claimed[0] = true;
+            return now;
+        });
+        return claimed[0];
+    }
+
+    private static void explain(SlowQuery query) {
+        StringBuilder plan = new StringBuilder("EXPLAIN (ANALYZE, BUFFERS) for ").append(query.operation).append(":");
+        try (Connection conn = DatabaseConnector.getConnection();
+             PreparedStatement pstmt = conn.prepareStatement("EXPLAIN (ANALYZE, BUFFERS) " + query.sql)) {
+            for (Map.Entry<Integer, Bind> bind : query.binds.entrySet()) {
+                bind.getValue().applyTo(pstmt, conn);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    plan.append("\n    ").append(rs.getString(1));
+                }
+            }
+        } catch (SQLException | ReflectiveOperationException e) {
+            plan.append(" failed: ").append(e.getMessage());
+        }
+        Holder.LOGGER.log(Level.INFO, plan.toString());
+    }
+
+    private static Logger createLogger() {
+        Logger logger = Logger.getLogger(SlowQueryLog.class.getName());
+        String pattern = System.getProperty("library.slowQuery.file", "slow-queries.%g.log");
+        int limit = Integer.getInteger("library.slowQuery.fileLimitBytes", 10 * 1024 * 1024);
+        int count = Integer.getInteger("library.slowQuery.fileCount", 5);
+        try {
+            FileHandler handler = new FileHandler(pattern, limit, count, true);
+            handler.setFormatter(new Formatter() {
+                @Override
+                public String format(LogRecord record) {
+                    return LocalDateTime.ofInstant(record.getInstant(), ZoneId.systemDefault()).format(DateTimeFormatter.ISO_LOCAL_DATE_TIME) + " " + record.getMessage() + System.lineSeparator();
+                }
+            });
+            logger.addHandler(handler);
+            logger.setUseParentHandlers(false);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("Could not open the slow query log '" + pattern + "', logging to the console instead: " + e.getMessage());
+        }
+        return logger;
+    }
+
+    private static ThreadPoolExecutor createExplainer() {
+        // One thread and a short queue: plans are a diagnostic, and must never pile up behind a slow database
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(16), r -> {
+            Thread t = new Thread(r, "slow-query-explain");
+            t.setDaemon(true);
+            Holder.explainThread = t;
+            return t;
+        }, new ThreadPoolExecutor.DiscardPolicy());
+        return executor;
+    }
+
+    /**
+     * A parameter bound to a prepared statement, kept so the statement can be described and re-run.
+     */
+    static final class Bind {
+        private final Method setter;
+        private final Object[] args;
+
+        Bind(Method setter, Object[] args) {
+            this.setter = setter;
+            this.args = args;
+        }
+
+        // Binds the same value to another statement; arrays are re-created on that statement's connection.
+        void applyTo(PreparedStatement pstmt, Connection conn) throws SQLException, ReflectiveOperationException {
+            Object[] copy = args.clone();
+            if (copy[1] instanceof Array) {
+                Array array = (Array) copy[1];
+                copy[1] = conn.createArrayOf(array.getBaseTypeName(), (Object[]) array.getArray());
+            }
+            setter.invoke(pstmt, copy);
+        }
+
+        @Override
+        public String toString() {
+            Object value = args[1];
+            if (setter.getName().equals("setNull") || value == null) {
+                return "NULL";
+            }
+            if (value instanceof Array) {
+                try {
+                    return Arrays.toString((Object[]) ((Array) value).getArray());
+                } catch (SQLException e) {
+                    return "<array>";
+                }
+            }
+            String text = value.toString();
+            if (text.length() > MAX_BIND_LENGTH) {
+                text = text.substring(0, MAX_BIND_LENGTH) + "...";
+            }
+            return value instanceof Number || value instanceof Boolean ? text : "'" + text.replace("'", "''") + "'";
+        }
+    }
+
+    /**
+     * One statement that exceeded the threshold.
+     */
+    static final class SlowQuery {
+        private final String sql;
+        private final Map<Integer, Bind> binds;
+        private final int batchSize;
+        private final long elapsedNanos;
+        private final String operation;
+        private final String serviceMethod;
+        private long rows = -1;
+        private boolean failed;
+
+        SlowQuery(String sql, Map<Integer, Bind> binds, int batchSize, long elapsedNanos, String operation, String serviceMethod) {
+            this.sql = sql;
+            this.binds = binds;
+            this.batchSize = batchSize;
+            this.elapsedNanos = elapsedNanos;
+            this.operation = operation;
+            this.serviceMethod = serviceMethod;
+        }
+
+        void setRows(long rows) { this.rows = rows; }
+        void markFailed() { failed = true; }
+
+        // Only plain SELECTs are re-run: EXPLAIN ANALYZE executes the statement, a locking read would wait on its caller,
+        // and a SELECT calling a function with side effects would repeat them.
+        boolean isExplainable() {
+            String head = sql.stripLeading().toUpperCase(Locale.ROOT);
+            return head.startsWith("SELECT") && batchSize == 0 && !head.contains(" FOR UPDATE") && !head.contains(" FOR SHARE")
+                    && !SIDE_EFFECT_FUNCTIONS.matcher(sql).find();
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder line = new StringBuilder(String.format(Locale.ROOT, "SLOW %.1f ms rows=%s", elapsedNanos / 1e6, rows < 0 ? "?" : Long.toString(rows)));
+            if (failed) {
+                line.append(" FAILED");
+            }
+            if (batchSize > 0) {
+                line.append(" batch=").append(batchSize);
+            }
+            line.append(" db=").append(operation).append(" service=").append(serviceMethod);
+            String text = sql.replaceAll("\\s+", " ").trim();
+            line.append(" sql=[").append(text.length() > MAX_SQL_LENGTH ? text.substring(0, MAX_SQL_LENGTH) + "..." : text).append(']');
+            if (!LOG_BINDS) {
+                line.append(" binds=<not logged>");
+            } else if (SENSITIVE_SQL.matcher(sql).find()) {
+                line.append(" binds=<redacted>");
+            } else if (!binds.isEmpty()) {
+                line.append(" binds=").append(binds);
+            }
+            return line.toString();
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package Zoho.LibraryManagementSystem.Repository;
+
+import Zoho.LibraryManagementSystem.Metrics.DatabaseQueryEvent;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Watches one statement handed out by a pooled connection: reports its slow executions to the {@link SlowQueryLog}
+ * and, while a Flight Recorder recording has it enabled, emits a {@link DatabaseQueryEvent} for each execution.
+ * Latency metrics are not recorded here; {@code LibraryDB} times each of its public methods itself.
+ * <p>
+ * Both are attributed to the application method that ran the statement, e.g. {@code LibraryDB.findBookById}, found by
+ * walking the stack to the first frame of application code outside the pool; when that method was itself called from
+ * the same class (a helper of a public {@code LibraryDB} method), the outermost consecutive frame of the class is used.
+ * The stack is walked for each slow or recorded execution, since the same SQL may be run by several methods.
+ * <p>
+ * While the slow query log is on, the interceptor also remembers the statement's bind values. A slow query is
+ * logged (and a query event committed) once its rows have been read, i.e. when its result set is exhausted or
+ * closed, or the statement is closed or run again, so the entry can include the row count.
+ */
+final class StatementInterceptor {
+    private static final String APPLICATION_PACKAGE = "Zoho.LibraryManagementSystem.";
+    private static final String SERVICE_PACKAGE = "Zoho.LibraryManagementSystem.Service.";
+    private static final String POOLED_CONNECTION = PooledConnection.class.getName();
+    private static final String INTERCEPTOR = StatementInterceptor.class.getName();
+    private static final StackWalker WALKER = StackWalker.getInstance();
+
+    // class name -> method name -> operation name, so attribution doesn't build strings per statement
+    private static final Map<String, Map<String, String>> NAMES = new ConcurrentHashMap<>();
+
+    private final Statement statement;
+    private final String sql;
+    private final Map<Integer, SlowQueryLog.Bind> binds;
+    private int batchSize;
+    // A slow or recorded query whose result set is still being read
+    private PendingRead pending;
+
+    /**
+     * @param statement The physical statement.
+     * @param sql The SQL it was prepared with, or {@code null} for a plain {@link Statement}.
+     */
+    StatementInterceptor(Statement statement, String sql) {
+        this.statement = statement;
+        this.sql = sql;
+        this.binds = sql != null && SlowQueryLog.capturesBinds() ? new TreeMap<>() : null;
+    }
+
+    /**
+     * @return Whether statements need to be intercepted at all.
+     */
+    static boolean isActive() {
+        return SlowQueryLog.isEnabled() || DatabaseQueryEvent.isRecording();
+    }
+
+    /**
+     * Wraps a statement that isn't served from the statement cache so that it is watched too.
+     *
+     * @param statement The physical statement.
+     * @param type The JDBC interface the caller asked for ({@code Statement}, {@code PreparedStatement} or {@code CallableStatement}).
+     * @param logicalConnection The connection handle the statement should report as its own.
+     * @param sql The SQL the statement was prepared with, or {@code null} for a plain {@link Statement}.
+     * @return The watched statement.
+     */
+    static Statement wrap(Statement statement, Class<?> type, Connection logicalConnection, String sql) {
+        return (Statement) Proxy.newProxyInstance(
+                Statement.class.getClassLoader(),
+                new Class<?>[]{type},
+                new InterceptingHandler(new StatementInterceptor(statement, sql), logicalConnection));
+    }
+
+    /**
+     * Calls a method on the physical statement, timing it if it executes SQL and noting bound parameters.
+     *
+     * @param method The method called on the logical statement.
+     * @param args The arguments.
+     * @return The method's result.
+     * @throws Throwable whatever the method threw.
+     */
+    Object invoke(Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        if (name.startsWith("execute")) {
+            return execute(method, args);
+        }
+        if (binds != null) {
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                binds.put((Integer) args[0], new SlowQueryLog.Bind(method, args.clone()));
+            } else if (name.equals("clearParameters")) {
+                binds.clear();
+            }
+        }
+        if (name.equals("addBatch")) {
+            batchSize++;
+        } else if (name.equals("clearBatch")) {
+            batchSize = 0;
+        }
+        return invokeDirect(method, args);
+    }
+
+    /**
+     * Called when the logical statement is closed; reports a query whose rows were still being read.
+     */
+    void close() {
+        finish(pending);
+    }
+
+    // --- Private Helper Methods ---
+
+    private Object execute(Method method, Object[] args) throws Throwable {
+        finish(pending);
+        int batch = batchSize;
+        if (method.getName().contains("Batch")) {
+            batchSize = 0;
+        }
+        DatabaseQueryEvent event = null;
+        if (DatabaseQueryEvent.isRecording()) {
+            event = new DatabaseQueryEvent();
+            event.begin();
+        }
+        long start = System.nanoTime();
+        Object result = null;
+        Throwable failure = null;
+        try {
+            result = invokeDirect(method, args);
+        } catch (Throwable t) {
+            failure = t;
+        }
+        long elapsed = System.nanoTime() - start;
+        boolean slow = SlowQueryLog.isSlow(elapsed);
+        if (!slow && event == null) {
+            if (failure != null) {
+                throw failure;
+            }
+            return result;
+        }
+
+        String operation = callerName();
+        SlowQueryLog.SlowQuery query = slow ? slowQuery(args, batch, elapsed, operation) : null;
+        if (event != null) {
+            event.end();
+            event.setOperation(operation);
+            event.setSql(statementText(args));
+            event.setFailed(failure != null);
+        }
+        PendingRead read = new PendingRead(query, event);
+        if (failure != null) {
+            if (query != null) {
+                query.markFailed();
+            }
+            read.complete(-1);
+            throw failure;
+        }
+        if (result instanceof ResultSet) {
+            // Report once the caller has read the rows
+            pending = read;
+            return Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                    new RowCountingHandler((ResultSet) result, read));
+        }
+        if (result instanceof Integer || result instanceof Long) {
+            read.complete(((Number) result).longValue());
+        } else if (result instanceof int[]) {
+            read.complete(SlowQueryLog.sum((int[]) result));
+        } else {
+            read.complete(-1);
+        }
+        return result;
+    }
+
+    private SlowQueryLog.SlowQuery slowQuery(Object[] args, int batch, long elapsedNanos, String operation) {
+        Map<Integer, SlowQueryLog.Bind> snapshot = binds == null ? Collections.emptyMap() : new TreeMap<>(binds);
+        return new SlowQueryLog.SlowQuery(statementText(args), snapshot, batch, elapsedNanos, operation, serviceCaller());
+    }
+
+    private String statementText(Object[] args) {
+        return sql != null ? sql : args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : "?";
+    }
+
+    // Reports a query if its rows are still the pending ones.
+    private void finish(PendingRead read) {
+        if (read != null && read == pending) {
+            pending = null;
+            read.complete(read.rows);
+        }
+    }
+
+    private Object invokeDirect(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(statement, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    // Names the outermost consecutive frame of the first application class on the stack outside the pool.
+    private static String callerName() {
+        return WALKER.walk(frames -> {
+            StackWalker.StackFrame caller = null;
+            Iterator<StackWalker.StackFrame> it = frames.iterator();
+            while (it.hasNext()) {
+                StackWalker.StackFrame frame = it.next();
+                if (caller == null) {
+                    if (isApplicationFrame(frame.getClassName())) {
+                        caller = frame;
+                    }
+                } else if (frame.getClassName().equals(caller.getClassName())) {
+                    caller = frame;
+                } else {
+                    break;
+                }
+            }
+            return caller == null ? "unknown" : operationName(caller.getClassName(), caller.getMethodName());
+        });
+    }
+
+    // Names the innermost service method on the stack, e.g. TransactionManagementServiceImpl.borrowBook.
+    private static String serviceCaller() {
+        return WALKER.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(SERVICE_PACKAGE))
+                .findFirst()
+                .map(frame -> simpleName(frame.getClassName()) + "." + frame.getMethodName())
+                .orElse("-"));
+    }
+
+    private static boolean isApplicationFrame(String className) {
+        return className.startsWith(APPLICATION_PACKAGE)
+                && !className.startsWith(POOLED_CONNECTION)
+                && !className.startsWith(INTERCEPTOR);
+    }
+
+    private static String operationName(String className, String methodName) {
+        return NAMES.computeIfAbsent(className, c -> new ConcurrentHashMap<>())
+                .computeIfAbsent(methodName, m -> {
+                    // lambda$getAllBooks$2 -> getAllBooks
+                    if (m.startsWith("lambda$") && m.indexOf('$', 7) > 7) {
+                        m = m.substring(7, m.indexOf('$', 7));
+                    }
+                    return simpleName(className) + "." + m;
+                });
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+
+    // Delegates to a physical statement through its interceptor; reports the logical connection as its own.
+    private static class InterceptingHandler implements InvocationHandler {
+        private final StatementInterceptor interceptor;
+        private final Connection logicalConnection;
+
+        InterceptingHandler(StatementInterceptor interceptor, Connection logicalConnection) {
+            this.interceptor = interceptor;
+            this.logicalConnection = logicalConnection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    interceptor.close();
+                    return interceptor.invokeDirect(method, args);
+                case "getConnection":
+                    return logicalConnection;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "InterceptedStatement[" + interceptor.statement + "]";
+                default:
+                    return interceptor.invoke(method, args);
+            }
+        }
+    }
+
+    // A slow query and/or query event waiting for its row count.
+    private static class PendingRead {
+        private final SlowQueryLog.SlowQuery query;
+        private final DatabaseQueryEvent event;
+        private long rows;
+
+        PendingRead(SlowQueryLog.SlowQuery query, DatabaseQueryEvent event) {
+            this.query = query;
+            this.event = event;
+        }
+
+        void complete(long rows) {
+            if (query != null) {
+                query.setRows(rows);
+                SlowQueryLog.log(query);
+            }
+            if (event != null) {
+                event.setRows(rows);
+                event.commit();
+            }
+        }
+    }
+
+    // Counts the rows the caller reads from a result set, reporting the query when reading ends.
+    private class RowCountingHandler implements InvocationHandler {
+        private final ResultSet resultSet;
+        private final PendingRead read;
+
+        RowCountingHandler(ResultSet resultSet, PendingRead read) {
+            this.resultSet = resultSet;
+            this.read = read;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "next":
+                    boolean hasRow = resultSet.next();
+                    if (hasRow) {
+                        read.rows++;
+                    } else {
+                        finish(read);
+                    }
+                    return hasRow;
+                case "close":
+                    finish(read);
+                    resultSet.close();
+                    return null;
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                default:
+                    try {
+                        return method.invoke(resultSet, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+            }
+        }
+    }
+}
@@ -24,6 +24,7 @@
 -- -----------------------------------------------------------------------------
 
 -- Drop old tables if they exist to avoid conflicts (useful for re-running script)
+DROP TABLE IF EXISTS schema_version CASCADE;
 DROP TABLE IF EXISTS fines CASCADE;
 DROP TABLE IF EXISTS reservations CASCADE;
 DROP TABLE IF EXISTS transactions CASCADE;
@@ -119,6 +120,10 @@ CREATE TABLE reservations (
     status VARCHAR(20) DEFAULT 'WAITING' NOT NULL -- e.g., WAITING, AVAILABLE, FULFILLED, EXPIRED
 );
 
+-- Indexes and later schema changes are not defined here. They live in numbered
+-- scripts under SQL_Scripts/migrations/ and are applied automatically by the
+-- application at startup (see SchemaMigrator), which records them in schema_version.
+
 -- Optional: Grant privileges if you created a dedicated user
 -- Make sure these are run by a superuser or the database owner if needed.
 -- If 'library_manager' owns the database 'LibraryDB', these might not all be necessary
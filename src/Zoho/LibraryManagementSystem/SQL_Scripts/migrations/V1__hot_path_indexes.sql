@@ -0,0 +1,37 @@
+-- File: V1__hot_path_indexes.sql
+-- Indexes for the predicates LibraryDB filters and sorts on most often.
+-- Applied automatically at startup by SchemaMigrator; do not edit once released,
+-- add a new numbered script instead.
+
+-- hasOpenBorrows, findTransactionsByMemberId: transactions of one member, optionally by status
+CREATE INDEX IF NOT EXISTS idx_transactions_member_status
+    ON transactions (member_id, transaction_status);
+
+-- findActiveLoan: the single ACTIVE loan of a member for a book
+CREATE INDEX IF NOT EXISTS idx_transactions_active_member_book
+    ON transactions (member_id, book_id)
+    WHERE transaction_status = 'ACTIVE';
+
+-- createFinesForOverdueLoans: ACTIVE loans past their due date
+CREATE INDEX IF NOT EXISTS idx_transactions_active_due_date
+    ON transactions (due_date)
+    WHERE transaction_status = 'ACTIVE';
+
+-- getTransactionsPage: keyset pagination, newest first
+CREATE INDEX IF NOT EXISTS idx_transactions_borrow_date_id
+    ON transactions (borrow_date DESC, transaction_id DESC);
+
+-- findNextWaitingReservationForBook, findAllActiveReservations: reservation queue per book
+CREATE INDEX IF NOT EXISTS idx_reservations_book_status_date
+    ON reservations (book_id, status, reservation_date);
+
+-- findActiveReservationsByMember, findActiveReservationByMemberAndBook
+CREATE INDEX IF NOT EXISTS idx_reservations_member_status
+    ON reservations (member_id, status);
+
+-- getBooksPage and getMembersPage: keyset pagination
+CREATE INDEX IF NOT EXISTS idx_books_title_id
+    ON books (title, book_id);
+
+CREATE INDEX IF NOT EXISTS idx_members_name_id
+    ON members (name, member_id);
@@ -0,0 +1,73 @@
+-- File: V2__book_full_text_search.sql
+-- Full-text search over the catalog: a weighted tsvector per book covering the title (A),
+-- author names (B), subject names (C) and publisher (D), kept current by triggers and
+-- indexed with GIN. Used by LibraryDB.searchBooks.
+-- Applied automatically at startup by SchemaMigrator; do not edit once released,
+-- add a new numbered script instead.
+
+ALTER TABLE books ADD COLUMN IF NOT EXISTS search_vector TSVECTOR;
+
+-- Builds the search vector of one book from its own columns and its author/subject links.
+CREATE OR REPLACE FUNCTION book_search_vector(p_book_id INTEGER, p_title TEXT, p_publisher TEXT)
+RETURNS TSVECTOR AS $$
+    SELECT setweight(to_tsvector('english', COALESCE(p_title, '')), 'A')
+        || setweight(to_tsvector('english', COALESCE((
+               SELECT string_agg(a.author_name, ' ')
+               FROM book_authors ba JOIN authors a ON a.author_id = ba.author_id
+               WHERE ba.book_id = p_book_id), '')), 'B')
+        || setweight(to_tsvector('english', COALESCE((
+               SELECT string_agg(s.subject_name, ' ')
+               FROM book_subjects bs JOIN subjects s ON s.subject_id = bs.subject_id
+               WHERE bs.book_id = p_book_id), '')), 'C')
+        || setweight(to_tsvector('english', COALESCE(p_publisher, '')), 'D');
+$$ LANGUAGE sql STABLE;
+
+-- A book's own title or publisher changed: recompute its vector in the same row write.
+CREATE OR REPLACE FUNCTION books_search_vector_trigger() RETURNS TRIGGER AS $$
+BEGIN
+    NEW.search_vector := book_search_vector(NEW.book_id, NEW.title, NEW.publisher);
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_books_search_vector ON books;
+CREATE TRIGGER trg_books_search_vector
+    BEFORE INSERT OR UPDATE OF title, publisher ON books
+    FOR EACH ROW EXECUTE FUNCTION books_search_vector_trigger();
+
+-- Author or subject links changed: recompute the vectors of the affected books once per
+-- statement, so a batched import of many links updates each book only once.
+CREATE OR REPLACE FUNCTION refresh_linked_book_search_vectors() RETURNS TRIGGER AS $$
+BEGIN
+    UPDATE books b
+    SET search_vector = book_search_vector(b.book_id, b.title, b.publisher)
+    WHERE b.book_id IN (SELECT DISTINCT book_id FROM changed_links);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_book_authors_insert_search ON book_authors;
+CREATE TRIGGER trg_book_authors_insert_search
+    AFTER INSERT ON book_authors REFERENCING NEW TABLE AS changed_links
+    FOR EACH STATEMENT EXECUTE FUNCTION refresh_linked_book_search_vectors();
+
+DROP TRIGGER IF EXISTS trg_book_authors_delete_search ON book_authors;
+CREATE TRIGGER trg_book_authors_delete_search
+    AFTER DELETE ON book_authors REFERENCING OLD TABLE AS changed_links
+    FOR EACH STATEMENT EXECUTE FUNCTION refresh_linked_book_search_vectors();
+
+DROP TRIGGER IF EXISTS trg_book_subjects_insert_search ON book_subjects;
+CREATE TRIGGER trg_book_subjects_insert_search
+    AFTER INSERT ON book_subjects REFERENCING NEW TABLE AS changed_links
+    FOR EACH STATEMENT EXECUTE FUNCTION refresh_linked_book_search_vectors();
+
+DROP TRIGGER IF EXISTS trg_book_subjects_delete_search ON book_subjects;
+CREATE TRIGGER trg_book_subjects_delete_search
+    AFTER DELETE ON book_subjects REFERENCING OLD TABLE AS changed_links
+    FOR EACH STATEMENT EXECUTE FUNCTION refresh_linked_book_search_vectors();
+
+-- Backfill existing books, then index.
+UPDATE books SET search_vector = book_search_vector(book_id, title, publisher);
+
+CREATE INDEX IF NOT EXISTS idx_books_search_vector
+    ON books USING GIN (search_vector);
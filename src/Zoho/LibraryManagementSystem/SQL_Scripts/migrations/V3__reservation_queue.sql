@@ -0,0 +1,22 @@
+-- File: V3__reservation_queue.sql
+-- Returns now promote the next WAITING reservation for the book and hold the returned copy
+-- for that member, so an AVAILABLE reservation always has a copy set aside that is no longer
+-- counted in copies_available.
+-- Applied automatically at startup by SchemaMigrator; do not edit once released,
+-- add a new numbered script instead.
+
+-- findNextWaitingReservationForBook: the head of one book's queue, read on every return.
+-- Partial, so fulfilled and expired history does not bloat the index the hot path walks.
+CREATE INDEX IF NOT EXISTS idx_reservations_waiting_queue
+    ON reservations (book_id, reservation_date, reservation_id)
+    WHERE status = 'WAITING';
+
+-- AVAILABLE reservations made before this release did not set a copy aside: hold one now,
+-- as far as the shelf allows, so borrowing against them does not over-count stock.
+UPDATE books b
+SET copies_available = GREATEST(b.copies_available - held.reservations, 0)
+FROM (SELECT book_id, COUNT(*) AS reservations
+      FROM reservations
+      WHERE status = 'AVAILABLE'
+      GROUP BY book_id) held
+WHERE b.book_id = held.book_id;
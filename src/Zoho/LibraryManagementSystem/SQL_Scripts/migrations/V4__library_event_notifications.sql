@@ -0,0 +1,46 @@
+-- File: V4__library_event_notifications.sql
+-- Publishes stock and reservation changes on the 'library_events' NOTIFY channel, so that
+-- LibraryEventListener can refresh caches and tell members about held copies without polling.
+-- Notifications are sent on commit only, and never for rolled-back changes.
+-- Payloads are colon-separated:
+--   book:<book_id>:<copies_available>             a book's row changed
+--   book_removed:<book_id>                        a book was deleted
+--   reservation:<reservation_id>:<book_id>:<member_id>:<status>
+-- Applied automatically at startup by SchemaMigrator; do not edit once released,
+-- add a new numbered script instead.
+
+CREATE OR REPLACE FUNCTION notify_book_change() RETURNS TRIGGER AS $$
+BEGIN
+    IF TG_OP = 'DELETE' THEN
+        PERFORM pg_notify('library_events', 'book_removed:' || OLD.book_id);
+    ELSE
+        PERFORM pg_notify('library_events', 'book:' || NEW.book_id || ':' || NEW.copies_available);
+    END IF;
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Only the columns a cached Book carries; the search_vector refreshes from V2 do not notify.
+DROP TRIGGER IF EXISTS trg_books_notify ON books;
+CREATE TRIGGER trg_books_notify
+    AFTER UPDATE OF title, publisher, publication_date, total_copies, copies_available, times_borrowed OR DELETE ON books
+    FOR EACH ROW EXECUTE FUNCTION notify_book_change();
+
+CREATE OR REPLACE FUNCTION notify_reservation_change() RETURNS TRIGGER AS $$
+BEGIN
+    PERFORM pg_notify('library_events', 'reservation:' || NEW.reservation_id || ':' || NEW.book_id
+                                        || ':' || NEW.member_id || ':' || NEW.status);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_reservations_insert_notify ON reservations;
+CREATE TRIGGER trg_reservations_insert_notify
+    AFTER INSERT ON reservations
+    FOR EACH ROW EXECUTE FUNCTION notify_reservation_change();
+
+DROP TRIGGER IF EXISTS trg_reservations_status_notify ON reservations;
+CREATE TRIGGER trg_reservations_status_notify
+    AFTER UPDATE OF status ON reservations
+    FOR EACH ROW WHEN (OLD.status IS DISTINCT FROM NEW.status)
+    EXECUTE FUNCTION notify_reservation_change();
@@ -0,0 +1,35 @@
+-- File: V5__reservation_status_timestamps.sql
+-- Records when each reservation last changed status, so uncollected AVAILABLE reservations
+-- can be expired once their pickup window has passed (see ReservationExpiryServiceImpl).
+-- Applied automatically at startup by SchemaMigrator; do not edit once released,
+-- add a new numbered script instead.
+
+ALTER TABLE reservations ADD COLUMN IF NOT EXISTS status_updated_at TIMESTAMP;
+
+-- Existing reservations: count from when they were placed, except that copies already held
+-- get a full pickup window from now rather than expiring the moment this script runs.
+UPDATE reservations
+SET status_updated_at = CASE WHEN status = 'AVAILABLE' THEN NOW() ELSE reservation_date END
+WHERE status_updated_at IS NULL;
+
+ALTER TABLE reservations ALTER COLUMN status_updated_at SET DEFAULT NOW();
+ALTER TABLE reservations ALTER COLUMN status_updated_at SET NOT NULL;
+
+-- Stamped by the database on every status change, whichever code path makes it.
+CREATE OR REPLACE FUNCTION reservations_status_timestamp_trigger() RETURNS TRIGGER AS $$
+BEGIN
+    NEW.status_updated_at := NOW();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_reservations_status_timestamp ON reservations;
+CREATE TRIGGER trg_reservations_status_timestamp
+    BEFORE UPDATE OF status ON reservations
+    FOR EACH ROW WHEN (OLD.status IS DISTINCT FROM NEW.status)
+    EXECUTE FUNCTION reservations_status_timestamp_trigger();
+
+-- expireUncollectedReservations: the oldest AVAILABLE reservations first
+CREATE INDEX IF NOT EXISTS idx_reservations_available_since
+    ON reservations (status_updated_at)
+    WHERE status = 'AVAILABLE';
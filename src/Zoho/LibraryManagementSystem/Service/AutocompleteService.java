@@ -0,0 +1,25 @@
+package Zoho.LibraryManagementSystem.Service;
+
+import Zoho.LibraryManagementSystem.Model.Completion;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Defines the contract for type-ahead suggestions of book titles and author names.
+ */
+public interface AutocompleteService {
+    /**
+     * Suggests titles and author names that start with the typed prefix, ignoring case and accents.
+     * @param prefix The characters typed so far.
+     * @param limit The maximum number of suggestions to return.
+     * @return The suggestions, most borrowed first; an empty list if nothing matches.
+     */
+    List<Completion> complete(String prefix, int limit);
+
+    /**
+     * Rebuilds the suggestion index from the database. Queries keep using the previous index until the new one is ready.
+     * @return The number of distinct suggestions indexed.
+     * @throws SQLException if a database access error occurs.
+     */
+    int rebuildIndex() throws SQLException;
+}
@@ -1,12 +1,17 @@
 package Zoho.LibraryManagementSystem.Service;
 
 import Zoho.LibraryManagementSystem.Model.Book;
+import Zoho.LibraryManagementSystem.Model.Page;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Defines the contract for services that manage the library's book catalog.
+ * <p>
+ * Every method also has an {@code *Async} variant that runs it on the {@link ServiceExecutor}. Its future
+ * completes with the method's result, or exceptionally with the exception the method would have thrown.
  */
 public interface BookManagementService {
     /**
@@ -16,6 +21,25 @@ public interface BookManagementService {
      */
     List<Book> getAllBooks() throws SQLException;
 
+    /**
+     * Retrieves one page of the catalog, ordered by title.
+     * @param after The last book of the previous page, or null to fetch the first page.
+     * @param pageSize The maximum number of books on the page.
+     * @return A Page of Book objects.
+     * @throws SQLException if a database access error occurs.
+     */
+    Page<Book> getBooksPage(Book after, int pageSize) throws SQLException;
+
+    /**
+     * Searches the catalog with the database's full-text search, best match first.
+     * @param query The search text; supports "quoted phrases", "or" and -excluded words.
+     * @param pageNumber The zero-based page number.
+     * @param pageSize The maximum number of books on the page.
+     * @return A Page of matching Book objects.
+     * @throws SQLException if a database access error occurs.
+     */
+    Page<Book> searchBooks(String query, int pageNumber, int pageSize) throws SQLException;
+
     /**
      * Finds a single book by its unique ID.
      * @param bookId The ID of the book to find.
@@ -50,5 +74,47 @@ public interface BookManagementService {
      * @throws IllegalStateException if a business rule is violated (e.g., new stock is less than borrowed copies).
      */
     void updateBookStock(int bookId, int newTotalCopies) throws SQLException, IllegalStateException;
-}
 
+    /**
+     * Registers a listener to be notified after books are added to or removed from the catalog.
+     * @param listener The listener to notify.
+     */
+    void addCatalogListener(CatalogListener listener);
+
+    // --- Asynchronous variants (see the interface documentation) ---
+
+    /** Asynchronous variant of {@link #getAllBooks}. */
+    default CompletableFuture<List<Book>> getAllBooksAsync() {
+        return ServiceExecutor.supply(() -> getAllBooks());
+    }
+
+    /** Asynchronous variant of {@link #getBooksPage}. */
+    default CompletableFuture<Page<Book>> getBooksPageAsync(Book after, int pageSize) {
+        return ServiceExecutor.supply(() -> getBooksPage(after, pageSize));
+    }
+
+    /** Asynchronous variant of {@link #searchBooks}. */
+    default CompletableFuture<Page<Book>> searchBooksAsync(String query, int pageNumber, int pageSize) {
+        return ServiceExecutor.supply(() -> searchBooks(query, pageNumber, pageSize));
+    }
+
+    /** Asynchronous variant of {@link #findBookById}. */
+    default CompletableFuture<Optional<Book>> findBookByIdAsync(int bookId) {
+        return ServiceExecutor.supply(() -> findBookById(bookId));
+    }
+
+    /** Asynchronous variant of {@link #addBook}. */
+    default CompletableFuture<Book> addBookAsync(Book newBook, List<String> authorNames, List<String> subjectNames) {
+        return ServiceExecutor.supply(() -> addBook(newBook, authorNames, subjectNames));
+    }
+
+    /** Asynchronous variant of {@link #removeBook}. */
+    default CompletableFuture<Void> removeBookAsync(int bookId) {
+        return ServiceExecutor.run(() -> removeBook(bookId));
+    }
+
+    /** Asynchronous variant of {@link #updateBookStock}. */
+    default CompletableFuture<Void> updateBookStockAsync(int bookId, int newTotalCopies) {
+        return ServiceExecutor.run(() -> updateBookStock(bookId, newTotalCopies));
+    }
+}
@@ -0,0 +1,31 @@
+package Zoho.LibraryManagementSystem.Service;
+
+import Zoho.LibraryManagementSystem.Model.ImportReport;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+
+/**
+ * Defines the contract for services that load large batches of books into the catalog.
+ */
+public interface CatalogImportService {
+    /**
+     * Imports books from a delimited text feed. Files ending in ".tsv" are read as tab-separated,
+     * anything else as comma-separated. The first line must be the header
+     * {@code title, publisher, publication_date, total_copies, authors, subjects};
+     * multiple authors or subjects within one field are separated by ';'.
+     * Rows that cannot be parsed are skipped and reported rather than aborting the import.
+     * @param file The feed to import.
+     * @param chunkSize The number of rows committed per database transaction.
+     * @return A report of rows read, imported and rejected, and the throughput achieved.
+     * @throws IOException if the file cannot be read.
+     * @throws SQLException if a database access error occurs; chunks committed before the error remain imported.
+     */
+    ImportReport importBooks(Path file, int chunkSize) throws IOException, SQLException;
+
+    /**
+     * Registers a listener to be notified of every book imported, after its chunk has committed.
+     * @param listener The listener to notify.
+     */
+    void addCatalogListener(CatalogListener listener);
+}
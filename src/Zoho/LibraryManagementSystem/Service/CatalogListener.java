@@ -0,0 +1,29 @@
+package Zoho.LibraryManagementSystem.Service;
+
+import Zoho.LibraryManagementSystem.Model.Book;
+
+/**
+ * Receives notifications when books enter or leave the catalog or are borrowed, e.g. to keep a search index current.
+ * Notifications are delivered on the thread that made the change, after its transaction has committed.
+ */
+public interface CatalogListener {
+    /**
+     * Called after a book has been added to the catalog.
+     * @param book The new book, with its database ID and its authors and subjects populated.
+     */
+    void onBookAdded(Book book);
+
+    /**
+     * Called after a book has been removed from the catalog.
+     * @param bookId The ID of the removed book.
+     */
+    void onBookRemoved(int bookId);
+
+    /**
+     * Called after a copy of a book has been borrowed. Does nothing by default.
+     * @param bookId The ID of the borrowed book.
+     * @param timesBorrowed The book's updated total number of loans.
+     */
+    default void onBookBorrowed(int bookId, int timesBorrowed) {
+    }
+}
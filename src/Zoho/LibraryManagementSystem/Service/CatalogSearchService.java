@@ -0,0 +1,34 @@
+package Zoho.LibraryManagementSystem.Service;
+
+import Zoho.LibraryManagementSystem.Model.Book;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Defines the contract for free-text search over the library's catalog.
+ */
+public interface CatalogSearchService {
+    /**
+     * Searches book titles, publishers, author names and subject names.
+     * Every word of the query must match (case- and accent-insensitively); results are ranked
+     * so that matches in titles count most, then authors, subjects and publishers.
+     * @param query The words to search for.
+     * @param limit The maximum number of books to return.
+     * @return The matching books, best match first; an empty list if nothing matches.
+     * @throws SQLException if a database access error occurs while loading the matching books.
+     */
+    List<Book> searchBooks(String query, int limit) throws SQLException;
+
+    /**
+     * Rebuilds the search index from the database. Searches keep using the previous index until the new one is ready.
+     * @return The number of books indexed.
+     * @throws SQLException if a database access error occurs.
+     */
+    int rebuildIndex() throws SQLException;
+
+    /**
+     * Returns the number of books currently in the search index.
+     * @return The indexed book count.
+     */
+    int getIndexedBookCount();
+}
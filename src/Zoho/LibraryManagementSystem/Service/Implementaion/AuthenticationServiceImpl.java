@@ -1,5 +1,6 @@
 package Zoho.LibraryManagementSystem.Service.Implementaion;
 
+import Zoho.LibraryManagementSystem.Metrics.LoginEvent;
 import Zoho.LibraryManagementSystem.Model.Member;
 import Zoho.LibraryManagementSystem.Repository.DatabaseConnector;
 import Zoho.LibraryManagementSystem.Repository.LibraryDB;
@@ -39,24 +40,65 @@ public class AuthenticationServiceImpl implements AuthenticationService{
      */
     @Override
     public boolean librarianLogin(String username, String password) {
-        return LIBRARIAN_USERNAME.equals(username) && LIBRARIAN_PASSWORD.equals(password);
+        LoginEvent event = new LoginEvent(username, "librarian");
+        event.begin();
+        boolean valid = LIBRARIAN_USERNAME.equals(username) && LIBRARIAN_PASSWORD.equals(password);
+        if (valid) {
+            event.succeeded();
+        } else {
+            event.rejected("Invalid credentials");
+        }
+        event.commit();
+        return valid;
     }
     /**
      * {@inheritDoc}
      * This implementation retrieves the member by username from the database
      * and uses the PasswordService to verify the provided password against the stored hash.
+     * The database connection is returned to the pool before the (deliberately slow) verification,
+     * and a hash made with outdated settings is transparently replaced after a successful login.
      */
     @Override
     public Optional<Member> memberLogin(String username, String password) throws SQLException {
-        try (Connection conn = DatabaseConnector.getConnection()) {
-            Optional<Member> memberOpt = libraryDB.findMemberByUsername(conn, username);
+        LoginEvent event = new LoginEvent(username, "member");
+        event.begin();
+        try {
+            Optional<Member> memberOpt;
+            try (Connection conn = DatabaseConnector.getConnection()) {
+                memberOpt = libraryDB.findMemberByUsername(conn, username);
+            }
             if (memberOpt.isPresent()) {
                 Member member = memberOpt.get();
+                event.setMemberId(member.getMemberId());
                 if (passwordService.checkPassword(password, member.getPasswordHash())) {
+                    if (passwordService.needsRehash(member.getPasswordHash())) {
+                        rehashPassword(member, password);
+                    }
+                    event.succeeded();
                     return Optional.of(member);
                 }
             }
+            event.rejected("Invalid credentials");
+            return Optional.empty();
+        } catch (SQLException e) {
+            event.failed(e);
+            throw e;
+        } finally {
+            event.commit();
+        }
+    }
+
+    // Upgrades a member's stored hash to the current settings. A failure here must not fail the login.
+    private void rehashPassword(Member member, String password) {
+        try {
+            String newHash = passwordService.hashPassword(password);
+            try (Connection conn = DatabaseConnector.getConnection()) {
+                if (libraryDB.updateMemberPasswordHash(conn, member.getMemberId(), member.getPasswordHash(), newHash)) {
+                    member.setPasswordHash(newHash);
+                }
+            }
+        } catch (SQLException | IllegalStateException e) {
+            System.err.println("Could not upgrade the password hash for member " + member.getMemberId() + ": " + e.getMessage());
         }
-        return Optional.empty();
     }
 }
\ No newline at end of file
@@ -0,0 +1,361 @@
+package Zoho.LibraryManagementSystem.Service.Implementaion;
+
+import Zoho.LibraryManagementSystem.Model.Author;
+import Zoho.LibraryManagementSystem.Model.Book;
+import Zoho.LibraryManagementSystem.Model.Completion;
+import Zoho.LibraryManagementSystem.Model.Enum.CompletionType;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * A burst trie over book titles and author names, ranked by borrow count.
+ * <p>
+ * To stay compact, the trie only branches where it has to: suggestions sit in small unsorted buckets
+ * on leaf nodes, and a bucket that grows past {@link #BUCKET_SIZE} entries "bursts" into a node with
+ * one child bucket per next character. Long shared prefixes such as "the " therefore cost a few nodes
+ * rather than one node per character of every key. Every node caches the top {@code maxResults}
+ * suggestions of its whole subtree, so a prefix is answered by walking to its node and copying that
+ * list, or, if the walk ends inside a bucket, by filtering the bucket's few entries.
+ * <p>
+ * A title shared by several books (e.g. editions) is a single suggestion scored by the sum of
+ * their borrow counts; an author is scored by the sum over all of the author's books. When a
+ * score changes, the cached lists along that suggestion's path are marked stale and recomputed
+ * from the children's lists on the next query that needs them.
+ * <p>
+ * All methods are synchronized; queries take microseconds, so a single lock is sufficient.
+ */
+class AutocompleteIndex {
+    private static final int BUCKET_SIZE = 32;
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    // Best first: higher score, then alphabetical, then titles before authors.
+    private static final Comparator<Suggestion> RANKING = Comparator
+            .comparingLong((Suggestion s) -> -s.score)
+            .thenComparing(s -> s.key)
+            .thenComparing(s -> s.type);
+
+    private final int maxResults;
+    private final Node root = new Node();
+    private final Map<CompletionType, Map<String, Suggestion>> suggestions = new EnumMap<>(CompletionType.class);
+    private final Map<Integer, IndexedBook> books = new HashMap<>();
+
+    /**
+     * Creates an empty index.
+     *
+     * @param maxResults The largest number of suggestions a query may ask for.
+     */
+    AutocompleteIndex(int maxResults) {
+        this.maxResults = maxResults;
+        for (CompletionType type : CompletionType.values()) {
+            suggestions.put(type, new HashMap<>());
+        }
+    }
+
+    /**
+     * Indexes a book's title and authors, replacing any previous entry for the same book ID.
+     *
+     * @param book The book; its authors are indexed if populated.
+     */
+    synchronized void add(Book book) {
+        remove(book.getBookId());
+        List<Suggestion> targets = new ArrayList<>();
+        addTarget(targets, book.getTitle(), CompletionType.TITLE);
+        if (book.getAuthors() != null) {
+            for (Author author : book.getAuthors()) {
+                addTarget(targets, author.getAuthorName(), CompletionType.AUTHOR);
+            }
+        }
+        IndexedBook indexed = new IndexedBook(targets.toArray(new Suggestion[0]), book.getTimesBorrowed());
+        for (Suggestion suggestion : indexed.suggestions) {
+            suggestion.books++;
+            changeScore(suggestion, indexed.timesBorrowed);
+        }
+        books.put(book.getBookId(), indexed);
+    }
+
+    /**
+     * Removes a book's contribution; suggestions no longer backed by any book disappear.
+     *
+     * @param bookId The ID of the book.
+     */
+    synchronized void remove(int bookId) {
+        IndexedBook indexed = books.remove(bookId);
+        if (indexed == null) {
+            return;
+        }
+        for (Suggestion suggestion : indexed.suggestions) {
+            suggestion.books--;
+            if (suggestion.books == 0) {
+                suggestions.get(suggestion.type).remove(suggestion.key);
+                markStale(suggestion.key).entries.remove(suggestion);
+            } else {
+                changeScore(suggestion, -indexed.timesBorrowed);
+            }
+        }
+    }
+
+    /**
+     * Records a book's new borrow count, re-ranking its title and authors.
+     *
+     * @param bookId The ID of the book.
+     * @param timesBorrowed The book's total number of loans.
+     */
+    synchronized void updateTimesBorrowed(int bookId, int timesBorrowed) {
+        IndexedBook indexed = books.get(bookId);
+        if (indexed == null || indexed.timesBorrowed == timesBorrowed) {
+            return;
+        }
+        int delta = timesBorrowed - indexed.timesBorrowed;
+        indexed.timesBorrowed = timesBorrowed;
+        for (Suggestion suggestion : indexed.suggestions) {
+            changeScore(suggestion, delta);
+        }
+    }
+
+    /**
+     * Returns the most borrowed titles and authors starting with the prefix (case- and accent-insensitively).
+     *
+     * @param prefix The typed prefix.
+     * @param limit The maximum number of suggestions; capped at {@code maxResults}.
+     * @return The suggestions, best first; empty for a blank prefix.
+     */
+    synchronized List<Completion> complete(String prefix, int limit) {
+        String key = normalize(prefix);
+        int n = Math.min(limit, maxResults);
+        List<Completion> completions = new ArrayList<>(Math.max(n, 0));
+        if (key.isEmpty() || n < 1) {
+            return completions;
+        }
+        Node node = root;
+        int depth = 0;
+        while (depth < key.length() && !node.isLeaf()) {
+            node = node.child(key.charAt(depth++));
+            if (node == null) {
+                return completions;
+            }
+        }
+        if (depth == key.length()) {
+            for (Suggestion suggestion : top(node)) {
+                if (completions.size() == n) {
+                    break;
+                }
+                completions.add(suggestion.toCompletion());
+            }
+        } else {
+            // The prefix runs past a leaf: filter its bucket.
+            List<Suggestion> matches = new ArrayList<>();
+            for (Suggestion suggestion : node.entries) {
+                if (suggestion.key.startsWith(key)) {
+                    matches.add(suggestion);
+                }
+            }
+            matches.sort(RANKING);
+            for (Suggestion suggestion : matches.subList(0, Math.min(n, matches.size()))) {
+                completions.add(suggestion.toCompletion());
+            }
+        }
+        return completions;
+    }
+
+    /**
+     * Returns the number of distinct suggestions in the index.
+     *
+     * @return The suggestion count.
+     */
+    synchronized int size() {
+        int size = 0;
+        for (Map<String, Suggestion> byKey : suggestions.values()) {
+            size += byKey.size();
+        }
+        return size;
+    }
+
+    /**
+     * Lower-cases, strips accents from and collapses whitespace in text, producing the key used for matching.
+     *
+     * @param text The text to normalize; may be {@code null}.
+     * @return The normalized key.
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = isAscii(text) ? text
+                : COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return WHITESPACE.matcher(folded.trim()).replaceAll(" ").toLowerCase(Locale.ROOT);
+    }
+
+    // --- Private Helper Methods ---
+
+    // Finds or creates the suggestion for a title/author and adds it to the book's targets once.
+    private void addTarget(List<Suggestion> targets, String text, CompletionType type) {
+        String key = normalize(text);
+        if (key.isEmpty()) {
+            return;
+        }
+        Suggestion suggestion = suggestions.get(type).get(key);
+        if (suggestion == null) {
+            suggestion = new Suggestion(text.trim(), key, type);
+            suggestions.get(type).put(key, suggestion);
+            insert(suggestion);
+        }
+        if (!targets.contains(suggestion)) {
+            targets.add(suggestion);
+        }
+    }
+
+    private void changeScore(Suggestion suggestion, long delta) {
+        suggestion.score += delta;
+        markStale(suggestion.key);
+    }
+
+    // Places a new suggestion in its bucket (or on the internal node its key ends at), bursting full buckets.
+    private void insert(Suggestion suggestion) {
+        String key = suggestion.key;
+        Node node = root;
+        int depth = 0;
+        while (!node.isLeaf() && depth < key.length()) {
+            Node child = node.child(key.charAt(depth));
+            node = child != null ? child : node.addChild(key.charAt(depth));
+            depth++;
+        }
+        node.entries.add(suggestion);
+        if (node.isLeaf() && node.entries.size() > BUCKET_SIZE) {
+            burst(node, depth);
+        }
+    }
+
+    // Turns a leaf into an internal node, moving each entry into a child bucket by its next character.
+    // Entries whose key ends at this depth stay on the node itself.
+    private void burst(Node node, int depth) {
+        List<Suggestion> entries = new ArrayList<>(node.entries);
+        node.entries.clear();
+        node.internal = true;
+        node.stale = true;
+        for (Suggestion entry : entries) {
+            if (entry.key.length() == depth) {
+                node.entries.add(entry);
+            } else {
+                Node child = node.child(entry.key.charAt(depth));
+                (child != null ? child : node.addChild(entry.key.charAt(depth))).entries.add(entry);
+            }
+        }
+        for (int i = 0; i < node.childCount; i++) {
+            node.children[i].stale = true;
+            if (node.children[i].entries.size() > BUCKET_SIZE) {
+                burst(node.children[i], depth + 1);
+            }
+        }
+    }
+
+    // Marks the cached lists on a key's path stale and returns the node holding the key.
+    private Node markStale(String key) {
+        Node node = root;
+        node.stale = true;
+        int depth = 0;
+        while (!node.isLeaf() && depth < key.length()) {
+            node = node.child(key.charAt(depth++));
+            node.stale = true;
+        }
+        return node;
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > 0x7F) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Returns a node's cached top list, first recomputing it (and any stale descendants) if needed.
+    private Suggestion[] top(Node node) {
+        if (!node.stale) {
+            return node.top;
+        }
+        List<Suggestion> candidates = new ArrayList<>(node.entries);
+        for (int i = 0; i < node.childCount; i++) {
+            candidates.addAll(Arrays.asList(top(node.children[i])));
+        }
+        candidates.sort(RANKING);
+        node.top = candidates.subList(0, Math.min(maxResults, candidates.size())).toArray(new Suggestion[0]);
+        node.stale = false;
+        return node.top;
+    }
+
+    // A trie node; children are kept in sorted arrays to stay compact. A leaf is a bucket of suggestions
+    // sharing the node's prefix; an internal node holds only the suggestions whose key ends exactly here.
+    private static class Node {
+        private char[] labels = new char[0];
+        private Node[] children = new Node[0];
+        private int childCount;
+        private final List<Suggestion> entries = new ArrayList<>(2);
+        private Suggestion[] top = new Suggestion[0];
+        private boolean stale;
+        private boolean internal;
+
+        boolean isLeaf() {
+            return !internal;
+        }
+
+        Node child(char label) {
+            int pos = Arrays.binarySearch(labels, 0, childCount, label);
+            return pos >= 0 ? children[pos] : null;
+        }
+
+        Node addChild(char label) {
+            int pos = -(Arrays.binarySearch(labels, 0, childCount, label) + 1);
+            if (childCount == labels.length) {
+                labels = Arrays.copyOf(labels, Math.max(2, childCount * 2));
+                children = Arrays.copyOf(children, labels.length);
+            }
+            System.arraycopy(labels, pos, labels, pos + 1, childCount - pos);
+            System.arraycopy(children, pos, children, pos + 1, childCount - pos);
+            Node child = new Node();
+            labels[pos] = label;
+            children[pos] = child;
+            childCount++;
+            return child;
+        }
+    }
+
+    // One title or author name and its aggregated borrow count.
+    private static class Suggestion {
+        private final String text;
+        private final String key;
+        private final CompletionType type;
+        private long score;
+        private int books;
+
+        Suggestion(String text, String key, CompletionType type) {
+            this.text = text;
+            this.key = key;
+            this.type = type;
+        }
+
+        Completion toCompletion() {
+            return new Completion(text, type, score);
+        }
+    }
+
+    // The suggestions a book contributes to, and the borrow count it contributed.
+    private static class IndexedBook {
+        private final Suggestion[] suggestions;
+        private int timesBorrowed;
+
+        IndexedBook(Suggestion[] suggestions, int timesBorrowed) {
+            this.suggestions = suggestions;
+            this.timesBorrowed = timesBorrowed;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package Zoho.LibraryManagementSystem.Service.Implementaion;
+
+import Zoho.LibraryManagementSystem.Model.Book;
+import Zoho.LibraryManagementSystem.Model.Completion;
+import Zoho.LibraryManagementSystem.Repository.DatabaseConnector;
+import Zoho.LibraryManagementSystem.Repository.LibraryDB;
+import Zoho.LibraryManagementSystem.Service.AutocompleteService;
+import Zoho.LibraryManagementSystem.Service.CatalogListener;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Implements the {@link AutocompleteService} interface with an in-memory {@link AutocompleteIndex}.
+ * The index is built from a streamed scan of the catalog and then kept current incrementally:
+ * register this service as a {@link CatalogListener} with every service that adds, removes or lends books.
+ */
+public class AutocompleteServiceImpl implements AutocompleteService, CatalogListener {
+    /** The most suggestions a prefix can return, from {@code library.autocomplete.maxResults} (default 10). */
+    public static final int MAX_RESULTS = Integer.getInteger("library.autocomplete.maxResults", 10);
+    private static final int REBUILD_FETCH_SIZE = 1000;
+
+    private final LibraryDB libraryDB;
+    private volatile AutocompleteIndex index = new AutocompleteIndex(MAX_RESULTS);
+
+    /**
+     * Constructs an AutocompleteServiceImpl with an empty index; call {@link #rebuildIndex()} to populate it.
+     *
+     * @param libraryDB The {@link LibraryDB} instance for database operations.
+     */
+    public AutocompleteServiceImpl(LibraryDB libraryDB) {
+        this.libraryDB = libraryDB;
+    }
+
+    /**
+     * {@inheritDoc}
+     * At most {@code library.autocomplete.maxResults} (default 10) suggestions are returned.
+     */
+    @Override
+    public List<Completion> complete(String prefix, int limit) {
+        return index.complete(prefix, limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Incremental updates wait while a rebuild is running and are applied to the new index,
+     * so changes committed during the rebuild are not lost.
+     */
+    @Override
+    public synchronized int rebuildIndex() throws SQLException {
+        AutocompleteIndex fresh = new AutocompleteIndex(MAX_RESULTS);
+        try (Connection conn = DatabaseConnector.getConnection();
+             Stream<Book> books = libraryDB.streamAllBooks(conn, REBUILD_FETCH_SIZE)) {
+            books.forEach(fresh::add);
+        }
+        index = fresh;
+        return fresh.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     * Adds the book's title and authors to the suggestions.
+     */
+    @Override
+    public synchronized void onBookAdded(Book book) {
+        index.add(book);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Withdraws the book's contribution to the suggestions.
+     */
+    @Override
+    public synchronized void onBookRemoved(int bookId) {
+        index.remove(bookId);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Re-ranks the book's title and authors.
+     */
+    @Override
+    public synchronized void onBookBorrowed(int bookId, int timesBorrowed) {
+        index.updateTimesBorrowed(bookId, timesBorrowed);
+    }
+}
@@ -2,15 +2,23 @@ package Zoho.LibraryManagementSystem.Service.Implementaion;
 
 import Zoho.LibraryManagementSystem.Model.Author;
 import Zoho.LibraryManagementSystem.Model.Book;
+import Zoho.LibraryManagementSystem.Model.Page;
 import Zoho.LibraryManagementSystem.Model.Subject;
 import Zoho.LibraryManagementSystem.Repository.DatabaseConnector;
 import Zoho.LibraryManagementSystem.Repository.LibraryDB;
 import Zoho.LibraryManagementSystem.Service.BookManagementService;
+import Zoho.LibraryManagementSystem.Service.CatalogListener;
 
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
 /**
  * Implements the {@link BookManagementService} interface.
  * This service handles all business logic related to book management,
@@ -19,6 +27,7 @@ import java.util.Optional;
  */
 public class BookManagementServiceImpl implements BookManagementService {
     private final LibraryDB libraryDB;
+    private final List<CatalogListener> listeners = new CopyOnWriteArrayList<>();
 
     /**
      * Constructs a BookManagementServiceImpl with the necessary data access object.
@@ -39,6 +48,28 @@ public class BookManagementServiceImpl implements BookManagementService {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Page<Book> getBooksPage(Book after, int pageSize) throws SQLException {
+        try (Connection conn = DatabaseConnector.getConnection()) {
+            return after == null
+                    ? libraryDB.getBooksPage(conn, null, 0, pageSize)
+                    : libraryDB.getBooksPage(conn, after.getTitle(), after.getBookId(), pageSize);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Page<Book> searchBooks(String query, int pageNumber, int pageSize) throws SQLException {
+        try (Connection conn = DatabaseConnector.getConnection()) {
+            return libraryDB.searchBooks(conn, query, pageNumber, pageSize);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -63,21 +94,35 @@ public class BookManagementServiceImpl implements BookManagementService {
 
             libraryDB.addBook(conn, newBook); // newBook object is already simpler
 
-            for (String authorName : authorNames) {
-                if (authorName != null && !authorName.trim().isEmpty()) {
-                    Author author = libraryDB.findOrCreateAuthorByName(conn, authorName.trim());
-                    libraryDB.linkBookToAuthor(conn, newBook.getBookId(), author.getAuthorId());
-                }
+            // Names resolved in this transaction; interned only once it has committed
+            Map<String, Integer> authorIds = new HashMap<>();
+            Map<String, Integer> subjectIds = new HashMap<>();
+            List<Author> authors = new ArrayList<>();
+            List<Subject> subjects = new ArrayList<>();
+
+            for (String authorName : distinctNames(authorNames)) {
+                Author author = libraryDB.findOrCreateAuthorByName(conn, authorName);
+                libraryDB.linkBookToAuthor(conn, newBook.getBookId(), author.getAuthorId());
+                authorIds.put(authorName, author.getAuthorId());
+                authors.add(author);
             }
 
-            for (String subjectName : subjectNames) {
-                if (subjectName != null && !subjectName.trim().isEmpty()) {
-                    Subject subject = libraryDB.findOrCreateSubjectByName(conn, subjectName.trim());
-                    libraryDB.linkBookToSubject(conn, newBook.getBookId(), subject.getSubjectId());
-                }
+            for (String subjectName : distinctNames(subjectNames)) {
+                Subject subject = libraryDB.findOrCreateSubjectByName(conn, subjectName);
+                libraryDB.linkBookToSubject(conn, newBook.getBookId(), subject.getSubjectId());
+                subjectIds.put(subjectName, subject.getSubjectId());
+                subjects.add(subject);
             }
 
             conn.commit();
+            libraryDB.evictBook(newBook.getBookId());
+            libraryDB.internAuthorIds(authorIds);
+            libraryDB.internSubjectIds(subjectIds);
+            newBook.setAuthors(authors);
+            newBook.setSubjects(subjects);
+            for (CatalogListener listener : listeners) {
+                listener.onBookAdded(newBook);
+            }
             return newBook;
 
         } catch (SQLException e) {
@@ -114,13 +159,17 @@ public class BookManagementServiceImpl implements BookManagementService {
             if (!libraryDB.removeBook(conn, bookId)) {
                 throw new SQLException("Failed to remove the book from the database. It might have been deleted by another user.");
             }
+            for (CatalogListener listener : listeners) {
+                listener.onBookRemoved(bookId);
+            }
         }
     }
 
     /**
      * {@inheritDoc}
      * This implementation ensures that the new total stock is not less than the number
-     * of copies currently borrowed.
+     * of copies currently borrowed. The check and the update are a single conditional
+     * UPDATE, so loans made while the stock is being changed are never overwritten.
      */
     @Override
     public void updateBookStock(int bookId, int newTotalCopies) throws SQLException, IllegalStateException {
@@ -128,20 +177,31 @@ public class BookManagementServiceImpl implements BookManagementService {
             Book book = libraryDB.findBookById(conn, bookId)
                     .orElseThrow(() -> new IllegalStateException("Error: Book with ID " + bookId + " not found."));
 
-            int borrowedCopies = book.getTotalCopies() - book.getCopiesAvailable();
-
             // Business Rule: The new total cannot be less than the number of copies currently out on loan.
-            if (newTotalCopies < borrowedCopies) {
+            // The database re-checks this atomically, in case loans were made since the book was read.
+            if (!libraryDB.updateTotalCopies(conn, bookId, newTotalCopies)) {
+                int borrowedCopies = book.getTotalCopies() - book.getCopiesAvailable();
                 throw new IllegalStateException("Error: New total copies (" + newTotalCopies + ") cannot be less than the number of currently borrowed copies (" + borrowedCopies + ").");
             }
+        }
+    }
 
-            int newAvailableCopies = newTotalCopies - book.getTotalCopies() + book.getCopiesAvailable();
-
-            // The Book model's setter handles the logic of updating available copies relative to the new total.
-            book.setTotalCopies(newTotalCopies);
-            book.setCopiesAvailable(newAvailableCopies);
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addCatalogListener(CatalogListener listener) {
+        listeners.add(listener);
+    }
 
-            libraryDB.updateBook(conn, book);
+    // Trims the names and drops blanks and duplicates, so each name is resolved and linked once.
+    private Set<String> distinctNames(List<String> names) {
+        Set<String> distinct = new LinkedHashSet<>();
+        for (String name : names) {
+            if (name != null && !name.trim().isEmpty()) {
+                distinct.add(name.trim());
+            }
         }
+        return distinct;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,297 @@
+package Zoho.LibraryManagementSystem.Service.Implementaion;
+
+import Zoho.LibraryManagementSystem.Model.Author;
+import Zoho.LibraryManagementSystem.Model.Book;
+import Zoho.LibraryManagementSystem.Model.ImportReport;
+import Zoho.LibraryManagementSystem.Model.Subject;
+import Zoho.LibraryManagementSystem.Repository.DatabaseConnector;
+import Zoho.LibraryManagementSystem.Repository.LibraryDB;
+import Zoho.LibraryManagementSystem.Service.CatalogImportService;
+import Zoho.LibraryManagementSystem.Service.CatalogListener;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Implements the {@link CatalogImportService} interface.
+ * Rows are parsed and buffered into chunks; each chunk is written in its own transaction using
+ * batched inserts for the books and their author/subject links. Author and subject names are
+ * resolved through {@link LibraryDB}'s interning caches, so each distinct name is looked up in the
+ * database only once across the whole import, with a constant number of statements per chunk.
+ */
+public class CatalogImportServiceImpl implements CatalogImportService {
+    private static final String[] EXPECTED_HEADER = {"title", "publisher", "publication_date", "total_copies", "authors", "subjects"};
+    private static final String LIST_SEPARATOR = ";";
+    // Column widths from database_setup.sql; longer values would fail the whole chunk's insert
+    private static final int MAX_TITLE_LENGTH = 255;
+    private static final int MAX_PUBLISHER_LENGTH = 255;
+    private static final int MAX_AUTHOR_NAME_LENGTH = 255;
+    private static final int MAX_SUBJECT_NAME_LENGTH = 100;
+
+    private final LibraryDB libraryDB;
+    private final List<CatalogListener> listeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Constructs a CatalogImportServiceImpl with the necessary data access object.
+     *
+     * @param libraryDB The {@link LibraryDB} instance for database operations.
+     */
+    public CatalogImportServiceImpl(LibraryDB libraryDB) {
+        this.libraryDB = libraryDB;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ImportReport importBooks(Path file, int chunkSize) throws IOException, SQLException {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        char delimiter = file.getFileName().toString().toLowerCase().endsWith(".tsv") ? '\t' : ',';
+        ImportReport report = new ImportReport();
+        long start = System.nanoTime();
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+             Connection conn = DatabaseConnector.getConnection()) {
+            String header = reader.readLine();
+            if (header == null) {
+                throw new IllegalStateException("The import file is empty.");
+            }
+            validateHeader(parseLine(header, delimiter));
+
+            List<ImportRow> chunk = new ArrayList<>(chunkSize);
+            long lineNumber = 1;
+            long rowsRead = 0;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                rowsRead++;
+                try {
+                    chunk.add(parseRow(parseLine(line, delimiter)));
+                } catch (IllegalArgumentException | DateTimeParseException e) {
+                    report.recordRejectedRow(lineNumber, e.getMessage());
+                }
+                if (chunk.size() == chunkSize) {
+                    writeChunk(conn, chunk);
+                    report.addBooksImported(chunk.size());
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writeChunk(conn, chunk);
+                report.addBooksImported(chunk.size());
+            }
+            report.setRowsRead(rowsRead);
+        } finally {
+            report.setElapsedMillis((System.nanoTime() - start) / 1_000_000);
+        }
+        return report;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addCatalogListener(CatalogListener listener) {
+        listeners.add(listener);
+    }
+
+    // Writes one chunk of books and their links in a single transaction.
+    private void writeChunk(Connection conn, List<ImportRow> chunk) throws SQLException {
+        try {
+            conn.setAutoCommit(false);
+
+            Map<String, Integer> authorIds = libraryDB.findOrCreateAuthorIds(conn, distinctNames(chunk, true));
+            Map<String, Integer> subjectIds = libraryDB.findOrCreateSubjectIds(conn, distinctNames(chunk, false));
+
+            List<Book> books = new ArrayList<>(chunk.size());
+            for (ImportRow row : chunk) {
+                books.add(row.book);
+            }
+            libraryDB.addBooksBatch(conn, books);
+
+            List<int[]> authorLinks = new ArrayList<>();
+            List<int[]> subjectLinks = new ArrayList<>();
+            for (ImportRow row : chunk) {
+                int bookId = row.book.getBookId();
+                for (String name : row.authorNames) {
+                    authorLinks.add(new int[]{bookId, idFor(name, authorIds)});
+                }
+                for (String name : row.subjectNames) {
+                    subjectLinks.add(new int[]{bookId, idFor(name, subjectIds)});
+                }
+            }
+            libraryDB.linkBooksToAuthorsBatch(conn, authorLinks);
+            libraryDB.linkBooksToSubjectsBatch(conn, subjectLinks);
+
+            conn.commit();
+            // Only now are the authors and subjects created by this chunk safe to intern.
+            libraryDB.internAuthorIds(authorIds);
+            libraryDB.internSubjectIds(subjectIds);
+            if (!listeners.isEmpty()) {
+                notifyBooksAdded(chunk, authorIds, subjectIds);
+            }
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    // Tells the listeners about a committed chunk, populating each book's authors and subjects first.
+    private void notifyBooksAdded(List<ImportRow> chunk, Map<String, Integer> authorIds, Map<String, Integer> subjectIds) {
+        for (ImportRow row : chunk) {
+            List<Author> authors = new ArrayList<>(row.authorNames.size());
+            for (String name : row.authorNames) {
+                authors.add(new Author(authorIds.get(name), name));
+            }
+            List<Subject> subjects = new ArrayList<>(row.subjectNames.size());
+            for (String name : row.subjectNames) {
+                subjects.add(new Subject(subjectIds.get(name), name));
+            }
+            row.book.setAuthors(authors);
+            row.book.setSubjects(subjects);
+            for (CatalogListener listener : listeners) {
+                listener.onBookAdded(row.book);
+            }
+        }
+    }
+
+    // Collects the distinct author (or subject) names in the chunk.
+    private Set<String> distinctNames(List<ImportRow> chunk, boolean authors) {
+        Set<String> names = new LinkedHashSet<>();
+        for (ImportRow row : chunk) {
+            names.addAll(authors ? row.authorNames : row.subjectNames);
+        }
+        return names;
+    }
+
+    private int idFor(String name, Map<String, Integer> resolved) throws SQLException {
+        Integer id = resolved.get(name);
+        if (id == null) {
+            throw new SQLException("Could not find or create: " + name);
+        }
+        return id;
+    }
+
+    private void validateHeader(List<String> header) {
+        if (header.size() < EXPECTED_HEADER.length) {
+            throw new IllegalStateException("Expected header columns: " + String.join(", ", EXPECTED_HEADER));
+        }
+        for (int i = 0; i < EXPECTED_HEADER.length; i++) {
+            if (!EXPECTED_HEADER[i].equalsIgnoreCase(header.get(i).trim())) {
+                throw new IllegalStateException("Expected header columns: " + String.join(", ", EXPECTED_HEADER));
+            }
+        }
+    }
+
+    // Converts the fields of one line into a book with its author and subject names.
+    private ImportRow parseRow(List<String> fields) {
+        if (fields.size() < EXPECTED_HEADER.length) {
+            throw new IllegalArgumentException("Expected " + EXPECTED_HEADER.length + " fields but found " + fields.size());
+        }
+        String title = fields.get(0).trim();
+        if (title.isEmpty()) {
+            throw new IllegalArgumentException("Title is required.");
+        }
+        requireMaxLength("Title", title, MAX_TITLE_LENGTH);
+        String publisher = fields.get(1).trim();
+        requireMaxLength("Publisher", publisher, MAX_PUBLISHER_LENGTH);
+        String dateField = fields.get(2).trim();
+        LocalDate publicationDate = dateField.isEmpty() ? null : LocalDate.parse(dateField);
+        int totalCopies = Integer.parseInt(fields.get(3).trim());
+        if (totalCopies < 0) {
+            throw new IllegalArgumentException("Total copies cannot be negative.");
+        }
+
+        Set<String> authorNames = splitNames(fields.get(4));
+        for (String name : authorNames) {
+            requireMaxLength("Author name", name, MAX_AUTHOR_NAME_LENGTH);
+        }
+        Set<String> subjectNames = splitNames(fields.get(5));
+        for (String name : subjectNames) {
+            requireMaxLength("Subject name", name, MAX_SUBJECT_NAME_LENGTH);
+        }
+
+        Book book = new Book(title, publisher.isEmpty() ? null : publisher, publicationDate, totalCopies);
+        return new ImportRow(book, authorNames, subjectNames);
+    }
+
+    // Rejects a value longer than its VARCHAR column, which counts characters (code points), not UTF-16 units.
+    private void requireMaxLength(String field, String value, int maxLength) {
+        int length = value.codePointCount(0, value.length());
+        if (length > maxLength) {
+            throw new IllegalArgumentException(field + " is " + length + " characters long; the maximum is " + maxLength + ".");
+        }
+    }
+
+    private Set<String> splitNames(String field) {
+        Set<String> names = new LinkedHashSet<>();
+        for (String name : field.split(LIST_SEPARATOR)) {
+            if (!name.trim().isEmpty()) {
+                names.add(name.trim());
+            }
+        }
+        return names;
+    }
+
+    // Splits one line into fields, honouring double-quoted fields with "" as an escaped quote.
+    private List<String> parseLine(String line, char delimiter) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == delimiter) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    // A parsed row awaiting insertion.
+    private static class ImportRow {
+        private final Book book;
+        private final Set<String> authorNames;
+        private final Set<String> subjectNames;
+
+        ImportRow(Book book, Set<String> authorNames, Set<String> subjectNames) {
+            this.book = book;
+            this.authorNames = authorNames;
+            this.subjectNames = subjectNames;
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package Zoho.LibraryManagementSystem.Service.Implementaion;
+
+import Zoho.LibraryManagementSystem.Model.Author;
+import Zoho.LibraryManagementSystem.Model.Book;
+import Zoho.LibraryManagementSystem.Model.Subject;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * An in-memory inverted index over book titles, publishers, author names and subject names.
+ * <p>
+ * Each term maps to a posting list of book IDs kept in ascending order, with a per-book weight
+ * that reflects which fields the term occurs in. A multi-term query intersects the posting lists,
+ * starting from the shortest and galloping through the longer ones, and scores each match by
+ * summing weight &times; inverse document frequency over its terms; only the top results are kept
+ * in a bounded heap. A forward map from book to posting lists makes removal cheap.
+ * <p>
+ * Reads run concurrently under a read lock; additions and removals take the write lock.
+ */
+class CatalogIndex {
+    private static final float TITLE_WEIGHT = 3.0f;
+    private static final float AUTHOR_WEIGHT = 2.0f;
+    private static final float SUBJECT_WEIGHT = 1.5f;
+    private static final float PUBLISHER_WEIGHT = 1.0f;
+    private static final Set<String> STOP_WORDS = Set.of("a", "an", "and", "by", "for", "in", "of", "on", "or", "the", "to", "with");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+    // The posting lists each book appears in, for removal.
+    private final Map<Integer, PostingList[]> listsByBook = new HashMap<>();
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Indexes a book, replacing any previous entry for the same ID.
+     *
+     * @param book The book to index; its authors and subjects are indexed if populated.
+     */
+    void add(Book book) {
+        Map<String, Float> weights = new LinkedHashMap<>();
+        addField(weights, book.getTitle(), TITLE_WEIGHT);
+        addField(weights, book.getPublisher(), PUBLISHER_WEIGHT);
+        if (book.getAuthors() != null) {
+            for (Author author : book.getAuthors()) {
+                addField(weights, author.getAuthorName(), AUTHOR_WEIGHT);
+            }
+        }
+        if (book.getSubjects() != null) {
+            for (Subject subject : book.getSubjects()) {
+                addField(weights, subject.getSubjectName(), SUBJECT_WEIGHT);
+            }
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(book.getBookId());
+            PostingList[] lists = new PostingList[weights.size()];
+            int i = 0;
+            for (Map.Entry<String, Float> entry : weights.entrySet()) {
+                PostingList list = postings.computeIfAbsent(entry.getKey(), PostingList::new);
+                list.add(book.getBookId(), entry.getValue());
+                lists[i++] = list;
+            }
+            listsByBook.put(book.getBookId(), lists);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes a book from the index.
+     *
+     * @param bookId The ID of the book.
+     * @return {@code true} if the book was indexed.
+     */
+    boolean remove(int bookId) {
+        lock.writeLock().lock();
+        try {
+            return removeUnlocked(bookId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the books that contain every term of the query, best match first.
+     *
+     * @param query The free-text query.
+     * @param limit The maximum number of book IDs to return.
+     * @return The matching book IDs in rank order; empty if the query has no searchable terms or nothing matches.
+     */
+    int[] search(String query, int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty() || limit < 1) {
+            return new int[0];
+        }
+        lock.readLock().lock();
+        try {
+            PostingList[] lists = new PostingList[terms.size()];
+            int i = 0;
+            for (String term : terms) {
+                PostingList list = postings.get(term);
+                if (list == null) {
+                    return new int[0];
+                }
+                lists[i++] = list;
+            }
+            Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+            float[] idf = new float[lists.length];
+            int bookCount = listsByBook.size();
+            for (int t = 0; t < lists.length; t++) {
+                idf[t] = (float) Math.log(1.0 + (double) bookCount / lists[t].size);
+            }
+            return topMatches(lists, idf, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the number of indexed books.
+     *
+     * @return The book count.
+     */
+    int size() {
+        lock.readLock().lock();
+        try {
+            return listsByBook.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Splits text into lower-case, accent-free search terms, dropping common stop words.
+     *
+     * @param text The text to tokenize; may be {@code null}.
+     * @return The terms, in order of appearance.
+     */
+    static List<String> tokenize(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return terms;
+        }
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        for (String token : NON_WORD.split(folded)) {
+            if (!token.isEmpty() && !STOP_WORDS.contains(token)) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+
+    // --- Private Helper Methods ---
+
+    private void addField(Map<String, Float> weights, String text, float weight) {
+        for (String term : tokenize(text)) {
+            weights.merge(term, weight, Float::sum);
+        }
+    }
+
+    private boolean removeUnlocked(int bookId) {
+        PostingList[] lists = listsByBook.remove(bookId);
+        if (lists == null) {
+            return false;
+        }
+        for (PostingList list : lists) {
+            list.remove(bookId);
+            if (list.size == 0) {
+                postings.remove(list.term);
+            }
+        }
+        return true;
+    }
+
+    // Intersects the lists (shortest first) and keeps the highest-scoring matches in a bounded min-heap.
+    // Once the heap is full, a candidate whose best possible score cannot beat the current minimum
+    // is skipped without probing the longer lists.
+    private int[] topMatches(PostingList[] lists, float[] idf, int limit) {
+        PriorityQueue<ScoredBook> top = new PriorityQueue<>(Math.min(limit, 1024) + 1);
+        int[] cursors = new int[lists.length];
+        float restBound = 0f;
+        for (int t = 1; t < lists.length; t++) {
+            restBound += lists[t].maxWeight * idf[t];
+        }
+        PostingList shortest = lists[0];
+        candidates:
+        for (int i = 0; i < shortest.size; i++) {
+            int bookId = shortest.bookIds[i];
+            float score = shortest.weights[i] * idf[0];
+            if (top.size() == limit && score + restBound <= top.peek().score) {
+                continue;
+            }
+            for (int t = 1; t < lists.length; t++) {
+                int pos = lists[t].advance(cursors[t], bookId);
+                cursors[t] = pos;
+                if (pos == lists[t].size) {
+                    break candidates; // a longer list is exhausted, so no later candidate can match
+                }
+                if (lists[t].bookIds[pos] != bookId) {
+                    continue candidates;
+                }
+                score += lists[t].weights[pos] * idf[t];
+            }
+            if (top.size() < limit) {
+                top.add(new ScoredBook(bookId, score));
+            } else if (score > top.peek().score) {
+                top.poll();
+                top.add(new ScoredBook(bookId, score));
+            }
+        }
+        int[] ranked = new int[top.size()];
+        for (int i = ranked.length - 1; i >= 0; i--) {
+            ranked[i] = top.poll().bookId;
+        }
+        return ranked;
+    }
+
+    // The books containing one term, in ascending ID order, with the term's weight in each book.
+    private static class PostingList {
+        private final String term;
+        private int[] bookIds = new int[4];
+        private float[] weights = new float[4];
+        private int size;
+        // An upper bound on the weights in the list; not lowered on removal, which keeps it a valid bound.
+        private float maxWeight;
+
+        PostingList(String term) {
+            this.term = term;
+        }
+
+        void add(int bookId, float weight) {
+            int pos = size == 0 || bookIds[size - 1] < bookId ? size : advance(0, bookId);
+            if (size == bookIds.length) {
+                bookIds = Arrays.copyOf(bookIds, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            System.arraycopy(bookIds, pos, bookIds, pos + 1, size - pos);
+            System.arraycopy(weights, pos, weights, pos + 1, size - pos);
+            bookIds[pos] = bookId;
+            weights[pos] = weight;
+            size++;
+            maxWeight = Math.max(maxWeight, weight);
+        }
+
+        void remove(int bookId) {
+            int pos = advance(0, bookId);
+            if (pos < size && bookIds[pos] == bookId) {
+                System.arraycopy(bookIds, pos + 1, bookIds, pos, size - pos - 1);
+                System.arraycopy(weights, pos + 1, weights, pos, size - pos - 1);
+                size--;
+            }
+        }
+
+        // Returns the first position at or after 'from' whose book ID is >= target (size if none),
+        // probing 1, 2, 4, ... ahead before binary searching, so short hops stay cheap.
+        int advance(int from, int target) {
+            if (from >= size || bookIds[from] >= target) {
+                return from;
+            }
+            int low = from;
+            int step = 1;
+            while (low + step < size && bookIds[low + step] < target) {
+                low += step;
+                step <<= 1;
+            }
+            int lo = low + 1;
+            int hi = Math.min(low + step, size);
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (bookIds[mid] < target) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return lo;
+        }
+    }
+
+    // A candidate result; orders lowest score first (ties: higher ID first) for the min-heap.
+    private static class ScoredBook implements Comparable<ScoredBook> {
+        private final int bookId;
+        private final float score;
+
+        ScoredBook(int bookId, float score) {
+            this.bookId = bookId;
+            this.score = score;
+        }
+
+        @Override
+        public int compareTo(ScoredBook other) {
+            int byScore = Float.compare(score, other.score);
+            return byScore != 0 ? byScore : Integer.compare(other.bookId, bookId);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package Zoho.LibraryManagementSystem.Service.Implementaion;
+
+import Zoho.LibraryManagementSystem.Model.Book;
+import Zoho.LibraryManagementSystem.Repository.DatabaseConnector;
+import Zoho.LibraryManagementSystem.Repository.LibraryDB;
+import Zoho.LibraryManagementSystem.Service.CatalogListener;
+import Zoho.LibraryManagementSystem.Service.CatalogSearchService;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Implements the {@link CatalogSearchService} interface with an in-memory {@link CatalogIndex}.
+ * The index is built from a streamed scan of the catalog and then kept current incrementally:
+ * register this service as a {@link CatalogListener} with every service that adds or removes books.
+ * Searches only touch memory; the database is consulted just to load the handful of books returned.
+ */
+public class CatalogSearchServiceImpl implements CatalogSearchService, CatalogListener {
+    private static final int REBUILD_FETCH_SIZE = 1000;
+
+    private final LibraryDB libraryDB;
+    private volatile CatalogIndex index = new CatalogIndex();
+
+    /**
+     * Constructs a CatalogSearchServiceImpl with an empty index; call {@link #rebuildIndex()} to populate it.
+     *
+     * @param libraryDB The {@link LibraryDB} instance for database operations.
+     */
+    public CatalogSearchServiceImpl(LibraryDB libraryDB) {
+        this.libraryDB = libraryDB;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<Book> searchBooks(String query, int limit) throws SQLException {
+        int[] bookIds = index.search(query, limit);
+        if (bookIds.length == 0) {
+            return Collections.emptyList();
+        }
+        List<Integer> ids = new ArrayList<>(bookIds.length);
+        for (int bookId : bookIds) {
+            ids.add(bookId);
+        }
+        try (Connection conn = DatabaseConnector.getConnection()) {
+            return libraryDB.findBooksByIds(conn, ids);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * Incremental updates wait while a rebuild is running and are applied to the new index,
+     * so changes committed during the rebuild are not lost.
+     */
+    @Override
+    public synchronized int rebuildIndex() throws SQLException {
+        CatalogIndex fresh = new CatalogIndex();
+        try (Connection conn = DatabaseConnector.getConnection();
+             Stream<Book> books = libraryDB.streamAllBooks(conn, REBUILD_FETCH_SIZE)) {
+            books.forEach(fresh::add);
+        }
+        index = fresh;
+        return fresh.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getIndexedBookCount() {
+        return index.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     * Adds the book to the search index.
+     */
+    @Override
+    public synchronized void onBookAdded(Book book) {
+        index.add(book);
+    }
+
+    /**
+     * {@inheritDoc}
+     * Removes the book from the search index.
+     */
+    @Override
+    public synchronized void onBookRemoved(int bookId) {
+        index.remove(bookId);
+    }
+}
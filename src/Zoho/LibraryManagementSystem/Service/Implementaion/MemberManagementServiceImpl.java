@@ -1,6 +1,7 @@
 package Zoho.LibraryManagementSystem.Service.Implementaion;
 
 import Zoho.LibraryManagementSystem.Model.Member;
+import Zoho.LibraryManagementSystem.Model.Page;
 import Zoho.LibraryManagementSystem.Repository.DatabaseConnector;
 import Zoho.LibraryManagementSystem.Repository.LibraryDB;
 import Zoho.LibraryManagementSystem.Service.MemberManagementService;
@@ -72,6 +73,18 @@ public class MemberManagementServiceImpl implements MemberManagementService {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Page<Member> getMembersPage(Member after, int pageSize) throws SQLException {
+        try (Connection conn = DatabaseConnector.getConnection()) {
+            return after == null
+                    ? libraryDB.getMembersPage(conn, null, 0, pageSize)
+                    : libraryDB.getMembersPage(conn, after.getName(), after.getMemberId(), pageSize);
+        }
+    }
+
     /**
      * {@inheritDoc}
      * This implementation checks if the member has any outstanding loans
@@ -0,0 +1,183 @@
+package Zoho.LibraryManagementSystem.Service.Implementaion;
+
+import Zoho.LibraryManagementSystem.Model.Book;
+import Zoho.LibraryManagementSystem.Model.Enum.LibraryEventType;
+import Zoho.LibraryManagementSystem.Model.LibraryEvent;
+import Zoho.LibraryManagementSystem.Model.Reservation;
+import Zoho.LibraryManagementSystem.Repository.DatabaseConnector;
+import Zoho.LibraryManagementSystem.Repository.LibraryDB;
+import Zoho.LibraryManagementSystem.Repository.LibraryEventSubscriber;
+import Zoho.LibraryManagementSystem.Service.MemberNotificationService;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Implements the {@link MemberNotificationService} interface by subscribing to reservation events
+ * from the database, so members hear about held copies without anyone polling the reservations table.
+ * Each member keeps at most {@code library.notifications.maxPerMember} (default 20) unread notices;
+ * older ones are dropped first.
+ * <p>
+ * Notices are written on a dedicated thread, since they need a pooled connection to look up the book
+ * and the event listener's thread must not wait for the pool. After the listener reconnects, the
+ * 'AVAILABLE' reservations are re-read, and members who were not yet told about their held copy are.
+ */
+public class MemberNotificationServiceImpl implements MemberNotificationService, LibraryEventSubscriber, AutoCloseable {
+    private final LibraryDB libraryDB;
+    private final int maxPerMember;
+    private final Map<Integer, Deque<String>> pending = new ConcurrentHashMap<>();
+    private final List<NotificationListener> listeners = new CopyOnWriteArrayList<>();
+    // 'AVAILABLE' reservations whose members have been told; only touched on the notifier thread
+    private final Set<Integer> announced = new HashSet<>();
+    private final ExecutorService notifier = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "member-notifier");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * Constructs a MemberNotificationServiceImpl.
+     *
+     * @param libraryDB The data access object, used to look up book titles for the notices.
+     */
+    public MemberNotificationServiceImpl(LibraryDB libraryDB) {
+        this.libraryDB = libraryDB;
+        this.maxPerMember = Math.max(1, Integer.getInteger("library.notifications.maxPerMember", 20));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> takeNotifications(int memberId) {
+        // Queues are only modified inside compute(), so once removed this one is ours alone.
+        Deque<String> queue = pending.remove(memberId);
+        return queue == null ? new ArrayList<>() : new ArrayList<>(queue);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addNotificationListener(NotificationListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Turns reservation status changes into notices for the member holding the reservation.
+     * The notice is written on the notifier thread.
+     * @param event The change published by the database.
+     */
+    @Override
+    public void onEvent(LibraryEvent event) {
+        if (event.getType() == LibraryEventType.RESERVATION_CHANGED) {
+            submit(() -> notify(event));
+        }
+    }
+
+    /**
+     * Re-reads the 'AVAILABLE' reservations on the notifier thread, and tells members about held copies
+     * whose events were lost while the listener was disconnected.
+     */
+    @Override
+    public void onEventsMissed() {
+        submit(this::announceHeldCopies);
+    }
+
+    /**
+     * Stops the notifier thread; notices already queued are still written.
+     */
+    @Override
+    public void close() {
+        notifier.shutdown();
+    }
+
+    // --- Private Helper Methods ---
+
+    private void submit(Runnable task) {
+        try {
+            notifier.execute(task);
+        } catch (RejectedExecutionException e) {
+            // Closed: the application is shutting down
+        }
+    }
+
+    private void notify(LibraryEvent event) {
+        if ("AVAILABLE".equals(event.getReservationStatus())) {
+            if (announced.add(event.getReservationId())) {
+                deliver(event.getMemberId(), heldNotice(event.getBookId(), event.getReservationId()));
+            }
+        } else {
+            announced.remove(event.getReservationId());
+            if ("EXPIRED".equals(event.getReservationStatus())) {
+                deliver(event.getMemberId(), "Your reservation for " + describeBook(event.getBookId()) + " (Reservation ID " +
+                        event.getReservationId() + ") has expired because the held copy was not collected.");
+            }
+        }
+    }
+
+    private void announceHeldCopies() {
+        List<Reservation> active;
+        try (Connection conn = DatabaseConnector.getConnection()) {
+            active = libraryDB.findAllActiveReservations(conn);
+        } catch (SQLException e) {
+            System.err.println("Could not re-check held reservations for member notices: " + e.getMessage());
+            return;
+        }
+        Set<Integer> available = new HashSet<>();
+        for (Reservation reservation : active) {
+            if ("AVAILABLE".equals(reservation.getStatus())) {
+                available.add(reservation.getReservationId());
+                if (announced.add(reservation.getReservationId())) {
+                    deliver(reservation.getMemberId(), heldNotice(reservation.getBookId(), reservation.getReservationId()));
+                }
+            }
+        }
+        // Forget reservations that were collected or expired while no events arrived
+        announced.retainAll(available);
+    }
+
+    private String heldNotice(int bookId, int reservationId) {
+        return "A copy of " + describeBook(bookId) + " is being held for you (Reservation ID " +
+                reservationId + "). Please borrow it soon.";
+    }
+
+    private void deliver(int memberId, String message) {
+        pending.compute(memberId, (id, queue) -> {
+            Deque<String> notices = queue != null ? queue : new ArrayDeque<>();
+            if (notices.size() == maxPerMember) {
+                notices.removeFirst();
+            }
+            notices.addLast(message);
+            return notices;
+        });
+        for (NotificationListener listener : listeners) {
+            listener.onNotification(memberId, message);
+        }
+    }
+
+    private String describeBook(int bookId) {
+        try (Connection conn = DatabaseConnector.getConnection()) {
+            Optional<Book> book = libraryDB.findBookById(conn, bookId);
+            if (book.isPresent()) {
+                return "'" + book.get().getTitle() + "' (Book ID " + bookId + ")";
+            }
+        } catch (SQLException e) {
+            System.err.println("Could not look up Book ID " + bookId + " for a member notice: " + e.getMessage());
+        }
+        return "Book ID " + bookId;
+    }
+}
@@ -3,19 +3,94 @@ package Zoho.LibraryManagementSystem.Service.Implementaion;
 import Zoho.LibraryManagementSystem.Service.PasswordService;
 import org.mindrot.jbcrypt.BCrypt;
 
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
 /**
  * Implements the {@link PasswordService} interface using the BCrypt algorithm
  * for securely hashing and verifying passwords.
+ * <p>
+ * BCrypt is deliberately CPU-expensive, so all hashing runs on a small dedicated thread pool
+ * with a bounded queue rather than on the caller's thread. During a login peak at most
+ * {@code threads} hashes run at once, a limited number wait, and further requests are refused
+ * straight away with an {@link IllegalStateException} instead of piling up behind each other.
+ * <p>
+ * The work factor (log2 of the number of rounds) is taken from {@code -Dlibrary.bcrypt.cost};
+ * if that is not set, it is calibrated once to the highest cost whose hash takes no longer
+ * than {@code -Dlibrary.bcrypt.targetMillis} on this machine (never below {@link #MIN_COST}) and
+ * pinned in {@code library.bcrypt.costFile} (default {@code bcrypt-cost.properties} in the working
+ * directory), which later starts read instead of measuring again. Delete the file to recalibrate.
+ * Hashes made with a lower cost are reported by {@link #needsRehash(String)}; hashes with a higher
+ * one are kept, so a change of cost never weakens stored passwords.
  */
 public class PasswordServiceImpl implements PasswordService {
+    /** The lowest work factor the service will use, whatever the calibration says. */
+    public static final int MIN_COST = 10;
+    private static final int MAX_COST = 16;
+    // The only BCrypt variant jBCrypt can verify; the two digits after it are the cost.
+    private static final String BCRYPT_PREFIX = "$2a$";
+
+    private static final int CONFIGURED_COST = Integer.getInteger("library.bcrypt.cost", 0);
+    private static final String COST_FILE = System.getProperty("library.bcrypt.costFile", "bcrypt-cost.properties");
+    private static final String COST_KEY = "cost";
+    private static final long TARGET_MILLIS = Long.getLong("library.bcrypt.targetMillis", 250L);
+    private static final int THREADS = Integer.getInteger("library.bcrypt.threads", Runtime.getRuntime().availableProcessors());
+    private static final int QUEUE_DEPTH = Integer.getInteger("library.bcrypt.queueDepth", 64);
+
+    private final int cost;
+    private final ThreadPoolExecutor executor;
+    private final AtomicLong rejected = new AtomicLong();
+
+    /**
+     * Constructs a PasswordServiceImpl configured from the {@code library.bcrypt.*} system properties.
+     */
+    public PasswordServiceImpl() {
+        this(CONFIGURED_COST > 0 ? CONFIGURED_COST : pinnedCost(Paths.get(COST_FILE), TARGET_MILLIS), THREADS, QUEUE_DEPTH);
+    }
+
     /**
-     * Hashes a plain-text password using BCrypt.
+     * Constructs a PasswordServiceImpl with explicit settings.
+     *
+     * @param cost The BCrypt work factor (4 to 31) used for new hashes.
+     * @param threads The number of threads that may hash concurrently.
+     * @param queueDepth The number of hashing requests that may wait for a free thread.
+     */
+    public PasswordServiceImpl(int cost, int threads, int queueDepth) {
+        if (cost < 4 || cost > 31) {
+            throw new IllegalArgumentException("BCrypt cost must be between 4 and 31: " + cost);
+        }
+        this.cost = cost;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueDepth), r -> {
+                    Thread t = new Thread(r, "password-hasher-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+    }
+
+    /**
+     * Hashes a plain-text password using BCrypt at the configured cost.
      * @param plainTextPassword The password to hash.
      * @return A salted and hashed password string.
      */
     @Override
     public String hashPassword(String plainTextPassword) {
-        return BCrypt.hashpw(plainTextPassword, BCrypt.gensalt());
+        return runHashing(() -> BCrypt.hashpw(plainTextPassword, BCrypt.gensalt(cost)));
     }
 
     /**
@@ -26,10 +101,128 @@ public class PasswordServiceImpl implements PasswordService {
      */
     @Override
     public boolean checkPassword(String plainTextPassword, String hashedPassword) {
-        if (hashedPassword == null || !hashedPassword.startsWith("$2a$")) {
+        if (hashedPassword == null || !hashedPassword.startsWith(BCRYPT_PREFIX)) {
             // Protect against null hashes or non-BCrypt hashes
             return false;
         }
-        return BCrypt.checkpw(plainTextPassword, hashedPassword);
+        return runHashing(() -> BCrypt.checkpw(plainTextPassword, hashedPassword));
+    }
+
+    /**
+     * {@inheritDoc}
+     * A BCrypt hash needs rehashing when its embedded cost is below the configured cost.
+     */
+    @Override
+    public boolean needsRehash(String hashedPassword) {
+        if (hashedPassword == null || !hashedPassword.startsWith(BCRYPT_PREFIX) || hashedPassword.length() < 7) {
+            return false;
+        }
+        try {
+            return Integer.parseInt(hashedPassword.substring(4, 6)) < cost;
+        } catch (NumberFormatException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns the work factor used for new hashes.
+     *
+     * @return The BCrypt cost.
+     */
+    public int getCost() {
+        return cost;
+    }
+
+    /**
+     * Finds the highest BCrypt cost whose hash takes no longer than the target on this machine.
+     * Times a cheap hash and extrapolates, since each extra unit of cost doubles the work.
+     *
+     * @param targetMillis The acceptable time for one hash or verification.
+     * @return A cost between {@link #MIN_COST} and 16.
+     */
+    public static int calibrateCost(long targetMillis) {
+        final int sampleCost = 8;
+        String salt = BCrypt.gensalt(sampleCost);
+        BCrypt.hashpw("calibration", salt); // warm up the JIT before timing
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < 3; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw("calibration", salt);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        double sampleMillis = Math.max(best / 1_000_000.0, 0.01);
+        int chosen = MIN_COST;
+        for (int c = MIN_COST + 1; c <= MAX_COST; c++) {
+            if (sampleMillis * (1L << (c - sampleCost)) > targetMillis) {
+                break;
+            }
+            chosen = c;
+        }
+        return chosen;
+    }
+
+    /**
+     * Returns the cost pinned in a file, calibrating and writing it there if the file does not exist yet.
+     * If the file cannot be written the calibrated cost is still used, and calibration runs again next time.
+     *
+     * @param costFile The file holding the pinned cost.
+     * @param targetMillis The acceptable time for one hash, used if calibration is needed.
+     * @return A cost between {@link #MIN_COST} and 16.
+     */
+    public static int pinnedCost(Path costFile, long targetMillis) {
+        if (Files.isRegularFile(costFile)) {
+            Properties props = new Properties();
+            try (Reader reader = Files.newBufferedReader(costFile)) {
+                props.load(reader);
+                int pinned = Integer.parseInt(props.getProperty(COST_KEY, "").trim());
+                if (pinned >= MIN_COST && pinned <= MAX_COST) {
+                    return pinned;
+                }
+                System.err.println("Ignoring out-of-range BCrypt cost " + pinned + " in " + costFile + "; recalibrating.");
+            } catch (IOException | NumberFormatException e) {
+                System.err.println("Could not read the BCrypt cost from " + costFile + "; recalibrating: " + e.getMessage());
+            }
+        }
+        int calibrated = calibrateCost(targetMillis);
+        Properties props = new Properties();
+        props.setProperty(COST_KEY, Integer.toString(calibrated));
+        try (Writer writer = Files.newBufferedWriter(costFile)) {
+            props.store(writer, "BCrypt work factor calibrated for " + targetMillis + " ms; delete this file to recalibrate");
+        } catch (IOException e) {
+            System.err.println("Could not pin the BCrypt cost in " + costFile + ": " + e.getMessage());
+        }
+        return calibrated;
+    }
+
+    @Override
+    public String toString() {
+        return "Password hashing: cost " + cost + " | " + executor.getActiveCount() + " running / " +
+                executor.getQueue().size() + " queued (max " + executor.getMaximumPoolSize() + " threads, " +
+                (executor.getQueue().size() + executor.getQueue().remainingCapacity()) + " queue slots) | Completed: " +
+                executor.getCompletedTaskCount() + " | Rejected: " + rejected.get();
+    }
+
+    // Runs one hashing task on the hashing pool and waits for its result.
+    private <T> T runHashing(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            throw new IllegalStateException("The system is busy verifying other passwords. Please try again in a moment.");
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing.", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("Password hashing failed: " + cause.getMessage(), cause);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,203 @@
+package Zoho.LibraryManagementSystem.Service.Implementaion;
+
+import Zoho.LibraryManagementSystem.Model.ExpiryReport;
+import Zoho.LibraryManagementSystem.Model.Reservation;
+import Zoho.LibraryManagementSystem.Repository.DatabaseConnector;
+import Zoho.LibraryManagementSystem.Repository.LibraryDB;
+import Zoho.LibraryManagementSystem.Service.ReservationExpiryService;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Implements the {@link ReservationExpiryService} interface and runs it periodically in the background.
+ * <p>
+ * Each pass expires reservations in batches of {@code library.reservations.expiryBatchSize} (default 100),
+ * one transaction per batch: the batch is claimed with {@code FOR UPDATE SKIP LOCKED}, each held copy is
+ * passed to the next member in that book's queue or returned to the shelf, and the batch commits.
+ * A member has {@code library.reservations.pickupWindowMinutes} (default 4320, i.e. three days) to collect
+ * a held copy; passes run every {@code library.reservations.expiryIntervalMs} (default 600000, 0 disables).
+ */
+public class ReservationExpiryServiceImpl implements ReservationExpiryService, AutoCloseable {
+    private final LibraryDB libraryDB;
+    private final long pickupWindowMinutes;
+    private final long intervalMillis;
+    private final int batchSize;
+    private ScheduledExecutorService scheduler;
+    // Serializes passes; separate from the instance lock so close() need not wait for a pass.
+    private final Object passLock = new Object();
+
+    private final AtomicLong runs = new AtomicLong();
+    private final AtomicLong failedRuns = new AtomicLong();
+    private final AtomicLong reservationsExpired = new AtomicLong();
+    private final AtomicLong reservationsPromoted = new AtomicLong();
+    private final AtomicLong copiesReleased = new AtomicLong();
+    private volatile long lastRunMillis = -1;
+
+    /**
+     * Constructs a ReservationExpiryServiceImpl configured from system properties.
+     *
+     * @param libraryDB The data access object for database operations.
+     */
+    public ReservationExpiryServiceImpl(LibraryDB libraryDB) {
+        this(libraryDB, Long.getLong("library.reservations.pickupWindowMinutes", 4320L),
+                Long.getLong("library.reservations.expiryIntervalMs", 600_000L),
+                Integer.getInteger("library.reservations.expiryBatchSize", 100));
+    }
+
+    /**
+     * Constructs a ReservationExpiryServiceImpl.
+     *
+     * @param libraryDB The data access object for database operations.
+     * @param pickupWindowMinutes How long a held copy waits for its member before the reservation expires.
+     * @param intervalMillis The pause between background passes; 0 disables them.
+     * @param batchSize The number of reservations expired per transaction.
+     */
+    public ReservationExpiryServiceImpl(LibraryDB libraryDB, long pickupWindowMinutes, long intervalMillis, int batchSize) {
+        if (pickupWindowMinutes < 0 || intervalMillis < 0 || batchSize < 1) {
+            throw new IllegalArgumentException("Invalid reservation expiry settings: window=" + pickupWindowMinutes +
+                    " min, interval=" + intervalMillis + " ms, batch=" + batchSize);
+        }
+        this.libraryDB = libraryDB;
+        this.pickupWindowMinutes = pickupWindowMinutes;
+        this.intervalMillis = intervalMillis;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Starts the background passes, the first one immediately. Does nothing if disabled or already started.
+     */
+    public synchronized void start() {
+        if (intervalMillis == 0 || scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "reservation-expiry");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(this::runScheduled, 0, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops the background passes, letting a pass in progress finish its current batch.
+     */
+    @Override
+    public synchronized void close() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     * Passes are serialized within this instance; concurrent instances skip each other's locked rows.
+     */
+    @Override
+    public ExpiryReport expireUncollectedReservations() throws SQLException {
+        synchronized (passLock) {
+            long start = System.nanoTime();
+            ExpiryReport report = new ExpiryReport();
+            runs.incrementAndGet();
+            try {
+                int expired;
+                do {
+                    expired = expireBatch(report);
+                } while (expired == batchSize && !Thread.currentThread().isInterrupted());
+            } catch (SQLException e) {
+                failedRuns.incrementAndGet();
+                throw e;
+            } finally {
+                report.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                lastRunMillis = report.getElapsedMillis();
+            }
+            return report;
+        }
+    }
+
+    // Getters
+    public long getRuns() { return runs.get(); }
+    public long getFailedRuns() { return failedRuns.get(); }
+    public long getReservationsExpired() { return reservationsExpired.get(); }
+    public long getReservationsPromoted() { return reservationsPromoted.get(); }
+    public long getCopiesReleased() { return copiesReleased.get(); }
+
+    @Override
+    public String toString() {
+        return "Reservation expiry: pickup window " + pickupWindowMinutes + " min, " +
+                (intervalMillis == 0 ? "manual only" : "every " + intervalMillis + " ms") + " | Runs: " + getRuns() +
+                " (" + getFailedRuns() + " failed, last " + (lastRunMillis < 0 ? "n/a" : lastRunMillis + " ms") +
+                ") | Expired: " + getReservationsExpired() + " | Promoted: " + getReservationsPromoted() +
+                " | Copies released: " + getCopiesReleased();
+    }
+
+    // --- Private Helper Methods ---
+
+    private void runScheduled() {
+        try {
+            expireUncollectedReservations();
+        } catch (SQLException | RuntimeException e) {
+            // Swallowed so that one failed pass does not cancel the schedule.
+            System.err.println("Reservation expiry pass failed: " + e.getMessage());
+        }
+    }
+
+    // Expires one batch in its own transaction and returns the number of reservations expired.
+    private int expireBatch(ExpiryReport report) throws SQLException {
+        Connection conn = null;
+        Set<Integer> bookIds = new LinkedHashSet<>();
+        int promoted = 0;
+        int released = 0;
+        List<Reservation> expired;
+        try {
+            conn = DatabaseConnector.getConnection();
+            conn.setAutoCommit(false);
+
+            expired = libraryDB.expireUncollectedReservations(conn, pickupWindowMinutes, batchSize);
+            for (Reservation reservation : expired) {
+                int bookId = reservation.getBookId();
+                bookIds.add(bookId);
+                // Hand the held copy to the next member in the queue, or put it back on the shelf
+                Optional<Reservation> next = libraryDB.promoteNextWaitingReservation(conn, bookId);
+                if (next.isPresent()) {
+                    promoted++;
+                } else {
+                    libraryDB.returnCopy(conn, bookId);
+                    released++;
+                }
+            }
+
+            conn.commit();
+        } catch (SQLException e) {
+            if (conn != null) {
+                try { conn.rollback(); } catch (SQLException ex) { System.err.println("Error during rollback: " + ex.getMessage()); }
+            }
+            throw e;
+        } finally {
+            if (conn != null) {
+                try { conn.setAutoCommit(true); conn.close(); } catch (SQLException ex) { System.err.println("Error closing connection: " + ex.getMessage()); }
+            }
+        }
+
+        for (int bookId : bookIds) {
+            libraryDB.evictBook(bookId);
+        }
+        report.addBatch();
+        report.addReservationsExpired(expired.size());
+        report.addReservationsPromoted(promoted);
+        report.addCopiesReleased(released);
+        reservationsExpired.addAndGet(expired.size());
+        reservationsPromoted.addAndGet(promoted);
+        copiesReleased.addAndGet(released);
+        return expired.size();
+    }
+}
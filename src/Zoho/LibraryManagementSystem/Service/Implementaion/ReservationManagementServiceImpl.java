@@ -1,5 +1,6 @@
 package Zoho.LibraryManagementSystem.Service;
 
+import Zoho.LibraryManagementSystem.Metrics.ReservationEvent;
 import Zoho.LibraryManagementSystem.Model.Book;
 import Zoho.LibraryManagementSystem.Model.Member;
 import Zoho.LibraryManagementSystem.Model.Reservation;
@@ -36,6 +37,8 @@ public class ReservationManagementServiceImpl implements ReservationManagementSe
      */
     @Override
     public void placeReservation(Member member, int bookId) throws SQLException, IllegalStateException {
+        ReservationEvent event = new ReservationEvent(member.getMemberId(), bookId);
+        event.begin();
         Connection conn = null;
         try {
             conn = DatabaseConnector.getConnection();
@@ -57,8 +60,10 @@ public class ReservationManagementServiceImpl implements ReservationManagementSe
 
             conn.commit();
             System.out.println("Reservation placed successfully for Book ID: " + bookId); // Moved success message here
+            event.succeeded();
 
         } catch (SQLException | IllegalStateException e) {
+            event.failed(e);
             if (conn != null) {
                 try {
                     System.err.println("Transaction is being rolled back due to: " + e.getMessage());
@@ -77,6 +82,7 @@ public class ReservationManagementServiceImpl implements ReservationManagementSe
                     System.err.println("Error closing connection: " + ex.getMessage());
                 }
             }
+            event.commit();
         }
     }
     /**
@@ -101,6 +107,15 @@ public class ReservationManagementServiceImpl implements ReservationManagementSe
      * {@inheritDoc}
      */
     @Override
+    public Optional<Reservation> findReservationById(int reservationId) throws SQLException {
+        try (Connection conn = DatabaseConnector.getConnection()) {
+            return libraryDB.findReservationById(conn, reservationId);
+        }
+    }
+    /**
+     * {@inheritDoc}
+     */
+    @Override
     public Optional<Reservation> getNextWaitingReservationForBook(int bookId) throws SQLException {
         try (Connection conn = DatabaseConnector.getConnection()) {
             return libraryDB.findNextWaitingReservationForBook(conn, bookId);
@@ -108,11 +123,68 @@ public class ReservationManagementServiceImpl implements ReservationManagementSe
     }
     /**
      * {@inheritDoc}
+     * Marking a reservation 'AVAILABLE' takes a copy off the shelf and holds it for the member,
+     * in the same transaction as a conditional promotion of the still-'WAITING' reservation.
+     * Moving an 'AVAILABLE' reservation to any other status releases its held copy in the same
+     * transaction, to the next member in the queue or back to the shelf; it cannot be marked
+     * 'FULFILLED' here, since that copy must be lent through {@code borrowBook}.
      */
     @Override
-    public void updateReservationStatus(int reservationId, String newStatus) throws SQLException {
-        try (Connection conn = DatabaseConnector.getConnection()) {
-            libraryDB.updateReservationStatus(conn, reservationId, newStatus);
+    public void updateReservationStatus(int reservationId, String newStatus) throws SQLException, IllegalStateException {
+        Connection conn = null;
+        int changedBookId = -1;
+        try {
+            conn = DatabaseConnector.getConnection();
+            conn.setAutoCommit(false);
+
+            if ("AVAILABLE".equals(newStatus)) {
+                Reservation promoted = libraryDB.promoteReservation(conn, reservationId)
+                        .orElseThrow(() -> new IllegalStateException("Reservation ID " + reservationId + " is not waiting."));
+                if (!libraryDB.holdAvailableCopy(conn, promoted.getBookId()).isPresent()) {
+                    throw new IllegalStateException("No copy of Book ID " + promoted.getBookId() + " is on the shelf to hold for this reservation.");
+                }
+                changedBookId = promoted.getBookId();
+            } else {
+                Reservation reservation = libraryDB.findReservationByIdForUpdate(conn, reservationId)
+                        .orElseThrow(() -> new IllegalStateException("Reservation ID " + reservationId + " not found."));
+                boolean holdsCopy = "AVAILABLE".equals(reservation.getStatus());
+                if (holdsCopy && "FULFILLED".equals(newStatus)) {
+                    throw new IllegalStateException("A copy is held for Reservation ID " + reservationId +
+                            "; lend Book ID " + reservation.getBookId() + " to Member ID " + reservation.getMemberId() + " to fulfill it.");
+                }
+                libraryDB.updateReservationStatus(conn, reservationId, newStatus);
+                if (holdsCopy) {
+                    // Hand the held copy to the next member in the queue, or put it back on the shelf
+                    if (!libraryDB.promoteNextWaitingReservation(conn, reservation.getBookId()).isPresent()) {
+                        libraryDB.returnCopy(conn, reservation.getBookId());
+                    }
+                    changedBookId = reservation.getBookId();
+                }
+            }
+
+            conn.commit();
+            if (changedBookId >= 0) {
+                libraryDB.evictBook(changedBookId);
+            }
+
+        } catch (SQLException | IllegalStateException e) {
+            if (conn != null) {
+                try {
+                    conn.rollback();
+                } catch (SQLException ex) {
+                    System.err.println("Error during rollback: " + ex.getMessage());
+                }
+            }
+            throw e;
+        } finally {
+            if (conn != null) {
+                try {
+                    conn.setAutoCommit(true);
+                    conn.close();
+                } catch (SQLException ex) {
+                    System.err.println("Error closing connection: " + ex.getMessage());
+                }
+            }
         }
     }
 }
\ No newline at end of file
@@ -1,8 +1,12 @@
 package Zoho.LibraryManagementSystem.Service.Implementaion;
 
+import Zoho.LibraryManagementSystem.Metrics.BorrowEvent;
+import Zoho.LibraryManagementSystem.Metrics.FineGenerationEvent;
+import Zoho.LibraryManagementSystem.Metrics.ReturnEvent;
 import Zoho.LibraryManagementSystem.Model.*;
 import Zoho.LibraryManagementSystem.Repository.DatabaseConnector;
 import Zoho.LibraryManagementSystem.Repository.LibraryDB;
+import Zoho.LibraryManagementSystem.Service.CatalogListener;
 import Zoho.LibraryManagementSystem.Service.ReservationManagementService;
 import Zoho.LibraryManagementSystem.Service.TransactionManagementService;
 
@@ -13,6 +17,7 @@ import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Implements the {@link TransactionManagementService} interface.
@@ -25,6 +30,7 @@ public class TransactionManagementServiceImpl implements TransactionManagementSe
     private static final int LOAN_PERIOD_DAYS = 14;
     private final ReservationManagementService reservationService;
     private static final BigDecimal FINE_PER_DAY = new BigDecimal("5.00");
+    private final List<CatalogListener> listeners = new CopyOnWriteArrayList<>();
 
     /**
      * Constructs a TransactionManagementServiceImpl with necessary dependencies.
@@ -39,35 +45,44 @@ public class TransactionManagementServiceImpl implements TransactionManagementSe
 
     /**
      * {@inheritDoc}
-     * This implementation updates book stock, creates a loan record, and attempts to
-     * automatically fulfill any 'AVAILABLE' reservation for the member and book,
-     * all within a single database transaction.
+     * This implementation updates book stock, creates a loan record, and fulfills any
+     * 'AVAILABLE' reservation the member holds for the book, all within a single database
+     * transaction. A member with an 'AVAILABLE' reservation borrows the copy held for them;
+     * anyone else takes a copy off the shelf. The availability check and the stock
+     * decrement are a single conditional UPDATE, so two desks lending the last copy
+     * of a title at the same time cannot both succeed.
      */
     @Override
     public void borrowBook(Member currentMember, int bookId) throws SQLException, IllegalStateException {
+        BorrowEvent event = new BorrowEvent(currentMember.getMemberId(), bookId);
+        event.begin();
         Connection conn = null;
         try {
             conn = DatabaseConnector.getConnection();
             conn.setAutoCommit(false);
 
-            Book book = libraryDB.findBookById(conn, bookId)
-                    .orElseThrow(() -> new IllegalStateException("Book with ID " + bookId + " not found."));
-
-            if (book.getCopiesAvailable() < 1) {
-
-                Optional<Reservation> availableReservation = libraryDB.findSpecificReservationByMemberAndBook(conn, currentMember.getMemberId(), bookId, "AVAILABLE");
-                if (!availableReservation.isPresent()) { // No available reservation, and book is out of stock
-                    throw new IllegalStateException("No copies of '" + book.getTitle() + "' are available, and you do not have an active 'AVAILABLE' reservation for it.");
-                }
-            }
-
             if (libraryDB.findActiveLoan(conn, currentMember.getMemberId(), bookId).isPresent()) {
                 throw new IllegalStateException("You already have an active loan for this book.");
             }
 
-            // 1. Update book stock
-            book.borrowCopy();
-            libraryDB.updateBook(conn, book);
+            // 1. Fulfill the member's 'AVAILABLE' reservation and borrow the copy held for it, or take
+            //    one off the shelf (check and decrement in one statement). Fulfilling is conditional, so
+            //    a reservation expired by a concurrent expiry run falls back to the shelf.
+            Optional<Reservation> reservationToFulfill = libraryDB.findSpecificReservationByMemberAndBook(conn, currentMember.getMemberId(), bookId, "AVAILABLE");
+            if (reservationToFulfill.isPresent() && !libraryDB.fulfillReservation(conn, reservationToFulfill.get().getReservationId())) {
+                reservationToFulfill = Optional.empty();
+            }
+            Optional<Book> borrowed = reservationToFulfill.isPresent()
+                    ? libraryDB.borrowHeldCopy(conn, bookId)
+                    : libraryDB.borrowAvailableCopy(conn, bookId);
+            Book book;
+            if (borrowed.isPresent()) {
+                book = borrowed.get();
+            } else {
+                book = libraryDB.findBookById(conn, bookId)
+                        .orElseThrow(() -> new IllegalStateException("Book with ID " + bookId + " not found."));
+                throw new IllegalStateException("No copies of '" + book.getTitle() + "' are available, and you do not have an active 'AVAILABLE' reservation for it.");
+            }
 
             // 2. Create the loan transaction record
             LocalDate borrowDate = LocalDate.now();
@@ -75,17 +90,20 @@ public class TransactionManagementServiceImpl implements TransactionManagementSe
             Transaction newLoan = new Transaction(currentMember.getMemberId(), bookId, borrowDate, dueDate);
             libraryDB.createLoanTransaction(conn, newLoan);
 
-            // 3. Check for and fulfill an 'AVAILABLE' reservation for this member and book
-            Optional<Reservation> reservationToFulfill = libraryDB.findSpecificReservationByMemberAndBook(conn, currentMember.getMemberId(), bookId, "AVAILABLE");
             if (reservationToFulfill.isPresent()) {
-                libraryDB.updateReservationStatus(conn, reservationToFulfill.get().getReservationId(), "FULFILLED");
                 System.out.println("Reservation ID " + reservationToFulfill.get().getReservationId() + " for this book has been automatically marked as FULFILLED.");
             }
 
             conn.commit();
+            libraryDB.evictBook(bookId);
+            for (CatalogListener listener : listeners) {
+                listener.onBookBorrowed(bookId, book.getTimesBorrowed());
+            }
             System.out.println("Book '" + book.getTitle() + "' borrowed successfully. Due on: " + dueDate);
+            event.succeeded();
 
         } catch (SQLException | IllegalStateException e) {
+            event.failed(e);
             if (conn != null) {
                 try { conn.rollback(); } catch (SQLException ex) { System.err.println("Error during rollback: " + ex.getMessage()); }
             }
@@ -94,16 +112,22 @@ public class TransactionManagementServiceImpl implements TransactionManagementSe
             if (conn != null) {
                 try { conn.setAutoCommit(true); conn.close(); } catch (SQLException ex) { System.err.println("Error closing connection: " + ex.getMessage()); }
             }
+            event.commit();
         }
     }
 
     /**
      * {@inheritDoc}
-     * This implementation updates book stock and marks the specified loan transaction
-     * as 'RETURNED' within a single database transaction.
+     * This implementation marks the specified loan transaction as 'RETURNED' and, within the
+     * same database transaction, either promotes the next 'WAITING' reservation for the book to
+     * 'AVAILABLE' and holds the returned copy for that member, or, if nobody is waiting, puts the
+     * copy back on the shelf. All changes are conditional UPDATEs, so a loan cannot be returned
+     * twice, a reservation cannot be promoted twice, and stock can never exceed the total copies.
      */
     @Override
     public void returnBook(Member currentMember, int bookId, int transactionId) throws SQLException, IllegalStateException {
+        ReturnEvent event = new ReturnEvent(currentMember.getMemberId(), bookId, transactionId);
+        event.begin();
         Connection conn = null;
         try {
             conn = DatabaseConnector.getConnection();
@@ -124,25 +148,41 @@ public class TransactionManagementServiceImpl implements TransactionManagementSe
                 throw new IllegalStateException("This loan is not active. It may have already been returned or marked as overdue.");
             }
 
-            Book book = libraryDB.findBookById(conn, bookId).get();
-
-            // 3. Update book stock
-            book.returnCopy();
-            libraryDB.updateBook(conn, book);
+            // 3. Mark the loan as returned, unless a concurrent return got there first
+            if (!libraryDB.updateTransactionOnReturn(conn, activeLoan.getTransactionId())) {
+                throw new IllegalStateException("This loan is not active. It may have already been returned or marked as overdue.");
+            }
 
-            // 4. Update the loan transaction to mark it as returned
-            libraryDB.updateTransactionOnReturn(conn, activeLoan.getTransactionId());
+            // 4. Hold the copy for the next member in the queue, or put it back on the shelf
+            //    (capped at the total copies in one statement)
+            Optional<Reservation> promoted = libraryDB.promoteNextWaitingReservation(conn, bookId);
+            Optional<Book> returned = promoted.isPresent() ? Optional.empty() : libraryDB.returnCopy(conn, bookId);
+            Book book = returned.isPresent()
+                    ? returned.get()
+                    : libraryDB.findBookById(conn, bookId)
+                            .orElseThrow(() -> new IllegalStateException("Book with ID " + bookId + " not found."));
 
             conn.commit();
+            libraryDB.evictBook(bookId);
             System.out.println("Book '" + book.getTitle() + "' returned successfully.");
+            if (promoted.isPresent()) {
+                System.out.println("The copy is being held for member ID " + promoted.get().getMemberId()
+                        + " (Reservation ID " + promoted.get().getReservationId() + " is now AVAILABLE).");
+            }
+            event.succeeded();
 
         } catch (SQLException | IllegalStateException e) {
+            event.failed(e);
             if (conn != null) conn.rollback();
             throw e;
         } finally {
-            if (conn != null) {
-                conn.setAutoCommit(true);
-                conn.close();
+            try {
+                if (conn != null) {
+                    conn.setAutoCommit(true);
+                    conn.close();
+                }
+            } finally {
+                event.commit();
             }
         }
     }
@@ -157,6 +197,18 @@ public class TransactionManagementServiceImpl implements TransactionManagementSe
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Page<Transaction> getTransactionsPage(Transaction after, int pageSize) throws SQLException {
+        try (Connection conn = DatabaseConnector.getConnection()) {
+            return after == null
+                    ? libraryDB.getTransactionsPage(conn, null, 0, pageSize)
+                    : libraryDB.getTransactionsPage(conn, after.getBorrowDate(), after.getTransactionId(), pageSize);
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -182,42 +234,33 @@ public class TransactionManagementServiceImpl implements TransactionManagementSe
 
     /**
      * {@inheritDoc}
-     * This implementation identifies overdue loans that haven't been fined yet,
-     * calculates the fine amount based on days overdue and a predefined rate,
-     * and creates new fine records in the database. It may also update the
-     * loan transaction status to 'OVERDUE'. This is performed in a transaction.
+     * This implementation issues all fines with a single set-based statement: the database
+     * selects the overdue, not-yet-fined loans, computes each amount as the daily rate times
+     * the days overdue, and inserts the fines in one round trip. Because it is one statement
+     * it is atomic on its own and never holds a long-running transaction.
      */
     @Override
     public int generateFinesForOverdueBooks() throws SQLException {
-        Connection conn = null;
-        int finesCreated = 0;
-        try {
-            conn = DatabaseConnector.getConnection();
-            conn.setAutoCommit(false);
-
-            List<Transaction> overdueLoans = libraryDB.findOverdueLoans(conn);
-
-            for (Transaction loan : overdueLoans) {
-                long daysOverdue = ChronoUnit.DAYS.between(loan.getDueDate(), LocalDate.now());
-                if (daysOverdue > 0) {
-                    BigDecimal fineAmount = FINE_PER_DAY.multiply(new BigDecimal(daysOverdue));
-                    Fine newFine = new Fine(loan.getMemberId(), loan.getTransactionId(), fineAmount);
-                    libraryDB.createFine(conn, newFine);
-                    finesCreated++;
-                }
-            }
-
-            conn.commit();
-            return finesCreated;
-
+        FineGenerationEvent event = new FineGenerationEvent();
+        event.begin();
+        try (Connection conn = DatabaseConnector.getConnection()) {
+            int issued = libraryDB.createFinesForOverdueLoans(conn, FINE_PER_DAY);
+            event.setFinesIssued(issued);
+            event.succeeded();
+            return issued;
         } catch (SQLException e) {
-            if (conn != null) conn.rollback();
+            event.failed(e);
             throw e;
         } finally {
-            if (conn != null) {
-                conn.setAutoCommit(true);
-                conn.close();
-            }
+            event.commit();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void addCatalogListener(CatalogListener listener) {
+        listeners.add(listener);
+    }
+}
@@ -1,12 +1,17 @@
 package Zoho.LibraryManagementSystem.Service;
 
 import Zoho.LibraryManagementSystem.Model.Member;
+import Zoho.LibraryManagementSystem.Model.Page;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Defines the contract for services that manage library members.
+ * <p>
+ * Every method also has an {@code *Async} variant that runs it on the {@link ServiceExecutor}. Its future
+ * completes with the method's result, or exceptionally with the exception the method would have thrown.
  */
 public interface MemberManagementService {
     /**
@@ -26,6 +31,15 @@ public interface MemberManagementService {
      */
     List<Member> getAllMembers() throws SQLException;
 
+    /**
+     * Retrieves one page of members, ordered by name.
+     * @param after The last member of the previous page, or null to fetch the first page.
+     * @param pageSize The maximum number of members on the page.
+     * @return A Page of Member objects.
+     * @throws SQLException if a database access error occurs.
+     */
+    Page<Member> getMembersPage(Member after, int pageSize) throws SQLException;
+
     /**
      * Finds a single member by their unique ID.
      * @param memberId The ID of the member to find.
@@ -41,4 +55,31 @@ public interface MemberManagementService {
      * @throws IllegalStateException if the member has outstanding loans.
      */
     void removeMember(int memberId) throws SQLException, IllegalStateException;
-}
\ No newline at end of file
+
+    // --- Asynchronous variants (see the interface documentation) ---
+
+    /** Asynchronous variant of {@link #addMember}. */
+    default CompletableFuture<Member> addMemberAsync(Member newMember, String plainTextPassword) {
+        return ServiceExecutor.supply(() -> addMember(newMember, plainTextPassword));
+    }
+
+    /** Asynchronous variant of {@link #getAllMembers}. */
+    default CompletableFuture<List<Member>> getAllMembersAsync() {
+        return ServiceExecutor.supply(() -> getAllMembers());
+    }
+
+    /** Asynchronous variant of {@link #getMembersPage}. */
+    default CompletableFuture<Page<Member>> getMembersPageAsync(Member after, int pageSize) {
+        return ServiceExecutor.supply(() -> getMembersPage(after, pageSize));
+    }
+
+    /** Asynchronous variant of {@link #findMemberById}. */
+    default CompletableFuture<Optional<Member>> findMemberByIdAsync(int memberId) {
+        return ServiceExecutor.supply(() -> findMemberById(memberId));
+    }
+
+    /** Asynchronous variant of {@link #removeMember}. */
+    default CompletableFuture<Void> removeMemberAsync(int memberId) {
+        return ServiceExecutor.run(() -> removeMember(memberId));
+    }
+}
@@ -0,0 +1,34 @@
+package Zoho.LibraryManagementSystem.Service;
+
+import java.util.List;
+
+/**
+ * Defines the contract for delivering notices to members, such as a reserved copy being held for pickup.
+ */
+public interface MemberNotificationService {
+    /**
+     * Returns and clears the notices waiting for a member, oldest first.
+     * @param memberId The ID of the member.
+     * @return The pending notices; an empty list if there are none.
+     */
+    List<String> takeNotifications(int memberId);
+
+    /**
+     * Registers a listener to be called with each new notice as soon as it arrives, in addition to it being queued.
+     * @param listener The listener, called with the member ID and the notice text.
+     */
+    void addNotificationListener(NotificationListener listener);
+
+    /**
+     * Receives member notices as they arrive. Called on the event listener's thread.
+     */
+    @FunctionalInterface
+    interface NotificationListener {
+        /**
+         * Called for each new notice.
+         * @param memberId The ID of the member the notice is for.
+         * @param message The notice text.
+         */
+        void onNotification(int memberId, String message);
+    }
+}
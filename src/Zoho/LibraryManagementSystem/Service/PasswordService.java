@@ -8,6 +8,7 @@ public interface PasswordService {
      * Hashes a plain-text password using a secure, one-way algorithm.
      * @param plainTextPassword The password to hash.
      * @return A salted and hashed password string suitable for database storage.
+     * @throws IllegalStateException if the service is too busy to accept more hashing work.
      */
     String hashPassword(String plainTextPassword);
 
@@ -16,6 +17,15 @@ public interface PasswordService {
      * @param plainTextPassword The password provided by the user during login.
      * @param hashedPassword The stored hash from the database.
      * @return true if the password is correct, false otherwise.
+     * @throws IllegalStateException if the service is too busy to accept more hashing work.
      */
     boolean checkPassword(String plainTextPassword, String hashedPassword);
-}
\ No newline at end of file
+
+    /**
+     * Checks whether a stored hash is weaker than the service's current settings (e.g. an older, lower
+     * work factor), and should be replaced the next time the plain-text password is known.
+     * @param hashedPassword The stored hash from the database.
+     * @return true if the password should be rehashed, false otherwise.
+     */
+    boolean needsRehash(String hashedPassword);
+}
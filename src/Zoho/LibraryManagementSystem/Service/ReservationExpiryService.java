@@ -0,0 +1,18 @@
+package Zoho.LibraryManagementSystem.Service;
+
+import Zoho.LibraryManagementSystem.Model.ExpiryReport;
+import java.sql.SQLException;
+
+/**
+ * Defines the contract for releasing copies held for reservations that were never collected.
+ */
+public interface ReservationExpiryService {
+    /**
+     * Marks every 'AVAILABLE' reservation whose pickup window has passed as 'EXPIRED', and hands each
+     * held copy to the next 'WAITING' reservation for the book, or puts it back on the shelf if nobody is waiting.
+     * Work is committed in batches, so a failure part-way keeps the batches already done.
+     * @return A report of what was expired, promoted and released.
+     * @throws SQLException if a database access error occurs.
+     */
+    ExpiryReport expireUncollectedReservations() throws SQLException;
+}
@@ -5,9 +5,13 @@ import Zoho.LibraryManagementSystem.Model.Reservation;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Defines the contract for services that manage book reservations.
+ * <p>
+ * Every method also has an {@code *Async} variant that runs it on the {@link ServiceExecutor}. Its future
+ * completes with the method's result, or exceptionally with the exception the method would have thrown.
  */
 public interface ReservationManagementService {
     /**
@@ -34,6 +38,14 @@ public interface ReservationManagementService {
      */
     List<Reservation> getAllActiveReservations() throws SQLException;
 
+    /**
+     * Finds a reservation by its ID, whatever its status.
+     * @param reservationId The ID of the reservation.
+     * @return An Optional containing the Reservation if it exists.
+     * @throws SQLException if a database access error occurs.
+     */
+    Optional<Reservation> findReservationById(int reservationId) throws SQLException;
+
     /**
      * Finds the next waiting reservation for a specific book (oldest first).
      * @param bookId The ID of the book.
@@ -43,10 +55,46 @@ public interface ReservationManagementService {
     Optional<Reservation> getNextWaitingReservationForBook(int bookId) throws SQLException;
 
     /**
-     * Updates the status of an existing reservation.
+     * Updates the status of an existing reservation. Marking a 'WAITING' reservation 'AVAILABLE'
+     * also holds a copy of the book for the member; moving an 'AVAILABLE' one to another status
+     * passes that copy on to the next member in the queue, or returns it to the shelf.
      * @param reservationId The ID of the reservation to update.
      * @param newStatus The new status (e.g., "AVAILABLE", "FULFILLED", "EXPIRED").
      * @throws SQLException if a database access error occurs.
+     * @throws IllegalStateException if the reservation does not exist, is to be made 'AVAILABLE' but is not waiting
+     * or no copy is on the shelf, or is 'AVAILABLE' and to be made 'FULFILLED' (lend the held copy instead).
      */
-    void updateReservationStatus(int reservationId, String newStatus) throws SQLException;
-}
\ No newline at end of file
+    void updateReservationStatus(int reservationId, String newStatus) throws SQLException, IllegalStateException;
+
+    // --- Asynchronous variants (see the interface documentation) ---
+
+    /** Asynchronous variant of {@link #placeReservation}. */
+    default CompletableFuture<Void> placeReservationAsync(Member member, int bookId) {
+        return ServiceExecutor.run(() -> placeReservation(member, bookId));
+    }
+
+    /** Asynchronous variant of {@link #getMyActiveReservations}. */
+    default CompletableFuture<List<Reservation>> getMyActiveReservationsAsync(Member member) {
+        return ServiceExecutor.supply(() -> getMyActiveReservations(member));
+    }
+
+    /** Asynchronous variant of {@link #getAllActiveReservations}. */
+    default CompletableFuture<List<Reservation>> getAllActiveReservationsAsync() {
+        return ServiceExecutor.supply(() -> getAllActiveReservations());
+    }
+
+    /** Asynchronous variant of {@link #findReservationById}. */
+    default CompletableFuture<Optional<Reservation>> findReservationByIdAsync(int reservationId) {
+        return ServiceExecutor.supply(() -> findReservationById(reservationId));
+    }
+
+    /** Asynchronous variant of {@link #getNextWaitingReservationForBook}. */
+    default CompletableFuture<Optional<Reservation>> getNextWaitingReservationForBookAsync(int bookId) {
+        return ServiceExecutor.supply(() -> getNextWaitingReservationForBook(bookId));
+    }
+
+    /** Asynchronous variant of {@link #updateReservationStatus}. */
+    default CompletableFuture<Void> updateReservationStatusAsync(int reservationId, String newStatus) {
+        return ServiceExecutor.run(() -> updateReservationStatus(reservationId, newStatus));
+    }
+}
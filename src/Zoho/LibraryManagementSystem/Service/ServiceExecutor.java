@@ -0,0 +1,144 @@
+package Zoho.LibraryManagementSystem.Service;
+
+import Zoho.LibraryManagementSystem.Repository.DatabaseConnector;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the asynchronous ({@code *Async}) variants of the service methods.
+ * <p>
+ * Each call runs on its own virtual thread when the JVM supports them (Java 21 or later), and otherwise
+ * on a fixed pool of daemon threads. Either way, at most {@code library.async.maxConcurrency} calls
+ * (default: the connection pool's maximum size) run at once; the rest wait their turn, so a burst of
+ * async calls queues here rather than timing out in the connection pool. Set
+ * {@code -Dlibrary.async.virtualThreads=false} to use the thread pool even where virtual threads exist.
+ * <p>
+ * A future fails with the exception the blocking method would have thrown, e.g. an {@code SQLException}
+ * or {@code IllegalStateException}. Tasks must not block waiting on other async calls, since those may be
+ * waiting for a slot the caller holds.
+ */
+public final class ServiceExecutor {
+    private ServiceExecutor() {
+    }
+
+    // Created on first use, so that a purely synchronous application starts no threads.
+    private static class Holder {
+        static final int MAX_CONCURRENCY = Math.max(1, Integer.getInteger("library.async.maxConcurrency", DatabaseConnector.getMaxPoolSize()));
+        static final ExecutorService VIRTUAL = Boolean.parseBoolean(System.getProperty("library.async.virtualThreads", "true"))
+                ? newVirtualThreadPerTaskExecutor() : null;
+        static final ExecutorService EXECUTOR = VIRTUAL != null ? VIRTUAL : newDaemonThreadPool(MAX_CONCURRENCY, "service-async");
+        // Only needed for virtual threads; the platform pool is already bounded by its size.
+        static final Semaphore PERMITS = new Semaphore(MAX_CONCURRENCY, true);
+    }
+
+    /**
+     * Runs a service call asynchronously.
+     *
+     * @param call The blocking call.
+     * @param <T> The call's result type.
+     * @return A future completed with the call's result, or exceptionally with the exception it threw.
+     */
+    public static <T> CompletableFuture<T> supply(Callable<T> call) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Holder.EXECUTOR.execute(() -> {
+            boolean permitted = false;
+            try {
+                if (Holder.VIRTUAL != null) {
+                    Holder.PERMITS.acquire();
+                    permitted = true;
+                }
+                future.complete(call.call());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            } finally {
+                if (permitted) {
+                    Holder.PERMITS.release();
+                }
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Runs a service call without a result asynchronously.
+     *
+     * @param call The blocking call.
+     * @return A future completed when the call returns, or exceptionally with the exception it threw.
+     */
+    public static CompletableFuture<Void> run(VoidCall call) {
+        return supply(() -> {
+            call.call();
+            return null;
+        });
+    }
+
+    /**
+     * Returns the exception a failed async call threw, unwrapping the {@link CompletionException}
+     * that {@link CompletableFuture#join()} and dependent stages add around it.
+     *
+     * @param failure The failure reported by the future.
+     * @return The original exception.
+     */
+    public static Throwable unwrap(Throwable failure) {
+        return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+    }
+
+    /**
+     * Describes how async calls are executed, for monitoring.
+     *
+     * @return A one-line summary.
+     */
+    public static String describe() {
+        return "Async services: " + (Holder.VIRTUAL != null ? "virtual threads" : "platform threads") + ", at most " +
+                Holder.MAX_CONCURRENCY + " concurrent calls (" + (Holder.VIRTUAL != null ? Holder.PERMITS.getQueueLength() + " waiting" : "pooled") + ")";
+    }
+
+    /**
+     * Creates an executor that starts a new virtual thread for each task, if the JVM supports virtual
+     * threads. {@code Executors.newVirtualThreadPerTaskExecutor()} only exists on Java 21 and later,
+     * so it is looked up reflectively.
+     *
+     * @return The executor, or {@code null} on older JVMs.
+     */
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Creates a fixed-size pool of daemon platform threads, for use where virtual threads are unavailable.
+     *
+     * @param size The number of threads.
+     * @param namePrefix The prefix of the thread names, which are numbered from 1.
+     * @return The executor.
+     */
+    public static ExecutorService newDaemonThreadPool(int size, String namePrefix) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return Executors.newFixedThreadPool(size, r -> {
+            Thread t = new Thread(r, namePrefix + "-" + threadNumber.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * A blocking service call without a result.
+     */
+    @FunctionalInterface
+    public interface VoidCall {
+        /**
+         * Performs the call.
+         * @throws Exception whatever the underlying service method throws.
+         */
+        void call() throws Exception;
+    }
+}
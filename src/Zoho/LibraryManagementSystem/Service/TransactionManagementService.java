@@ -1,13 +1,18 @@
 package Zoho.LibraryManagementSystem.Service;
 
 import Zoho.LibraryManagementSystem.Model.Member;
+import Zoho.LibraryManagementSystem.Model.Page;
 import Zoho.LibraryManagementSystem.Model.Transaction;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Defines the contract for services that handle book borrowing, returning, and fines.
+ * <p>
+ * Every method also has an {@code *Async} variant that runs it on the {@link ServiceExecutor}. Its future
+ * completes with the method's result, or exceptionally with the exception the method would have thrown.
  */
 public interface TransactionManagementService {
     /**
@@ -44,6 +49,15 @@ public interface TransactionManagementService {
      */
     List<Transaction> getAllTransactions() throws SQLException;
 
+    /**
+     * Retrieves one page of transactions in the entire system, newest first.
+     * @param after The last transaction of the previous page, or null to fetch the first page.
+     * @param pageSize The maximum number of transactions on the page.
+     * @return A Page of Transaction objects.
+     * @throws SQLException if a database access error occurs.
+     */
+    Page<Transaction> getTransactionsPage(Transaction after, int pageSize) throws SQLException;
+
     /**
      * Retrieves the transaction history for a specific member.
      * @param currentMember The member whose history is being requested.
@@ -58,4 +72,47 @@ public interface TransactionManagementService {
      * @throws SQLException if a database access error occurs.
      */
     int generateFinesForOverdueBooks() throws SQLException;
-}
\ No newline at end of file
+
+    /**
+     * Registers a listener to be notified after each successful loan.
+     * @param listener The listener to notify.
+     */
+    void addCatalogListener(CatalogListener listener);
+
+    // --- Asynchronous variants (see the interface documentation) ---
+
+    /** Asynchronous variant of {@link #borrowBook}. */
+    default CompletableFuture<Void> borrowBookAsync(Member currentMember, int bookId) {
+        return ServiceExecutor.run(() -> borrowBook(currentMember, bookId));
+    }
+
+    /** Asynchronous variant of {@link #returnBook}. */
+    default CompletableFuture<Void> returnBookAsync(Member currentMember, int bookId, int transactionId) {
+        return ServiceExecutor.run(() -> returnBook(currentMember, bookId, transactionId));
+    }
+
+    /** Asynchronous variant of {@link #findTransactionById}. */
+    default CompletableFuture<Optional<Transaction>> findTransactionByIdAsync(int transactionId) {
+        return ServiceExecutor.supply(() -> findTransactionById(transactionId));
+    }
+
+    /** Asynchronous variant of {@link #getAllTransactions}. */
+    default CompletableFuture<List<Transaction>> getAllTransactionsAsync() {
+        return ServiceExecutor.supply(() -> getAllTransactions());
+    }
+
+    /** Asynchronous variant of {@link #getTransactionsPage}. */
+    default CompletableFuture<Page<Transaction>> getTransactionsPageAsync(Transaction after, int pageSize) {
+        return ServiceExecutor.supply(() -> getTransactionsPage(after, pageSize));
+    }
+
+    /** Asynchronous variant of {@link #getMyTransactions}. */
+    default CompletableFuture<List<Transaction>> getMyTransactionsAsync(Member currentMember) {
+        return ServiceExecutor.supply(() -> getMyTransactions(currentMember));
+    }
+
+    /** Asynchronous variant of {@link #generateFinesForOverdueBooks}. */
+    default CompletableFuture<Integer> generateFinesForOverdueBooksAsync() {
+        return ServiceExecutor.supply(() -> generateFinesForOverdueBooks());
+    }
+}
@@ -0,0 +1,188 @@
+package Zoho.LibraryManagementSystem.Web;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Minimal JSON support for the HTTP API: string escaping for hand-written responses, and a parser for
+ * the flat request bodies the API accepts, i.e. a single object whose values are strings, numbers,
+ * booleans or {@code null}. Nested objects and arrays in requests are rejected.
+ */
+final class Json {
+    private Json() {
+    }
+
+    /**
+     * Quotes and escapes a string as a JSON string literal.
+     *
+     * @param value The string; {@code null} becomes the literal {@code null}.
+     * @return The JSON literal.
+     */
+    static String quote(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    /**
+     * Quotes the string form of a value, or returns {@code null} for a missing value.
+     *
+     * @param value The value, e.g. a date.
+     * @return The JSON literal.
+     */
+    static String quote(Object value) {
+        return value == null ? "null" : quote(value.toString());
+    }
+
+    /**
+     * Parses a flat JSON object.
+     *
+     * @param text The request body; blank is treated as an empty object.
+     * @return The members, with values as {@link String}, {@link Double}, {@link Boolean} or {@code null}.
+     * @throws IllegalArgumentException if the text is not a flat JSON object.
+     */
+    static Map<String, Object> parseObject(String text) {
+        Map<String, Object> members = new LinkedHashMap<>();
+        if (text == null || text.isBlank()) {
+            return members;
+        }
+        Parser p = new Parser(text);
+        p.expect('{');
+        if (!p.consume('}')) {
+            do {
+                String key = p.string();
+                p.expect(':');
+                members.put(key, p.value());
+            } while (p.consume(','));
+            p.expect('}');
+        }
+        p.skipWhitespace();
+        if (p.pos != text.length()) {
+            throw new IllegalArgumentException("Unexpected content after the JSON object at position " + p.pos);
+        }
+        return members;
+    }
+
+    // A recursive-descent reader over one flat object.
+    private static class Parser {
+        private final String text;
+        private int pos;
+
+        Parser(String text) {
+            this.text = text;
+        }
+
+        void skipWhitespace() {
+            while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+                pos++;
+            }
+        }
+
+        boolean consume(char c) {
+            skipWhitespace();
+            if (pos < text.length() && text.charAt(pos) == c) {
+                pos++;
+                return true;
+            }
+            return false;
+        }
+
+        void expect(char c) {
+            if (!consume(c)) {
+                throw new IllegalArgumentException("Expected '" + c + "' at position " + pos);
+            }
+        }
+
+        Object value() {
+            skipWhitespace();
+            if (pos >= text.length()) {
+                throw new IllegalArgumentException("Unexpected end of JSON");
+            }
+            char c = text.charAt(pos);
+            if (c == '"') {
+                return string();
+            }
+            if (text.startsWith("true", pos)) {
+                pos += 4;
+                return Boolean.TRUE;
+            }
+            if (text.startsWith("false", pos)) {
+                pos += 5;
+                return Boolean.FALSE;
+            }
+            if (text.startsWith("null", pos)) {
+                pos += 4;
+                return null;
+            }
+            int start = pos;
+            while (pos < text.length() && "+-0123456789.eE".indexOf(text.charAt(pos)) >= 0) {
+                pos++;
+            }
+            if (start == pos) {
+                throw new IllegalArgumentException("Unsupported JSON value at position " + start + " (only strings, numbers, booleans and null are accepted)");
+            }
+            try {
+                return Double.valueOf(text.substring(start, pos));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid number at position " + start);
+            }
+        }
+
+        String string() {
+            expect('"');
+            StringBuilder sb = new StringBuilder();
+            while (pos < text.length()) {
+                char c = text.charAt(pos++);
+                if (c == '"') {
+                    return sb.toString();
+                }
+                if (c != '\\') {
+                    sb.append(c);
+                    continue;
+                }
+                if (pos >= text.length()) {
+                    break;
+                }
+                char escaped = text.charAt(pos++);
+                switch (escaped) {
+                    case 'n': sb.append('\n'); break;
+                    case 'r': sb.append('\r'); break;
+                    case 't': sb.append('\t'); break;
+                    case 'b': sb.append('\b'); break;
+                    case 'f': sb.append('\f'); break;
+                    case 'u':
+                        if (pos + 4 > text.length()) {
+                            throw new IllegalArgumentException("Truncated unicode escape at position " + pos);
+                        }
+                        try {
+                            sb.append((char) Integer.parseInt(text.substring(pos, pos + 4), 16));
+                        } catch (NumberFormatException e) {
+                            throw new IllegalArgumentException("Invalid unicode escape at position " + pos);
+                        }
+                        pos += 4;
+                        break;
+                    default: sb.append(escaped);
+                }
+            }
+            throw new IllegalArgumentException("Unterminated JSON string");
+        }
+    }
+}
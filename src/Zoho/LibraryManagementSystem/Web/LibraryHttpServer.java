@@ -0,0 +1,520 @@
+package Zoho.LibraryManagementSystem.Web;
+
+import Zoho.LibraryManagementSystem.Metrics.MetricsRegistry;
+import Zoho.LibraryManagementSystem.Model.Author;
+import Zoho.LibraryManagementSystem.Model.Book;
+import Zoho.LibraryManagementSystem.Model.Member;
+import Zoho.LibraryManagementSystem.Model.Page;
+import Zoho.LibraryManagementSystem.Model.Reservation;
+import Zoho.LibraryManagementSystem.Model.Subject;
+import Zoho.LibraryManagementSystem.Model.Transaction;
+import Zoho.LibraryManagementSystem.Repository.DatabaseConnector;
+import Zoho.LibraryManagementSystem.Service.AuthenticationService;
+import Zoho.LibraryManagementSystem.Service.BookManagementService;
+import Zoho.LibraryManagementSystem.Service.CatalogSearchService;
+import Zoho.LibraryManagementSystem.Service.MemberNotificationService;
+import Zoho.LibraryManagementSystem.Service.ReservationManagementService;
+import Zoho.LibraryManagementSystem.Service.ServiceExecutor;
+import Zoho.LibraryManagementSystem.Service.TransactionManagementService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.sql.SQLException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * An embedded HTTP/JSON front end over the library services, so that many desks and members can work
+ * against one application instance at the same time instead of through the single-user console.
+ * <p>
+ * Requests are handled by the JDK's built-in {@link HttpServer}, one virtual thread per request where the
+ * JVM supports them (otherwise a pool of {@code library.http.threads} threads, default 32). At most
+ * {@code library.http.maxConcurrency} requests (default: the connection pool's maximum size) are served at
+ * once; the rest wait their turn, so a burst of requests queues here rather than timing out in the connection
+ * pool and failing with 500. Connections are kept alive between requests. List responses are streamed with chunked encoding as they are produced;
+ * the catalog is read page by page, so listing it never holds the whole catalog in memory.
+ * <p>
+ * Clients log in with {@code POST /api/login} and send the returned token as {@code Authorization: Bearer <token>}.
+ * Sessions expire after {@code library.http.sessionTtlMinutes} (default 30) without use. Endpoints:
+ * <pre>
+ * POST /api/login                      {"username", "password", "role": "member" | "librarian"}
+ * POST /api/logout
+ * GET  /api/books                      the whole catalog, streamed
+ * GET  /api/books/{id}
+ * GET  /api/books/search?q=...&amp;limit=20 (limit capped at 200)
+ * POST /api/books/{id}/borrow          (member)
+ * POST /api/books/{id}/reserve         (member)
+ * POST /api/loans/{transactionId}/return (member)
+ * GET  /api/me/transactions            (member)
+ * GET  /api/me/reservations            (member)
+ * GET  /api/me/notifications           (member) pending notices, cleared once read
+ * GET  /api/reservations               (librarian) all active reservations
+ * POST /api/fines/generate             (librarian)
+ * GET  /metrics                        operation latencies in the Prometheus text format (no login; only
+ *                                      with -Dlibrary.metrics.enabled=true)
+ * </pre>
+ * Business-rule violations are reported as 409 Conflict, bad input as 400, and database errors as 500,
+ * each with a body of the form {@code {"error": "..."}}.
+ */
+public class LibraryHttpServer implements AutoCloseable {
+    private static final int CATALOG_PAGE_SIZE = 200;
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+    private static final int MAX_SEARCH_LIMIT = CATALOG_PAGE_SIZE;
+    private static final int MAX_REQUEST_BODY_BYTES = 64 * 1024;
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final AuthenticationService authService;
+    private final BookManagementService bookService;
+    private final TransactionManagementService transactionService;
+    private final ReservationManagementService reservationService;
+    private final CatalogSearchService searchService;
+    private final MemberNotificationService notificationService;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    // Bounds the requests in flight, since each one may hold a pooled database connection.
+    private final Semaphore requestPermits;
+    private final long sessionTtlNanos;
+    private final Map<String, Session> sessions = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a server bound to a port; call {@link #start()} to begin serving.
+     *
+     * @param port The TCP port to listen on; 0 picks a free port.
+     * @param authService Service for member and librarian logins.
+     * @param bookService Service for the catalog.
+     * @param transactionService Service for borrowing, returning and fines.
+     * @param reservationService Service for reservations.
+     * @param searchService Service for free-text catalog search.
+     * @param notificationService Service holding notices for members.
+     * @throws IOException if the port cannot be bound.
+     */
+    public LibraryHttpServer(int port, AuthenticationService authService, BookManagementService bookService,
+                             TransactionManagementService transactionService, ReservationManagementService reservationService,
+                             CatalogSearchService searchService, MemberNotificationService notificationService) throws IOException {
+        this.authService = authService;
+        this.bookService = bookService;
+        this.transactionService = transactionService;
+        this.reservationService = reservationService;
+        this.searchService = searchService;
+        this.notificationService = notificationService;
+        this.sessionTtlNanos = TimeUnit.MINUTES.toNanos(Long.getLong("library.http.sessionTtlMinutes", 30L));
+        this.requestPermits = new Semaphore(Math.max(1, Integer.getInteger("library.http.maxConcurrency", DatabaseConnector.getMaxPoolSize())), true);
+
+        ExecutorService virtual = ServiceExecutor.newVirtualThreadPerTaskExecutor();
+        this.executor = virtual != null ? virtual
+                : ServiceExecutor.newDaemonThreadPool(Integer.getInteger("library.http.threads", 32), "http-worker");
+        this.server = HttpServer.create(new InetSocketAddress(port), Integer.getInteger("library.http.backlog", 128));
+        server.setExecutor(executor);
+        server.createContext("/api/", this::handle);
+        if (MetricsRegistry.isEnabled()) {
+            server.createContext("/metrics", this::serveMetrics);
+        }
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Returns the port the server is listening on.
+     *
+     * @return The port.
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Stops the server, giving requests in progress up to a second to finish.
+     */
+    @Override
+    public void close() {
+        server.stop(1);
+        executor.shutdown();
+    }
+
+    // --- Request Handling ---
+
+    private void handle(HttpExchange exchange) {
+        boolean permitted = false;
+        try {
+            String body = readBody(exchange);
+            String[] path = exchange.getRequestURI().getPath().substring("/api/".length()).split("/");
+            requestPermits.acquire();
+            permitted = true;
+            route(exchange, exchange.getRequestMethod(), path, body);
+        } catch (InterruptedException e) {
+            // The server is shutting down.
+            Thread.currentThread().interrupt();
+            sendError(exchange, 503, "Server is shutting down.");
+        } catch (ApiException e) {
+            sendError(exchange, e.status, e.getMessage());
+        } catch (IllegalStateException e) {
+            sendError(exchange, 409, e.getMessage());
+        } catch (IllegalArgumentException e) {
+            sendError(exchange, 400, e.getMessage());
+        } catch (SQLException e) {
+            System.err.println("Database error serving " + exchange.getRequestMethod() + " " + exchange.getRequestURI() + ": " + e.getMessage());
+            sendError(exchange, 500, "Database error.");
+        } catch (IOException e) {
+            // The client went away mid-response; nothing more can be sent.
+        } catch (RuntimeException e) {
+            System.err.println("Unexpected error serving " + exchange.getRequestMethod() + " " + exchange.getRequestURI() + ": " + e);
+            sendError(exchange, 500, "Internal error.");
+        } finally {
+            if (permitted) {
+                requestPermits.release();
+            }
+            exchange.close();
+        }
+    }
+
+    // Serves the operation metrics in the Prometheus text format; unauthenticated, like most scrape targets.
+    private void serveMetrics(HttpExchange exchange) {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                sendError(exchange, 405, "Use GET.");
+                return;
+            }
+            byte[] bytes = MetricsRegistry.scrape().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "text/plain; version=0.0.4; charset=utf-8");
+            exchange.sendResponseHeaders(200, bytes.length);
+            exchange.getResponseBody().write(bytes);
+        } catch (IOException e) {
+            // The client went away mid-response; nothing more can be sent.
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void route(HttpExchange exchange, String method, String[] path, String body) throws IOException, SQLException {
+        String resource = path[0];
+        boolean get = "GET".equals(method);
+        boolean post = "POST".equals(method);
+
+        if (post && path.length == 1 && resource.equals("login")) {
+            login(exchange, Json.parseObject(body));
+        } else if (post && path.length == 1 && resource.equals("logout")) {
+            Session session = requireSession(exchange);
+            sessions.remove(session.token);
+            sendJson(exchange, 200, "{\"loggedOut\":true}");
+        } else if (resource.equals("books")) {
+            routeBooks(exchange, get, post, path);
+        } else if (post && path.length == 3 && resource.equals("loans") && path[2].equals("return")) {
+            returnBook(exchange, requireMember(exchange), parseId(path[1]));
+        } else if (get && path.length == 2 && resource.equals("me")) {
+            Member member = requireMember(exchange);
+            switch (path[1]) {
+                case "transactions":
+                    streamArray(exchange, transactionService.getMyTransactions(member), LibraryHttpServer::transactionJson);
+                    break;
+                case "reservations":
+                    streamArray(exchange, reservationService.getMyActiveReservations(member), LibraryHttpServer::reservationJson);
+                    break;
+                case "notifications":
+                    streamArray(exchange, notificationService.takeNotifications(member.getMemberId()), Json::quote);
+                    break;
+                default:
+                    throw new ApiException(404, "Not found.");
+            }
+        } else if (get && path.length == 1 && resource.equals("reservations")) {
+            requireLibrarian(exchange);
+            streamArray(exchange, reservationService.getAllActiveReservations(), LibraryHttpServer::reservationJson);
+        } else if (post && path.length == 2 && resource.equals("fines") && path[1].equals("generate")) {
+            requireLibrarian(exchange);
+            sendJson(exchange, 200, "{\"finesCreated\":" + transactionService.generateFinesForOverdueBooks() + "}");
+        } else {
+            throw new ApiException(404, "Not found.");
+        }
+    }
+
+    private void routeBooks(HttpExchange exchange, boolean get, boolean post, String[] path) throws IOException, SQLException {
+        if (get && path.length == 1) {
+            streamCatalog(exchange);
+        } else if (get && path.length == 2 && path[1].equals("search")) {
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            String q = query.get("q");
+            if (q == null || q.isBlank()) {
+                throw new IllegalArgumentException("Query parameter 'q' is required.");
+            }
+            int limit = query.containsKey("limit") ? Math.min(parseId(query.get("limit")), MAX_SEARCH_LIMIT) : DEFAULT_SEARCH_LIMIT;
+            streamArray(exchange, searchService.searchBooks(q, limit), LibraryHttpServer::bookJson);
+        } else if (get && path.length == 2) {
+            Book book = bookService.findBookById(parseId(path[1]))
+                    .orElseThrow(() -> new ApiException(404, "Book with ID " + path[1] + " not found."));
+            sendJson(exchange, 200, bookJson(book));
+        } else if (post && path.length == 3 && path[2].equals("borrow")) {
+            int bookId = parseId(path[1]);
+            transactionService.borrowBook(requireMember(exchange), bookId);
+            sendJson(exchange, 200, "{\"borrowed\":true,\"bookId\":" + bookId + "}");
+        } else if (post && path.length == 3 && path[2].equals("reserve")) {
+            int bookId = parseId(path[1]);
+            reservationService.placeReservation(requireMember(exchange), bookId);
+            sendJson(exchange, 201, "{\"reserved\":true,\"bookId\":" + bookId + "}");
+        } else {
+            throw new ApiException(404, "Not found.");
+        }
+    }
+
+    private void login(HttpExchange exchange, Map<String, Object> request) throws IOException, SQLException {
+        Object username = request.get("username");
+        Object password = request.get("password");
+        if (!(username instanceof String) || !(password instanceof String)) {
+            throw new IllegalArgumentException("Fields 'username' and 'password' are required.");
+        }
+        purgeExpiredSessions();
+        Session session;
+        if ("librarian".equals(request.get("role"))) {
+            if (!authService.librarianLogin((String) username, (String) password)) {
+                throw new ApiException(401, "Invalid librarian credentials.");
+            }
+            session = new Session(newToken(), null);
+        } else {
+            Member member = authService.memberLogin((String) username, (String) password)
+                    .orElseThrow(() -> new ApiException(401, "Invalid member username or password."));
+            session = new Session(newToken(), member);
+        }
+        sessions.put(session.token, session);
+        sendJson(exchange, 200, "{\"token\":" + Json.quote(session.token) + ",\"role\":" +
+                (session.member == null ? "\"librarian\"" : "\"member\",\"member\":" + memberJson(session.member)) + "}");
+    }
+
+    private void returnBook(HttpExchange exchange, Member member, int transactionId) throws IOException, SQLException {
+        Transaction loan = transactionService.findTransactionById(transactionId)
+                .orElseThrow(() -> new ApiException(404, "No transaction found with ID " + transactionId));
+        transactionService.returnBook(member, loan.getBookId(), transactionId);
+        sendJson(exchange, 200, "{\"returned\":true,\"transactionId\":" + transactionId + ",\"bookId\":" + loan.getBookId() + "}");
+    }
+
+    // Streams the whole catalog one keyset page at a time, so memory use does not grow with the catalog.
+    private void streamCatalog(HttpExchange exchange) throws IOException, SQLException {
+        Page<Book> page = bookService.getBooksPage(null, CATALOG_PAGE_SIZE);
+        Writer out = startStream(exchange);
+        boolean first = true;
+        while (true) {
+            for (Book book : page.getItems()) {
+                out.write(first ? "\n" : ",\n");
+                out.write(bookJson(book));
+                first = false;
+            }
+            if (!page.hasNext()) {
+                break;
+            }
+            out.flush();
+            // Headers are already sent, so a database error here can only abort the stream (see handle()).
+            page = bookService.getBooksPage(page.getLast(), CATALOG_PAGE_SIZE);
+        }
+        out.write("\n]\n");
+        out.flush();
+    }
+
+    private <T> void streamArray(HttpExchange exchange, List<T> items, Function<T, String> toJson) throws IOException {
+        Writer out = startStream(exchange);
+        for (int i = 0; i < items.size(); i++) {
+            out.write(i == 0 ? "\n" : ",\n");
+            out.write(toJson.apply(items.get(i)));
+        }
+        out.write("\n]\n");
+        out.flush();
+    }
+
+    // Sends 200 with chunked encoding and opens the JSON array.
+    private Writer startStream(HttpExchange exchange) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(200, 0);
+        Writer out = new BufferedWriter(new OutputStreamWriter(exchange.getResponseBody(), StandardCharsets.UTF_8), 8192);
+        out.write('[');
+        return out;
+    }
+
+    private void sendJson(HttpExchange exchange, int status, String json) throws IOException {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private void sendError(HttpExchange exchange, int status, String message) {
+        if (exchange.getResponseCode() != -1) {
+            return; // a streamed response has already started; closing the exchange truncates it
+        }
+        try {
+            sendJson(exchange, status, "{\"error\":" + Json.quote(message) + "}");
+        } catch (IOException e) {
+            // The client went away; nothing more can be sent.
+        }
+    }
+
+    // --- Sessions ---
+
+    private Session requireSession(HttpExchange exchange) {
+        String header = exchange.getRequestHeaders().getFirst("Authorization");
+        if (header == null || !header.startsWith("Bearer ")) {
+            throw new ApiException(401, "Log in first and send the token as 'Authorization: Bearer <token>'.");
+        }
+        Session session = sessions.get(header.substring("Bearer ".length()).trim());
+        long now = System.nanoTime();
+        if (session == null || now - session.lastUsedNanos > sessionTtlNanos) {
+            if (session != null) {
+                sessions.remove(session.token);
+            }
+            throw new ApiException(401, "Session expired or unknown. Please log in again.");
+        }
+        session.lastUsedNanos = now;
+        return session;
+    }
+
+    private Member requireMember(HttpExchange exchange) {
+        Session session = requireSession(exchange);
+        if (session.member == null) {
+            throw new ApiException(403, "This operation is only available to members.");
+        }
+        return session.member;
+    }
+
+    private void requireLibrarian(HttpExchange exchange) {
+        if (requireSession(exchange).member != null) {
+            throw new ApiException(403, "This operation is only available to librarians.");
+        }
+    }
+
+    private void purgeExpiredSessions() {
+        long now = System.nanoTime();
+        sessions.values().removeIf(session -> now - session.lastUsedNanos > sessionTtlNanos);
+    }
+
+    private static String newToken() {
+        byte[] bytes = new byte[32];
+        RANDOM.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    // --- Parsing Helpers ---
+
+    // Reads the whole request body; it must be consumed for the connection to be reused.
+    private static String readBody(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] bytes = in.readNBytes(MAX_REQUEST_BODY_BYTES + 1);
+            if (bytes.length > MAX_REQUEST_BODY_BYTES) {
+                throw new ApiException(413, "Request body too large.");
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            String key = URLDecoder.decode(eq < 0 ? pair : pair.substring(0, eq), StandardCharsets.UTF_8);
+            String value = eq < 0 ? "" : URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8);
+            params.putIfAbsent(key, value);
+        }
+        return params;
+    }
+
+    private static int parseId(String text) {
+        try {
+            int id = Integer.parseInt(text);
+            if (id < 1) {
+                throw new NumberFormatException();
+            }
+            return id;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("'" + text + "' is not a valid positive number.");
+        }
+    }
+
+    // --- JSON Views ---
+
+    private static String bookJson(Book book) {
+        StringBuilder sb = new StringBuilder(256)
+                .append("{\"bookId\":").append(book.getBookId())
+                .append(",\"title\":").append(Json.quote(book.getTitle()))
+                .append(",\"publisher\":").append(Json.quote(book.getPublisher()))
+                .append(",\"publicationDate\":").append(Json.quote(book.getPublicationDate()))
+                .append(",\"totalCopies\":").append(book.getTotalCopies())
+                .append(",\"copiesAvailable\":").append(book.getCopiesAvailable())
+                .append(",\"timesBorrowed\":").append(book.getTimesBorrowed())
+                .append(",\"authors\":[");
+        if (book.getAuthors() != null) {
+            for (int i = 0; i < book.getAuthors().size(); i++) {
+                Author author = book.getAuthors().get(i);
+                sb.append(i == 0 ? "" : ",").append(Json.quote(author.getAuthorName()));
+            }
+        }
+        sb.append("],\"subjects\":[");
+        if (book.getSubjects() != null) {
+            for (int i = 0; i < book.getSubjects().size(); i++) {
+                Subject subject = book.getSubjects().get(i);
+                sb.append(i == 0 ? "" : ",").append(Json.quote(subject.getSubjectName()));
+            }
+        }
+        return sb.append("]}").toString();
+    }
+
+    // Deliberately omits the password hash and contact details.
+    private static String memberJson(Member member) {
+        return "{\"memberId\":" + member.getMemberId() + ",\"name\":" + Json.quote(member.getName()) +
+                ",\"username\":" + Json.quote(member.getUsername()) + ",\"membershipType\":" + Json.quote(member.getMembershipType()) +
+                ",\"membershipStatus\":" + Json.quote(member.getMembershipStatus()) + "}";
+    }
+
+    private static String transactionJson(Transaction t) {
+        return "{\"transactionId\":" + t.getTransactionId() + ",\"memberId\":" + t.getMemberId() + ",\"bookId\":" + t.getBookId() +
+                ",\"borrowDate\":" + Json.quote(t.getBorrowDate()) + ",\"dueDate\":" + Json.quote(t.getDueDate()) +
+                ",\"returnDate\":" + Json.quote(t.getReturnDate()) + ",\"status\":" + Json.quote(t.getTransactionStatus()) + "}";
+    }
+
+    private static String reservationJson(Reservation r) {
+        return "{\"reservationId\":" + r.getReservationId() + ",\"bookId\":" + r.getBookId() + ",\"memberId\":" + r.getMemberId() +
+                ",\"reservationDate\":" + Json.quote(r.getReservationDate()) + ",\"status\":" + Json.quote(r.getStatus()) + "}";
+    }
+
+    // A logged-in client. The member is null for librarians.
+    private static class Session {
+        private final String token;
+        private final Member member;
+        private volatile long lastUsedNanos = System.nanoTime();
+
+        Session(String token, Member member) {
+            this.token = token;
+            this.member = member;
+        }
+    }
+
+    // An error with a specific HTTP status.
+    private static class ApiException extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        private final int status;
+
+        ApiException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+    }
+}